@@ -255,6 +255,7 @@ public class CoreMessages extends NLS {
 	public static String controls_resultset_viewer_status_rows;
 	public static String controls_resultset_viewer_status_rows_fetched;
 	public static String controls_resultset_viewer_status_rows_size;
+	public static String controls_resultset_viewer_status_rows_limit;
 	public static String controls_resultset_viewer_value;
 	public static String controls_rs_pump_job_context_name;
 	public static String controls_rs_pump_job_name;
@@ -412,6 +413,7 @@ public class CoreMessages extends NLS {
 	public static String data_transfer_wizard_output_checkbox_selected_columns_only;
 	public static String data_transfer_wizard_output_checkbox_selected_rows_only;
 	public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
+	public static String data_transfer_wizard_output_combo_extract_type_item_parallel_partitions;
 	public static String data_transfer_wizard_output_combo_extract_type_item_single_query;
 	public static String data_transfer_wizard_output_description;
 	public static String data_transfer_wizard_output_dialog_directory_message;
@@ -425,6 +427,7 @@ public class CoreMessages extends NLS {
 	public static String data_transfer_wizard_output_label_insert_bom;
 	public static String data_transfer_wizard_output_label_insert_bom_tooltip;
 	public static String data_transfer_wizard_output_label_max_threads;
+	public static String data_transfer_wizard_output_label_partition_count;
 	public static String data_transfer_wizard_output_label_segment_size;
 	public static String data_transfer_wizard_output_name;
 	public static String data_transfer_wizard_output_title;
@@ -793,6 +796,13 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_server_side_order;
 	public static String pref_page_database_resultsets_label_fetch_size;
+	public static String pref_page_database_resultsets_label_keyset_pagination;
+	public static String pref_page_database_resultsets_label_spill_memory_limit;
+	public static String pref_page_database_resultsets_label_client_side_filter;
+	public static String pref_page_database_resultsets_group_multi_row_insert;
+	public static String pref_page_database_resultsets_label_multi_row_size;
+	public static String pref_page_database_resultsets_label_multi_row_max_bytes;
+	public static String pref_page_database_resultsets_label_multi_row_always;
 	public static String pref_page_database_resultsets_label_read_metadata;
 	public static String pref_page_database_resultsets_label_read_references;
 
@@ -818,6 +828,8 @@ public class CoreMessages extends NLS {
 	public static String pref_page_query_manager_label_entries_per_page;
 
 	public static String pref_page_sql_editor_checkbox_fetch_resultsets;
+	public static String pref_page_sql_editor_checkbox_pipelined;
+	public static String pref_page_sql_editor_checkbox_pipelined_tip;
 	public static String pref_page_sql_editor_text_statement_delimiter;
     public static String pref_page_sql_editor_checkbox_ignore_native_delimiter;
 	public static String pref_page_sql_editor_checkbox_blank_line_delimiter;
@@ -975,6 +987,12 @@ public class CoreMessages extends NLS {
 	public static String pref_page_database_resultsets_label_read_metadata_tip;
 	public static String pref_page_database_resultsets_label_read_references_tip;
 	public static String pref_page_database_resultsets_label_fetch_size_tip;
+	public static String pref_page_database_resultsets_label_keyset_pagination_tip;
+	public static String pref_page_database_resultsets_label_spill_memory_limit_tip;
+	public static String pref_page_database_resultsets_label_client_side_filter_tip;
+	public static String pref_page_database_resultsets_label_multi_row_size_tip;
+	public static String pref_page_database_resultsets_label_multi_row_max_bytes_tip;
+	public static String pref_page_database_resultsets_label_multi_row_always_tip;
 	// ResultSetPresentation
 	public static String pref_page_database_resultsets_group_common;
 	public static String pref_page_database_resultsets_label_switch_mode_on_rows;
@@ -1063,6 +1081,8 @@ public class CoreMessages extends NLS {
 	public static String pref_page_database_general_checkbox_show_row_count_tip;
 	public static String pref_page_database_general_server_side_object_filters;
 	public static String pref_page_database_general_server_side_object_filters_tip;
+	public static String pref_page_database_general_cache_snapshots;
+	public static String pref_page_database_general_cache_snapshots_tip;
 	public static String pref_page_database_general_group_query_metadata;
 	public static String pref_page_database_general_use_column_names;
 	public static String pref_page_database_general_use_column_names_tip;
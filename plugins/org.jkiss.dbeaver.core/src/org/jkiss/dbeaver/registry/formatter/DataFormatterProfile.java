@@ -44,6 +44,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
     private DBPPreferenceStore store;
     private String name;
     private Locale locale;
+    private volatile int modificationCount;
 
     public DataFormatterProfile(String profileName, DBPPreferenceStore store)
     {
@@ -68,6 +69,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
                 this.locale = new Locale(language, country, variant);
             }
         }
+        modificationCount++;
     }
 
     @Override
@@ -108,6 +110,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
     public void setLocale(Locale locale)
     {
         this.locale = locale;
+        modificationCount++;
     }
 
     @Override
@@ -140,6 +143,7 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
                 store.setToDefault(DATAFORMAT_TYPE_PREFIX + formatter.getId() + "." + prop.getId());
             }
         }
+        modificationCount++;
     }
 
     @Override
@@ -165,6 +169,12 @@ public class DataFormatterProfile implements DBDDataFormatterProfile, DBPPrefere
         return true;
     }
 
+    @Override
+    public int getModificationCount()
+    {
+        return modificationCount;
+    }
+
     @Override
     public void reset()
     {
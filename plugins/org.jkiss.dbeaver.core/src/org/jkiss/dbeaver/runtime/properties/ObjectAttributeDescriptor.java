@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.runtime.properties;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.meta.IPropertyBatchLoader;
 import org.jkiss.dbeaver.model.meta.IPropertyCacheValidator;
 import org.jkiss.dbeaver.model.meta.LazyProperty;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -50,8 +51,10 @@ public abstract class ObjectAttributeDescriptor {
     private int orderNumber;
     private String id;
     private Method getter;
+    private ObjectPropertyRegistry.PropertyAccessor accessor;
     private boolean isLazy;
     private IPropertyCacheValidator cacheValidator;
+    private IPropertyBatchLoader batchLoader;
     private Class<?> declaringClass;
 
     public ObjectAttributeDescriptor(
@@ -64,6 +67,7 @@ public abstract class ObjectAttributeDescriptor {
         this.source = source;
         this.parent = parent;
         this.getter = getter;
+        this.accessor = ObjectPropertyRegistry.getAccessor(getter);
         this.orderNumber = orderNumber;
         this.id = id;
         if (CommonUtils.isEmpty(this.id)) {
@@ -78,10 +82,19 @@ public abstract class ObjectAttributeDescriptor {
         if (isLazy) {
             final LazyProperty lazyInfo = getter.getAnnotation(LazyProperty.class);
             if (lazyInfo != null) {
-                try {
-                    cacheValidator = lazyInfo.cacheValidator().newInstance();
-                } catch (Exception e) {
-                    log.warn("Can't instantiate lazy cache validator '" + lazyInfo.cacheValidator().getName() + "'", e);
+                if (lazyInfo.cacheValidator() != IPropertyCacheValidator.class) {
+                    try {
+                        cacheValidator = lazyInfo.cacheValidator().newInstance();
+                    } catch (Exception e) {
+                        log.warn("Can't instantiate lazy cache validator '" + lazyInfo.cacheValidator().getName() + "'", e);
+                    }
+                }
+                if (lazyInfo.batchLoader() != IPropertyBatchLoader.class) {
+                    try {
+                        batchLoader = lazyInfo.batchLoader().newInstance();
+                    } catch (Exception e) {
+                        log.warn("Can't instantiate lazy property batch loader '" + lazyInfo.batchLoader().getName() + "'", e);
+                    }
                 }
             }
         }
@@ -113,6 +126,11 @@ public abstract class ObjectAttributeDescriptor {
         return getter;
     }
 
+    protected ObjectPropertyRegistry.PropertyAccessor getAccessor()
+    {
+        return accessor;
+    }
+
     public boolean isNameProperty() {
         return id.equals(DBConstants.PROP_ID_NAME);
     }
@@ -152,6 +170,14 @@ public abstract class ObjectAttributeDescriptor {
         return cacheValidator;
     }
 
+    /**
+     * Batch loader of lazy property or null if property can be read only object by object
+     */
+    public IPropertyBatchLoader getBatchLoader()
+    {
+        return batchLoader;
+    }
+
     public ObjectPropertyGroupDescriptor getParent()
     {
         return parent;
@@ -186,9 +212,8 @@ public abstract class ObjectAttributeDescriptor {
 
     static void extractAnnotations(DBPPropertySource source, ObjectPropertyGroupDescriptor parent, Class<?> theClass, List<ObjectPropertyDescriptor> annoProps, IPropertyFilter filter)
     {
-        Method[] methods = theClass.getMethods();
         Map<String, Method> passedNames = new HashMap<>();
-        for (Method method : methods) {
+        for (Method method : ObjectPropertyRegistry.getPropertyMethods(theClass)) {
             String methodFullName = method.getDeclaringClass().getName() + "." + method.getName();
             final Method prevMethod = passedNames.get(methodFullName);
             if (prevMethod != null) {
@@ -49,7 +49,7 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
     private final Property propInfo;
     private final String propName;
     private final String propDescription;
-    private Method setter;
+    private final Method setter;
     private IPropertyValueTransformer valueTransformer;
     private IPropertyValueTransformer valueRenderer;
     private final Class<?> declaringClass;
@@ -64,17 +64,8 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
         super(source, parent, getter, propInfo.id(), propInfo.order());
         this.propInfo = propInfo;
 
-        final String propertyName = BeanUtils.getPropertyNameFromGetter(getter.getName());
         declaringClass = getter.getDeclaringClass();
-        Class<?> c = declaringClass;
-        while (setter == null && c != Object.class && c != null) {
-            this.setter = BeanUtils.getSetMethod(
-                c,
-                propertyName);
-            if (setter == null) {
-                c = c.getSuperclass();
-            }
-        }
+        setter = getAccessor().getSetter();
 
         // Obtain value transformer
         Class<? extends IPropertyValueTransformer> valueTransformerClass = propInfo.valueTransformer();
@@ -232,7 +223,7 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
             }
             params[0] = progressMonitor;
         }
-        value = getter.invoke(object, params);
+        value = getAccessor().readValue(object, params);
 
         if (valueRenderer != null) {
             value = valueRenderer.transform(object, value);
@@ -282,7 +273,7 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
                     value = ' ';
                 }
             }
-            setter.invoke(object, value);
+            getAccessor().writeValue(object, value);
         } else {
             throw new IllegalAccessError("No setter found for property " + getId());
         }
@@ -75,9 +75,9 @@ public class ObjectPropertyGroupDescriptor extends ObjectAttributeDescriptor
             }
         }
         if (isLazy()) {
-            return getGetter().invoke(object, progressMonitor);
+            return getAccessor().readValue(object, new Object[] { progressMonitor });
         } else {
-            return getGetter().invoke(object);
+            return getAccessor().readValue(object, null);
         }
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.properties;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.meta.PropertyGroup;
+import org.jkiss.utils.BeanUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Per-class registry of property methods.
+ * Class methods are scanned for property annotations only once. Property setters are resolved
+ * once per getter. Getters without parameters are called through generated accessors instead of reflection.
+ *
+ * ClassValue is used so registry doesn't keep classes of unloaded bundles.
+ */
+public class ObjectPropertyRegistry {
+
+    private static final Log log = Log.getLog(ObjectPropertyRegistry.class);
+
+    private static final ClassValue<List<Method>> propertyMethods = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            List<Method> result = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.getReturnType() == null) {
+                    continue;
+                }
+                if (method.isAnnotationPresent(PropertyGroup.class) ||
+                    (method.isAnnotationPresent(Property.class) && BeanUtils.isGetterName(method.getName())))
+                {
+                    result.add(method);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Method, PropertyAccessor>> accessors = new ClassValue<ConcurrentMap<Method, PropertyAccessor>>() {
+        @Override
+        protected ConcurrentMap<Method, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Returns public methods of the class annotated with Property or PropertyGroup.
+     * Methods are in the same order as in Class.getMethods().
+     */
+    @NotNull
+    public static List<Method> getPropertyMethods(@NotNull Class<?> theClass)
+    {
+        return propertyMethods.get(theClass);
+    }
+
+    @NotNull
+    public static PropertyAccessor getAccessor(@NotNull Method getter)
+    {
+        ConcurrentMap<Method, PropertyAccessor> classAccessors = accessors.get(getter.getDeclaringClass());
+        PropertyAccessor accessor = classAccessors.get(getter);
+        if (accessor == null) {
+            accessor = new PropertyAccessor(getter);
+            PropertyAccessor prevAccessor = classAccessors.putIfAbsent(getter, accessor);
+            if (prevAccessor != null) {
+                accessor = prevAccessor;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * Getter and setter of a single property.
+     */
+    public static class PropertyAccessor {
+        private final Method getter;
+        private final Method setter;
+        @Nullable
+        private final Function<Object, Object> getterFunction;
+
+        PropertyAccessor(Method getter)
+        {
+            this.getter = getter;
+            final String propertyName = BeanUtils.getPropertyNameFromGetter(getter.getName());
+            Method setMethod = null;
+            for (Class<?> c = getter.getDeclaringClass(); setMethod == null && c != Object.class && c != null; c = c.getSuperclass()) {
+                setMethod = BeanUtils.getSetMethod(c, propertyName);
+            }
+            this.setter = setMethod;
+            this.getterFunction = getter.getParameterCount() == 0 ? makeGetterFunction(getter) : null;
+        }
+
+        public Method getGetter()
+        {
+            return getter;
+        }
+
+        @Nullable
+        public Method getSetter()
+        {
+            return setter;
+        }
+
+        /**
+         * Reads property value.
+         * @param params getter parameters or null if getter has no parameters
+         */
+        public Object readValue(@NotNull Object object, @Nullable Object[] params)
+            throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
+        {
+            if (getterFunction != null && params == null && getter.getDeclaringClass().isInstance(object)) {
+                try {
+                    return getterFunction.apply(object);
+                } catch (Throwable e) {
+                    // Same as Method.invoke
+                    throw new InvocationTargetException(e);
+                }
+            }
+            return getter.invoke(object, params);
+        }
+
+        public void writeValue(@NotNull Object object, Object value)
+            throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
+        {
+            if (setter == null) {
+                throw new IllegalAccessException("No setter for " + getter.getName());
+            }
+            setter.invoke(object, value);
+        }
+
+        /**
+         * Generates Function which calls getter directly (the same way as a method reference does).
+         * Generated class is defined in this class loader, so getter classes must be visible from it
+         * (plugin classes may be not). Returns null if getter can't be called this way.
+         */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> makeGetterFunction(Method getter)
+        {
+            final Class<?> declaringClass = getter.getDeclaringClass();
+            final Class<?> returnType = getter.getReturnType();
+            if (returnType == void.class || !isVisibleClass(declaringClass) || !isVisibleClass(returnType)) {
+                return null;
+            }
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle getterHandle = lookup.unreflect(getter);
+                CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    getterHandle,
+                    getterHandle.type().wrap());
+                return (Function<Object, Object>) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                log.debug("Can't generate accessor for " + getter + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        private static boolean isVisibleClass(Class<?> theClass)
+        {
+            while (theClass.isArray()) {
+                theClass = theClass.getComponentType();
+            }
+            if (theClass.isPrimitive()) {
+                return true;
+            }
+            try {
+                return Class.forName(theClass.getName(), false, ObjectPropertyRegistry.class.getClassLoader()) == theClass;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+    }
+
+}
@@ -62,6 +62,8 @@ import org.jkiss.dbeaver.ui.dialogs.exec.ExecutionQueueErrorResponse;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -77,6 +79,12 @@ public class SQLQueryJob extends DataSourceJob
 
     public static final Object STATS_RESULTS = new Object();
 
+    // Maximum number of statements executed in one batch in pipelined mode
+    private static final int PIPELINE_BATCH_SIZE = 100;
+    private static final int PIPELINE_SUCCESS = -1;
+    private static final int PIPELINE_SKIPPED = -2;
+    private static final int PIPELINE_UNKNOWN = -3;
+
     private final DBSDataContainer dataContainer;
     private final List<SQLScriptElement> queries;
     private final SQLScriptContext scriptContext;
@@ -90,6 +98,9 @@ public class SQLQueryJob extends DataSourceJob
     private SQLScriptCommitType commitType;
     private SQLScriptErrorHandling errorHandling;
     private boolean fetchResultSets;
+    private boolean pipelineScript;
+    // Script changes are committed or rolled back by the job (not in autocommit mode)
+    private boolean manualCommit;
     private long rsOffset;
     private long rsMaxRows;
 
@@ -101,6 +112,8 @@ public class SQLQueryJob extends DataSourceJob
     private int fetchResultSetNumber;
     private int resultSetNumber;
     private SQLQuery lastGoodQuery;
+    // Number of batch statements processed by driver (in last pipelined batch)
+    private int pipelineProcessed;
 
     private boolean skipConfirmation;
 
@@ -128,6 +141,7 @@ public class SQLQueryJob extends DataSourceJob
             this.commitType = SQLScriptCommitType.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_COMMIT_TYPE));
             this.errorHandling = SQLScriptErrorHandling.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_ERROR_HANDLING));
             this.fetchResultSets = queries.size() == 1 || preferenceStore.getBoolean(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS);
+            this.pipelineScript = queries.size() > 1 && preferenceStore.getBoolean(DBeaverPreferences.SCRIPT_PIPELINED);
             this.rsMaxRows = preferenceStore.getInt(DBeaverPreferences.RESULT_SET_MAX_ROWS);
         }
     }
@@ -176,6 +190,7 @@ public class SQLQueryJob extends DataSourceJob
                 if (txnManager != null && !oldAutoCommit && newAutoCommit) {
                     txnManager.setAutoCommit(monitor, true);
                 }
+                manualCommit = txnManager != null && !oldAutoCommit && !newAutoCommit;
 
                 monitor.beginTask(this.getName(), queries.size());
 
@@ -188,13 +203,50 @@ public class SQLQueryJob extends DataSourceJob
                     }
                 }
 
+                if (pipelineScript && !context.getDataSource().getInfo().supportsBatchUpdates()) {
+                    pipelineScript = false;
+                }
+
                 resultSetNumber = 0;
+                // Statements before this position were already processed by the last failed batch
+                int pipelineEnd = 0;
                 for (int queryNum = 0; queryNum < queries.size(); ) {
                     // Execute query
                     SQLScriptElement query = queries.get(queryNum);
 
                     fetchResultSetNumber = resultSetNumber;
-                    boolean runNext = executeSingleQuery(session, query, true);
+                    boolean runNext;
+                    int batchSize = queryNum < pipelineEnd ? 0 : getPipelineSize(queryNum);
+                    int failedIndex = batchSize > 1 ?
+                        executePipelinedQueries(session, queries.subList(queryNum, queryNum + batchSize)) :
+                        PIPELINE_SKIPPED;
+                    if (failedIndex == PIPELINE_SUCCESS) {
+                        if (monitor.isCanceled()) {
+                            break;
+                        }
+                        monitor.worked(batchSize);
+                        queryNum += batchSize;
+                        continue;
+                    } else if (failedIndex == PIPELINE_SKIPPED) {
+                        runNext = executeSingleQuery(session, query, true);
+                    } else if (failedIndex == PIPELINE_UNKNOWN) {
+                        // Driver didn't report which statements were executed (and maybe committed).
+                        // They can't be executed again, so stop the script.
+                        log.error(lastError);
+                        monitor.worked(batchSize);
+                        break;
+                    } else {
+                        // Process error as error of the failed statement.
+                        // Retry executes failed statement alone, statements processed by driver are not executed again.
+                        monitor.worked(failedIndex);
+                        pipelineEnd = queryNum + pipelineProcessed;
+                        queryNum += failedIndex;
+                        runNext = errorHandling == SQLScriptErrorHandling.IGNORE;
+                        if (!runNext) {
+                            // If script is continued then execute the rest query by query, so the next error stops it right away
+                            pipelineScript = false;
+                        }
+                    }
                     if (!runNext) {
                         if (lastError == null) {
                             // Execution cancel
@@ -235,7 +287,7 @@ public class SQLQueryJob extends DataSourceJob
                         break;
                     }
                     monitor.worked(1);
-                    queryNum++;
+                    queryNum = Math.max(queryNum + 1, pipelineEnd);
                 }
                 if (statistics.getStatementsCount() > 0) {
                     showExecutionResult(session);
@@ -491,6 +543,243 @@ public class SQLQueryJob extends DataSourceJob
         return true;
     }
 
+    /**
+     * Returns number of consecutive statements (starting from specified one) which may be executed in one batch.
+     */
+    private int getPipelineSize(int queryNum)
+    {
+        if (!pipelineScript || (dataFilter != null && dataFilter.hasFilters())) {
+            return 0;
+        }
+        if (errorHandling != SQLScriptErrorHandling.IGNORE &&
+            !(errorHandling == SQLScriptErrorHandling.STOP_ROLLBACK && manualCommit))
+        {
+            // Driver may execute statements which follow the failed one.
+            // It is acceptable only if errors are ignored or if all changes are rolled back on error.
+            return 0;
+        }
+        if (!skipConfirmation && getDataSourceContainer().getConnectionConfiguration().getConnectionType().isConfirmExecute()) {
+            // Each query must be confirmed
+            return 0;
+        }
+        int size = 0;
+        while (size < PIPELINE_BATCH_SIZE && queryNum + size < queries.size() && isPipelineQuery(queries.get(queryNum + size))) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Only DML statements without parameters may be batched. They do not return result sets.
+     */
+    private static boolean isPipelineQuery(SQLScriptElement element)
+    {
+        if (!(element instanceof SQLQuery) || !CommonUtils.isEmpty(((SQLQuery) element).getParameters())) {
+            return false;
+        }
+        switch (((SQLQuery) element).getType()) {
+            case INSERT:
+            case UPDATE:
+            case DELETE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Executes statements in one batch (one round trip, one statement and one result notification).
+     * Batch failure is mapped to the failed statement (using update counts reported by driver).
+     * If driver doesn't report failed statement then error is reported for the whole batch.
+     * @return index of failed statement, PIPELINE_SUCCESS or PIPELINE_SKIPPED if driver doesn't support batches
+     */
+    private int executePipelinedQueries(@NotNull DBCSession session, @NotNull List<SQLScriptElement> batch)
+    {
+        lastError = null;
+        final DBCExecutionContext executionContext = getExecutionContext();
+        final DBPDataSource dataSource = executionContext.getDataSource();
+        final SQLQuery firstQuery = (SQLQuery) batch.get(0);
+        final SQLQueryResult curResult = new SQLQueryResult(firstQuery);
+        long startTime = System.currentTimeMillis();
+        boolean startQueryAlerted = false;
+        int failedIndex = PIPELINE_SUCCESS;
+        final List<Integer> failedStatements = new ArrayList<>();
+        pipelineProcessed = batch.size();
+
+        try {
+            closeStatement();
+
+            // Check and invalidate connection
+            if (!connectionInvalidated && dataSource.getContainer().getPreferenceStore().getBoolean(DBeaverPreferences.STATEMENT_INVALIDATE_BEFORE_EXECUTE)) {
+                executionContext.invalidateContext(session.getProgressMonitor(), true);
+                connectionInvalidated = true;
+            }
+
+            DBCExecutionSource source = new AbstractExecutionSource(dataContainer, executionContext, partSite.getPart(), firstQuery);
+            final DBCStatement dbcStatement = DBUtils.makeStatement(
+                source,
+                session,
+                DBCStatementType.SCRIPT,
+                firstQuery,
+                0, 0);
+            curStatement = dbcStatement;
+            if (!(dbcStatement instanceof DBCScriptStatement) || dbcStatement instanceof DBCParameterizedStatement) {
+                // Can't change query text of batch statement. Execute script query by query.
+                log.debug("Statement batches are not supported by " + dataSource.getContainer().getDriver().getName());
+                pipelineScript = false;
+                closeStatement();
+                return PIPELINE_SKIPPED;
+            }
+
+            statistics.setQueryText(firstQuery.getText());
+
+            if (listener != null) {
+                // Notify query start (once per batch)
+                try {
+                    listener.onStartQuery(session, firstQuery);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+                startQueryAlerted = true;
+            }
+
+            startTime = System.currentTimeMillis();
+            int statementTimeout = getDataSourceContainer().getPreferenceStore().getInt(DBeaverPreferences.STATEMENT_TIMEOUT);
+            if (statementTimeout > 0) {
+                try {
+                    dbcStatement.setStatementTimeout(statementTimeout);
+                } catch (Throwable e) {
+                    log.debug("Can't set statement timeout:" + e.getMessage());
+                }
+            }
+
+            try {
+                for (SQLScriptElement element : batch) {
+                    ((DBCScriptStatement) dbcStatement).setQueryString(element.getText());
+                    dbcStatement.addToBatch();
+                }
+
+                session.getProgressMonitor().subTask("Execute batch of " + batch.size() + " queries");
+                int[] updateCounts;
+                try {
+                    updateCounts = dbcStatement.executeStatementBatch();
+                } catch (DBCException e) {
+                    BatchUpdateException batchError = getBatchUpdateException(e);
+                    updateCounts = batchError == null ? null : batchError.getUpdateCounts();
+                    if (updateCounts == null) {
+                        // Unknown state. Any statement of the batch may have been executed.
+                        failedIndex = PIPELINE_UNKNOWN;
+                        updateCounts = new int[0];
+                    } else if (updateCounts.length < batch.size()) {
+                        // Driver stopped at the failed statement
+                        failedIndex = updateCounts.length;
+                        pipelineProcessed = failedIndex + 1;
+                    } else {
+                        // Driver continued execution after failure. Each failed statement gets its own error.
+                        for (int i = 0; i < updateCounts.length; i++) {
+                            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                                failedStatements.add(i);
+                            }
+                        }
+                        // If failed statement is unknown then error is reported for the whole batch
+                        failedIndex = failedStatements.isEmpty() ? 0 : failedStatements.get(0);
+                    }
+                    lastError = e;
+                }
+                statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+
+                long updateCount = 0;
+                for (int count : updateCounts) {
+                    if (count != Statement.EXECUTE_FAILED) {
+                        statistics.addStatementsCount();
+                    }
+                    if (count > 0) {
+                        updateCount += count;
+                    }
+                }
+                curResult.setUpdateCount(updateCount);
+                statistics.addRowsUpdated(updateCount);
+            }
+            finally {
+                try {
+                    curResult.addWarnings(dbcStatement.getStatementWarnings());
+                } catch (Throwable e) {
+                    log.warn("Can't read execution warnings", e);
+                }
+                closeStatement();
+            }
+        }
+        catch (Throwable ex) {
+            if (!(ex instanceof DBException)) {
+                log.error("Unexpected error while processing SQL batch", ex);
+            }
+            lastError = ex;
+            failedIndex = 0;
+            pipelineProcessed = 1;
+        }
+        finally {
+            curResult.setQueryTime(System.currentTimeMillis() - startTime);
+            final boolean batchFailed = failedIndex == 0 || failedIndex == PIPELINE_UNKNOWN;
+            if (batchFailed) {
+                curResult.setError(lastError);
+            }
+
+            if (listener != null && (startQueryAlerted || batchFailed)) {
+                // Notify query end
+                try {
+                    if (!startQueryAlerted) {
+                        // Statement preparation failed
+                        listener.onStartQuery(session, firstQuery);
+                    }
+                    listener.onEndQuery(session, curResult);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+            }
+        }
+
+        if (failedIndex > 0 && failedStatements.isEmpty()) {
+            failedStatements.add(failedIndex);
+        }
+        for (int index : failedStatements) {
+            if (index == 0) {
+                // Reported in batch result
+                continue;
+            }
+            // Show error at failed statement
+            SQLQuery failedQuery = (SQLQuery) batch.get(index);
+            if (index != failedIndex) {
+                // The first failed statement is processed by script loop, log the rest here
+                log.error("Batch statement " + (index + 1) + " failed: " + failedQuery.getText(), lastError);
+            }
+            if (listener != null) {
+                SQLQueryResult failedResult = new SQLQueryResult(failedQuery);
+                failedResult.setError(lastError);
+                try {
+                    listener.onStartQuery(session, failedQuery);
+                    listener.onEndQuery(session, failedResult);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+            }
+        }
+        if (failedIndex != 0 && failedIndex != PIPELINE_UNKNOWN) {
+            lastGoodQuery = (SQLQuery) batch.get(failedIndex == PIPELINE_SUCCESS ? batch.size() - 1 : failedIndex - 1);
+        }
+        return failedIndex;
+    }
+
+    @Nullable
+    private static BatchUpdateException getBatchUpdateException(@NotNull Throwable error)
+    {
+        for (Throwable ex = error; ex != null; ex = ex.getCause()) {
+            if (ex instanceof BatchUpdateException) {
+                return (BatchUpdateException) ex;
+            }
+        }
+        return null;
+    }
+
     private boolean executeControlCommand(SQLControlCommand command) throws DBException {
         if (command.isEmptyCommand()) {
             return true;
@@ -86,6 +86,41 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
                 }
             });
             commitAfterEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button useBulkLoadCheck = UIUtils.createLabelCheckbox(performanceSettings, "Use native bulk load", settings.isUseBulkLoad());
+            useBulkLoadCheck.setToolTipText("Load data with database native loader (COPY, LOAD DATA, bulk copy) if target supports it.\nMySQL requires local_infile to be enabled on server.");
+            useBulkLoadCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setUseBulkLoad(useBulkLoadCheck.getSelection());
+                }
+            });
+            useBulkLoadCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button pipelinedLoadCheck = UIUtils.createLabelCheckbox(performanceSettings, "Pipelined load", settings.isPipelinedLoad());
+            pipelinedLoadCheck.setToolTipText("Read source data and insert it in target in parallel threads. Requires new connection(s).");
+            pipelinedLoadCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Spinner writerThreadsEdit = UIUtils.createLabelSpinner(performanceSettings, "Writer threads", settings.getWriterThreads(), 1, DatabaseConsumerSettings.MAX_WRITER_THREADS);
+            writerThreadsEdit.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setWriterThreads(writerThreadsEdit.getSelection());
+                }
+            });
+            writerThreadsEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+            writerThreadsEdit.setEnabled(settings.isPipelinedLoad());
+
+            pipelinedLoadCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setPipelinedLoad(pipelinedLoadCheck.getSelection());
+                    writerThreadsEdit.setEnabled(pipelinedLoadCheck.getSelection());
+                }
+            });
         }
 
         {
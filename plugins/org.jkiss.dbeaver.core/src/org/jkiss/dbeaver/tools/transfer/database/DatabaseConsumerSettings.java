@@ -55,12 +55,18 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
 
     private static final Log log = Log.getLog(DatabaseConsumerSettings.class);
 
+    public static final int DEFAULT_WRITER_THREADS = 2;
+    public static final int MAX_WRITER_THREADS = 16;
+
     private String containerNodePath;
     private DBNDatabaseNode containerNode;
     private Map<DBSDataContainer, DatabaseMappingContainer> dataMappings = new LinkedHashMap<>();
     private boolean openNewConnections = true;
     private boolean useTransactions = true;
     private int commitAfterRows = 10000;
+    private boolean useBulkLoad = false;
+    private boolean pipelinedLoad = false;
+    private int writerThreads = DEFAULT_WRITER_THREADS;
     private boolean openTableOnFinish = true;
 
     public DatabaseConsumerSettings()
@@ -153,6 +159,36 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.commitAfterRows = commitAfterRows;
     }
 
+    public boolean isUseBulkLoad()
+    {
+        return useBulkLoad;
+    }
+
+    public void setUseBulkLoad(boolean useBulkLoad)
+    {
+        this.useBulkLoad = useBulkLoad;
+    }
+
+    public boolean isPipelinedLoad()
+    {
+        return pipelinedLoad;
+    }
+
+    public void setPipelinedLoad(boolean pipelinedLoad)
+    {
+        this.pipelinedLoad = pipelinedLoad;
+    }
+
+    public int getWriterThreads()
+    {
+        return writerThreads;
+    }
+
+    public void setWriterThreads(int writerThreads)
+    {
+        this.writerThreads = Math.max(1, Math.min(writerThreads, MAX_WRITER_THREADS));
+    }
+
     @Nullable
     DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping)
     {
@@ -179,6 +215,15 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (dialogSettings.get("commitAfterRows") != null) {
             commitAfterRows = dialogSettings.getInt("commitAfterRows");
         }
+        if (dialogSettings.get("useBulkLoad") != null) {
+            useBulkLoad = dialogSettings.getBoolean("useBulkLoad");
+        }
+        if (dialogSettings.get("pipelinedLoad") != null) {
+            pipelinedLoad = dialogSettings.getBoolean("pipelinedLoad");
+        }
+        if (dialogSettings.get("writerThreads") != null) {
+            setWriterThreads(dialogSettings.getInt("writerThreads"));
+        }
         if (dialogSettings.get("openTableOnFinish") != null) {
             openTableOnFinish = dialogSettings.getBoolean("openTableOnFinish");
         }
@@ -227,6 +272,9 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("useTransactions", useTransactions);
         dialogSettings.put("commitAfterRows", commitAfterRows);
+        dialogSettings.put("useBulkLoad", useBulkLoad);
+        dialogSettings.put("pipelinedLoad", pipelinedLoad);
+        dialogSettings.put("writerThreads", writerThreads);
         dialogSettings.put("openTableOnFinish", openTableOnFinish);
     }
 
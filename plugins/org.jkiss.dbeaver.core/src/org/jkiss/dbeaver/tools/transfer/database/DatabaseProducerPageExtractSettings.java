@@ -35,11 +35,14 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
 
     private static final int EXTRACT_TYPE_SINGLE_QUERY = 0;
     private static final int EXTRACT_TYPE_SEGMENTS = 1;
+    private static final int EXTRACT_TYPE_PARALLEL_PARTITIONS = 2;
 
     private Spinner threadsNumText;
     private Combo rowsExtractType;
     private Label segmentSizeLabel;
     private Text segmentSizeText;
+    private Label partitionCountLabel;
+    private Spinner partitionCountText;
     private Button newConnectionCheckbox;
     private Button rowCountCheckbox;
 
@@ -92,13 +95,15 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 rowsExtractType = new Combo(generalSettings, SWT.DROP_DOWN | SWT.READ_ONLY);
                 rowsExtractType.setItems(new String[] {
                     CoreMessages.data_transfer_wizard_output_combo_extract_type_item_single_query,
-                    CoreMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments });
+                    CoreMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments,
+                    CoreMessages.data_transfer_wizard_output_combo_extract_type_item_parallel_partitions });
                 rowsExtractType.addSelectionListener(new SelectionAdapter() {
                     @Override
                     public void widgetSelected(SelectionEvent e) {
                         switch (rowsExtractType.getSelectionIndex()) {
                             case EXTRACT_TYPE_SEGMENTS: settings.setExtractType(DatabaseProducerSettings.ExtractType.SEGMENTS); break;
                             case EXTRACT_TYPE_SINGLE_QUERY: settings.setExtractType(DatabaseProducerSettings.ExtractType.SINGLE_QUERY); break;
+                            case EXTRACT_TYPE_PARALLEL_PARTITIONS: settings.setExtractType(DatabaseProducerSettings.ExtractType.PARALLEL_PARTITIONS); break;
                         }
                         updatePageCompletion();
                     }
@@ -119,6 +124,20 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                     }
                 });
                 segmentSizeText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+                partitionCountLabel = UIUtils.createControlLabel(generalSettings, CoreMessages.data_transfer_wizard_output_label_partition_count);
+                partitionCountLabel.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+                partitionCountText = new Spinner(generalSettings, SWT.BORDER);
+                partitionCountText.setMinimum(2);
+                partitionCountText.setMaximum(64);
+                partitionCountText.addModifyListener(new ModifyListener() {
+                    @Override
+                    public void modifyText(ModifyEvent e)
+                    {
+                        settings.setPartitionCount(partitionCountText.getSelection());
+                    }
+                });
+                partitionCountText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
             }
 
             newConnectionCheckbox = UIUtils.createCheckbox(generalSettings, CoreMessages.data_transfer_wizard_output_checkbox_new_connection, null, true, 4);
@@ -183,9 +202,11 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
 
         if (segmentSizeText != null) {
             segmentSizeText.setText(String.valueOf(settings.getSegmentSize()));
+            partitionCountText.setSelection(settings.getPartitionCount());
             switch (settings.getExtractType()) {
                 case SINGLE_QUERY: rowsExtractType.select(EXTRACT_TYPE_SINGLE_QUERY); break;
                 case SEGMENTS: rowsExtractType.select(EXTRACT_TYPE_SEGMENTS); break;
+                case PARALLEL_PARTITIONS: rowsExtractType.select(EXTRACT_TYPE_PARALLEL_PARTITIONS); break;
             }
         }
 
@@ -197,13 +218,12 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
     {
         if (rowsExtractType != null) {
             int selectionIndex = rowsExtractType.getSelectionIndex();
-            if (selectionIndex == EXTRACT_TYPE_SEGMENTS) {
-                segmentSizeLabel.setVisible(true);
-                segmentSizeText.setVisible(true);
-            } else {
-                segmentSizeLabel.setVisible(false);
-                segmentSizeText.setVisible(false);
-            }
+            boolean segments = selectionIndex == EXTRACT_TYPE_SEGMENTS;
+            segmentSizeLabel.setVisible(segments);
+            segmentSizeText.setVisible(segments);
+            boolean partitions = selectionIndex == EXTRACT_TYPE_PARALLEL_PARTITIONS;
+            partitionCountLabel.setVisible(partitions);
+            partitionCountText.setVisible(partitions);
         }
         return true;
     }
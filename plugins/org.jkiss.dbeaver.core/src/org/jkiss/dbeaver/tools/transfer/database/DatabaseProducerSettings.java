@@ -29,12 +29,16 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
     public enum ExtractType {
         SINGLE_QUERY,
-        SEGMENTS
+        SEGMENTS,
+        PARALLEL_PARTITIONS
     }
 
     private static final int DEFAULT_SEGMENT_SIZE = 100000;
+    private static final int DEFAULT_PARTITION_COUNT = 4;
+    private static final int MAX_PARTITION_COUNT = 64;
 
     private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private int partitionCount = DEFAULT_PARTITION_COUNT;
 
     private boolean openNewConnections = true;
     private boolean queryRowCount = true;
@@ -58,6 +62,18 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         }
     }
 
+    public int getPartitionCount()
+    {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount)
+    {
+        if (partitionCount > 0) {
+            this.partitionCount = Math.min(partitionCount, MAX_PARTITION_COUNT);
+        }
+    }
+
     public boolean isQueryRowCount()
     {
         return queryRowCount;
@@ -119,6 +135,11 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         } catch (NumberFormatException e) {
             segmentSize = DEFAULT_SEGMENT_SIZE;
         }
+        try {
+            setPartitionCount(dialogSettings.getInt("partitionCount"));
+        } catch (NumberFormatException e) {
+            partitionCount = DEFAULT_PARTITION_COUNT;
+        }
         if (!CommonUtils.isEmpty(dialogSettings.get("openNewConnections"))) {
             openNewConnections = dialogSettings.getBoolean("openNewConnections");
         }
@@ -132,6 +153,7 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     {
         dialogSettings.put("extractType", extractType.name());
         dialogSettings.put("segmentSize", segmentSize);
+        dialogSettings.put("partitionCount", partitionCount);
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("queryRowCount", queryRowCount);
     }
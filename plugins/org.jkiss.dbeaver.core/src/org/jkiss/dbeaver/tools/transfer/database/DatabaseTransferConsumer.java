@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.tools.transfer.database;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.DBeaverUI;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -57,8 +58,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
     private long rowsExported = 0;
-    private boolean ignoreErrors = false;
+    private volatile boolean ignoreErrors = false;
     private List<DBSEntityAttribute> targetAttributes;
+    private DatabaseTransferPipeline pipeline;
+    private final List<String> pipelineSummaries = new ArrayList<>();
 
     private static class ColumnMapping {
         DBCAttributeMetaData sourceAttr;
@@ -85,9 +88,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     @Override
     public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
     {
-        initExporter(session.getProgressMonitor());
         DBCResultSetMetaData metaData = resultSet.getMeta();
         List<DBCAttributeMetaData> rsAttributes = metaData.getAttributes();
+        boolean pipelined = isPipelined(rsAttributes);
+        initExporter(session.getProgressMonitor(), pipelined);
         columnMappings = new ColumnMapping[rsAttributes.size()];
         targetAttributes = new ArrayList<>(columnMappings.length);
         for (int i = 0; i < rsAttributes.size(); i++) {
@@ -108,17 +112,48 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             columnMapping.targetIndex = targetAttributes.size();
             targetAttributes.add(columnMappings[i].targetAttr.getTarget());
         }
-        executeBatch = containerMapping.getTarget().insertData(
-            targetSession,
-            targetAttributes.toArray(new DBSAttributeBase[targetAttributes.size()]),
-            null,
-            new AbstractExecutionSource(sourceObject, targetContext, this));
+        DBSAttributeBase[] insertAttributes = targetAttributes.toArray(new DBSAttributeBase[targetAttributes.size()]);
+        if (pipelined) {
+            pipeline = new DatabaseTransferPipeline(this, containerMapping.getTarget(), insertAttributes, settings.getWriterThreads());
+            pipeline.start();
+        } else {
+            executeBatch = createExecuteBatch(targetSession, insertAttributes);
+        }
+    }
+
+    /**
+     * Pipelined load inserts data in separate connections so it can't be used with shared connection.
+     * LOBs are bound to the source result set row, so they can't be passed to another thread either.
+     */
+    private boolean isPipelined(List<DBCAttributeMetaData> rsAttributes)
+    {
+        if (!settings.isPipelinedLoad() || !settings.isOpenNewConnections()) {
+            return false;
+        }
+        for (DBCAttributeMetaData attr : rsAttributes) {
+            if (attr.getDataKind() == DBPDataKind.CONTENT) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException
     {
         Object[] rowValues = new Object[targetAttributes.size()];
+        if (pipeline != null) {
+            // Fetch source values only, conversion to target values is done by writers
+            for (int i = 0; i < columnMappings.length; i++) {
+                ColumnMapping column = columnMappings[i];
+                if (column.targetIndex >= 0) {
+                    rowValues[column.targetIndex] = column.sourceValueHandler.fetchValueObject(session, resultSet, column.sourceAttr, i);
+                }
+            }
+            pipeline.putRow(session.getProgressMonitor(), rowValues);
+            rowsExported++;
+            return;
+        }
         for (int i = 0; i < columnMappings.length; i++) {
             ColumnMapping column = columnMappings[i];
             if (column.targetIndex < 0) {
@@ -141,6 +176,50 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private void insertBatch(boolean force) throws DBCException
     {
         boolean needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
+        insertBatch(targetSession, executeBatch, needCommit);
+    }
+
+    DBSDataManipulator.ExecuteBatch createExecuteBatch(DBCSession session, DBSAttributeBase[] attributes) throws DBCException
+    {
+        DBSDataManipulator target = containerMapping.getTarget();
+        AbstractExecutionSource source = new AbstractExecutionSource(sourceObject, session.getExecutionContext(), this);
+        if (settings.isUseBulkLoad()) {
+            // Use native loader if possible
+            DBSDataBulkLoader bulkLoader = DBUtils.getAdapter(DBSDataBulkLoader.class, session.getDataSource());
+            if (bulkLoader != null && bulkLoader.supportsBulkLoad(session, target, attributes)) {
+                return bulkLoader.bulkLoad(session, target, attributes, source);
+            }
+        }
+        return target.insertData(
+            session,
+            attributes,
+            null,
+            source);
+    }
+
+    /**
+     * Converts source values (placed in target attributes order) into target values
+     */
+    void convertRow(DBCSession session, Object[] rowValues) throws DBCException
+    {
+        for (ColumnMapping column : columnMappings) {
+            if (column.targetIndex >= 0) {
+                rowValues[column.targetIndex] = column.targetValueHandler.getValueFromObject(
+                    session,
+                    column.targetAttr.getTarget(),
+                    rowValues[column.targetIndex],
+                    false);
+            }
+        }
+    }
+
+    int getCommitAfterRows()
+    {
+        return settings.getCommitAfterRows();
+    }
+
+    void insertBatch(DBCSession targetSession, DBSDataManipulator.ExecuteBatch executeBatch, boolean needCommit) throws DBCException
+    {
         if (needCommit && executeBatch != null) {
             boolean retryInsert;
             do {
@@ -150,10 +229,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 } catch (Throwable e) {
                     log.error("Error inserting row", e);
                     if (!ignoreErrors) {
-                        ExecutionQueueErrorResponse response = ExecutionQueueErrorJob.showError(
-                            DBUtils.getObjectFullName(containerMapping.getTarget(), DBPEvaluationContext.UI) + " data load",
-                            e,
-                            true);
+                        ExecutionQueueErrorResponse response = showInsertError(e);
                         switch (response) {
                             case STOP:
                                 // just stop execution
@@ -183,9 +259,52 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
     }
 
+    private synchronized ExecutionQueueErrorResponse showInsertError(Throwable error)
+    {
+        if (ignoreErrors) {
+            // Another writer already chose to ignore all errors
+            return ExecutionQueueErrorResponse.IGNORE;
+        }
+        return ExecutionQueueErrorJob.showError(
+            DBUtils.getObjectFullName(containerMapping.getTarget(), DBPEvaluationContext.UI) + " data load",
+            error,
+            true);
+    }
+
+    void initTargetSession(DBCSession session) throws DBCException
+    {
+        if (settings.isUseTransactions()) {
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+            if (txnManager != null) {
+                txnManager.setAutoCommit(session.getProgressMonitor(), false);
+            }
+        }
+    }
+
+    /**
+     * Pipelined load statistics (one line per loaded result set)
+     */
+    public List<String> getPipelineSummaries()
+    {
+        return pipelineSummaries;
+    }
+
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
     {
+        if (pipeline != null) {
+            try {
+                pipeline.finish(session.getProgressMonitor());
+            } finally {
+                String summary = pipeline.getSummary();
+                pipelineSummaries.add(summary);
+                log.debug("Pipelined load of " + DBUtils.getObjectFullName(containerMapping.getTarget(), DBPEvaluationContext.UI) + ": " + summary);
+                pipeline.abort();
+                pipeline = null;
+                closeExporter();
+            }
+            return;
+        }
         if (rowsExported > 0) {
             insertBatch(true);
         }
@@ -200,9 +319,13 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     @Override
     public void close()
     {
+        if (pipeline != null) {
+            pipeline.abort();
+            pipeline = null;
+        }
     }
 
-    private void initExporter(DBRProgressMonitor monitor) throws DBCException
+    private void initExporter(DBRProgressMonitor monitor, boolean pipelined) throws DBCException
     {
         containerMapping = settings.getDataMapping(sourceObject);
         if (containerMapping == null) {
@@ -210,6 +333,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
         DBPDataSource dataSource = containerMapping.getTarget().getDataSource();
         assert (dataSource != null);
+        if (pipelined) {
+            // Writers open their own connections
+            return;
+        }
         try {
             targetContext = settings.isOpenNewConnections() ?
                 dataSource.openIsolatedContext(monitor, "Data transfer consumer") : dataSource.getDefaultContext(false);
@@ -218,12 +345,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
         targetSession = targetContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Data load");
         targetSession.enableLogging(false);
-        if (settings.isUseTransactions()) {
-            DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
-            if (txnManager != null) {
-                txnManager.setAutoCommit(monitor, false);
-            }
-        }
+        initTargetSession(targetSession);
     }
 
     private void closeExporter()
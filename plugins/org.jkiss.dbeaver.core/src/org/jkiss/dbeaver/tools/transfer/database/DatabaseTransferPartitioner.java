@@ -0,0 +1,864 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValueMeta;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTableIndex;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTableIndexColumn;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel partitioned table reader.
+ * Splits the source table by a numeric or date key into ranges and reads each range (ordered by the key)
+ * in its own isolated context. Consumer gets ranges one by one in key order, so rows are ordered by the key.
+ * Readers of ranges which wait for their turn keep running: when their buffer is full they write rows into
+ * a temp file. Rows with values which can't be written (structures, arrays, etc) stop such reader until
+ * consumer gets to its range.
+ */
+class DatabaseTransferPartitioner {
+
+    private static final Log log = Log.getLog(DatabaseTransferPartitioner.class);
+
+    private static final String SPILL_FOLDER = "transfer-spill"; //$NON-NLS-1$
+
+    private static final int PARTITION_BUFFER_SIZE = 1000;
+    private static final long POLL_TIMEOUT = 100;
+
+    // Zero length row (there are no rows without columns)
+    private static final Object[] END_OF_DATA = new Object[0];
+    // Classes of values which may be written into spill file
+    private static final Class<?>[] SPILL_TYPES = {
+        String.class, BigDecimal.class, BigInteger.class, byte[].class,
+        Long.class, Integer.class, Short.class, Byte.class, Double.class, Float.class, Boolean.class,
+        Date.class, java.sql.Date.class, java.sql.Time.class, java.sql.Timestamp.class };
+
+    @NotNull
+    private final DBSDataContainer dataContainer;
+    @Nullable
+    private final DBDDataFilter dataFilter;
+    private final int partitionCount;
+
+    private DBSEntityAttribute keyAttribute;
+    private final List<Partition> partitions = new ArrayList<>();
+    // Number of readers which are fetching rows now
+    private int activeReaders;
+    // Maximum number of readers which were fetching rows at the same time
+    private int maxConcurrentPartitions;
+    private boolean fetchStarted;
+    private long totalRows;
+
+    DatabaseTransferPartitioner(@NotNull DBSDataContainer dataContainer, @Nullable DBDDataFilter dataFilter, int partitionCount)
+    {
+        this.dataContainer = dataContainer;
+        this.dataFilter = dataFilter;
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * Finds partition key and splits key values into ranges.
+     * @return false if table can't be partitioned. Caller should read it in a single query then.
+     */
+    boolean preparePartitions(@NotNull DBCExecutionSource source, @NotNull DBCSession session)
+        throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity) || partitionCount < 2) {
+            return false;
+        }
+        if (dataFilter != null && dataFilter.hasOrdering()) {
+            log.debug("Partitioned read of ordered data is not supported");
+            return false;
+        }
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        try {
+            DBSEntity entity = (DBSEntity) dataContainer;
+            Collection<? extends DBSEntityAttribute> attributes = entity.getAttributes(monitor);
+            if (attributes != null) {
+                for (DBSEntityAttribute attr : attributes) {
+                    if (attr.getDataKind() == DBPDataKind.CONTENT) {
+                        // LOB locators may become invalid when partition cursor is closed before rows are consumed
+                        log.debug("Partitioned read of tables with LOB columns is not supported");
+                        return false;
+                    }
+                }
+            }
+            keyAttribute = findPartitionKey(monitor, entity);
+        } catch (DBException e) {
+            throw new DBCException("Can't read partition key metadata", e);
+        }
+        if (keyAttribute == null) {
+            log.debug("No suitable partition key found in '" + dataContainer.getName() + "'");
+            return false;
+        }
+
+        Object[] keyRange = readKeyRange(source, session);
+        if (keyRange == null) {
+            return false;
+        }
+        List<String> boundaries = makeBoundaries(session.getDataSource(), keyRange[0], keyRange[1]);
+        if (boundaries.isEmpty()) {
+            return false;
+        }
+
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+        partitions.clear();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            StringBuilder condition = new StringBuilder();
+            if (i > 0) {
+                condition.append(keyName).append(">=").append(boundaries.get(i - 1));
+            }
+            if (i < boundaries.size()) {
+                if (i > 0) condition.append(" AND ");
+                condition.append(keyName).append("<").append(boundaries.get(i));
+            }
+            partitions.add(new Partition(partitions.size(), condition.toString()));
+        }
+        if (!keyAttribute.isRequired()) {
+            partitions.add(new Partition(partitions.size(), keyName + " IS NULL"));
+        }
+        return true;
+    }
+
+    /**
+     * Reads all partitions in parallel and pushes rows into consumer.
+     * Consumer is called only from the current thread. Partitions are consumed in key order:
+     * rows which current partition buffered before the spilled ones, then its spill file, then the rest.
+     */
+    @NotNull
+    DBCStatistics transferData(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver consumer)
+        throws DBCException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        DBCStatistics statistics = new DBCStatistics();
+
+        File spillFolder = DBeaverCore.getInstance().getTempFolder(monitor, SPILL_FOLDER);
+        activeReaders = 0;
+        maxConcurrentPartitions = 0;
+        for (Partition partition : partitions) {
+            partition.spillFolder = spillFolder;
+            partition.readJob = new PartitionReadJob(partition);
+            partition.readJob.schedule();
+        }
+        PartitionResultSet resultSet = new PartitionResultSet(session);
+        fetchStarted = false;
+        totalRows = 0;
+        try {
+            int partitionsWithData = 0;
+            List<Object[]> rows = new ArrayList<>(PARTITION_BUFFER_SIZE);
+            for (Partition partition : partitions) {
+                rows.clear();
+                boolean finished = false;
+                File spillFile = partition.startConsuming(rows);
+                if (spillFile != null) {
+                    try {
+                        finished = fetchRows(session, consumer, resultSet, partition, rows);
+                        if (!finished) {
+                            finished = fetchSpilledRows(session, consumer, resultSet, partition, spillFile);
+                        }
+                    } finally {
+                        deleteSpillFile(spillFile);
+                    }
+                }
+                while (!finished) {
+                    if (monitor.isCanceled()) {
+                        return statistics;
+                    }
+                    rows.clear();
+                    try {
+                        Object[] row = partition.buffer.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                        if (row == null) {
+                            continue;
+                        }
+                        rows.add(row);
+                    } catch (InterruptedException e) {
+                        throw new DBCException("Partitioned read interrupted", e);
+                    }
+                    partition.buffer.drainTo(rows, PARTITION_BUFFER_SIZE);
+                    partition.notifyRowsConsumed();
+                    finished = fetchRows(session, consumer, resultSet, partition, rows);
+                }
+                if (monitor.isCanceled()) {
+                    return statistics;
+                }
+                if (partition.error != null) {
+                    throw new DBCException("Error reading partition [" + partition.condition + "]", partition.error);
+                }
+                if (partition.statistics != null) {
+                    statistics.accumulate(partition.statistics);
+                }
+                if (partition.hasData) {
+                    partitionsWithData++;
+                }
+            }
+            statistics.addInfo("Concurrent partitions", getMaxConcurrentPartitions());
+            if (partitionsWithData > 1 && getMaxConcurrentPartitions() < 2) {
+                // Readers didn't progress at the same time (e.g. isolated contexts are serialized by driver)
+                log.warn("Partitions of '" + dataContainer.getName() + "' were read sequentially");
+            }
+            return statistics;
+        } finally {
+            if (fetchStarted) {
+                try {
+                    consumer.fetchEnd(session, resultSet);
+                } catch (Throwable e) {
+                    log.error("Error while finishing partitioned fetch", e); //$NON-NLS-1$
+                }
+            }
+            consumer.close();
+            for (Partition partition : partitions) {
+                partition.aborted = true;
+                if (!partition.readJob.isFinished()) {
+                    partition.readJob.cancel();
+                }
+                File spillFile = partition.startConsuming(null);
+                if (spillFile != null) {
+                    deleteSpillFile(spillFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes rows to consumer.
+     * @return true if partition end was reached
+     */
+    private boolean fetchRows(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver consumer,
+        @NotNull PartitionResultSet resultSet,
+        @NotNull Partition partition,
+        @NotNull List<Object[]> rows)
+        throws DBCException
+    {
+        for (Object[] row : rows) {
+            if (fetchRow(session, consumer, resultSet, partition, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean fetchRow(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver consumer,
+        @NotNull PartitionResultSet resultSet,
+        @NotNull Partition partition,
+        @NotNull Object[] row)
+        throws DBCException
+    {
+        if (row.length == 0) {
+            // End of data. Spilled rows lose their identity, so check length
+            return true;
+        }
+        if (!fetchStarted) {
+            resultSet.metaAttributes = partition.metaAttributes;
+            consumer.fetchStart(session, resultSet, 0, -1);
+            fetchStarted = true;
+        }
+        resultSet.curRow = row;
+        consumer.fetchRow(session, resultSet);
+        totalRows++;
+        if (totalRows % 100 == 0) {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            monitor.subTask(totalRows + " rows fetched (partition " + (partition.index + 1) + " of " + partitions.size() + ")");
+            monitor.worked(100);
+        }
+        return false;
+    }
+
+    /**
+     * Passes rows of partition spill file to consumer.
+     * @return true if partition end was reached
+     */
+    private boolean fetchSpilledRows(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver consumer,
+        @NotNull PartitionResultSet resultSet,
+        @NotNull Partition partition,
+        @NotNull File spillFile)
+        throws DBCException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+            while (!monitor.isCanceled()) {
+                Object[] row;
+                try {
+                    row = (Object[]) in.readObject();
+                } catch (EOFException e) {
+                    // Reader stopped spilling (write error). Other rows are in the buffer
+                    return false;
+                }
+                if (fetchRow(session, consumer, resultSet, partition, row)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException | ClassNotFoundException e) {
+            if (partition.error != null) {
+                throw new DBCException("Error reading partition [" + partition.condition + "]", partition.error);
+            }
+            throw new DBCException("Error reading partition spill file", e);
+        }
+    }
+
+    private static void deleteSpillFile(@NotNull File spillFile)
+    {
+        if (!spillFile.delete()) {
+            log.debug("Can't delete partition spill file '" + spillFile.getAbsolutePath() + "'");
+        }
+    }
+
+    private synchronized void updateActiveReaders(int delta)
+    {
+        activeReaders += delta;
+        maxConcurrentPartitions = Math.max(maxConcurrentPartitions, activeReaders);
+    }
+
+    /**
+     * Maximum number of partitions which were fetching rows at the same time during the last transfer.
+     * Less than 2 means that partitions were not actually read in parallel.
+     */
+    synchronized int getMaxConcurrentPartitions()
+    {
+        return maxConcurrentPartitions;
+    }
+
+    @Nullable
+    private static DBSEntityAttribute findPartitionKey(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException
+    {
+        Collection<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+        if (identifier.size() == 1) {
+            DBSEntityAttribute idAttr = identifier.iterator().next();
+            if (isPartitionKeyType(idAttr)) {
+                return idAttr;
+            }
+        }
+        if (entity instanceof DBSTable) {
+            // Any index which starts with numeric or date column
+            Collection<? extends DBSTableIndex> indexes = ((DBSTable) entity).getIndexes(monitor);
+            if (!CommonUtils.isEmpty(indexes)) {
+                for (DBSTableIndex index : indexes) {
+                    List<? extends DBSTableIndexColumn> indexColumns = index.getAttributeReferences(monitor);
+                    if (!CommonUtils.isEmpty(indexColumns)) {
+                        DBSEntityAttribute firstColumn = indexColumns.get(0).getAttribute();
+                        if (firstColumn != null && isPartitionKeyType(firstColumn)) {
+                            return firstColumn;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPartitionKeyType(@NotNull DBSEntityAttribute attribute)
+    {
+        return attribute.getDataKind() == DBPDataKind.NUMERIC || attribute.getDataKind() == DBPDataKind.DATETIME;
+    }
+
+    @Nullable
+    private Object[] readKeyRange(@NotNull DBCExecutionSource source, @NotNull DBCSession session)
+        throws DBCException
+    {
+        DBPDataSource dataSource = session.getDataSource();
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+        StringBuilder query = new StringBuilder(100);
+        query.append("SELECT MIN(").append(keyName).append("),MAX(").append(keyName).append(") FROM ") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            .append(DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML));
+        if (dataFilter != null && dataFilter.hasConditions()) {
+            query.append("\nWHERE "); //$NON-NLS-1$
+            SQLUtils.appendConditionString(dataFilter, dataSource, null, query, true);
+        }
+        session.getProgressMonitor().subTask("Read partition key range");
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+            dbStat.setStatementSource(source);
+            if (!dbStat.executeStatement()) {
+                return null;
+            }
+            DBCResultSet dbResult = dbStat.openResultSet();
+            if (dbResult == null) {
+                return null;
+            }
+            try {
+                if (!dbResult.nextRow()) {
+                    return null;
+                }
+                DBDValueHandler valueHandler = DBUtils.findValueHandler(session, keyAttribute);
+                Object minValue = valueHandler.fetchValueObject(session, dbResult, keyAttribute, 0);
+                Object maxValue = valueHandler.fetchValueObject(session, dbResult, keyAttribute, 1);
+                if (DBUtils.isNullValue(minValue) || DBUtils.isNullValue(maxValue)) {
+                    // Empty table
+                    return null;
+                }
+                return new Object[] { minValue, maxValue };
+            } finally {
+                dbResult.close();
+            }
+        }
+    }
+
+    /**
+     * Makes SQL literals of inner range boundaries. Duplicate boundaries are skipped.
+     */
+    @NotNull
+    private List<String> makeBoundaries(@NotNull DBPDataSource dataSource, @NotNull Object minValue, @NotNull Object maxValue)
+    {
+        List<String> boundaries = new ArrayList<>(partitionCount);
+        if (minValue instanceof Number && maxValue instanceof Number) {
+            BigDecimal min = toBigDecimal((Number) minValue);
+            BigDecimal max = toBigDecimal((Number) maxValue);
+            boolean integral = isIntegral((Number) minValue) && isIntegral((Number) maxValue);
+            BigDecimal step = max.subtract(min).divide(BigDecimal.valueOf(partitionCount), MathContext.DECIMAL64);
+            for (int i = 1; i < partitionCount; i++) {
+                BigDecimal boundary = min.add(step.multiply(BigDecimal.valueOf(i)));
+                if (integral) {
+                    boundary = boundary.setScale(0, RoundingMode.FLOOR);
+                }
+                addBoundary(boundaries, boundary.toPlainString());
+            }
+        } else if (minValue instanceof Date && maxValue instanceof Date) {
+            long min = ((Date) minValue).getTime();
+            long max = ((Date) maxValue).getTime();
+            long step = (max - min) / partitionCount;
+            for (int i = 1; i < partitionCount && step > 0; i++) {
+                Date boundary = minValue instanceof java.sql.Date ?
+                    new java.sql.Date(min + step * i) :
+                    new java.sql.Timestamp(min + step * i);
+                addBoundary(boundaries, SQLUtils.convertValueToSQL(dataSource, keyAttribute, boundary));
+            }
+        } else {
+            log.debug("Unsupported partition key value type: " + minValue.getClass().getName());
+        }
+        return boundaries;
+    }
+
+    private static void addBoundary(List<String> boundaries, String boundary)
+    {
+        if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+            boundaries.add(boundary);
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Number value)
+    {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (isIntegral(value)) {
+            return BigDecimal.valueOf(value.longValue());
+        } else {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+    }
+
+    private static boolean isIntegral(Number value)
+    {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
+            value instanceof BigInteger || (value instanceof BigDecimal && ((BigDecimal) value).scale() <= 0);
+    }
+
+    static class Partition {
+        final int index;
+        final String condition;
+        final BlockingQueue<Object[]> buffer = new ArrayBlockingQueue<>(PARTITION_BUFFER_SIZE);
+        volatile List<DBCAttributeMetaData> metaAttributes;
+        volatile DBCStatistics statistics;
+        volatile Throwable error;
+        volatile boolean aborted;
+        volatile boolean hasData;
+        volatile File spillFolder;
+        PartitionReadJob readJob;
+        // Guarded by partition lock
+        private boolean current;
+        private File spillFile;
+        private ObjectOutputStream spillOut;
+        private boolean spillFailed;
+        private int spilledRows;
+
+        Partition(int index, String condition)
+        {
+            this.index = index;
+            this.condition = condition;
+        }
+
+        /**
+         * Called by reader. Puts row into the buffer. If the buffer is full and consumer didn't get to this partition yet
+         * then row is written into spill file. Once spilling started all next rows go to spill file, to keep rows order.
+         */
+        synchronized void putRow(DBRProgressMonitor monitor, Object[] row) throws DBCException
+        {
+            for (;;) {
+                if (aborted || monitor.isCanceled()) {
+                    throw new DBCException("Partition read aborted");
+                }
+                if (spillOut != null) {
+                    if (isSpillable(row)) {
+                        spillRow(row);
+                        return;
+                    }
+                } else if (buffer.offer(row)) {
+                    return;
+                } else if (!current && isSpillable(row) && startSpill()) {
+                    spillRow(row);
+                    return;
+                }
+                try {
+                    // Wait for consumer
+                    wait(POLL_TIMEOUT);
+                } catch (InterruptedException e) {
+                    throw new DBCException("Partition read interrupted", e);
+                }
+            }
+        }
+
+        /**
+         * Called by consumer. Makes partition current, so reader puts all next rows into the buffer.
+         * @param bufferedRows receives rows buffered before the spilled ones
+         * @return closed spill file or null
+         */
+        @Nullable
+        synchronized File startConsuming(@Nullable List<Object[]> bufferedRows)
+        {
+            current = true;
+            closeSpill();
+            File file = spillFile;
+            spillFile = null;
+            if (file != null && bufferedRows != null) {
+                buffer.drainTo(bufferedRows);
+            }
+            notifyAll();
+            return file;
+        }
+
+        synchronized void notifyRowsConsumed()
+        {
+            notifyAll();
+        }
+
+        private boolean startSpill()
+        {
+            if (spillFailed || spillFolder == null) {
+                return false;
+            }
+            try {
+                spillFile = File.createTempFile("partition", ".spill", spillFolder);
+                spillFile.deleteOnExit();
+                spillOut = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+                return true;
+            } catch (IOException e) {
+                log.warn("Can't create partition spill file", e);
+                spillFailed = true;
+                closeSpill();
+                if (spillFile != null) {
+                    deleteSpillFile(spillFile);
+                    spillFile = null;
+                }
+                return false;
+            }
+        }
+
+        private void spillRow(Object[] row) throws DBCException
+        {
+            try {
+                spillOut.writeObject(row);
+                if (++spilledRows % PARTITION_BUFFER_SIZE == 0) {
+                    // Stream keeps references to all written objects until reset
+                    spillOut.reset();
+                }
+            } catch (IOException e) {
+                spillFailed = true;
+                closeSpill();
+                throw new DBCException("Error writing partition rows to spill file", e);
+            }
+        }
+
+        private void closeSpill()
+        {
+            if (spillOut != null) {
+                try {
+                    spillOut.close();
+                } catch (IOException e) {
+                    log.debug("Error closing partition spill file", e);
+                }
+                spillOut = null;
+            }
+        }
+
+        private static boolean isSpillable(Object[] row)
+        {
+            for (Object value : row) {
+                if (value != null && !ArrayUtils.containsRef(SPILL_TYPES, value.getClass())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private class PartitionReadJob extends AbstractJob {
+
+        private final Partition partition;
+
+        PartitionReadJob(Partition partition)
+        {
+            super("Read partition " + (partition.index + 1) + " of " + dataContainer.getName());
+            this.partition = partition;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            DBPDataSource dataSource = dataContainer.getDataSource();
+            try {
+                if (dataSource == null) {
+                    throw new DBCException("No data source");
+                }
+                DBCExecutionContext context = dataSource.openIsolatedContext(monitor, "Data transfer partition " + (partition.index + 1));
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Read partition")) {
+                    session.enableLogging(false);
+                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                    if (txnManager != null) {
+                        try {
+                            txnManager.setAutoCommit(monitor, false);
+                        } catch (DBCException e) {
+                            log.warn("Can't change auto-commit", e);
+                        }
+                    }
+                    DBDDataFilter partitionFilter = SQLUtils.makeFilterWithCondition(dataSource, dataFilter, partition.condition);
+                    // Consumer reads partitions in key order
+                    partitionFilter.setOrder(DBUtils.getQuotedIdentifier(keyAttribute));
+                    partition.statistics = dataContainer.readData(
+                        new AbstractExecutionSource(dataContainer, context, this),
+                        session,
+                        new PartitionDataReceiver(partition),
+                        partitionFilter,
+                        -1, -1, DBSDataContainer.FLAG_NONE);
+                    if (txnManager != null) {
+                        try {
+                            txnManager.commit(session);
+                        } catch (DBCException e) {
+                            log.warn("Can't finish transaction in partition connection", e);
+                        }
+                    }
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                if (!partition.aborted) {
+                    partition.error = e;
+                }
+            } finally {
+                if (partition.hasData) {
+                    updateActiveReaders(-1);
+                }
+                try {
+                    partition.putRow(monitor, END_OF_DATA);
+                } catch (DBCException e) {
+                    // Reader gone
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Materializes partition rows into the partition buffer
+     */
+    private class PartitionDataReceiver implements DBDDataReceiver {
+
+        private final Partition partition;
+        private DBDValueHandler[] valueHandlers;
+        private List<DBCAttributeMetaData> attributes;
+
+        PartitionDataReceiver(Partition partition)
+        {
+            this.partition = partition;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
+        {
+            attributes = resultSet.getMeta().getAttributes();
+            valueHandlers = new DBDValueHandler[attributes.size()];
+            for (int i = 0; i < valueHandlers.length; i++) {
+                valueHandlers[i] = DBUtils.findValueHandler(session, attributes.get(i));
+            }
+            partition.metaAttributes = attributes;
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+            if (!partition.hasData) {
+                partition.hasData = true;
+                updateActiveReaders(1);
+            }
+            Object[] row = new Object[valueHandlers.length];
+            for (int i = 0; i < valueHandlers.length; i++) {
+                row[i] = valueHandlers[i].fetchValueObject(session, resultSet, attributes.get(i), i);
+            }
+            partition.putRow(session.getProgressMonitor(), row);
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    /**
+     * Result set over materialized partition rows. Value handlers read values with {@link #getAttributeValue(int)}.
+     */
+    private static class PartitionResultSet implements DBCResultSet {
+
+        private final DBCSession session;
+        private List<DBCAttributeMetaData> metaAttributes = Collections.emptyList();
+        private Object[] curRow;
+
+        PartitionResultSet(DBCSession session)
+        {
+            this.session = session;
+        }
+
+        @Override
+        public DBCSession getSession()
+        {
+            return session;
+        }
+
+        @Override
+        public DBCStatement getSourceStatement()
+        {
+            return null;
+        }
+
+        @Override
+        public Object getAttributeValue(int index) throws DBCException
+        {
+            if (curRow == null || index < 0 || index >= curRow.length) {
+                throw new DBCException("Attribute index out of range (" + index + ")");
+            }
+            return curRow[index];
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(String name) throws DBCException
+        {
+            for (int i = 0; i < metaAttributes.size(); i++) {
+                if (metaAttributes.get(i).getName().equals(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            throw new DBCException("Bad attribute name: " + name);
+        }
+
+        @Override
+        public DBDValueMeta getAttributeValueMeta(int index) throws DBCException
+        {
+            return null;
+        }
+
+        @Override
+        public DBDValueMeta getRowMeta() throws DBCException
+        {
+            return null;
+        }
+
+        @Override
+        public boolean nextRow()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean moveTo(int position)
+        {
+            return false;
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta()
+        {
+            return new DBCResultSetMetaData() {
+                @Override
+                public List<DBCAttributeMetaData> getAttributes()
+                {
+                    return metaAttributes;
+                }
+            };
+        }
+
+        @Override
+        public String getResultSetName()
+        {
+            return null;
+        }
+
+        @Override
+        public void close()
+        {
+            curRow = null;
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipelined data load.
+ * Reader thread (the one which fetches source result set) puts rows into a bounded buffer,
+ * writer jobs take rows from it and insert them in target. Each writer works in its own target connection,
+ * so source fetch and target batch execution overlap.
+ */
+class DatabaseTransferPipeline {
+
+    private static final Log log = Log.getLog(DatabaseTransferPipeline.class);
+
+    static final int BUFFER_SIZE = 10000;
+    private static final long POLL_TIMEOUT = 100;
+    private static final Object[] END_OF_DATA = new Object[0];
+
+    private final DatabaseTransferConsumer consumer;
+    private final DBSDataManipulator target;
+    private final DBSAttributeBase[] targetAttributes;
+    private final ArrayBlockingQueue<Object[]> buffer;
+    private final List<WriterJob> writers = new ArrayList<>();
+    private volatile Throwable error;
+    private volatile boolean aborted;
+
+    // Statistics. Reader-side counters are updated only by reader thread.
+    private final long startTime;
+    private long rowsQueued;
+    private long readerStallTime;
+    private long queueDepthSum;
+    private int maxQueueDepth;
+
+    DatabaseTransferPipeline(
+        @NotNull DatabaseTransferConsumer consumer,
+        @NotNull DBSDataManipulator target,
+        @NotNull DBSAttributeBase[] targetAttributes,
+        int writerCount)
+    {
+        this.consumer = consumer;
+        this.target = target;
+        this.targetAttributes = targetAttributes;
+        this.buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        for (int i = 0; i < writerCount; i++) {
+            writers.add(new WriterJob(i));
+        }
+        this.startTime = System.currentTimeMillis();
+    }
+
+    void start()
+    {
+        for (WriterJob writer : writers) {
+            writer.schedule();
+        }
+    }
+
+    /**
+     * Puts row in buffer. Blocks while buffer is full.
+     */
+    void putRow(@NotNull DBRProgressMonitor monitor, @NotNull Object[] row) throws DBCException
+    {
+        checkError();
+        int depth = buffer.size();
+        queueDepthSum += depth;
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        offerRow(monitor, row);
+        rowsQueued++;
+    }
+
+    private void offerRow(@NotNull DBRProgressMonitor monitor, @NotNull Object[] row) throws DBCException
+    {
+        if (!buffer.offer(row)) {
+            long stallStart = System.currentTimeMillis();
+            try {
+                while (!buffer.offer(row, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    checkError();
+                    if (monitor.isCanceled()) {
+                        throw new DBCException("Data load canceled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new DBCException("Data load interrupted", e);
+            } finally {
+                readerStallTime += System.currentTimeMillis() - stallStart;
+            }
+        }
+    }
+
+    /**
+     * Signals end of data to all writers and waits until they flush their batches.
+     */
+    void finish(@NotNull DBRProgressMonitor monitor) throws DBCException
+    {
+        for (int i = 0; i < writers.size(); i++) {
+            offerRow(monitor, END_OF_DATA);
+        }
+        for (WriterJob writer : writers) {
+            while (!writer.finished) {
+                if (monitor.isCanceled()) {
+                    abort();
+                    throw new DBCException("Data load canceled");
+                }
+                RuntimeUtils.pause(50);
+            }
+        }
+        checkError();
+    }
+
+    /**
+     * Stops all writers. Rows which are still in buffer are discarded.
+     */
+    void abort()
+    {
+        aborted = true;
+        buffer.clear();
+        for (WriterJob writer : writers) {
+            if (!writer.finished) {
+                writer.cancel();
+            }
+        }
+    }
+
+    @NotNull
+    String getSummary()
+    {
+        long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        long rowsInserted = 0, writerStallTime = 0;
+        for (WriterJob writer : writers) {
+            rowsInserted += writer.rowsInserted;
+            writerStallTime += writer.stallTime;
+        }
+        return rowsInserted + " rows inserted by " + writers.size() + " writer(s) in " + RuntimeUtils.formatExecutionTime(elapsed) +
+            " (" + (rowsInserted * 1000 / elapsed) + " rows/s)" +
+            ", queue depth avg/max: " + (rowsQueued == 0 ? 0 : queueDepthSum / rowsQueued) + "/" + maxQueueDepth +
+            ", reader stall: " + RuntimeUtils.formatExecutionTime(readerStallTime) +
+            ", writers stall: " + RuntimeUtils.formatExecutionTime(writerStallTime / writers.size());
+    }
+
+    private void checkError() throws DBCException
+    {
+        if (error != null) {
+            if (error instanceof DBCException) {
+                throw (DBCException) error;
+            }
+            throw new DBCException("Error inserting data", error);
+        }
+    }
+
+    private class WriterJob extends AbstractJob {
+
+        private final int index;
+        private volatile boolean finished;
+        private volatile long rowsInserted;
+        private volatile long stallTime;
+
+        WriterJob(int index)
+        {
+            super("Data load writer " + (index + 1));
+            this.index = index;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            try {
+                DBPDataSource dataSource = target.getDataSource();
+                if (dataSource == null) {
+                    throw new DBCException("No target data source");
+                }
+                DBCExecutionContext context = dataSource.openIsolatedContext(monitor, "Data transfer writer " + (index + 1));
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Data load")) {
+                    session.enableLogging(false);
+                    consumer.initTargetSession(session);
+                    DBSDataManipulator.ExecuteBatch executeBatch = consumer.createExecuteBatch(session, targetAttributes);
+                    try {
+                        writeRows(session, executeBatch);
+                    } finally {
+                        executeBatch.close();
+                    }
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                if (!aborted) {
+                    log.debug("Data load writer " + (index + 1) + " failed", e);
+                    error = e;
+                    buffer.clear();
+                }
+            } finally {
+                finished = true;
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void writeRows(DBCSession session, DBSDataManipulator.ExecuteBatch executeBatch) throws Exception
+        {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            long rowCount = 0;
+            for (;;) {
+                if (aborted || error != null) {
+                    return;
+                }
+                Object[] row = buffer.poll();
+                if (row == null) {
+                    long stallStart = System.currentTimeMillis();
+                    while (row == null) {
+                        if (aborted || error != null || monitor.isCanceled()) {
+                            return;
+                        }
+                        row = buffer.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    }
+                    stallTime += System.currentTimeMillis() - stallStart;
+                }
+                if (row == END_OF_DATA) {
+                    if (rowCount > 0) {
+                        consumer.insertBatch(session, executeBatch, true);
+                    }
+                    return;
+                }
+                consumer.convertRow(session, row);
+                executeBatch.add(row);
+                rowCount++;
+                rowsInserted = rowCount;
+                consumer.insertBatch(session, executeBatch, rowCount % consumer.getCommitAfterRows() == 0);
+            }
+        }
+    }
+
+}
@@ -25,6 +25,8 @@ import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataKeyset;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -125,21 +127,56 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                 try {
                     // Perform export
-                    if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                    DatabaseTransferPartitioner partitioner = null;
+                    if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.PARALLEL_PARTITIONS && !selectiveExportFromUI) {
+                        partitioner = new DatabaseTransferPartitioner(dataContainer, dataFilter, settings.getPartitionCount());
+                        if (!partitioner.preparePartitions(transferSource, session)) {
+                            log.debug("Can't split '" + dataContainer.getName() + "' into partitions. Read it in single query.");
+                            partitioner = null;
+                        }
+                    }
+                    if (partitioner != null) {
+                        // Read key ranges in parallel
+                        DBCStatistics statistics = partitioner.transferData(session, consumer);
+                        log.debug("Partitioned read of '" + dataContainer.getName() + "' finished: " +
+                            statistics.getRowsFetched() + " rows, " + statistics.getStatementsCount() + " statements, " +
+                            statistics.getTotalTime() + "ms, " + partitioner.getMaxConcurrentPartitions() + " partitions read concurrently");
+                    } else if (settings.getExtractType() != DatabaseProducerSettings.ExtractType.SEGMENTS) {
                         // Just do it in single query
                         dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, DBSDataContainer.FLAG_NONE);
                     } else {
                         // Read all data by segments
                         long offset = 0;
                         int segmentSize = settings.getSegmentSize();
+                        // Seek by unique key if possible - offsets get slower with each next segment
+                        DBDDataKeyset keyset = null;
+                        try {
+                            keyset = DBDDataKeyset.makeKeyset(monitor, dataContainer, dataFilter);
+                        } catch (DBException e) {
+                            log.debug("Can't determine unique key of '" + dataContainer.getName() + "'", e);
+                        }
+                        DBDDataFilter segmentFilter = dataFilter;
                         for (; ; ) {
+                            DBDDataReceiver segmentReceiver = consumer;
+                            long segmentOffset = offset;
+                            if (keyset != null) {
+                                segmentFilter = keyset.makeSegmentFilter(dataSource, dataFilter);
+                                segmentReceiver = new KeysetDataReceiver(consumer, keyset);
+                                if (keyset.hasLastKey()) {
+                                    segmentOffset = 0;
+                                }
+                            }
                             DBCStatistics statistics = dataContainer.readData(
-                                transferSource, session, consumer, dataFilter, offset, segmentSize, DBSDataContainer.FLAG_NONE);
+                                transferSource, session, segmentReceiver, segmentFilter, segmentOffset, segmentSize, DBSDataContainer.FLAG_NONE);
                             if (statistics == null || statistics.getRowsFetched() < segmentSize) {
                                 // Done
                                 break;
                             }
                             offset += statistics.getRowsFetched();
+                            if (keyset != null && !keyset.hasLastKey()) {
+                                // Key columns are missing in result set. Keep ordering and continue with offsets
+                                keyset = null;
+                            }
                         }
                     }
                 } finally {
@@ -164,4 +201,51 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         }
     }
 
+    /**
+     * Remembers the last read row key for keyset pagination
+     */
+    private static class KeysetDataReceiver implements DBDDataReceiver {
+
+        private final DBDDataReceiver consumer;
+        private final DBDDataKeyset keyset;
+        private boolean keyBound;
+
+        KeysetDataReceiver(DBDDataReceiver consumer, DBDDataKeyset keyset)
+        {
+            this.consumer = consumer;
+            this.keyset = keyset;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
+        {
+            keyBound = keyset.bindResultSet(resultSet.getMeta().getAttributes());
+            if (!keyBound) {
+                keyset.setLastKey(null);
+            }
+            consumer.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+            if (keyBound) {
+                keyset.fetchLastKey(session, resultSet);
+            }
+            consumer.fetchRow(session, resultSet);
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+            consumer.fetchEnd(session, resultSet);
+        }
+
+        @Override
+        public void close()
+        {
+            consumer.close();
+        }
+    }
+
 }
@@ -30,17 +30,22 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
+import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Data transfer job
  */
 public class DataTransferJob extends AbstractJob {
 
     private DataTransferSettings settings;
+    private final List<String> loadStatistics = new ArrayList<>();
 
     public DataTransferJob(DataTransferSettings settings)
     {
@@ -76,6 +81,11 @@ public class DataTransferJob extends AbstractJob {
 
     private void showResult(final long time, final boolean hasErrors)
     {
+        final StringBuilder message = new StringBuilder();
+        message.append("Data transfer completed ").append(hasErrors ? "with errors " : "").append("(").append(RuntimeUtils.formatExecutionTime(time)).append(")");
+        for (String stat : loadStatistics) {
+            message.append("\n").append(stat);
+        }
         // Run async to avoid blocking progress monitor dialog
         DBeaverUI.asyncExec(new Runnable() {
             @Override
@@ -91,7 +101,7 @@ public class DataTransferJob extends AbstractJob {
                 UIUtils.showMessageBox(
                     null,
                     "Data transfer",
-                    "Data transfer completed " + (hasErrors ? "with errors " : "") + "(" + RuntimeUtils.formatExecutionTime(time) + ")",
+                    message.toString(),
                     hasErrors ? SWT.ICON_ERROR : SWT.ICON_INFORMATION);
             }
         });
@@ -120,6 +130,12 @@ public class DataTransferJob extends AbstractJob {
         } catch (Exception e) {
             new DataTransferErrorJob(e).schedule();
             return false;
+        } finally {
+            if (consumer instanceof DatabaseTransferConsumer) {
+                for (String summary : ((DatabaseTransferConsumer) consumer).getPipelineSummaries()) {
+                    loadStatistics.add(consumer.getTargetName() + ": " + summary);
+                }
+            }
         }
 
     }
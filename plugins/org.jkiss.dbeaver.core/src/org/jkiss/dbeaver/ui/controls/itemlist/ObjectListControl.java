@@ -44,6 +44,7 @@ import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.IDataSourceContainerProvider;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.meta.IPropertyBatchLoader;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -69,6 +70,8 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
 
     private final static LazyValue DEF_LAZY_VALUE = new LazyValue("..."); //$NON-NLS-1$
     private final static int LAZY_LOAD_DELAY = 100;
+    // Min interval between viewer updates with loaded lazy values
+    private final static int LAZY_REFRESH_DELAY = 200;
     private final static Object NULL_VALUE = new Object();
 
     private boolean isFitWidth;
@@ -92,6 +95,8 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
     private Map<OBJECT_TYPE, List<ObjectColumn>> lazyObjects;
     private final Map<OBJECT_TYPE, Map<String, Object>> lazyCache = new IdentityHashMap<>();
     private volatile boolean lazyLoadCanceled;
+    private final Set<Object> lazyUpdatedObjects = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private boolean lazyUpdateScheduled;
     private List<OBJECT_TYPE> objectList = null;
     private Object focusObject;
     private ObjectColumn focusColumn;
@@ -1075,61 +1080,79 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         @Override
         protected IStatus run(final DBRProgressMonitor monitor) {
             final Map<OBJECT_TYPE, List<ObjectColumn>> objectMap = obtainLazyObjects();
-            if (isDisposed()) {
+            if (objectMap == null || isDisposed()) {
                 return Status.OK_STATUS;
             }
-            monitor.beginTask(CoreMessages.controls_object_list_monitor_load_lazy_props, objectMap.size());
+            // Group values by property. Skip already cached values
+            final Map<ObjectPropertyDescriptor, List<OBJECT_TYPE>> propertyMap = new LinkedHashMap<>();
             for (Map.Entry<OBJECT_TYPE, List<ObjectColumn>> entry : objectMap.entrySet()) {
-                if (monitor.isCanceled() || isDisposed()) {
-                    break;
-                }
                 final OBJECT_TYPE element = entry.getKey();
                 Object object = getObjectValue(element);
                 if (object == null) {
                     continue;
                 }
-                Map<String, Object> objectCache;
-                synchronized (lazyCache) {
-                    objectCache = lazyCache.get(element);
-                    if (objectCache == null) {
-                        objectCache = new HashMap<>();
-                        lazyCache.put(element, objectCache);
-                    }
-                }
-                String objectName = GeneralUtils.makeDisplayString(getObjectValue(element)).toString();
-                monitor.subTask(NLS.bind(CoreMessages.controls_object_list_monitor_load_props, objectName));
+                Map<String, Object> objectCache = getLazyObjectCache(element);
                 for (ObjectColumn column : entry.getValue()) {
-                    if (monitor.isCanceled() || isDisposed()) {
-                        break;
-                    }
                     ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
-                    if (prop != null) {
-                        try {
-                            synchronized (lazyCache) {
-                                if (objectCache.containsKey(prop.getId())) {
-                                    // This property already cached
-                                    continue;
-                                }
-                            }
-                            Object lazyValue = prop.readValue(object, monitor);
-                            if (lazyValue == null) {
-                                lazyValue = NULL_VALUE;
-                            }
-                            synchronized (lazyCache) {
-                                objectCache.put(prop.getId(), lazyValue);
-                            }
-                        } catch (Throwable e) {
-                            if (e instanceof InvocationTargetException) {
-                                e = ((InvocationTargetException) e).getTargetException();
-                            }
-                            log.error("Error reading property '" + prop.getId() + "' from " + object, e); //$NON-NLS-1$ //$NON-NLS-2$
-                            // do not return error - it causes a lot of error boxes
-                            //return RuntimeUtils.makeExceptionStatus(e);
+                    if (prop == null) {
+                        continue;
+                    }
+                    synchronized (lazyCache) {
+                        if (objectCache.containsKey(prop.getId())) {
+                            // This property already cached
+                            continue;
+                        }
+                    }
+                    List<OBJECT_TYPE> propElements = propertyMap.get(prop);
+                    if (propElements == null) {
+                        propElements = new ArrayList<>();
+                        propertyMap.put(prop, propElements);
+                    }
+                    propElements.add(element);
+                }
+            }
+            if (propertyMap.isEmpty()) {
+                return Status.OK_STATUS;
+            }
+
+            final List<LazyRead> reads = new ArrayList<>();
+            for (Map.Entry<ObjectPropertyDescriptor, List<OBJECT_TYPE>> entry : propertyMap.entrySet()) {
+                for (OBJECT_TYPE element : entry.getValue()) {
+                    reads.add(new LazyRead(element, entry.getKey()));
+                }
+            }
+            monitor.beginTask(CoreMessages.controls_object_list_monitor_load_lazy_props, propertyMap.size() + reads.size());
+
+            // Read properties which support it with one query for all objects.
+            // After that getters return cached values
+            for (Map.Entry<ObjectPropertyDescriptor, List<OBJECT_TYPE>> entry : propertyMap.entrySet()) {
+                if (monitor.isCanceled() || isDisposed()) {
+                    break;
+                }
+                final ObjectPropertyDescriptor prop = entry.getKey();
+                final IPropertyBatchLoader batchLoader = prop.getBatchLoader();
+                if (batchLoader != null && prop.getParent() == null && entry.getValue().size() > 1) {
+                    List<Object> objects = new ArrayList<>(entry.getValue().size());
+                    for (OBJECT_TYPE element : entry.getValue()) {
+                        Object object = getObjectValue(element);
+                        if (prop.getDeclaringClass().isInstance(object)) {
+                            objects.add(object);
                         }
                     }
+                    monitor.subTask(NLS.bind(CoreMessages.controls_object_list_monitor_load_props, prop.getDisplayName()));
+                    try {
+                        batchLoader.loadProperty(monitor, prop.getId(), objects);
+                    } catch (Throwable e) {
+                        // Values will be read one by one
+                        log.debug("Error reading property '" + prop.getId() + "' of " + objects.size() + " objects", e); //$NON-NLS-1$ //$NON-NLS-2$
+                    }
                 }
                 monitor.worked(1);
             }
+
+            // Read the rest of values one by one.
+            // Getters of one data source use the same meta connection, so parallel reads wouldn't help
+            readLazyValues(reads, monitor);
             monitor.done();
             if (!isDisposed()) {
                 // Make refresh of whole table
@@ -1144,22 +1167,6 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
                 });
             }
 
-/*
-            // Update viewer
-            if (!isDisposed()) {
-                getDisplay().asyncExec(new Runnable() {
-                    public void run()
-                    {
-                        itemsViewer.getControl().setRedraw(false);
-                        try {
-                            itemsViewer.update(objectMap.keySet().toArray(), null);
-                        } finally {
-                            itemsViewer.getControl().setRedraw(true);
-                        }
-                    }
-                });
-            }
-*/
             if (monitor.isCanceled()) {
                 lazyLoadCanceled = true;
                 obtainLazyObjects();
@@ -1168,6 +1175,97 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         }
     }
 
+    private static class LazyRead {
+        final Object element;
+        final ObjectPropertyDescriptor property;
+
+        LazyRead(Object element, ObjectPropertyDescriptor property) {
+            this.element = element;
+            this.property = property;
+        }
+    }
+
+    private Map<String, Object> getLazyObjectCache(OBJECT_TYPE element) {
+        synchronized (lazyCache) {
+            Map<String, Object> objectCache = lazyCache.get(element);
+            if (objectCache == null) {
+                objectCache = new HashMap<>();
+                lazyCache.put(element, objectCache);
+            }
+            return objectCache;
+        }
+    }
+
+    private void readLazyValues(List<LazyRead> reads, DBRProgressMonitor monitor) {
+        for (LazyRead read : reads) {
+            if (monitor.isCanceled() || isDisposed()) {
+                break;
+            }
+            final OBJECT_TYPE element = (OBJECT_TYPE) read.element;
+            final ObjectPropertyDescriptor prop = read.property;
+            final Object object = getObjectValue(element);
+            monitor.subTask(NLS.bind(CoreMessages.controls_object_list_monitor_load_props, GeneralUtils.makeDisplayString(object).toString()));
+            final Map<String, Object> objectCache = getLazyObjectCache(element);
+            try {
+                Object lazyValue = prop.readValue(object, monitor);
+                if (lazyValue == null) {
+                    lazyValue = NULL_VALUE;
+                }
+                synchronized (lazyCache) {
+                    objectCache.put(prop.getId(), lazyValue);
+                }
+                addLazyUpdate(element);
+            } catch (Throwable e) {
+                if (e instanceof InvocationTargetException) {
+                    e = ((InvocationTargetException) e).getTargetException();
+                }
+                log.error("Error reading property '" + prop.getId() + "' from " + object, e); //$NON-NLS-1$ //$NON-NLS-2$
+                // do not return error - it causes a lot of error boxes
+                //return RuntimeUtils.makeExceptionStatus(e);
+            }
+            monitor.worked(1);
+        }
+    }
+
+    /**
+     * Schedules update of object row. Updates are coalesced: viewer is updated at most once per LAZY_REFRESH_DELAY.
+     */
+    private void addLazyUpdate(OBJECT_TYPE element) {
+        synchronized (lazyUpdatedObjects) {
+            lazyUpdatedObjects.add(element);
+            if (lazyUpdateScheduled) {
+                return;
+            }
+            lazyUpdateScheduled = true;
+        }
+        DBeaverUI.asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                if (isDisposed()) {
+                    return;
+                }
+                getDisplay().timerExec(LAZY_REFRESH_DELAY, new Runnable() {
+                    @Override
+                    public void run() {
+                        flushLazyUpdates();
+                    }
+                });
+            }
+        });
+    }
+
+    private void flushLazyUpdates() {
+        final Object[] elements;
+        synchronized (lazyUpdatedObjects) {
+            elements = lazyUpdatedObjects.toArray();
+            lazyUpdatedObjects.clear();
+            lazyUpdateScheduled = false;
+        }
+        if (!isDisposed() && elements.length > 0) {
+            itemsViewer.update(elements, null);
+        }
+    }
+
     protected class ViewerRenderer extends ObjectViewerRenderer {
         protected ViewerRenderer() {
             super(itemsViewer);
@@ -136,10 +136,10 @@ class GridCellRenderer extends AbstractRenderer
                 case IGridContentProvider.ALIGN_RIGHT:
                     // Right (numbers, datetimes)
                     gc.setClipping(bounds);
-                    Point textSize = gc.textExtent(text);
+                    int textWidth = grid.getTextWidth(text);
                     gc.drawString(
                             text,
-                            bounds.x + bounds.width - (textSize.x + RIGHT_MARGIN),
+                            bounds.x + bounds.width - (textWidth + RIGHT_MARGIN),
                             bounds.y + TEXT_TOP_MARGIN + TOP_MARGIN,
                             true);
                     gc.setClipping((Rectangle) null);
@@ -47,6 +47,8 @@ class GridColumn {
     private static final int rightMargin = 6;
     private static final int imageSpacing = 3;
     private static final int insideMargin = 3;
+    // Max number of rows measured by pack. Other rows are skipped evenly.
+    private static final int MAX_PACK_SAMPLE_ROWS = 50;
 
 	private final LightGrid grid;
     private final Object element;
@@ -231,7 +233,9 @@ class GridColumn {
             int bottomIndex = grid.getBottomIndex();
             if (topIndex >= 0 && bottomIndex >= topIndex) {
                 int itemCount = grid.getItemCount();
-                for (int i = topIndex; i <= bottomIndex && i < itemCount; i++) {
+                int rowCount = Math.min(bottomIndex, itemCount - 1) - topIndex + 1;
+                int step = rowCount > MAX_PACK_SAMPLE_ROWS ? (rowCount + MAX_PACK_SAMPLE_ROWS - 1) / MAX_PACK_SAMPLE_ROWS : 1;
+                for (int i = topIndex; i <= bottomIndex && i < itemCount; i += step) {
                     newWidth = Math.max(newWidth, computeCellWidth(element, grid.getRowElement(i)));
                 }
             }
@@ -274,7 +278,7 @@ class GridColumn {
             x += imageBounds.width + insideMargin;
         }
 
-        x += grid.sizingGC.textExtent(cellText).x + rightMargin;
+        x += grid.getTextWidth(cellText) + rightMargin;
         return x;
     }
 
@@ -0,0 +1,359 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package  org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import java.util.*;
+
+/**
+ * Grid cells selection.
+ * Cells are kept as a list of disjoint rectangles (column range x row range) so selecting whole rows,
+ * columns or entire grid costs the same as selecting one cell.
+ * Iterator produces positions in natural order (first ordered by rows then by columns, like GridPos.PosComparator)
+ * without materializing them.
+ */
+class GridSelection extends AbstractCollection<GridPos>
+{
+    private final List<Range> ranges = new ArrayList<>();
+    private long cellCount;
+
+    GridSelection()
+    {
+    }
+
+    GridSelection(GridSelection copy)
+    {
+        set(copy);
+    }
+
+    void set(GridSelection copy)
+    {
+        ranges.clear();
+        ranges.addAll(copy.ranges);
+        cellCount = copy.cellCount;
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) Math.min(cellCount, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return cellCount == 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        ranges.clear();
+        cellCount = 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return o instanceof GridPos && contains(((GridPos) o).col, ((GridPos) o).row);
+    }
+
+    boolean contains(int col, int row)
+    {
+        for (int i = 0, rangesSize = ranges.size(); i < rangesSize; i++) {
+            if (ranges.get(i).contains(col, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(GridPos pos)
+    {
+        if (contains(pos.col, pos.row)) {
+            return false;
+        }
+        addRange(pos.col, pos.row, pos.col, pos.row);
+        return true;
+    }
+
+    /**
+     * Adds all cells of rectangle (bounds are inclusive).
+     */
+    void addRange(int col1, int row1, int col2, int row2)
+    {
+        if (col1 > col2 || row1 > row2) {
+            return;
+        }
+        // Keep ranges disjoint
+        removeRange(col1, row1, col2, row2);
+        Range range = new Range(col1, row1, col2, row2);
+        cellCount += range.getCellCount();
+        // Merge with adjacent range (e.g. when rows are selected one by one)
+        for (int i = 0; i < ranges.size(); i++) {
+            Range merged = ranges.get(i).merge(range);
+            if (merged != null) {
+                ranges.set(i, merged);
+                return;
+            }
+        }
+        ranges.add(range);
+    }
+
+    /**
+     * Removes all cells of rectangle (bounds are inclusive).
+     */
+    void removeRange(int col1, int row1, int col2, int row2)
+    {
+        for (int i = 0; i < ranges.size(); ) {
+            Range r = ranges.get(i);
+            if (r.col2 < col1 || r.col1 > col2 || r.row2 < row1 || r.row1 > row2) {
+                i++;
+                continue;
+            }
+            int iCol1 = Math.max(r.col1, col1), iCol2 = Math.min(r.col2, col2);
+            int iRow1 = Math.max(r.row1, row1), iRow2 = Math.min(r.row2, row2);
+            cellCount -= (long) (iCol2 - iCol1 + 1) * (iRow2 - iRow1 + 1);
+            ranges.remove(i);
+            // Split the rest of range into top, bottom, left and right parts
+            if (r.row1 < iRow1) {
+                ranges.add(i++, new Range(r.col1, r.row1, r.col2, iRow1 - 1));
+            }
+            if (r.row2 > iRow2) {
+                ranges.add(i++, new Range(r.col1, iRow2 + 1, r.col2, r.row2));
+            }
+            if (r.col1 < iCol1) {
+                ranges.add(i++, new Range(r.col1, iRow1, iCol1 - 1, iRow2));
+            }
+            if (r.col2 > iCol2) {
+                ranges.add(i++, new Range(iCol2 + 1, iRow1, r.col2, iRow2));
+            }
+        }
+    }
+
+    void addAll(GridSelection selection)
+    {
+        for (Range r : selection.ranges) {
+            addRange(r.col1, r.row1, r.col2, r.row2);
+        }
+    }
+
+    void removeAll(GridSelection selection)
+    {
+        for (Range r : selection.ranges) {
+            removeRange(r.col1, r.row1, r.col2, r.row2);
+        }
+    }
+
+    boolean containsAll(GridSelection selection)
+    {
+        for (Range r : selection.ranges) {
+            GridSelection rest = new GridSelection();
+            rest.addRange(r.col1, r.row1, r.col2, r.row2);
+            rest.removeAll(this);
+            if (!rest.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSameAs(GridSelection selection)
+    {
+        return cellCount == selection.cellCount && containsAll(selection);
+    }
+
+    /**
+     * Removes all cells which rows are greater than specified row
+     */
+    void removeRowsAfter(int row)
+    {
+        removeRange(0, row + 1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Marks selected columns of the row in the mask (one element per column).
+     * Makes cell selection check constant during row painting.
+     *
+     * @return true if at least one cell in the row is selected
+     */
+    boolean getRowSelection(int row, boolean[] columnMask)
+    {
+        Arrays.fill(columnMask, false);
+        boolean hasSelection = false;
+        for (int i = 0, rangesSize = ranges.size(); i < rangesSize; i++) {
+            Range r = ranges.get(i);
+            if (row >= r.row1 && row <= r.row2 && r.col1 < columnMask.length) {
+                Arrays.fill(columnMask, r.col1, Math.min(r.col2 + 1, columnMask.length), true);
+                hasSelection = true;
+            }
+        }
+        return hasSelection;
+    }
+
+    /**
+     * Returns indexes of rows which have at least one selected cell
+     */
+    BitSet getSelectedRows()
+    {
+        BitSet rows = new BitSet();
+        for (Range r : ranges) {
+            rows.set(r.row1, r.row2 + 1);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns indexes of columns which have at least one selected cell
+     */
+    BitSet getSelectedColumns()
+    {
+        BitSet columns = new BitSet();
+        for (Range r : ranges) {
+            columns.set(r.col1, r.col2 + 1);
+        }
+        return columns;
+    }
+
+    @Override
+    public Iterator<GridPos> iterator()
+    {
+        return new PosIterator();
+    }
+
+    private static class Range
+    {
+        final int col1, row1, col2, row2;
+
+        Range(int col1, int row1, int col2, int row2)
+        {
+            this.col1 = col1;
+            this.row1 = row1;
+            this.col2 = col2;
+            this.row2 = row2;
+        }
+
+        boolean contains(int col, int row)
+        {
+            return col >= col1 && col <= col2 && row >= row1 && row <= row2;
+        }
+
+        long getCellCount()
+        {
+            return (long) (col2 - col1 + 1) * (row2 - row1 + 1);
+        }
+
+        Range merge(Range range)
+        {
+            if (col1 == range.col1 && col2 == range.col2) {
+                if (row2 + 1 == range.row1) {
+                    return new Range(col1, row1, col2, range.row2);
+                } else if (range.row2 + 1 == row1) {
+                    return new Range(col1, range.row1, col2, row2);
+                }
+            } else if (row1 == range.row1 && row2 == range.row2) {
+                if (col2 + 1 == range.col1) {
+                    return new Range(col1, row1, range.col2, row2);
+                } else if (range.col2 + 1 == col1) {
+                    return new Range(range.col1, row1, col2, row2);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString()
+        {
+            return col1 + ":" + row1 + "-" + col2 + ":" + row2;
+        }
+    }
+
+    private class PosIterator implements Iterator<GridPos>
+    {
+        // Ranges which intersect current row ordered by columns
+        private final List<Range> rowRanges = new ArrayList<>();
+        private int row;
+        private int rangeIndex;
+        private int col;
+
+        PosIterator()
+        {
+            nextRow(-1);
+        }
+
+        private void nextRow(int prevRow)
+        {
+            int nextRow = Integer.MAX_VALUE;
+            for (Range r : ranges) {
+                if (r.row2 > prevRow) {
+                    nextRow = Math.min(nextRow, Math.max(r.row1, prevRow + 1));
+                }
+            }
+            rowRanges.clear();
+            if (nextRow == Integer.MAX_VALUE) {
+                return;
+            }
+            row = nextRow;
+            for (Range r : ranges) {
+                if (row >= r.row1 && row <= r.row2) {
+                    rowRanges.add(r);
+                }
+            }
+            Collections.sort(rowRanges, new Comparator<Range>() {
+                @Override
+                public int compare(Range o1, Range o2)
+                {
+                    return o1.col1 - o2.col1;
+                }
+            });
+            rangeIndex = 0;
+            col = rowRanges.get(0).col1;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !rowRanges.isEmpty();
+        }
+
+        @Override
+        public GridPos next()
+        {
+            if (rowRanges.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            GridPos pos = new GridPos(col, row);
+            if (col < rowRanges.get(rangeIndex).col2) {
+                col++;
+            } else if (rangeIndex < rowRanges.size() - 1) {
+                rangeIndex++;
+                col = rowRanges.get(rangeIndex).col1;
+            } else {
+                nextRow(row);
+            }
+            return pos;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -34,7 +34,6 @@ import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.dnd.LocalObjectTransfer;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IntKeyMap;
 
 import java.util.*;
 import java.util.List;
@@ -51,6 +50,7 @@ public abstract class LightGrid extends Canvas {
     private static final Log log = Log.getLog(LightGrid.class);
 
     private static final int MAX_TOOLTIP_LENGTH = 1000;
+    private static final int MAX_TEXT_WIDTH_CACHE_SIZE = 10000;
 
     protected static final int Event_ChangeSort = 1000;
     protected static final int Event_NavigateLink = 1001;
@@ -148,10 +148,10 @@ public abstract class LightGrid extends Canvas {
      */
     private int focusItem = -1;
 
-    private final Set<GridPos> selectedCells = new TreeSet<>(new GridPos.PosComparator());
-    private final List<GridPos> selectedCellsBeforeRangeSelect = new ArrayList<>();
+    private final GridSelection selectedCells = new GridSelection();
+    private final GridSelection selectedCellsBeforeRangeSelect = new GridSelection();
     private final List<GridColumn> selectedColumns = new ArrayList<>();
-    private final IntKeyMap<Boolean> selectedRows = new IntKeyMap<>();
+    private BitSet selectedRows = new BitSet();
 
     private boolean cellDragSelectionOccurring = false;
     private boolean cellRowDragSelectionOccurring = false;
@@ -271,6 +271,8 @@ public abstract class LightGrid extends Canvas {
     GC sizingGC;
     FontMetrics fontMetrics;
     Font normalFont;
+    // Widths of cell texts in normal font. Same values are measured on each paint and pack.
+    private final Map<String, Integer> textWidthCache = new HashMap<>();
 
     @NotNull
     private Color lineColor;
@@ -1363,7 +1365,7 @@ public abstract class LightGrid extends Canvas {
 
         if (index < 0 || index >= getItemCount()) return;
 
-        selectCells(getCells(index));
+        selectRows(index, index);
 
         redraw();
     }
@@ -1391,18 +1393,7 @@ public abstract class LightGrid extends Canvas {
 
         if (selectionType == SWT.SINGLE && start != end) return;
 
-        for (int i = start; i <= end; i++) {
-            if (i < 0) {
-                continue;
-            }
-            if (i > getItemCount() - 1) {
-                break;
-            }
-
-            selectCells(getCells(i));
-        }
-
-        redraw();
+        selectRows(start, end);
     }
 
     /**
@@ -1434,9 +1425,10 @@ public abstract class LightGrid extends Canvas {
 
         for (int j : indices) {
             if (j >= 0 && j < getItemCount()) {
-                selectCells(getCells(j));
+                getCells(j, selectedCells);
             }
         }
+        updateSelectionCache();
         redraw();
     }
 
@@ -1512,7 +1504,7 @@ public abstract class LightGrid extends Canvas {
 
         if (index >= 0 && index < getItemCount()) {
             selectedCells.clear();
-            selectCells(getCells(index));
+            selectRows(index, index);
         }
     }
 
@@ -1540,17 +1532,7 @@ public abstract class LightGrid extends Canvas {
 
         selectedCells.clear();
 
-        for (int i = start; i <= end; i++) {
-            if (i < 0) {
-                continue;
-            }
-            if (i > getItemCount() - 1) {
-                break;
-            }
-
-            selectCells(getCells(i));
-        }
-        redraw();
+        selectRows(start, end);
     }
 
     /**
@@ -1583,8 +1565,9 @@ public abstract class LightGrid extends Canvas {
                 break;
             }
 
-            selectCells(getCells(j));
+            getCells(j, selectedCells);
         }
+        updateSelectionCache();
         redraw();
     }
 
@@ -2069,7 +2052,7 @@ public abstract class LightGrid extends Canvas {
 
         int row = firstVisibleIndex;
         final int hScrollSelectionInPixels = getHScrollSelectionInPixels();
-        final GridPos testPos = new GridPos(-1, -1);
+        final boolean[] rowCellsSelected = new boolean[columns.size()];
         final Rectangle cellBounds = new Rectangle(0, 0, 0, 0);
 
         for (int i = 0; i < visibleRows; i++) {
@@ -2081,7 +2064,7 @@ public abstract class LightGrid extends Canvas {
             // get the item to draw
             if (row >= 0 && row < getItemCount()) {
 
-                boolean cellInRowSelected = selectedRows.containsKey(row);
+                boolean cellInRowSelected = selectedRows.get(row) && selectedCells.getRowSelection(row, rowCellsSelected);
 
                 if (rowHeaderVisible) {
 
@@ -2102,12 +2085,10 @@ public abstract class LightGrid extends Canvas {
                         cellBounds.width = width;
                         cellBounds.height = getItemHeight();
 
-                        testPos.col = k;
-                        testPos.row = row;
                         cellRenderer.paint(
                             gc,
                             cellBounds,
-                            selectedCells.contains(testPos),
+                            cellInRowSelected && rowCellsSelected[k],
                             focusItem == row && focusColumn == column,
                             column.getElement(),
                             rowElements[row]);
@@ -2365,7 +2346,9 @@ public abstract class LightGrid extends Canvas {
             boolean reverseDuplicateSelections,
             EventSource eventSource)
     {
-        return updateCellSelection(Collections.singletonList(newCell), stateMask, dragging, reverseDuplicateSelections, eventSource);
+        GridSelection newCells = new GridSelection();
+        newCells.add(newCell);
+        return updateCellSelection(newCells, stateMask, dragging, reverseDuplicateSelections, eventSource);
     }
 
     /**
@@ -2379,7 +2362,7 @@ public abstract class LightGrid extends Canvas {
      */
     @Nullable
     private Event updateCellSelection(
-        @NotNull List<GridPos> newCells,
+        @NotNull GridSelection newCells,
         int stateMask,
         boolean dragging,
         boolean reverseDuplicateSelections,
@@ -2396,24 +2379,22 @@ public abstract class LightGrid extends Canvas {
             shiftSelectionAnchorItem = -1;
         }
 
-        List<GridPos> oldSelection = null;
+        GridSelection oldSelection = null;
         if (!shift && !ctrl) {
             if (newCells.size() == 1 &&
                 newCells.size() == selectedCells.size() &&
-                newCells.get(0).equals(selectedCells.iterator().next()))
+                selectedCells.containsAll(newCells))
             {
                 return null;
             }
 
             selectedCells.clear();
-            for (GridPos newCell : newCells) {
-                addToCellSelection(newCell);
-            }
+            addToCellSelection(newCells);
 
         } else if (shift) {
 
-            GridPos newCell = newCells.get(0); //shift selection should only occur with one cell, ignoring others
-            oldSelection = new ArrayList<>(selectedCells);
+            GridPos newCell = newCells.iterator().next(); //shift selection should only occur with one cell, ignoring others
+            oldSelection = new GridSelection(selectedCells);
 
             if ((focusColumn == null) || (focusItem < 0)) {
                 return null;
@@ -2423,8 +2404,7 @@ public abstract class LightGrid extends Canvas {
             shiftSelectionAnchorItem = newCell.row;
 
             if (ctrl) {
-                selectedCells.clear();
-                selectedCells.addAll(selectedCellsBeforeRangeSelect);
+                selectedCells.set(selectedCellsBeforeRangeSelect);
             } else {
                 selectedCells.clear();
             }
@@ -2438,56 +2418,13 @@ public abstract class LightGrid extends Canvas {
 
             Point newRange = getSelectionRange(currentItem, currentColumn, endItem, endColumn);
 
-            currentColumn = getColumn(newRange.x);
-            endColumn = getColumn(newRange.y);
-
-            GridColumn startCol = currentColumn;
-
             if (currentItem > endItem) {
                 int temp = currentItem;
                 currentItem = endItem;
                 endItem = temp;
             }
 
-            boolean firstLoop = true;
-            do {
-                if (!firstLoop) {
-                    currentItem++;
-                }
-
-                firstLoop = false;
-
-                boolean firstLoop2 = true;
-
-                currentColumn = startCol;
-
-                do {
-                    if (!firstLoop2) {
-                        int index = indexOf(currentColumn) + 1;
-
-                        if (index < columns.size()) {
-                            currentColumn = columns.get(index);
-                        } else {
-                            currentColumn = null;
-                        }
-
-                        if (currentColumn != null)
-                            if (indexOf(currentColumn) > indexOf(endColumn))
-                                currentColumn = null;
-                    }
-
-                    firstLoop2 = false;
-
-                    if (currentColumn != null) {
-                        GridPos cell = new GridPos(indexOf(currentColumn), currentItem);
-                        addToCellSelection(cell);
-                    }
-                } while (currentColumn != endColumn && currentColumn != null);
-            } while (currentItem != endItem);
-
-            if (selectedCells.equals(newCells)) {
-                return null;
-            }
+            addToCellSelection(newRange.x, currentItem, newRange.y, endItem);
 
         } else /*if (eventSource == EventSource.MOUSE)*/ {
             // Ctrl selection works only for mouse events
@@ -2496,19 +2433,16 @@ public abstract class LightGrid extends Canvas {
                 reverse = false;
 
             if (dragging) {
-                selectedCells.clear();
-                selectedCells.addAll(selectedCellsBeforeRangeSelect);
+                selectedCells.set(selectedCellsBeforeRangeSelect);
             }
 
             if (reverse) {
                 selectedCells.removeAll(newCells);
             } else {
-                for (GridPos newCell : newCells) {
-                    addToCellSelection(newCell);
-                }
+                addToCellSelection(newCells);
             }
         }
-        if (oldSelection != null && oldSelection.size() == selectedCells.size() && selectedCells.containsAll(oldSelection)) {
+        if (oldSelection != null && oldSelection.isSameAs(selectedCells)) {
             return null;
         }
 
@@ -2537,26 +2471,37 @@ public abstract class LightGrid extends Canvas {
         return selectedCells.add(newCell);
     }
 
+    /**
+     * Adds cells rectangle to selection. Cells out of grid bounds are ignored.
+     */
+    private void addToCellSelection(int col1, int row1, int col2, int row2)
+    {
+        selectedCells.addRange(
+            Math.max(col1, 0),
+            Math.max(row1, 0),
+            Math.min(col2, columns.size() - 1),
+            Math.min(row2, getItemCount() - 1));
+    }
+
+    private void addToCellSelection(GridSelection newCells)
+    {
+        GridSelection validCells = new GridSelection(newCells);
+        // Remove everything outside of grid bounds
+        validCells.removeRange(columns.size(), 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        validCells.removeRowsAfter(getItemCount() - 1);
+        selectedCells.addAll(validCells);
+    }
+
     private void updateSelectionCache()
     {
         //Update the list of which columns have all their cells selected
         selectedColumns.clear();
-        selectedRows.clear();
+        selectedRows = selectedCells.getSelectedRows();
 
-        IntKeyMap<Boolean> columnIndices = new IntKeyMap<>();
-        for (GridPos cell : selectedCells) {
-            columnIndices.put(cell.col, Boolean.TRUE);
-            selectedRows.put(cell.row, Boolean.TRUE);
+        BitSet columnIndices = selectedCells.getSelectedColumns();
+        for (int i = columnIndices.nextSetBit(0); i >= 0 && i < columns.size(); i = columnIndices.nextSetBit(i + 1)) {
+            selectedColumns.add(columns.get(i));
         }
-        for (Integer columnIndex : columnIndices.keySet()) {
-            selectedColumns.add(columns.get(columnIndex));
-        }
-        Collections.sort(selectedColumns, new Comparator<GridColumn>() {
-            @Override
-            public int compare(GridColumn o1, GridColumn o2) {
-                return o1.getIndex() - o2.getIndex();
-            }
-        });
     }
 
     /**
@@ -2816,7 +2761,7 @@ public abstract class LightGrid extends Canvas {
                         }
                     }
                 }
-                List<GridPos> cells = new ArrayList<>();
+                GridSelection cells = new GridSelection();
 
                 if (shift) {
                     getCells(row, focusItem, cells);
@@ -2879,7 +2824,7 @@ public abstract class LightGrid extends Canvas {
             if (getItemCount() == 0)
                 return;
 
-            List<GridPos> cells = new ArrayList<>();
+            GridSelection cells = new GridSelection();
             getCells(col, cells);
 
             selectionEvent = updateCellSelection(cells, e.stateMask, false, true, EventSource.MOUSE);
@@ -2944,12 +2889,7 @@ public abstract class LightGrid extends Canvas {
         if (focusItem > row) {
             focusItem = row;
         }
-        for (Iterator<GridPos> iter = selectedCells.iterator(); iter.hasNext(); ) {
-            GridPos pos = iter.next();
-            if (pos.row > row) {
-                iter.remove();
-            }
-        }
+        selectedCells.removeRowsAfter(row);
         updateSelectionCache();
         computeHeaderSizes();
         this.scrollValuesObsolete = true;
@@ -3095,8 +3035,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
                 if (!cellRowDragSelectionOccurring && cellRowSelectedOnLastMouseDown) {
@@ -3104,8 +3043,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
 
@@ -3114,8 +3052,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
 
@@ -3165,7 +3102,7 @@ public abstract class LightGrid extends Canvas {
                         }
                     }
 
-                    List<GridPos> cells = new ArrayList<>();
+                    GridSelection cells = new GridSelection();
 
                     getCells(intentItem, focusItem, cells);
 
@@ -3175,7 +3112,7 @@ public abstract class LightGrid extends Canvas {
                 final GridColumn prevHoveringColumn = hoveringColumn;
                 if (cellColumnDragSelectionOccurring && handleCellHover(e.x, e.y)) {
                     boolean dragging;
-                    List<GridPos> newSelected = new ArrayList<>();
+                    GridSelection newSelected = new GridSelection();
 
                     GridColumn iterCol = hoveringColumn;
                     if (iterCol != null) {
@@ -3828,14 +3765,30 @@ public abstract class LightGrid extends Canvas {
     {
         checkWidget();
 
-        for (GridPos cell : cells) {
-            addToCellSelection(cell);
+        if (cells instanceof GridSelection) {
+            addToCellSelection((GridSelection) cells);
+        } else {
+            for (GridPos cell : cells) {
+                addToCellSelection(cell);
+            }
         }
 
         updateSelectionCache();
         redraw();
     }
 
+    /**
+     * Selects all cells of rows in specified range. Invalid rows are ignored.
+     */
+    private void selectRows(int startRow, int endRow)
+    {
+        if (startRow <= endRow) {
+            getCells(startRow, endRow, selectedCells);
+        }
+        updateSelectionCache();
+        redraw();
+    }
+
     /**
      * Selects all cells in the receiver.
      */
@@ -3865,7 +3818,7 @@ public abstract class LightGrid extends Canvas {
         focusColumn = columns.get(0);
         focusItem = 0;
 
-        List<GridPos> cells = new ArrayList<>();
+        GridSelection cells = new GridSelection();
         getAllCells(cells);
         Event selectionEvent = updateCellSelection(cells, stateMask, false, true, EventSource.KEYBOARD);
 
@@ -3918,16 +3871,53 @@ public abstract class LightGrid extends Canvas {
         return Collections.unmodifiableCollection(selectedCells);
     }
 
-    public List<GridCell> getCellSelection()
+    /**
+     * Returns selected cells in natural order (rows then columns).
+     * Only selection ranges are copied, cells are produced on the fly during iteration.
+     * Result doesn't depend on further grid changes so it may be iterated in background thread.
+     */
+    @NotNull
+    public Collection<GridCell> getCellSelection()
     {
         if (isDisposed() || selectedCells.isEmpty()) {
             return Collections.emptyList();
         }
-        List<GridCell> cells = new ArrayList<>(selectedCells.size());
-        for (GridPos pos : selectedCells) {
-            cells.add(posToCell(pos));
-        }
-        return cells;
+        final GridSelection selection = new GridSelection(selectedCells);
+        final Object[] columns = columnElements;
+        final Object[] rows = rowElements;
+        return new AbstractCollection<GridCell>() {
+            @Override
+            public Iterator<GridCell> iterator()
+            {
+                final Iterator<GridPos> posIterator = selection.iterator();
+                return new Iterator<GridCell>() {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return posIterator.hasNext();
+                    }
+
+                    @Override
+                    public GridCell next()
+                    {
+                        GridPos pos = posIterator.next();
+                        return new GridCell(columns[pos.col], rows[pos.row]);
+                    }
+
+                    @Override
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return selection.size();
+            }
+        };
     }
 
     @NotNull
@@ -3949,70 +3939,83 @@ public abstract class LightGrid extends Canvas {
      */
     public Collection<Integer> getRowSelection()
     {
-        return Collections.unmodifiableCollection(selectedRows.keySet());
+        final BitSet rows = selectedRows;
+        final int rowCount = rows.cardinality();
+        return new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator()
+            {
+                return new Iterator<Integer>() {
+                    private int next = rows.nextSetBit(0);
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public Integer next()
+                    {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        int row = next;
+                        next = rows.nextSetBit(next + 1);
+                        return row;
+                    }
+
+                    @Override
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return rowCount;
+            }
+        };
     }
 
-    private void getCells(GridColumn col, List<GridPos> cells)
+    private void getCells(GridColumn col, GridSelection cells)
     {
+        if (getItemCount() == 0) {
+            return;
+        }
         if (col.getChildren() != null) {
             // Get cells for all leafs
             for (int i = 0; i < columns.size(); i++) {
                 if (columns.get(i).isParent(col)) {
-                    for (int k = 0; k < getItemCount(); k++) {
-                        cells.add(new GridPos(i, k));
-                    }
+                    cells.addRange(i, 0, i, getItemCount() - 1);
                 }
             }
         } else {
             int colIndex = col.getIndex();
-
-            for (int i = 0; i < getItemCount(); i++) {
-                cells.add(new GridPos(colIndex, i));
-            }
+            cells.addRange(colIndex, 0, colIndex, getItemCount() - 1);
         }
     }
 
-    private void getCells(int row, List<GridPos> cells)
+    private void getCells(int row, GridSelection cells)
     {
-        for (int i = 0; i < columns.size(); i++) {
-            cells.add(new GridPos(i, row));
-        }
+        cells.addRange(0, row, columns.size() - 1, row);
     }
 
-    private void getAllCells(List<GridPos> cells)
+    private void getAllCells(GridSelection cells)
     {
-        for (int i = 0; i < getItemCount(); i++) {
-            for (int k = 0; k < columns.size(); k++) {
-                cells.add(new GridPos(k, i));
-            }
-        }
+        cells.addRange(0, 0, columns.size() - 1, getItemCount() - 1);
     }
 
-    private List<GridPos> getCells(int row)
+    private void getCells(int startRow, int endRow, GridSelection cells)
     {
-        List<GridPos> cells = new ArrayList<>();
-        getCells(row, cells);
-        return cells;
-    }
-
-
-    private void getCells(int startRow, int endRow, List<GridPos> cells)
-    {
-        boolean descending = (startRow < endRow);
-
-        int iterItem = endRow;
-
-        do {
-            getCells(iterItem, cells);
-
-            if (iterItem == startRow) break;
-
-            if (descending) {
-                iterItem--;
-            } else {
-                iterItem++;
-            }
-        } while (true);
+        cells.addRange(
+            0,
+            Math.max(Math.min(startRow, endRow), 0),
+            columns.size() - 1,
+            Math.min(Math.max(startRow, endRow), getItemCount() - 1));
     }
 
     /**
@@ -4099,6 +4102,23 @@ public abstract class LightGrid extends Canvas {
         sizingGC.setFont(font);
         fontMetrics = sizingGC.getFontMetrics();
         normalFont = font;
+        textWidthCache.clear();
+    }
+
+    /**
+     * Returns text width in normal font (same as GC.textExtent)
+     */
+    int getTextWidth(@NotNull String text)
+    {
+        Integer width = textWidthCache.get(text);
+        if (width == null) {
+            width = sizingGC.textExtent(text).x;
+            if (textWidthCache.size() >= MAX_TEXT_WIDTH_CACHE_SIZE) {
+                textWidthCache.clear();
+            }
+            textWidthCache.put(text, width);
+        }
+        return width;
     }
 
     public String getCellText(Object colElement, Object rowElement)
@@ -20,6 +20,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.data.DBDDataKeyset;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 
@@ -43,6 +44,10 @@ class ResultSetDataReceiver implements DBDDataReceiver {
     private boolean nextSegmentRead;
     private long offset;
     private long maxRows;
+    // Rows fetched by current query (including rows pushed to model by portions)
+    private long fetchedRows;
+    // Keyset pagination state (null if offsets are used)
+    private DBDDataKeyset keyset;
 
     // Attribute fetching errors. Collect them to avoid tons of similar error in log
     private Map<DBCAttributeMetaData, List<String>> attrErrors = new HashMap<>();
@@ -67,6 +72,14 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         this.nextSegmentRead = nextSegmentRead;
     }
 
+    DBDDataKeyset getKeyset() {
+        return keyset;
+    }
+
+    void setKeyset(DBDDataKeyset keyset) {
+        this.keyset = keyset;
+    }
+
     public List<Throwable> getErrorList() {
         return errorList;
     }
@@ -79,6 +92,7 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         this.rows.clear();
         this.offset = offset;
         this.maxRows = maxRows;
+        this.fetchedRows = 0;
 
         if (!nextSegmentRead) {
             // Get columns metadata
@@ -94,6 +108,10 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             }
 
             resultSetViewer.setMetaData(resultSet, metaColumns);
+
+            if (keyset != null) {
+                keyset.bindResultSet(rsAttributes);
+            }
         }
     }
 
@@ -131,6 +149,26 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             }
         }
         rows.add(row);
+        fetchedRows++;
+
+        if (nextSegmentRead && (maxRows <= 0 || maxRows > ResultSetValueStore.SEGMENT_SIZE) && rows.size() >= ResultSetValueStore.SEGMENT_SIZE) {
+            // Fetch of all rows. Push rows into the model by portions, so they don't pile up in memory.
+            flushRows();
+        }
+    }
+
+    private void flushRows() {
+        final List<Object[]> tmpRows = rows;
+        rows = new ArrayList<>();
+        if (keyset != null) {
+            keyset.setLastKeyFromRow(tmpRows.get(tmpRows.size() - 1));
+        }
+        DBeaverUI.syncExec(new Runnable() {
+            @Override
+            public void run() {
+                resultSetViewer.appendData(tmpRows);
+            }
+        });
     }
 
     @Override
@@ -147,6 +185,9 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         }
 
         final List<Object[]> tmpRows = rows;
+        if (keyset != null && !tmpRows.isEmpty()) {
+            keyset.setLastKeyFromRow(tmpRows.get(tmpRows.size() - 1));
+        }
 
         final boolean nextSegmentRead = this.nextSegmentRead;
         DBeaverUI.syncExec(new Runnable() {
@@ -163,7 +204,7 @@ class ResultSetDataReceiver implements DBDDataReceiver {
                 }
                 resultSetViewer.updateStatusMessage();
                 // Check for more data
-                hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
+                hasMoreData = maxRows > 0 && fetchedRows >= maxRows;
             }
         });
     }
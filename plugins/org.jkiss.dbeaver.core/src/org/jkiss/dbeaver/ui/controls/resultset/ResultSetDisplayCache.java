@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDataFormatterProfile;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of formatted cell values.
+ * Grid repaints the same cells many times (scrolling, selection, hovering) and formatting of numbers and dates
+ * is relatively expensive. Strings are cached per row for the most recently used rows.
+ * Cache is bound to display format and formatter profile, it is dropped when any of them changes.
+ * Profile is mutable so its modification count is compared too.
+ * Row entries must be invalidated when row values change.
+ */
+class ResultSetDisplayCache {
+
+    private static final int MAX_CACHED_ROWS = 1000;
+
+    private final Map<ResultSetRow, Map<DBDAttributeBinding, String>> rows =
+        new LinkedHashMap<ResultSetRow, Map<DBDAttributeBinding, String>>(MAX_CACHED_ROWS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResultSetRow, Map<DBDAttributeBinding, String>> eldest) {
+                return size() > MAX_CACHED_ROWS;
+            }
+        };
+    private DBDDisplayFormat format;
+    private DBDDataFormatterProfile formatterProfile;
+    private int profileModificationCount;
+
+    @Nullable
+    String getDisplayString(@NotNull DBDAttributeBinding attr, @NotNull ResultSetRow row, @NotNull DBDDisplayFormat format, @Nullable DBDDataFormatterProfile formatterProfile) {
+        final int profileModificationCount = formatterProfile == null ? 0 : formatterProfile.getModificationCount();
+        if (format != this.format || formatterProfile != this.formatterProfile || profileModificationCount != this.profileModificationCount) {
+            clear();
+            this.format = format;
+            this.formatterProfile = formatterProfile;
+            this.profileModificationCount = profileModificationCount;
+            return null;
+        }
+        Map<DBDAttributeBinding, String> rowStrings = rows.get(row);
+        return rowStrings == null ? null : rowStrings.get(attr);
+    }
+
+    void putDisplayString(@NotNull DBDAttributeBinding attr, @NotNull ResultSetRow row, @NotNull String displayString) {
+        Map<DBDAttributeBinding, String> rowStrings = rows.get(row);
+        if (rowStrings == null) {
+            rowStrings = new IdentityHashMap<>();
+            rows.put(row, rowStrings);
+        }
+        rowStrings.put(attr, displayString);
+    }
+
+    void invalidateRow(@NotNull ResultSetRow row) {
+        rows.remove(row);
+    }
+
+    void clear() {
+        rows.clear();
+    }
+
+}
@@ -0,0 +1,470 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSAttributeCollated;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side filter over fully fetched rows.
+ * Evaluates attribute constraints directly on row values.
+ * Column indexes are built lazily on first use: hash index for equality, sorted positions for ranges
+ * and trigram index for LIKE.
+ * Results must match server-side filter: string comparisons follow case sensitivity of column collation
+ * (or dialect default), numbers are compared by value (1.0 = 1.00). String ranges depend on collation order
+ * and are always evaluated by server.
+ * Index is bound to the list of rows, it must be dropped if rows or their values change.
+ */
+class ResultSetFilterIndex {
+
+    private static final int NGRAM_SIZE = 3;
+
+    private final ResultSetModel model;
+    private final List<ResultSetRow> rows;
+    private final Map<DBDAttributeBinding, ColumnIndex> columns = new IdentityHashMap<>();
+
+    ResultSetFilterIndex(@NotNull ResultSetModel model, @NotNull List<ResultSetRow> rows) {
+        this.model = model;
+        this.rows = rows;
+    }
+
+    @NotNull
+    List<ResultSetRow> getRows() {
+        return rows;
+    }
+
+    /**
+     * Checks that all filter conditions can be evaluated on client side.
+     * Custom WHERE and free-text criteria can be evaluated only by server.
+     */
+    static boolean isSupported(@NotNull DBDDataFilter filter) {
+        if (!CommonUtils.isEmpty(filter.getWhere())) {
+            return false;
+        }
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (!constraint.hasCondition()) {
+                continue;
+            }
+            DBCLogicalOperator operator = constraint.getOperator();
+            if (operator == null) {
+                return false;
+            }
+            switch (operator) {
+                case EQUALS:
+                case NOT_EQUALS:
+                case GREATER:
+                case GREATER_EQUALS:
+                case LESS:
+                case LESS_EQUALS:
+                case IS_NULL:
+                case IS_NOT_NULL:
+                case IN:
+                    break;
+                case LIKE:
+                    // Underscore is a wildcard in SQL but not in client-side LIKE
+                    if (constraint.getValue() == null || constraint.getValue().toString().indexOf('_') != -1) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            Object value = constraint.getValue();
+            if (operator.getArgumentCount() != 0 && value == null) {
+                return false;
+            }
+            if (operator.getArgumentCount() > 0 && value.getClass().isArray()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates filter
+     * @return matched rows positions or null if filter can't be evaluated on client side
+     */
+    @Nullable
+    BitSet evaluate(@NotNull DBDDataFilter filter) {
+        if (!isSupported(filter)) {
+            return null;
+        }
+        final int rowCount = rows.size();
+        BitSet result = null;
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (!constraint.hasCondition()) {
+                continue;
+            }
+            DBDAttributeBinding binding = model.getAttributeBinding(constraint.getAttribute());
+            if (binding == null) {
+                return null;
+            }
+            ColumnIndex column = getColumnIndex(binding);
+            DBCLogicalOperator operator = constraint.getOperator();
+            BitSet matches = column.evaluate(operator, getArguments(operator, constraint.getValue()));
+            if (matches == null) {
+                return null;
+            }
+            if (constraint.isReverseOperator()) {
+                matches.flip(0, rowCount);
+                if (operator != DBCLogicalOperator.IS_NULL && operator != DBCLogicalOperator.IS_NOT_NULL) {
+                    // NOT doesn't make NULL condition true
+                    matches.andNot(column.nulls);
+                }
+            }
+            if (result == null) {
+                result = matches;
+            } else if (filter.isAnyConstraint()) {
+                result.or(matches);
+            } else {
+                result.and(matches);
+            }
+        }
+        if (result == null) {
+            result = new BitSet(rowCount);
+            result.set(0, rowCount);
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Object[] getArguments(@NotNull DBCLogicalOperator operator, @Nullable Object value) {
+        if (operator.getArgumentCount() < 0 && value != null && value.getClass().isArray()) {
+            Object[] arguments = new Object[Array.getLength(value)];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = Array.get(value, i);
+            }
+            return arguments;
+        }
+        return new Object[] { value };
+    }
+
+    @NotNull
+    private ColumnIndex getColumnIndex(@NotNull DBDAttributeBinding binding) {
+        ColumnIndex index = columns.get(binding);
+        if (index == null) {
+            index = new ColumnIndex(binding);
+            columns.put(binding, index);
+        }
+        return index;
+    }
+
+    private class ColumnIndex {
+        private final Object[] values;
+        private final BitSet nulls;
+        private final boolean caseInsensitive;
+        // Class of all non-null values (null if they are of different classes)
+        private Class<?> valueClass;
+        private boolean comparable = true;
+        private Map<Object, BitSet> hashIndex;
+        private int[] sortedIndex;
+        private Map<String, BitSet> ngramIndex;
+
+        ColumnIndex(@NotNull DBDAttributeBinding binding) {
+            final int rowCount = rows.size();
+            values = new Object[rowCount];
+            nulls = new BitSet(rowCount);
+            caseInsensitive = isCaseInsensitive(binding);
+            boolean mixed = false;
+            for (int i = 0; i < rowCount; i++) {
+                Object value = model.getCellValue(binding, rows.get(i));
+                values[i] = value;
+                if (value == null) {
+                    nulls.set(i);
+                    continue;
+                }
+                if (!(value instanceof Comparable)) {
+                    comparable = false;
+                }
+                if (valueClass == null && !mixed) {
+                    valueClass = value.getClass();
+                } else if (valueClass != value.getClass()) {
+                    valueClass = null;
+                    mixed = true;
+                }
+            }
+            if (mixed) {
+                comparable = false;
+            }
+        }
+
+        /**
+         * Evaluates operator on all column values
+         * @return matched rows positions or null if operator can't be evaluated on client side
+         */
+        @Nullable
+        BitSet evaluate(@NotNull DBCLogicalOperator operator, @NotNull Object[] arguments) {
+            if (operator != DBCLogicalOperator.LIKE && !isCompatible(arguments)) {
+                // Server may convert values of other types (e.g. string constant to number)
+                return null;
+            }
+            if (valueClass == String.class && operator != DBCLogicalOperator.LIKE &&
+                operator != DBCLogicalOperator.IS_NULL && operator != DBCLogicalOperator.IS_NOT_NULL &&
+                (caseInsensitive || isRangeOperator(operator)))
+            {
+                // Case-insensitive collations (may be also accent-insensitive) and collation order are known only to server
+                return null;
+            }
+            switch (operator) {
+                case IS_NULL:
+                    return (BitSet) nulls.clone();
+                case IS_NOT_NULL: {
+                    BitSet result = (BitSet) nulls.clone();
+                    result.flip(0, values.length);
+                    return result;
+                }
+                case EQUALS:
+                case IN: {
+                    BitSet result = new BitSet(values.length);
+                    for (Object argument : arguments) {
+                        BitSet matches = argument == null ? nulls : getHashIndex().get(getHashKey(argument));
+                        if (matches != null) {
+                            result.or(matches);
+                        }
+                    }
+                    return result;
+                }
+                case GREATER:
+                case GREATER_EQUALS:
+                case LESS:
+                case LESS_EQUALS:
+                    if (valueClass == null) {
+                        // All values are NULL
+                        return new BitSet();
+                    }
+                    return comparable ? evaluateRange(operator, arguments[0]) : null;
+                case LIKE:
+                    return evaluateLike(String.valueOf(arguments[0]));
+                case NOT_EQUALS: {
+                    BitSet result = new BitSet(values.length);
+                    for (int i = 0; i < values.length; i++) {
+                        // Comparison with NULL is never true
+                        if (values[i] != null && !valuesEqual(values[i], arguments[0])) {
+                            result.set(i);
+                        }
+                    }
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        private boolean isCompatible(@NotNull Object[] arguments) {
+            for (Object argument : arguments) {
+                if (argument == null) {
+                    continue;
+                }
+                if (valueClass == null ? nulls.cardinality() != values.length : valueClass != argument.getClass()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @NotNull
+        private BitSet evaluateRange(@NotNull DBCLogicalOperator operator, @NotNull Object argument) {
+            int[] sorted = getSortedIndex();
+            // First position with value > argument (for > and <=) or with value >= argument (for >= and <)
+            boolean skipEqual = operator == DBCLogicalOperator.GREATER || operator == DBCLogicalOperator.LESS_EQUALS;
+            int low = 0, high = sorted.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                @SuppressWarnings("unchecked")
+                int cmp = ((Comparable<Object>) values[sorted[middle]]).compareTo(argument);
+                if (cmp < 0 || (cmp == 0 && skipEqual)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            BitSet result = new BitSet(values.length);
+            int from, to;
+            if (operator == DBCLogicalOperator.GREATER || operator == DBCLogicalOperator.GREATER_EQUALS) {
+                from = low;
+                to = sorted.length;
+            } else {
+                from = 0;
+                to = low;
+            }
+            for (int i = from; i < to; i++) {
+                result.set(sorted[i]);
+            }
+            return result;
+        }
+
+        @NotNull
+        private BitSet evaluateLike(@NotNull String like) {
+            BitSet candidates = null;
+            for (String part : like.split("[%*?]")) {
+                if (part.length() < NGRAM_SIZE || part.indexOf('\\') != -1) {
+                    continue;
+                }
+                part = part.toLowerCase(Locale.ENGLISH);
+                for (int i = 0; i <= part.length() - NGRAM_SIZE; i++) {
+                    BitSet rowsWithNgram = getNgramIndex().get(part.substring(i, i + NGRAM_SIZE));
+                    if (rowsWithNgram == null) {
+                        return new BitSet();
+                    }
+                    if (candidates == null) {
+                        candidates = (BitSet) rowsWithNgram.clone();
+                    } else {
+                        candidates.and(rowsWithNgram);
+                    }
+                }
+            }
+            // Check candidates with real pattern
+            Pattern pattern = Pattern.compile(
+                SQLUtils.makeLikePattern(like),
+                caseInsensitive ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE : Pattern.MULTILINE);
+            BitSet result = new BitSet(values.length);
+            for (int i = candidates == null ? 0 : candidates.nextSetBit(0);
+                 i >= 0 && i < values.length;
+                 i = candidates == null ? i + 1 : candidates.nextSetBit(i + 1))
+            {
+                Object value = values[i];
+                if (value != null && pattern.matcher(value.toString()).matches()) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        @NotNull
+        private Map<Object, BitSet> getHashIndex() {
+            if (hashIndex == null) {
+                hashIndex = new HashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    Object key = getHashKey(value);
+                    BitSet positions = hashIndex.get(key);
+                    if (positions == null) {
+                        positions = new BitSet();
+                        hashIndex.put(key, positions);
+                    }
+                    positions.set(i);
+                }
+            }
+            return hashIndex;
+        }
+
+        @NotNull
+        private int[] getSortedIndex() {
+            if (sortedIndex == null) {
+                Integer[] positions = new Integer[values.length - nulls.cardinality()];
+                int count = 0;
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        positions[count++] = i;
+                    }
+                }
+                Arrays.sort(positions, new Comparator<Integer>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public int compare(Integer o1, Integer o2) {
+                        return ((Comparable<Object>) values[o1]).compareTo(values[o2]);
+                    }
+                });
+                sortedIndex = new int[positions.length];
+                for (int i = 0; i < positions.length; i++) {
+                    sortedIndex[i] = positions[i];
+                }
+            }
+            return sortedIndex;
+        }
+
+        @NotNull
+        private Map<String, BitSet> getNgramIndex() {
+            if (ngramIndex == null) {
+                ngramIndex = new HashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    String str = value.toString().toLowerCase(Locale.ENGLISH);
+                    for (int k = 0; k <= str.length() - NGRAM_SIZE; k++) {
+                        String ngram = str.substring(k, k + NGRAM_SIZE);
+                        BitSet positions = ngramIndex.get(ngram);
+                        if (positions == null) {
+                            positions = new BitSet();
+                            ngramIndex.put(ngram, positions);
+                        }
+                        positions.set(i);
+                    }
+                }
+            }
+            return ngramIndex;
+        }
+    }
+
+    private static boolean isRangeOperator(@NotNull DBCLogicalOperator operator) {
+        return operator == DBCLogicalOperator.GREATER || operator == DBCLogicalOperator.GREATER_EQUALS ||
+            operator == DBCLogicalOperator.LESS || operator == DBCLogicalOperator.LESS_EQUALS;
+    }
+
+    private static boolean isCaseInsensitive(@NotNull DBDAttributeBinding binding) {
+        DBSEntityAttribute attribute = binding.getEntityAttribute();
+        if (attribute instanceof DBSAttributeCollated) {
+            Boolean caseSensitive = ((DBSAttributeCollated) attribute).isCaseSensitive();
+            if (caseSensitive != null) {
+                return !caseSensitive;
+            }
+        }
+        DBPDataSource dataSource = binding.getDataSource();
+        return dataSource instanceof SQLDataSource && ((SQLDataSource) dataSource).getSQLDialect().isCaseInsensitiveComparison();
+    }
+
+    /**
+     * Hash key which is equal for numerically equal values
+     * (BigDecimal.equals compares scale too, Double.equals distinguishes 0.0 and -0.0)
+     */
+    @NotNull
+    private static Object getHashKey(@NotNull Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal number = (BigDecimal) value;
+            return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        } else if (value instanceof Double && (Double) value == 0) {
+            return 0.0d;
+        } else if (value instanceof Float && (Float) value == 0) {
+            return 0.0f;
+        }
+        return value;
+    }
+
+    private static boolean valuesEqual(@NotNull Object value1, @NotNull Object value2) {
+        return getHashKey(value1).equals(getHashKey(value2));
+    }
+
+}
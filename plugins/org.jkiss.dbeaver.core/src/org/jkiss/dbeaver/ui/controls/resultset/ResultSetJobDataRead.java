@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataKeyset;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -44,6 +45,7 @@ class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoadService<
     private Composite progressControl;
     private int offset;
     private int maxRows;
+    private boolean keysetPagination;
     private Throwable error;
     private DBCStatistics statistics;
     private DBRProgressMonitor progressMonitor;
@@ -64,6 +66,11 @@ class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoadService<
         this.maxRows = maxRows;
     }
 
+    public void setKeysetPagination(boolean keysetPagination)
+    {
+        this.keysetPagination = keysetPagination;
+    }
+
     public Throwable getError()
     {
         return error;
@@ -89,12 +96,28 @@ class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoadService<
             purpose,
             NLS.bind(CoreMessages.controls_rs_pump_job_context_name, dataContainer.toString())))
         {
+            DBDDataFilter readFilter = dataFilter;
+            int readOffset = offset;
+            ResultSetDataReceiver dataReceiver = controller.getDataReceiver();
+            if (offset == 0) {
+                // New query - (re)create keyset
+                dataReceiver.setKeyset(keysetPagination ?
+                    DBDDataKeyset.makeKeyset(progressMonitor, dataContainer, dataFilter) : null);
+            }
+            DBDDataKeyset keyset = dataReceiver.getKeyset();
+            if (keyset != null) {
+                // Order by unique key and seek after the last fetched row
+                readFilter = keyset.makeSegmentFilter(session.getDataSource(), dataFilter);
+                if (keyset.hasLastKey()) {
+                    readOffset = 0;
+                }
+            }
             statistics = dataContainer.readData(
                 this,
                 session,
-                controller.getDataReceiver(),
-                dataFilter,
-                offset,
+                dataReceiver,
+                readFilter,
+                readOffset,
                 maxRows,
                 DBSDataContainer.FLAG_READ_PSEUDO
             );
@@ -22,13 +22,16 @@ import org.eclipse.swt.graphics.Color;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
 import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
@@ -39,6 +42,7 @@ import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.File;
 import java.util.*;
 
 /**
@@ -48,6 +52,10 @@ public class ResultSetModel {
 
     private static final Log log = Log.getLog(ResultSetModel.class);
 
+    private static final String SPILL_FOLDER = "resultset-spill"; //$NON-NLS-1$
+    // Heap size of one row which values are kept in value store (ResultSetRow and rows list slot, with compressed oops)
+    private static final int STORE_ROW_HEAP_SIZE = 65;
+
     // Attributes
     private DBDAttributeBinding[] attributes = new DBDAttributeBinding[0];
     private List<DBDAttributeBinding> visibleAttributes = new ArrayList<>();
@@ -58,6 +66,16 @@ public class ResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // All fetched rows while client-side filter is applied (curRows keeps only matched rows)
+    private List<ResultSetRow> localFilterSource;
+    // Column indexes for client-side filter. Dropped on any data change.
+    private ResultSetFilterIndex filterIndex;
+    // Formatted values of recently displayed cells
+    private final ResultSetDisplayCache displayCache = new ResultSetDisplayCache();
+    // Columnar storage of fetched rows values
+    private ResultSetValueStore valueStore;
+    // Memory limit (in bytes) after which rows are spilled to disk. 0 means no spilling.
+    private long spillMemoryLimit;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -290,7 +308,7 @@ public class ResultSetModel {
 
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).getValues();
     }
 
     @NotNull
@@ -311,14 +329,14 @@ public class ResultSetModel {
         int depth = attribute.getLevel();
         if (depth == 0) {
             final int index = attribute.getOrdinalPosition();
-            if (index >= row.values.length) {
+            if (index >= row.getValueCount()) {
                 log.debug("Bad attribute - index out of row values' bounds");
                 return null;
             } else {
-                return row.values[index];
+                return row.getValue(index);
             }
         }
-        Object curValue = row.values[attribute.getTopParent().getOrdinalPosition()];
+        Object curValue = row.getValue(attribute.getTopParent().getOrdinalPosition());
 
         for (int i = 0; i < depth; i++) {
             if (curValue == null) {
@@ -338,6 +356,41 @@ public class ResultSetModel {
         return curValue;
     }
 
+    /**
+     * Returns cell value formatted for display.
+     * Formatted strings are cached, cache is invalidated when cell value, display format or formatter profile changes.
+     */
+    @Nullable
+    public String getCellDisplayString(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row, @NotNull DBDDisplayFormat format) {
+        final DBPDataSource dataSource = attribute.getDataSource();
+        final DBDDataFormatterProfile formatterProfile = dataSource == null ? null : dataSource.getContainer().getDataFormatterProfile();
+        String displayString = displayCache.getDisplayString(attribute, row, format, formatterProfile);
+        if (displayString == null) {
+            displayString = attribute.getValueRenderer().getValueDisplayString(
+                attribute.getAttribute(),
+                getCellValue(attribute, row),
+                format);
+            if (displayString != null) {
+                displayCache.putDisplayString(attribute, row, displayString);
+            }
+        }
+        return displayString;
+    }
+
+    /**
+     * Drops formatted values cache. Must be called if data format settings were changed.
+     */
+    public void resetDisplayCache() {
+        displayCache.clear();
+    }
+
+    /**
+     * Drops formatted values of the row. Must be called if row values were changed directly.
+     */
+    void resetDisplayCache(@NotNull ResultSetRow row) {
+        displayCache.invalidateRow(row);
+    }
+
     /**
      * Updates cell value. Saves previous value.
      *
@@ -358,7 +411,7 @@ public class ResultSetModel {
         } else {
             rootIndex = attr.getTopParent().getOrdinalPosition();
         }
-        Object rootValue = row.values[rootIndex];
+        Object rootValue = row.getValue(rootIndex);
         Object ownerValue = depth > 0 ? rootValue : null;
         {
             // Obtain owner value and create all intermediate values
@@ -422,8 +475,10 @@ public class ResultSetModel {
                     log.warn("Value [" + ownerValue + "] edit is not supported");
                 }
             } else {
-                row.values[rootIndex] = value;
+                row.setValue(rootIndex, value);
             }
+            filterIndex = null;
+            displayCache.invalidateRow(row);
             return true;
         }
         return false;
@@ -637,15 +692,47 @@ public class ResultSetModel {
     public void appendData(@NotNull List<Object[]> rows) {
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
+        if (valueStore == null) {
+            valueStore = createValueStore();
+        }
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
             newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+                new ResultSetRow(firstRowNum + i, valueStore, rows.get(i)));
         }
         curRows.addAll(newRows);
+        if (localFilterSource != null) {
+            localFilterSource.addAll(newRows);
+        }
+        filterIndex = null;
         updateRowColors(newRows);
     }
 
+    void setSpillMemoryLimit(long spillMemoryLimit) {
+        this.spillMemoryLimit = spillMemoryLimit;
+    }
+
+    /**
+     * Maximum number of fetched rows or -1 if it is not limited.
+     * If values spilling is enabled then row objects may take as much memory as values do (spill memory limit),
+     * so the whole model takes at most twice the limit.
+     */
+    int getMaxFetchedRows() {
+        if (spillMemoryLimit <= 0) {
+            return -1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, spillMemoryLimit / STORE_ROW_HEAP_SIZE);
+    }
+
+    @NotNull
+    private ResultSetValueStore createValueStore() {
+        if (spillMemoryLimit <= 0) {
+            return new ResultSetValueStore();
+        }
+        File spillFolder = DBeaverCore.getInstance().getTempFolder(new VoidProgressMonitor(), SPILL_FOLDER);
+        return new ResultSetValueStore(spillMemoryLimit, spillFolder);
+    }
+
     void clearData() {
         // Refresh all rows
         this.releaseAll();
@@ -686,11 +773,15 @@ public class ResultSetModel {
 
     @NotNull
     ResultSetRow addNewRow(int rowNum, @NotNull Object[] data) {
-        ResultSetRow newRow = new ResultSetRow(curRows.size(), data);
+        ResultSetRow newRow = new ResultSetRow(getFetchedRows().size(), data);
         newRow.setVisualNumber(rowNum);
         newRow.setState(ResultSetRow.STATE_ADDED);
         shiftRows(newRow, 1);
         curRows.add(rowNum, newRow);
+        if (localFilterSource != null) {
+            localFilterSource.add(newRow);
+        }
+        filterIndex = null;
         changesCount++;
         return newRow;
     }
@@ -717,6 +808,11 @@ public class ResultSetModel {
     void cleanupRow(@NotNull ResultSetRow row) {
         row.release();
         this.curRows.remove(row.getVisualNumber());
+        if (localFilterSource != null) {
+            localFilterSource.remove(row);
+        }
+        filterIndex = null;
+        displayCache.invalidateRow(row);
         this.shiftRows(row, -1);
     }
 
@@ -740,7 +836,7 @@ public class ResultSetModel {
     }
 
     private void shiftRows(@NotNull ResultSetRow relative, int delta) {
-        for (ResultSetRow row : curRows) {
+        for (ResultSetRow row : getFetchedRows()) {
             if (row.getVisualNumber() >= relative.getVisualNumber()) {
                 row.setVisualNumber(row.getVisualNumber() + delta);
             }
@@ -751,8 +847,13 @@ public class ResultSetModel {
     }
 
     private void releaseAll() {
-        final List<ResultSetRow> oldRows = curRows;
+        final List<ResultSetRow> oldRows = getFetchedRows();
+        final ResultSetValueStore oldValueStore = valueStore;
         this.curRows = new ArrayList<>();
+        this.localFilterSource = null;
+        this.filterIndex = null;
+        this.displayCache.clear();
+        this.valueStore = null;
         this.totalRowCount = null;
 
         // Cleanup in separate job.
@@ -767,6 +868,9 @@ public class ResultSetModel {
                 for (ResultSetRow row : oldRows) {
                     row.release();
                 }
+                if (oldValueStore != null) {
+                    oldValueStore.close();
+                }
                 return Status.OK_STATUS;
             }
         }.schedule();
@@ -866,51 +970,83 @@ public class ResultSetModel {
     }
 
     public void resetOrdering() {
-        final boolean hasOrdering = dataFilter.hasOrdering();
-        // Sort locally
-        final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-        Collections.sort(curRows, new Comparator<ResultSetRow>() {
-            @Override
-            public int compare(ResultSetRow row1, ResultSetRow row2) {
-                if (!hasOrdering) {
-                    return row1.getRowNumber() - row2.getRowNumber();
-                }
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
-                    if (cell1 == cell2) {
-                        result = 0;
-                    } else if (DBUtils.isNullValue(cell1)) {
-                        result = 1;
-                    } else if (DBUtils.isNullValue(cell2)) {
-                        result = -1;
-                    } else if (cell1 instanceof Comparable) {
-                        result = ((Comparable) cell1).compareTo(cell2);
-                    } else {
-                        String str1 = String.valueOf(cell1);
-                        String str2 = String.valueOf(cell2);
-                        result = str1.compareTo(str2);
-                    }
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
-                }
-                return result;
-            }
-        });
+        try {
+            applyOrdering(createSorter().sort(new VoidProgressMonitor()));
+        } catch (InterruptedException e) {
+            // Can't be canceled
+        }
+    }
+
+    /**
+     * Creates sorter for current rows and data filter ordering.
+     * Sorter may be run in background, result must be applied with {@link #applyOrdering(ResultSetSorter, List)}
+     */
+    @NotNull
+    ResultSetSorter createSorter() {
+        return new ResultSetSorter(this, curRows, dataFilter);
+    }
+
+    /**
+     * Applies sort result. Does nothing if model rows were changed since sorter creation.
+     */
+    boolean applyOrdering(@NotNull ResultSetSorter sorter, @NotNull List<ResultSetRow> sortedRows) {
+        if (sorter.getSourceRows() != curRows || sortedRows.size() != curRows.size()) {
+            return false;
+        }
+        applyOrdering(sortedRows);
+        return true;
+    }
+
+    private void applyOrdering(@NotNull List<ResultSetRow> sortedRows) {
+        curRows = sortedRows;
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
         }
     }
 
+    /**
+     * All fetched rows, including rows hidden by client-side filter
+     */
+    @NotNull
+    private List<ResultSetRow> getFetchedRows() {
+        return localFilterSource != null ? localFilterSource : curRows;
+    }
+
+    /**
+     * Applies filter conditions to fetched rows without querying the server.
+     * Possible only if current rows were fetched without conditions (or were filtered locally)
+     * and all filter conditions can be evaluated on client side.
+     *
+     * @return true if filter was applied
+     */
+    boolean filterLocally(@NotNull DBDDataFilter filter) {
+        if (localFilterSource == null && (dataFilter == null || dataFilter.hasConditions())) {
+            return false;
+        }
+        if (!filter.hasConditions()) {
+            if (localFilterSource != null) {
+                applyOrdering(localFilterSource);
+                localFilterSource = null;
+            }
+            return true;
+        }
+        List<ResultSetRow> allRows = getFetchedRows();
+        if (filterIndex == null || filterIndex.getRows() != allRows) {
+            filterIndex = new ResultSetFilterIndex(this, allRows);
+        }
+        BitSet matches = filterIndex.evaluate(filter);
+        if (matches == null) {
+            return false;
+        }
+        List<ResultSetRow> filteredRows = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            filteredRows.add(allRows.get(i));
+        }
+        localFilterSource = allRows;
+        applyOrdering(filteredRows);
+        return true;
+    }
+
     private void fillVisibleAttributes() {
         this.visibleAttributes.clear();
 
@@ -41,9 +41,12 @@ public class ResultSetRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Column values. Null if values are kept in value store
+    @Nullable
+    private Object[] values;
+    @Nullable
+    private ResultSetValueStore valueStore;
+    private int storeIndex;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -59,11 +62,70 @@ public class ResultSetRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetValueStore valueStore, @NotNull Object[] values) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.storeIndex = valueStore.appendRow(values);
+        if (storeIndex < 0) {
+            this.values = values;
+        } else {
+            this.valueStore = valueStore;
+        }
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns row values.
+     * For rows kept in value store returns a copy, so changes of returned array do not affect row.
+     * Use {@link #setValue(int, Object)} to change values.
+     */
     @NotNull
     public Object[] getValues() {
+        if (valueStore != null) {
+            return valueStore.getValues(storeIndex);
+        }
+        assert values != null;
         return values;
     }
 
+    public int getValueCount() {
+        if (valueStore != null) {
+            return valueStore.getColumnCount();
+        }
+        assert values != null;
+        return values.length;
+    }
+
+    @Nullable
+    public Object getValue(int index) {
+        if (valueStore != null) {
+            return valueStore.getValue(storeIndex, index);
+        }
+        assert values != null;
+        return values[index];
+    }
+
+    /**
+     * Sets value. Row becomes detached from value store.
+     */
+    void setValue(int index, @Nullable Object value) {
+        detachValues();
+        assert values != null;
+        values[index] = value;
+    }
+
+    void setValues(@NotNull Object[] values) {
+        this.values = values;
+        this.valueStore = null;
+    }
+
+    private void detachValues() {
+        if (valueStore != null) {
+            values = valueStore.getValues(storeIndex);
+            valueStore = null;
+        }
+    }
+
     public boolean isChanged() {
         return changes != null && !changes.isEmpty();
     }
@@ -112,8 +174,12 @@ public class ResultSetRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        if (valueStore != null) {
+            valueStore.releaseRow(storeIndex);
+        } else if (values != null) {
+            for (Object value : values) {
+                DBUtils.releaseValue(value);
+            }
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
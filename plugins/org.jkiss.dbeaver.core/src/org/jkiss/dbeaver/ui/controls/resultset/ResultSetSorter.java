@@ -0,0 +1,415 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side rows sorter.
+ * Sort keys are extracted once for all rows. Numeric and date keys are kept in primitive arrays.
+ * Rows are sorted with stable merge sort, big row sets are sorted in parallel (fork-join).
+ * Sort may be cancelled with progress monitor.
+ */
+class ResultSetSorter {
+
+    // Row count after which sort should run in background with progress
+    static final int BACKGROUND_SORT_THRESHOLD = 100000;
+    // Row count after which sort is parallel
+    private static final int PARALLEL_THRESHOLD = 20000;
+    // Max size of range sorted by single fork-join task
+    private static final int TASK_THRESHOLD = 8192;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final List<ResultSetRow> rows;
+    private final SortKey[] keys;
+    private final boolean[] descending;
+    private volatile boolean canceled;
+    private final AtomicLong worked = new AtomicLong();
+
+    ResultSetSorter(@NotNull ResultSetModel model, @NotNull List<ResultSetRow> rows, @NotNull DBDDataFilter dataFilter) {
+        this.rows = rows;
+        List<SortKey> keyList = new ArrayList<>();
+        List<Boolean> descList = new ArrayList<>();
+        if (dataFilter.hasOrdering()) {
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = model.getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    keyList.add(new AttributeKeyFactory(model, binding));
+                    descList.add(co.isOrderDescending());
+                }
+            }
+        } else {
+            // Restore original order
+            long[] rowNumbers = new long[rows.size()];
+            for (int i = 0; i < rowNumbers.length; i++) {
+                rowNumbers[i] = rows.get(i).getRowNumber();
+            }
+            keyList.add(new LongKey(rowNumbers, new BitSet(), null));
+            descList.add(false);
+        }
+        this.keys = keyList.toArray(new SortKey[keyList.size()]);
+        this.descending = new boolean[descList.size()];
+        for (int i = 0; i < descending.length; i++) {
+            descending[i] = descList.get(i);
+        }
+    }
+
+    @NotNull
+    List<ResultSetRow> getSourceRows() {
+        return rows;
+    }
+
+    /**
+     * Sorts rows. Source list is not modified.
+     * @return sorted rows
+     * @throws InterruptedException if sort was cancelled
+     */
+    @NotNull
+    List<ResultSetRow> sort(@NotNull DBRProgressMonitor monitor) throws InterruptedException {
+        final int rowCount = rows.size();
+        int mergeLevels = 0;
+        for (int size = TASK_THRESHOLD; size < rowCount; size <<= 1) {
+            mergeLevels++;
+        }
+        // Key extraction + leaf sorts + merges
+        monitor.beginTask("Sort " + rowCount + " rows", rowCount * (keys.length + 1 + mergeLevels));
+        try {
+            // Extract keys
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] instanceof AttributeKeyFactory) {
+                    keys[i] = ((AttributeKeyFactory) keys[i]).createKey(monitor, rows);
+                } else {
+                    monitor.worked(rowCount);
+                }
+                checkCanceled(monitor);
+            }
+
+            int[] order = new int[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                order[i] = i;
+            }
+            int[] buffer = new int[rowCount];
+            if (rowCount < PARALLEL_THRESHOLD) {
+                mergeSort(order, buffer, 0, rowCount);
+            } else {
+                Future<?> future = ForkJoinPool.commonPool().submit(new SortTask(order, buffer, 0, rowCount));
+                long reported = 0;
+                while (true) {
+                    try {
+                        future.get(100, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        long curWorked = worked.get();
+                        monitor.worked((int) (curWorked - reported));
+                        reported = curWorked;
+                        if (monitor.isCanceled()) {
+                            canceled = true;
+                        }
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof CancellationException) {
+                            throw new InterruptedException();
+                        }
+                        throw new IllegalStateException("Error sorting rows", e.getCause());
+                    } catch (CancellationException e) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            checkCanceled(monitor);
+
+            List<ResultSetRow> sorted = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                sorted.add(rows.get(order[i]));
+            }
+            return sorted;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void checkCanceled(DBRProgressMonitor monitor) throws InterruptedException {
+        if (canceled || monitor.isCanceled()) {
+            canceled = true;
+            throw new InterruptedException();
+        }
+    }
+
+    private int compare(int row1, int row2) {
+        for (int i = 0; i < keys.length; i++) {
+            int result = keys[i].compare(row1, row2);
+            if (result != 0) {
+                return descending[i] ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stable merge sort of order[from, to)
+     */
+    private void mergeSort(int[] order, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int value = order[i];
+                int k = i - 1;
+                while (k >= from && compare(order[k], value) > 0) {
+                    order[k + 1] = order[k];
+                    k--;
+                }
+                order[k + 1] = value;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(order, buffer, from, middle);
+        mergeSort(order, buffer, middle, to);
+        merge(order, buffer, from, middle, to);
+    }
+
+    private void merge(int[] order, int[] buffer, int from, int middle, int to) {
+        if (compare(order[middle - 1], order[middle]) <= 0) {
+            // Already ordered
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int i = from, k = middle, pos = from;
+        while (i < middle && k < to) {
+            if (compare(buffer[k], buffer[i]) < 0) {
+                order[pos++] = buffer[k++];
+            } else {
+                order[pos++] = buffer[i++];
+            }
+        }
+        while (i < middle) {
+            order[pos++] = buffer[i++];
+        }
+        while (k < to) {
+            order[pos++] = buffer[k++];
+        }
+    }
+
+    private class SortTask extends RecursiveAction {
+        private final int[] order;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+
+        SortTask(int[] order, int[] buffer, int from, int to) {
+            this.order = order;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (canceled) {
+                throw new CancellationException();
+            }
+            if (to - from <= TASK_THRESHOLD) {
+                mergeSort(order, buffer, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new SortTask(order, buffer, from, middle),
+                    new SortTask(order, buffer, middle, to));
+                if (canceled) {
+                    throw new CancellationException();
+                }
+                merge(order, buffer, from, middle, to);
+            }
+            worked.addAndGet(to - from);
+        }
+    }
+
+    ////////////////////////////////////////////////
+    // Sort keys
+
+    private static abstract class SortKey {
+        // Nulls go after all values (in ascending order)
+        protected final BitSet nulls;
+
+        SortKey(BitSet nulls) {
+            this.nulls = nulls;
+        }
+
+        final int compare(int row1, int row2) {
+            boolean null1 = nulls.get(row1), null2 = nulls.get(row2);
+            if (null1 || null2) {
+                return null1 == null2 ? 0 : (null1 ? 1 : -1);
+            }
+            return compareValues(row1, row2);
+        }
+
+        abstract int compareValues(int row1, int row2);
+    }
+
+    /**
+     * Placeholder which extracts attribute values of all rows and creates actual key.
+     */
+    private static class AttributeKeyFactory extends SortKey {
+        private final ResultSetModel model;
+        private final DBDAttributeBinding binding;
+
+        AttributeKeyFactory(ResultSetModel model, DBDAttributeBinding binding) {
+            super(null);
+            this.model = model;
+            this.binding = binding;
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            throw new IllegalStateException("Key wasn't extracted");
+        }
+
+        SortKey createKey(DBRProgressMonitor monitor, List<ResultSetRow> rows) throws InterruptedException {
+            final int rowCount = rows.size();
+            Object[] values = new Object[rowCount];
+            BitSet nulls = new BitSet(rowCount);
+            boolean integral = true, numeric = true, dates = true, timestamps = true, sameComparable = true;
+            Class<?> valueClass = null;
+            for (int i = 0; i < rowCount; i++) {
+                Object value = model.getCellValue(binding, rows.get(i));
+                if (DBUtils.isNullValue(value)) {
+                    nulls.set(i);
+                    continue;
+                }
+                values[i] = value;
+                if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                    integral = false;
+                    if (!(value instanceof Double || value instanceof Float)) {
+                        numeric = false;
+                    }
+                }
+                if (!(value instanceof Date)) {
+                    dates = false;
+                }
+                if (!(value instanceof Timestamp)) {
+                    timestamps = false;
+                }
+                if (valueClass == null) {
+                    valueClass = value.getClass();
+                    sameComparable = value instanceof Comparable;
+                } else if (valueClass != value.getClass()) {
+                    sameComparable = false;
+                }
+                if (i % 10000 == 0) {
+                    if (monitor.isCanceled()) {
+                        throw new InterruptedException();
+                    }
+                    monitor.worked(10000);
+                }
+            }
+
+            if (integral || dates) {
+                long[] keys = new long[rowCount];
+                int[] nanos = dates && timestamps ? new int[rowCount] : null;
+                for (int i = 0; i < rowCount; i++) {
+                    Object value = values[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    if (dates) {
+                        keys[i] = ((Date) value).getTime();
+                        if (nanos != null) {
+                            nanos[i] = ((Timestamp) value).getNanos();
+                        }
+                    } else {
+                        keys[i] = ((Number) value).longValue();
+                    }
+                }
+                return new LongKey(keys, nulls, nanos);
+            } else if (numeric) {
+                double[] keys = new double[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    if (values[i] != null) {
+                        keys[i] = ((Number) values[i]).doubleValue();
+                    }
+                }
+                return new DoubleKey(keys, nulls);
+            } else if (!sameComparable) {
+                // Mixed or non-comparable values - compare string representations
+                for (int i = 0; i < rowCount; i++) {
+                    if (values[i] != null) {
+                        values[i] = String.valueOf(values[i]);
+                    }
+                }
+            }
+            return new ComparableKey(values, nulls);
+        }
+    }
+
+    private static class LongKey extends SortKey {
+        private final long[] keys;
+        private final int[] nanos;
+
+        LongKey(long[] keys, BitSet nulls, int[] nanos) {
+            super(nulls);
+            this.keys = keys;
+            this.nanos = nanos;
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            int result = Long.compare(keys[row1], keys[row2]);
+            if (result == 0 && nanos != null) {
+                result = Integer.compare(nanos[row1], nanos[row2]);
+            }
+            return result;
+        }
+    }
+
+    private static class DoubleKey extends SortKey {
+        private final double[] keys;
+
+        DoubleKey(double[] keys, BitSet nulls) {
+            super(nulls);
+            this.keys = keys;
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+            return Double.compare(keys[row1], keys[row2]);
+        }
+    }
+
+    private static class ComparableKey extends SortKey {
+        private final Object[] keys;
+
+        ComparableKey(Object[] keys, BitSet nulls) {
+            super(nulls);
+            this.keys = keys;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int row1, int row2) {
+            return ((Comparable<Object>) keys[row1]).compareTo(keys[row2]);
+        }
+    }
+
+}
@@ -0,0 +1,1015 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Columnar storage of result set values.
+ * Numeric, boolean and date/time values are kept in primitive arrays with null bitmaps,
+ * low-cardinality strings are dictionary-encoded. All other values are kept as is.
+ * Values are boxed back on read, so each read returns value of the same class as was stored.
+ *
+ * Rows are kept in segments of fixed size. Column type is chosen (per segment) by the first non-null value.
+ * If value of a different class appears later then column is converted to plain object column.
+ * Storage is append-only, rows which need to be modified are copied into their own arrays (see ResultSetRow).
+ *
+ * If memory limit is set then older segments are written into temp file once estimated size of
+ * segments in memory exceeds the limit. Spilled segments are read back (memory mapped) on demand,
+ * a few recently read segments are cached. Segments with complex values (LOBs, structures, etc) can't be spilled.
+ * Memory limit bounds values only. Model keeps one ResultSetRow per fetched row
+ * (about 65 bytes with compressed oops, including rows list slot), so it limits number of fetched rows
+ * when spilling is enabled (see ResultSetModel.getMaxFetchedRows).
+ */
+public class ResultSetValueStore {
+
+    private static final Log log = Log.getLog(ResultSetValueStore.class);
+
+    private static final int SEGMENT_SHIFT = 14;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    // Number of spilled segments kept in memory after read
+    private static final int MAX_LOADED_SEGMENTS = 4;
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Max distinct values in string dictionary
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+    // After this number of rows dictionary must be at least two times smaller than row count
+    private static final int DICTIONARY_PROBE_ROWS = 1000;
+
+    private static final Class<?>[] LONG_TYPES = { Long.class, Integer.class, Short.class, Byte.class };
+    private static final Class<?>[] DOUBLE_TYPES = { Double.class, Float.class };
+    private static final Class<?>[] DATE_TYPES = { Date.class, java.sql.Date.class, Time.class, Timestamp.class };
+    // Classes of values which may be spilled from object columns
+    private static final Class<?>[] OBJECT_TYPES = {
+        String.class, BigDecimal.class, BigInteger.class, byte[].class,
+        Long.class, Integer.class, Short.class, Byte.class, Double.class, Float.class, Boolean.class,
+        Date.class, java.sql.Date.class, Time.class, Timestamp.class };
+
+    private static final byte COLUMN_NULL = 0;
+    private static final byte COLUMN_OBJECT = 1;
+    private static final byte COLUMN_LONG = 2;
+    private static final byte COLUMN_DOUBLE = 3;
+    private static final byte COLUMN_BOOLEAN = 4;
+    private static final byte COLUMN_DATE = 5;
+    private static final byte COLUMN_STRING = 6;
+
+    private final long memoryLimit;
+    private final File spillFolder;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private int columnCount = -1;
+    private int rowCount;
+    // Estimated size of filled segments kept in memory
+    private long memoryUsed;
+
+    private File spillFile;
+    private FileChannel spillChannel;
+    private long spillFileSize;
+    private final Map<Segment, Column[]> loadedSegments = new LinkedHashMap<Segment, Column[]>(MAX_LOADED_SEGMENTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Segment, Column[]> eldest) {
+            return size() > MAX_LOADED_SEGMENTS;
+        }
+    };
+
+    public ResultSetValueStore() {
+        this(0, null);
+    }
+
+    /**
+     * @param memoryLimit max memory size (in bytes) used by values before spilling to disk. Zero means no limit.
+     * @param spillFolder folder for spill files
+     */
+    public ResultSetValueStore(long memoryLimit, @Nullable File spillFolder) {
+        this.memoryLimit = spillFolder == null ? 0 : memoryLimit;
+        this.spillFolder = spillFolder;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount < 0 ? 0 : columnCount;
+    }
+
+    public synchronized int getSpilledSegmentCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            if (segment.isSpilled()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Appends row values
+     * @return row index in the store or -1 if row doesn't match store columns
+     */
+    public int appendRow(@NotNull Object[] values) {
+        if (columnCount < 0) {
+            columnCount = values.length;
+        } else if (values.length != columnCount) {
+            return -1;
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.rowCount == SEGMENT_SIZE) {
+            if (segment != null) {
+                onSegmentFilled(segment);
+            }
+            segment = new Segment(columnCount);
+            synchronized (this) {
+                segments.add(segment);
+            }
+        }
+        segment.add(values);
+        return rowCount++;
+    }
+
+    @Nullable
+    public Object getValue(int row, int column) {
+        return getSegmentColumns(row)[column].get(row & SEGMENT_MASK);
+    }
+
+    @NotNull
+    public Object[] getValues(int row) {
+        Column[] columns = getSegmentColumns(row);
+        int index = row & SEGMENT_MASK;
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(index);
+        }
+        return values;
+    }
+
+    /**
+     * Releases complex values (LOBs, etc) of specified row.
+     * Spilled segments never contain such values.
+     */
+    public void releaseRow(int row) {
+        Segment segment = getSegment(row);
+        Column[] columns = segment.columns;
+        if (columns == null) {
+            return;
+        }
+        for (Column column : columns) {
+            if (column instanceof ObjectColumn) {
+                DBUtils.releaseValue(column.get(row & SEGMENT_MASK));
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes spill file
+     */
+    public synchronized void close() {
+        loadedSegments.clear();
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+            } catch (IOException e) {
+                log.debug("Error closing spill file", e);
+            }
+            spillChannel = null;
+        }
+        if (spillFile != null) {
+            if (!spillFile.delete()) {
+                // File may be locked by mapped buffers (on Windows)
+                spillFile.deleteOnExit();
+            }
+            spillFile = null;
+        }
+    }
+
+    private synchronized Segment getSegment(int row) {
+        return segments.get(row >> SEGMENT_SHIFT);
+    }
+
+    @NotNull
+    private Column[] getSegmentColumns(int row) {
+        Segment segment = getSegment(row);
+        Column[] columns = segment.columns;
+        if (columns == null) {
+            columns = loadSegment(segment);
+        }
+        return columns;
+    }
+
+    private void onSegmentFilled(@NotNull Segment segment) {
+        if (memoryLimit <= 0) {
+            return;
+        }
+        memoryUsed += segment.memorySize = segment.estimateSize();
+        if (memoryUsed <= memoryLimit) {
+            return;
+        }
+        // Spill oldest segments
+        for (Segment oldSegment : segments) {
+            if (memoryUsed <= memoryLimit) {
+                break;
+            }
+            if (oldSegment.isSpilled() || oldSegment.memorySize == 0) {
+                // Already spilled or not finished yet
+                continue;
+            }
+            if (!oldSegment.isSerializable()) {
+                // Keep it in memory forever
+                continue;
+            }
+            try {
+                spillSegment(oldSegment);
+                memoryUsed -= oldSegment.memorySize;
+            } catch (IOException e) {
+                log.error("Error spilling result set values to disk", e);
+                break;
+            }
+        }
+    }
+
+    private synchronized void spillSegment(@NotNull Segment segment) throws IOException {
+        if (spillChannel == null) {
+            spillFile = File.createTempFile("resultset", ".spill", spillFolder);
+            spillFile.deleteOnExit();
+            spillChannel = FileChannel.open(spillFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) Math.min(segment.memorySize, Integer.MAX_VALUE));
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            for (Column column : segment.columns) {
+                column.write(out, segment.rowCount);
+            }
+        }
+        byte[] data = buffer.toByteArray();
+        ByteBuffer bb = ByteBuffer.wrap(data);
+        long position = spillFileSize;
+        while (bb.hasRemaining()) {
+            position += spillChannel.write(bb, position);
+        }
+        segment.fileOffset = spillFileSize;
+        segment.fileLength = data.length;
+        spillFileSize += data.length;
+        segment.columns = null;
+    }
+
+    @NotNull
+    private synchronized Column[] loadSegment(@NotNull Segment segment) {
+        Column[] columns = segment.columns;
+        if (columns != null) {
+            return columns;
+        }
+        columns = loadedSegments.get(segment);
+        if (columns != null) {
+            return columns;
+        }
+        try {
+            MappedByteBuffer buffer = spillChannel.map(FileChannel.MapMode.READ_ONLY, segment.fileOffset, segment.fileLength);
+            columns = new Column[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columns[i] = readColumn(buffer, segment.rowCount);
+            }
+        } catch (Exception e) {
+            log.error("Error reading spilled result set values", e);
+            columns = new Column[columnCount];
+            Arrays.fill(columns, new NullColumn());
+        }
+        loadedSegments.put(segment, columns);
+        return columns;
+    }
+
+    private static Column promoteColumn(@NotNull Column column, @Nullable Object value, int rowCount) {
+        Column newColumn = null;
+        if (column instanceof NullColumn) {
+            newColumn = createColumn(value);
+        }
+        if (newColumn == null) {
+            newColumn = new ObjectColumn();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            newColumn.add(column.get(i));
+        }
+        if (!newColumn.add(value)) {
+            // Can't happen with a fresh column but let's be safe
+            newColumn = promoteColumn(newColumn, value, rowCount);
+        }
+        return newColumn;
+    }
+
+    @Nullable
+    private static Column createColumn(@NotNull Object value) {
+        Class<?> type = value.getClass();
+        if (indexOf(LONG_TYPES, type) >= 0) {
+            return new LongColumn(type);
+        } else if (indexOf(DOUBLE_TYPES, type) >= 0) {
+            return new DoubleColumn(type);
+        } else if (type == Boolean.class) {
+            return new BooleanColumn();
+        } else if (indexOf(DATE_TYPES, type) >= 0) {
+            return new DateColumn(type);
+        } else if (type == String.class) {
+            return new StringColumn();
+        }
+        return null;
+    }
+
+    private static int indexOf(Class<?>[] types, Class<?> type) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int newCapacity(int capacity, int required) {
+        return Math.max(required, capacity < INITIAL_CAPACITY ? INITIAL_CAPACITY : capacity + (capacity >> 1));
+    }
+
+    private static class Segment {
+        // Null if segment is spilled
+        volatile Column[] columns;
+        int rowCount;
+        long memorySize;
+        long fileOffset = -1;
+        int fileLength;
+
+        Segment(int columnCount) {
+            columns = new Column[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columns[i] = new NullColumn();
+            }
+        }
+
+        boolean isSpilled() {
+            return fileOffset >= 0;
+        }
+
+        void add(@NotNull Object[] values) {
+            Column[] columns = this.columns;
+            for (int i = 0; i < columns.length; i++) {
+                Object value = values[i];
+                if (!columns[i].add(value)) {
+                    columns[i] = promoteColumn(columns[i], value, rowCount);
+                }
+            }
+            rowCount++;
+        }
+
+        long estimateSize() {
+            long size = 0;
+            for (Column column : columns) {
+                size += column.estimateSize();
+            }
+            return size;
+        }
+
+        boolean isSerializable() {
+            for (Column column : columns) {
+                if (!column.isSerializable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    ////////////////////////////////////////////////
+    // Columns
+
+    private static abstract class Column {
+        /**
+         * Adds next value
+         * @return false if value can't be kept in this column
+         */
+        abstract boolean add(@Nullable Object value);
+
+        @Nullable
+        abstract Object get(int index);
+
+        abstract long estimateSize();
+
+        boolean isSerializable() {
+            return true;
+        }
+
+        abstract void write(@NotNull DataOutputStream out, int rowCount) throws IOException;
+    }
+
+    /**
+     * Column which contains only nulls so far
+     */
+    private static class NullColumn extends Column {
+        @Override
+        boolean add(Object value) {
+            return value == null;
+        }
+
+        @Override
+        Object get(int index) {
+            return null;
+        }
+
+        @Override
+        long estimateSize() {
+            return 16;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_NULL);
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        @Override
+        boolean add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, size + 1));
+            }
+            values[size++] = value;
+            return true;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        long estimateSize() {
+            long total = 16 + values.length * 8L;
+            for (int i = 0; i < size; i++) {
+                Object value = values[i];
+                if (value instanceof String) {
+                    total += 40 + ((String) value).length() * 2L;
+                } else if (value instanceof byte[]) {
+                    total += 16 + ((byte[]) value).length;
+                } else if (value != null) {
+                    total += 32;
+                }
+            }
+            return total;
+        }
+
+        @Override
+        boolean isSerializable() {
+            for (int i = 0; i < size; i++) {
+                Object value = values[i];
+                if (value != null && indexOf(OBJECT_TYPES, value.getClass()) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_OBJECT);
+            for (int i = 0; i < rowCount; i++) {
+                Object value = values[i];
+                out.writeByte(value == null ? -1 : indexOf(OBJECT_TYPES, value.getClass()));
+                if (value instanceof String) {
+                    writeString(out, (String) value);
+                } else if (value instanceof BigDecimal) {
+                    out.writeInt(((BigDecimal) value).scale());
+                    writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+                } else if (value instanceof BigInteger) {
+                    writeBytes(out, ((BigInteger) value).toByteArray());
+                } else if (value instanceof byte[]) {
+                    writeBytes(out, (byte[]) value);
+                } else if (value instanceof Double || value instanceof Float) {
+                    out.writeDouble(((Number) value).doubleValue());
+                } else if (value instanceof Number) {
+                    out.writeLong(((Number) value).longValue());
+                } else if (value instanceof Boolean) {
+                    out.writeBoolean((Boolean) value);
+                } else if (value instanceof Date) {
+                    out.writeLong(((Date) value).getTime());
+                    if (value instanceof Timestamp) {
+                        out.writeInt(((Timestamp) value).getNanos());
+                    }
+                }
+            }
+        }
+
+        static ObjectColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            ObjectColumn column = new ObjectColumn();
+            column.values = new Object[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                byte typeIndex = buffer.get();
+                Object value = null;
+                if (typeIndex >= 0) {
+                    Class<?> type = OBJECT_TYPES[typeIndex];
+                    if (type == String.class) {
+                        value = readString(buffer);
+                    } else if (type == BigDecimal.class) {
+                        int scale = buffer.getInt();
+                        value = new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+                    } else if (type == BigInteger.class) {
+                        value = new BigInteger(readBytes(buffer));
+                    } else if (type == byte[].class) {
+                        value = readBytes(buffer);
+                    } else if (indexOf(DOUBLE_TYPES, type) >= 0) {
+                        value = DoubleColumn.box(type, buffer.getDouble());
+                    } else if (indexOf(LONG_TYPES, type) >= 0) {
+                        value = LongColumn.box(type, buffer.getLong());
+                    } else if (type == Boolean.class) {
+                        value = buffer.get() != 0;
+                    } else {
+                        long time = buffer.getLong();
+                        value = DateColumn.box(type, time, type == Timestamp.class ? buffer.getInt() : 0);
+                    }
+                }
+                column.values[i] = value;
+            }
+            column.size = rowCount;
+            return column;
+        }
+    }
+
+    private static abstract class PrimitiveColumn extends Column {
+        protected BitSet nulls = new BitSet();
+        protected int size;
+
+        @Override
+        final boolean add(Object value) {
+            if (value == null) {
+                ensureCapacity(size + 1);
+                nulls.set(size++);
+                return true;
+            }
+            if (!accepts(value)) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            store(size++, value);
+            return true;
+        }
+
+        @Override
+        final Object get(int index) {
+            return nulls.get(index) ? null : load(index);
+        }
+
+        abstract boolean accepts(@NotNull Object value);
+
+        abstract void ensureCapacity(int capacity);
+
+        abstract void store(int index, @NotNull Object value);
+
+        @NotNull
+        abstract Object load(int index);
+    }
+
+    private static class LongColumn extends PrimitiveColumn {
+        private final Class<?> type;
+        private long[] values = new long[0];
+
+        LongColumn(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        boolean accepts(@NotNull Object value) {
+            return value.getClass() == type;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void store(int index, @NotNull Object value) {
+            values[index] = ((Number) value).longValue();
+        }
+
+        @NotNull
+        @Override
+        Object load(int index) {
+            return box(type, values[index]);
+        }
+
+        @Override
+        long estimateSize() {
+            return 32 + values.length * 8L + nulls.size() / 8;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_LONG);
+            out.writeByte(indexOf(LONG_TYPES, type));
+            writeBitSet(out, nulls);
+            for (int i = 0; i < rowCount; i++) {
+                out.writeLong(values[i]);
+            }
+        }
+
+        static LongColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            LongColumn column = new LongColumn(LONG_TYPES[buffer.get()]);
+            column.nulls = readBitSet(buffer);
+            column.values = new long[rowCount];
+            buffer.asLongBuffer().get(column.values);
+            buffer.position(buffer.position() + rowCount * 8);
+            column.size = rowCount;
+            return column;
+        }
+
+        static Object box(Class<?> type, long value) {
+            if (type == Integer.class) {
+                return (int) value;
+            } else if (type == Short.class) {
+                return (short) value;
+            } else if (type == Byte.class) {
+                return (byte) value;
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private static class DoubleColumn extends PrimitiveColumn {
+        private final Class<?> type;
+        private double[] values = new double[0];
+
+        DoubleColumn(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        boolean accepts(@NotNull Object value) {
+            return value.getClass() == type;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void store(int index, @NotNull Object value) {
+            values[index] = ((Number) value).doubleValue();
+        }
+
+        @NotNull
+        @Override
+        Object load(int index) {
+            return box(type, values[index]);
+        }
+
+        @Override
+        long estimateSize() {
+            return 32 + values.length * 8L + nulls.size() / 8;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_DOUBLE);
+            out.writeByte(indexOf(DOUBLE_TYPES, type));
+            writeBitSet(out, nulls);
+            for (int i = 0; i < rowCount; i++) {
+                out.writeDouble(values[i]);
+            }
+        }
+
+        static DoubleColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            DoubleColumn column = new DoubleColumn(DOUBLE_TYPES[buffer.get()]);
+            column.nulls = readBitSet(buffer);
+            column.values = new double[rowCount];
+            buffer.asDoubleBuffer().get(column.values);
+            buffer.position(buffer.position() + rowCount * 8);
+            column.size = rowCount;
+            return column;
+        }
+
+        static Object box(Class<?> type, double value) {
+            if (type == Float.class) {
+                return (float) value;
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private static class BooleanColumn extends PrimitiveColumn {
+        private BitSet values = new BitSet();
+
+        @Override
+        boolean accepts(@NotNull Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            // BitSet grows itself
+        }
+
+        @Override
+        void store(int index, @NotNull Object value) {
+            if ((Boolean) value) {
+                values.set(index);
+            }
+        }
+
+        @NotNull
+        @Override
+        Object load(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long estimateSize() {
+            return 32 + values.size() / 8 + nulls.size() / 8;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_BOOLEAN);
+            writeBitSet(out, nulls);
+            writeBitSet(out, values);
+        }
+
+        static BooleanColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            BooleanColumn column = new BooleanColumn();
+            column.nulls = readBitSet(buffer);
+            column.values = readBitSet(buffer);
+            column.size = rowCount;
+            return column;
+        }
+    }
+
+    /**
+     * Date/time values. Timestamp nanoseconds are kept separately.
+     */
+    private static class DateColumn extends PrimitiveColumn {
+        private final Class<?> type;
+        private long[] millis = new long[0];
+        private int[] nanos;
+
+        DateColumn(Class<?> type) {
+            this.type = type;
+            if (type == Timestamp.class) {
+                nanos = new int[0];
+            }
+        }
+
+        @Override
+        boolean accepts(@NotNull Object value) {
+            return value.getClass() == type;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > millis.length) {
+                int newCapacity = newCapacity(millis.length, capacity);
+                millis = Arrays.copyOf(millis, newCapacity);
+                if (nanos != null) {
+                    nanos = Arrays.copyOf(nanos, newCapacity);
+                }
+            }
+        }
+
+        @Override
+        void store(int index, @NotNull Object value) {
+            millis[index] = ((Date) value).getTime();
+            if (nanos != null) {
+                nanos[index] = ((Timestamp) value).getNanos();
+            }
+        }
+
+        @NotNull
+        @Override
+        Object load(int index) {
+            return box(type, millis[index], nanos == null ? 0 : nanos[index]);
+        }
+
+        @Override
+        long estimateSize() {
+            return 32 + millis.length * (nanos == null ? 8L : 12L) + nulls.size() / 8;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_DATE);
+            out.writeByte(indexOf(DATE_TYPES, type));
+            writeBitSet(out, nulls);
+            for (int i = 0; i < rowCount; i++) {
+                out.writeLong(millis[i]);
+            }
+            if (nanos != null) {
+                for (int i = 0; i < rowCount; i++) {
+                    out.writeInt(nanos[i]);
+                }
+            }
+        }
+
+        static DateColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            DateColumn column = new DateColumn(DATE_TYPES[buffer.get()]);
+            column.nulls = readBitSet(buffer);
+            column.millis = new long[rowCount];
+            buffer.asLongBuffer().get(column.millis);
+            buffer.position(buffer.position() + rowCount * 8);
+            if (column.nanos != null) {
+                column.nanos = new int[rowCount];
+                buffer.asIntBuffer().get(column.nanos);
+                buffer.position(buffer.position() + rowCount * 4);
+            }
+            column.size = rowCount;
+            return column;
+        }
+
+        static Object box(Class<?> type, long time, int nanos) {
+            if (type == Timestamp.class) {
+                Timestamp ts = new Timestamp(time);
+                ts.setNanos(nanos);
+                return ts;
+            } else if (type == java.sql.Date.class) {
+                return new java.sql.Date(time);
+            } else if (type == Time.class) {
+                return new Time(time);
+            } else {
+                return new Date(time);
+            }
+        }
+    }
+
+    /**
+     * Dictionary-encoded strings. Rejects new values when dictionary becomes too big.
+     */
+    private static class StringColumn extends Column {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryValues = new ArrayList<>();
+        private int[] codes = new int[0];
+        private int size;
+
+        @Override
+        boolean add(Object value) {
+            int code;
+            if (value == null) {
+                code = -1;
+            } else if (value.getClass() != String.class) {
+                return false;
+            } else {
+                Integer dictCode = dictionary.get(value);
+                if (dictCode == null) {
+                    int dictSize = dictionaryValues.size();
+                    if (dictSize >= MAX_DICTIONARY_SIZE || (size >= DICTIONARY_PROBE_ROWS && dictSize > size / 2)) {
+                        // Too many distinct values
+                        return false;
+                    }
+                    dictCode = dictSize;
+                    dictionary.put((String) value, dictCode);
+                    dictionaryValues.add((String) value);
+                }
+                code = dictCode;
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, newCapacity(codes.length, size + 1));
+            }
+            codes[size++] = code;
+            return true;
+        }
+
+        @Override
+        Object get(int index) {
+            int code = codes[index];
+            return code < 0 ? null : dictionaryValues.get(code);
+        }
+
+        @Override
+        long estimateSize() {
+            long total = 64 + codes.length * 4L;
+            for (String value : dictionaryValues) {
+                total += 80 + value.length() * 2L;
+            }
+            return total;
+        }
+
+        @Override
+        void write(@NotNull DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(COLUMN_STRING);
+            out.writeInt(dictionaryValues.size());
+            for (String value : dictionaryValues) {
+                writeString(out, value);
+            }
+            for (int i = 0; i < rowCount; i++) {
+                out.writeInt(codes[i]);
+            }
+        }
+
+        static StringColumn read(@NotNull ByteBuffer buffer, int rowCount) {
+            // Spilled segments are read-only, so dictionary map isn't needed
+            StringColumn column = new StringColumn();
+            int dictSize = buffer.getInt();
+            for (int i = 0; i < dictSize; i++) {
+                column.dictionaryValues.add(readString(buffer));
+            }
+            column.codes = new int[rowCount];
+            buffer.asIntBuffer().get(column.codes);
+            buffer.position(buffer.position() + rowCount * 4);
+            column.size = rowCount;
+            return column;
+        }
+    }
+
+    ////////////////////////////////////////////////
+    // Serialization
+
+    @NotNull
+    private static Column readColumn(@NotNull ByteBuffer buffer, int rowCount) throws IOException {
+        byte columnType = buffer.get();
+        switch (columnType) {
+            case COLUMN_NULL: return new NullColumn();
+            case COLUMN_OBJECT: return ObjectColumn.read(buffer, rowCount);
+            case COLUMN_LONG: return LongColumn.read(buffer, rowCount);
+            case COLUMN_DOUBLE: return DoubleColumn.read(buffer, rowCount);
+            case COLUMN_BOOLEAN: return BooleanColumn.read(buffer, rowCount);
+            case COLUMN_DATE: return DateColumn.read(buffer, rowCount);
+            case COLUMN_STRING: return StringColumn.read(buffer, rowCount);
+            default:
+                throw new IOException("Bad spilled column type: " + columnType);
+        }
+    }
+
+    private static void writeBitSet(@NotNull DataOutputStream out, @NotNull BitSet bitSet) throws IOException {
+        long[] words = bitSet.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    @NotNull
+    private static BitSet readBitSet(@NotNull ByteBuffer buffer) {
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        out.writeInt(value.length());
+        out.writeChars(value);
+    }
+
+    @NotNull
+    private static String readString(@NotNull ByteBuffer buffer) {
+        char[] chars = new char[buffer.getInt()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    private static void writeBytes(@NotNull DataOutputStream out, @NotNull byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
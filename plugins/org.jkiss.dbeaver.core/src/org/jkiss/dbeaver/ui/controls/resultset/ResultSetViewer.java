@@ -1415,7 +1415,30 @@ public class ResultSetViewer extends Viewer
     private void reorderLocally()
     {
         this.rejectChanges();
-        this.getModel().resetOrdering();
+        if (model.getRowCount() < ResultSetSorter.BACKGROUND_SORT_THRESHOLD) {
+            model.resetOrdering();
+        } else {
+            // Sort big models in background with progress
+            final ResultSetSorter sorter = model.createSorter();
+            final List<ResultSetRow> sortedRows = new ArrayList<>();
+            try {
+                DBeaverUI.runInProgressService(new DBRRunnableWithProgress() {
+                    @Override
+                    public void run(DBRProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+                        sortedRows.addAll(sorter.sort(monitor));
+                    }
+                });
+            } catch (InvocationTargetException e) {
+                DBUserInterface.getInstance().showError("Sort rows", "Error sorting rows", e.getTargetException());
+                return;
+            } catch (InterruptedException e) {
+                // Cancelled
+                return;
+            }
+            if (!model.applyOrdering(sorter, sortedRows)) {
+                return;
+            }
+        }
         this.getActivePresentation().refreshData(false, false, true);
     }
 
@@ -1440,6 +1463,7 @@ public class ResultSetViewer extends Viewer
             return;
         }
         this.curRow = null;
+        this.model.setSpillMemoryLimit(getPreferenceStore().getInt(DBeaverPreferences.RESULT_SET_SPILL_MEMORY_LIMIT) * 1024L * 1024L);
         this.model.setData(rows);
         this.curRow = (this.model.getRowCount() > 0 ? this.model.getRow(0) : null);
         if (focusRow > 0 && focusRow < model.getRowCount()) {
@@ -2470,6 +2494,9 @@ public class ResultSetViewer extends Viewer
         }
 
         DBSDataContainer dataContainer = getDataContainer();
+        if (dataContainer != null && filterLocally(dataContainer, filter)) {
+            return;
+        }
         if (dataContainer != null) {
             runDataPump(
                 dataContainer,
@@ -2483,6 +2510,33 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    /**
+     * Applies filter to fetched rows if all of them are already loaded.
+     * @return false if filter has to be applied on server side
+     */
+    private boolean filterLocally(@NotNull DBSDataContainer dataContainer, @NotNull DBDDataFilter filter) {
+        if (!getPreferenceStore().getBoolean(DBeaverPreferences.RESULT_SET_FILTER_CLIENT_SIDE) ||
+            isHasMoreData() || dataPumpJob != null || model.isUpdateInProgress() || !model.hasData() ||
+            !CommonUtils.isEmpty(filter.getOrder()))
+        {
+            return false;
+        }
+        if (!model.filterLocally(filter)) {
+            return false;
+        }
+        setNewState(dataContainer, filter);
+        model.updateDataFilter(filter);
+        if (filter.hasOrdering()) {
+            model.resetOrdering();
+        }
+        curRow = model.getRowCount() > 0 ? model.getRow(0) : null;
+        redrawData(true, true);
+        updateFiltersText();
+        updateToolbar();
+        fireResultSetLoad();
+        return true;
+    }
+
     @Override
     public boolean refreshData(@Nullable Runnable onSuccess) {
         if (!checkForChanges()) {
@@ -2506,6 +2560,15 @@ public class ResultSetViewer extends Viewer
         if (!dataReceiver.isHasMoreData()) {
             return;
         }
+        int segmentSize = getSegmentMaxRows();
+        int maxFetchedRows = model.getMaxFetchedRows();
+        if (maxFetchedRows > 0) {
+            if (model.getRowCount() >= maxFetchedRows) {
+                setStatus(NLS.bind(CoreMessages.controls_resultset_viewer_status_rows_limit, maxFetchedRows), DBPMessageType.WARNING);
+                return;
+            }
+            segmentSize = Math.min(segmentSize, maxFetchedRows - model.getRowCount());
+        }
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null && !model.isUpdateInProgress() && dataPumpJob == null) {
             dataReceiver.setHasMoreData(false);
@@ -2515,7 +2578,7 @@ public class ResultSetViewer extends Viewer
                 dataContainer,
                 model.getDataFilter(),
                 model.getRowCount(),
-                getSegmentMaxRows(),
+                segmentSize,
                 -1,//curRow == null ? -1 : curRow.getRowNumber(), // Do not reposition cursor after next segment read!
                 false,
                 true,
@@ -2536,6 +2599,16 @@ public class ResultSetViewer extends Viewer
         {
             return;
         }
+        // With values spilling rows are fetched up to rows limit
+        int maxRows = -1;
+        int maxFetchedRows = model.getMaxFetchedRows();
+        if (maxFetchedRows > 0) {
+            if (model.getRowCount() >= maxFetchedRows) {
+                setStatus(NLS.bind(CoreMessages.controls_resultset_viewer_status_rows_limit, maxFetchedRows), DBPMessageType.WARNING);
+                return;
+            }
+            maxRows = maxFetchedRows - model.getRowCount();
+        }
 
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null && !model.isUpdateInProgress() && dataPumpJob == null) {
@@ -2546,7 +2619,7 @@ public class ResultSetViewer extends Viewer
                 dataContainer,
                 model.getDataFilter(),
                 model.getRowCount(),
-                -1,
+                maxRows,
                 curRow == null ? -1 : curRow.getRowNumber(),
                 false,
                 true,
@@ -2711,6 +2784,7 @@ public class ResultSetViewer extends Viewer
         });
         dataPumpJob.setOffset(offset);
         dataPumpJob.setMaxRows(maxRows);
+        dataPumpJob.setKeysetPagination(getPreferenceStore().getBoolean(DBeaverPreferences.RESULT_SET_KEYSET_PAGINATION));
         dataPumpJob.schedule();
 
         return true;
@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset.panel;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.*;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
@@ -30,21 +32,31 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.data.aggregate.IMergeableAggregateFunction;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
 import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.lightgrid.GridCell;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
+import org.jkiss.dbeaver.ui.controls.resultset.spreadsheet.SpreadsheetPresentation;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * RSV value view panel
@@ -61,6 +73,11 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private static final DecimalFormat DOUBLE_FORMAT = new DecimalFormat("###,###,###,###,###,##0.000");
     private static final DecimalFormat INTEGER_FORMAT = new DecimalFormat("###,###,###,###,###,##0");
 
+    // Bigger selections are aggregated in background job
+    private static final int BACKGROUND_AGGREGATE_THRESHOLD = 10000;
+    // Number of values aggregated by one parallel task
+    private static final int CHUNK_SIZE = 8192;
+
     private IResultSetPresentation presentation;
     private Tree aggregateTable;
 
@@ -71,6 +88,8 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     private final List<AggregateFunctionDescriptor> enabledFunctions = new ArrayList<>();
 
+    private AggregateJob aggregateJob;
+
     public AggregateColumnsPanel() {
     }
 
@@ -207,25 +226,60 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     @Override
     public void deactivatePanel() {
-
+        cancelAggregateJob();
     }
 
     @Override
     public void refresh(boolean force) {
+        cancelAggregateJob();
+        IResultSetSelection selection = null;
+        if (this.presentation instanceof ISelectionProvider) {
+            ISelection curSelection = ((ISelectionProvider) presentation).getSelection();
+            if (curSelection instanceof IResultSetSelection) {
+                selection = (IResultSetSelection) curSelection;
+            }
+        }
+        if (selection == null) {
+            showResults(null);
+        } else if (selection.size() < BACKGROUND_AGGREGATE_THRESHOLD) {
+            showResults(new AggregateJob(selection).aggregate(new VoidProgressMonitor()));
+        } else {
+            // Previous results stay visible until new ones are ready
+            aggregateJob = new AggregateJob(selection);
+            aggregateJob.schedule();
+        }
+        saveSettings();
+    }
+
+    private void cancelAggregateJob() {
+        if (aggregateJob != null) {
+            aggregateJob.cancel();
+            aggregateJob = null;
+        }
+    }
+
+    private void showResults(Map<DBDAttributeBinding, AggregateState> states) {
         aggregateTable.setRedraw(false);
         try {
             aggregateTable.removeAll();
-            if (this.presentation instanceof ISelectionProvider) {
-                ISelection selection = ((ISelectionProvider) presentation).getSelection();
-                if (selection instanceof IResultSetSelection) {
-                    aggregateSelection((IResultSetSelection)selection);
+            if (states != null) {
+                if (groupByColumns) {
+                    for (Map.Entry<DBDAttributeBinding, AggregateState> entry : states.entrySet()) {
+                        TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
+                        attrItem.setText(entry.getKey().getName());
+                        attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(entry.getKey())));
+                        showValues(attrItem, entry.getValue());
+                        attrItem.setExpanded(true);
+                    }
+                } else {
+                    AggregateState state = states.get(null);
+                    showValues(null, state != null ? state : new AggregateState(enabledFunctions));
                 }
             }
             UIUtils.packColumns(aggregateTable, true, null);
         } finally {
             aggregateTable.setRedraw(true);
         }
-        saveSettings();
     }
 
     @Override
@@ -233,45 +287,9 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         fillToolBar(manager);
     }
 
-    private void aggregateSelection(IResultSetSelection selection) {
-        ResultSetModel model = presentation.getController().getModel();
-        if (groupByColumns) {
-            Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
-            for (Object element : selection.toList()) {
-                DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                Object cellValue = model.getCellValue(attr, row);
-                List<Object> values = attrValues.get(attr);
-                if (values == null) {
-                    values = new ArrayList<>();
-                    attrValues.put(attr, values);
-                }
-                values.add(cellValue);
-            }
-
-            for (Map.Entry<DBDAttributeBinding, List<Object>> entry : attrValues.entrySet()) {
-                TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
-                attrItem.setText(entry.getKey().getName());
-                attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(entry.getKey())));
-                aggregateValues(attrItem, entry.getValue());
-                attrItem.setExpanded(true);
-            }
-        } else {
-            List<Object> allValues = new ArrayList<>(selection.size());
-            for (Object element : selection.toList()) {
-                DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                Object cellValue = model.getCellValue(attr, row);
-                allValues.add(cellValue);
-            }
-            aggregateValues(null, allValues);
-        }
-    }
-
-    private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
-        List<AggregateFunctionDescriptor> functions = enabledFunctions;
-        Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
-        for (AggregateFunctionDescriptor funcDesc : functions) {
+    private void showValues(TreeItem parentItem, AggregateState state) {
+        for (int i = 0; i < state.descriptors.size(); i++) {
+            AggregateFunctionDescriptor funcDesc = state.descriptors.get(i);
             TreeItem funcItem = (parentItem == null) ?
                 new TreeItem(aggregateTable, SWT.NONE) :
                 new TreeItem(parentItem, SWT.NONE);
@@ -281,31 +299,12 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             if (icon != null) {
                 funcItem.setImage(0, DBeaverIcons.getImage(icon));
             }
-            try {
-                IAggregateFunction func = funcDesc.createFunction();
-                funcMap.put(func, funcItem);
-            } catch (DBException e) {
-                log.error(e);
-            }
-        }
-
-        IAggregateFunction[] funcs = funcMap.keySet().toArray(new IAggregateFunction[funcMap.size()]);
-        int[] funcCount = new int[funcs.length];
-        for (Object element : values) {
-            for (int i = 0; i < funcs.length; i++) {
-                if (funcs[i].accumulate(element)) {
-                    funcCount[i]++;
-                }
-            }
-        }
-        for (int i = 0; i < funcs.length; i++) {
-            if (funcCount[i] <= 0) {
+            IAggregateFunction func = state.functions[i];
+            if (func == null || state.counts[i] <= 0) {
                 continue;
             }
-            IAggregateFunction func = funcs[i];
-            Object result = func.getResult(funcCount[i]);
+            Object result = func.getResult(state.counts[i]);
             if (result != null) {
-                TreeItem treeItem = funcMap.get(func);
                 String strValue;
                 if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
                     strValue = DOUBLE_FORMAT.format(result);
@@ -314,7 +313,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
                 } else {
                     strValue = result.toString();
                 }
-                treeItem.setText(1, strValue);
+                funcItem.setText(1, strValue);
             }
         }
     }
@@ -471,4 +470,192 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    /**
+     * Partial aggregation state: one instance of each function
+     */
+    private static class AggregateState {
+        private final List<AggregateFunctionDescriptor> descriptors;
+        private final IAggregateFunction[] functions;
+        private final int[] counts;
+
+        AggregateState(List<AggregateFunctionDescriptor> descriptors) {
+            this.descriptors = descriptors;
+            this.functions = new IAggregateFunction[descriptors.size()];
+            this.counts = new int[descriptors.size()];
+            for (int i = 0; i < functions.length; i++) {
+                try {
+                    functions[i] = descriptors.get(i).createFunction();
+                } catch (DBException e) {
+                    log.error(e);
+                }
+            }
+        }
+
+        boolean hasNonMergeableFunctions() {
+            for (IAggregateFunction func : functions) {
+                if (func != null && !(func instanceof IMergeableAggregateFunction)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void accumulate(Object value, boolean mergeable) {
+            for (int i = 0; i < functions.length; i++) {
+                IAggregateFunction func = functions[i];
+                if (func != null && (func instanceof IMergeableAggregateFunction) == mergeable && func.accumulate(value)) {
+                    counts[i]++;
+                }
+            }
+        }
+
+        void merge(AggregateState partial) {
+            for (int i = 0; i < functions.length; i++) {
+                if (functions[i] instanceof IMergeableAggregateFunction) {
+                    ((IMergeableAggregateFunction) functions[i]).merge((IMergeableAggregateFunction) partial.functions[i]);
+                    counts[i] += partial.counts[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggregates selected values.
+     * Values are split in chunks which are aggregated in parallel, partial states are merged.
+     * Functions without mergeable state get all values in one sequential pass.
+     */
+    private class AggregateJob extends AbstractJob {
+        private final ResultSetModel model;
+        private final List<AggregateFunctionDescriptor> functions;
+        private final boolean groupByAttribute;
+        // Spreadsheet selection is copied as ranges, cells are produced while job iterates them
+        private final Collection<GridCell> cells;
+        // In record mode grid columns are rows and grid rows are attributes
+        private final boolean recordMode;
+
+        AggregateJob(IResultSetSelection selection) {
+            super("Aggregate values");
+            setSystem(true);
+            this.model = presentation.getController().getModel();
+            this.functions = new ArrayList<>(enabledFunctions);
+            this.groupByAttribute = groupByColumns;
+            if (presentation instanceof SpreadsheetPresentation) {
+                this.cells = ((SpreadsheetPresentation) presentation).getSpreadsheet().getCellSelection();
+                this.recordMode = presentation.getController().isRecordMode();
+            } else {
+                List<GridCell> selectedCells = new ArrayList<>(selection.size());
+                for (Iterator<?> iter = selection.iterator(); iter.hasNext(); ) {
+                    Object element = iter.next();
+                    selectedCells.add(new GridCell(selection.getElementAttribute(element), selection.getElementRow(element)));
+                }
+                this.cells = selectedCells;
+                this.recordMode = false;
+            }
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            final Map<DBDAttributeBinding, AggregateState> states = aggregate(monitor);
+            if (states != null) {
+                DBeaverUI.asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (aggregateJob == AggregateJob.this && !aggregateTable.isDisposed()) {
+                            aggregateJob = null;
+                            showResults(states);
+                        }
+                    }
+                });
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * @return aggregation states by attribute (null key if values aren't grouped) or null if job was canceled
+         */
+        Map<DBDAttributeBinding, AggregateState> aggregate(final DBRProgressMonitor monitor) {
+            Map<DBDAttributeBinding, AggregateState> states = null;
+            // Chunks are aggregated in parallel while next chunks are read from selection.
+            // Number of pending chunks is limited, so they don't hold the whole selection.
+            final Deque<ForkJoinTask<Map<DBDAttributeBinding, AggregateState>>> tasks = new ArrayDeque<>();
+            final int maxTasks = ForkJoinPool.getCommonPoolParallelism() + 1;
+            final Iterator<GridCell> iterator = cells.iterator();
+            while (iterator.hasNext() && !monitor.isCanceled()) {
+                final List<GridCell> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (chunk.size() < CHUNK_SIZE && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                }
+                if (tasks.isEmpty() && !iterator.hasNext()) {
+                    // Single chunk
+                    states = accumulate(monitor, chunk);
+                    break;
+                }
+                tasks.add(ForkJoinPool.commonPool().submit(new Callable<Map<DBDAttributeBinding, AggregateState>>() {
+                    @Override
+                    public Map<DBDAttributeBinding, AggregateState> call() {
+                        return accumulate(monitor, chunk);
+                    }
+                }));
+                if (tasks.size() >= maxTasks) {
+                    states = mergeStates(states, tasks.poll().join());
+                }
+            }
+            while (!tasks.isEmpty()) {
+                states = mergeStates(states, tasks.poll().join());
+            }
+            if (states == null) {
+                states = new LinkedHashMap<>();
+            }
+            if (!states.isEmpty() && states.values().iterator().next().hasNonMergeableFunctions()) {
+                for (Iterator<GridCell> iter = cells.iterator(); iter.hasNext() && !monitor.isCanceled(); ) {
+                    GridCell cell = iter.next();
+                    getState(states, getAttribute(cell)).accumulate(getValue(cell), false);
+                }
+            }
+            return monitor.isCanceled() ? null : states;
+        }
+
+        private Map<DBDAttributeBinding, AggregateState> accumulate(DBRProgressMonitor monitor, List<GridCell> chunk) {
+            Map<DBDAttributeBinding, AggregateState> states = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size() && !monitor.isCanceled(); i++) {
+                GridCell cell = chunk.get(i);
+                getState(states, getAttribute(cell)).accumulate(getValue(cell), true);
+            }
+            return states;
+        }
+
+        private Map<DBDAttributeBinding, AggregateState> mergeStates(Map<DBDAttributeBinding, AggregateState> states, Map<DBDAttributeBinding, AggregateState> partial) {
+            if (states == null) {
+                return partial;
+            }
+            for (Map.Entry<DBDAttributeBinding, AggregateState> entry : partial.entrySet()) {
+                AggregateState state = states.get(entry.getKey());
+                if (state == null) {
+                    states.put(entry.getKey(), entry.getValue());
+                } else {
+                    state.merge(entry.getValue());
+                }
+            }
+            return states;
+        }
+
+        private DBDAttributeBinding getAttribute(GridCell cell) {
+            return (DBDAttributeBinding) (recordMode ? cell.row : cell.col);
+        }
+
+        private Object getValue(GridCell cell) {
+            return model.getCellValue(getAttribute(cell), (ResultSetRow) (recordMode ? cell.col : cell.row));
+        }
+
+        private AggregateState getState(Map<DBDAttributeBinding, AggregateState> states, DBDAttributeBinding attribute) {
+            DBDAttributeBinding key = groupByAttribute ? attribute : null;
+            AggregateState state = states.get(key);
+            if (state == null) {
+                state = new AggregateState(functions);
+                states.put(key, state);
+            }
+            return state;
+        }
+    }
+
 }
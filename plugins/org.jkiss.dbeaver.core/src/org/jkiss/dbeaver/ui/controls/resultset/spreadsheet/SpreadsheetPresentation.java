@@ -393,9 +393,14 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
             tdt.append(rowDelimiter);
         }
 
-        List<GridCell> selectedCells = spreadsheet.getCellSelection();
+        // Selected cells are iterated directly from grid selection ranges
+        Collection<GridCell> selectedCells = spreadsheet.getCellSelection();
         boolean quoteCells = settings.isQuoteCells() && selectedCells.size() > 1;
         boolean forceQuotes = settings.isForceQuotes();
+        Map<Object, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < selectedColumns.size(); i++) {
+            columnIndexes.put(selectedColumns.get(i), i);
+        }
 
         GridCell prevCell = null;
         for (GridCell cell : selectedCells) {
@@ -403,7 +408,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 // Next row
                 if (prevCell != null && prevCell.col != cell.col) {
                     // Fill empty row tail
-                    int prevColIndex = selectedColumns.indexOf(prevCell.col);
+                    int prevColIndex = columnIndexes.get(prevCell.col);
                     for (int i = prevColIndex; i < selectedColumns.size() - 1; i++) {
                         tdt.append(columnDelimiter);
                     }
@@ -416,8 +421,8 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
             }
             if (prevCell != null && prevCell.col != cell.col) {
-                int prevColIndex = selectedColumns.indexOf(prevCell.col);
-                int curColIndex = selectedColumns.indexOf(cell.col);
+                int prevColIndex = columnIndexes.get(prevCell.col);
+                int curColIndex = columnIndexes.get(cell.col);
                 for (int i = prevColIndex; i < curColIndex; i++) {
                     tdt.append(columnDelimiter);
                 }
@@ -656,6 +661,9 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         showCelIcons = preferenceStore.getBoolean(DBeaverPreferences.RESULT_SET_SHOW_CELL_ICONS);
         colorizeDataTypes = preferenceStore.getBoolean(DBeaverPreferences.RESULT_SET_COLORIZE_DATA_TYPES);
         rightJustifyNumbers = preferenceStore.getBoolean(DBeaverPreferences.RESULT_SET_RIGHT_JUSTIFY_NUMBERS);
+        if (refreshMetadata) {
+            controller.getModel().resetDisplayCache();
+        }
 
         spreadsheet.setRedraw(false);
         try {
@@ -667,6 +675,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
 
     @Override
     public void formatData(boolean refreshData) {
+        controller.getModel().resetDisplayCache();
         spreadsheet.refreshData(false, true);
     }
 
@@ -1431,11 +1440,14 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 state |= STATE_LINK;
             } else {
                 String strValue = cellText != null ? cellText : attr.getValueHandler().getValueDisplayString(attr, value, DBDDisplayFormat.UI);
-                try {
-                    new URL(strValue);
-                    state |= STATE_HYPER_LINK;
-                } catch (MalformedURLException e) {
-                    // Not a hyperlink
+                // URL always has protocol. Skip other strings without URL parse (it throws exception on each paint).
+                if (strValue.indexOf(':') > 0) {
+                    try {
+                        new URL(strValue);
+                        state |= STATE_HYPER_LINK;
+                    } catch (MalformedURLException e) {
+                        // Not a hyperlink
+                    }
                 }
             }
 
@@ -1481,10 +1493,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                         return "[" + ((DBDComposite) value).getDataType().getName() + "]";
                     }
                 }
-                return attr.getValueRenderer().getValueDisplayString(
-                    attr.getAttribute(),
-                    value,
-                    DBDDisplayFormat.UI);
+                return controller.getModel().getCellDisplayString(attr, row, DBDDisplayFormat.UI);
             } else {
                 return value;
             }
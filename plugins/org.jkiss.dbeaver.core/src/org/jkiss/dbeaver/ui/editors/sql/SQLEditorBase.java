@@ -103,6 +103,7 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
     private boolean hasVerticalRuler = true;
     private SQLTemplatesPage templatesPage;
     private IPropertyChangeListener themeListener;
+    private SQLScriptIndex scriptIndex;
 
     public SQLEditorBase()
     {
@@ -184,6 +185,25 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
         return annotationModel;
     }
 
+    /**
+     * Returns statements index of the current document (or null if there is no document)
+     */
+    @Nullable
+    public synchronized SQLScriptIndex getScriptIndex()
+    {
+        Document document = getDocument();
+        if (document == null) {
+            return null;
+        }
+        if (scriptIndex == null || scriptIndex.getDocument() != document) {
+            if (scriptIndex != null) {
+                scriptIndex.dispose();
+            }
+            scriptIndex = new SQLScriptIndex(document, new ScriptStatementParser());
+        }
+        return scriptIndex;
+    }
+
     public SQLEditorSourceViewerConfiguration getViewerConfiguration()
     {
         return (SQLEditorSourceViewerConfiguration) super.getSourceViewerConfiguration();
@@ -335,6 +355,12 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
             PlatformUI.getWorkbench().getThemeManager().removePropertyChangeListener(themeListener);
             themeListener = null;
         }
+        synchronized (this) {
+            if (scriptIndex != null) {
+                scriptIndex.dispose();
+                scriptIndex = null;
+            }
+        }
 
         super.dispose();
     }
@@ -429,6 +455,11 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
         SQLDialect dialect = getSQLDialect();
         syntaxManager.init(dialect, getActivePreferenceStore());
         ruleManager.refreshRules(getDataSource(), getEditorInput());
+        synchronized (this) {
+            if (scriptIndex != null) {
+                scriptIndex.reset();
+            }
+        }
 
         Document document = getDocument();
         if (document != null) {
@@ -594,6 +625,8 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
         } catch (BadLocationException e) {
             log.warn(e);
         }
+        // End of the previous statement is much closer than the document beginning or the previous blank line
+        startPos = Math.max(startPos, getIndexedStatementStart(currentPos));
         return parseQuery(document, startPos, document.getLength(), currentPos, false, false);
     }
 
@@ -650,6 +683,15 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
         }
     }
 
+    private int getIndexedStatementStart(int position) {
+        // Index is updated by reconciler. Don't wait for parse here, use index only if it is up to date
+        SQLScriptIndex index = getScriptIndex();
+        if (index == null || !index.isValid()) {
+            return -1;
+        }
+        return index.getStatementStartBefore(position);
+    }
+
     private static boolean isDefaultPartition(IDocumentPartitioner partitioner, int currentPos) {
         return partitioner == null || IDocument.DEFAULT_CONTENT_TYPE.equals(partitioner.getContentType(currentPos));
     }
@@ -675,19 +717,31 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
             return queryList;
         }
 
-        this.startScriptEvaluation();
-        try {
-            for (int queryOffset = startOffset; ; ) {
-                SQLScriptElement query = parseQuery(document, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
-                if (query == null) {
-                    break;
-                }
-                queryList.add(query);
-                queryOffset = query.getOffset() + query.getLength();
+        List<SQLScriptElement> indexedElements = null;
+        if (scriptMode && !keepDelimiters && startOffset == 0 && length == document.getLength()) {
+            // Entire script. Take statements from index, it parses only changed parts of the document
+            SQLScriptIndex index = getScriptIndex();
+            if (index != null && index.update()) {
+                indexedElements = index.getScriptElements();
             }
         }
-        finally {
-            this.endScriptEvaluation();
+        if (indexedElements != null) {
+            queryList.addAll(indexedElements);
+        } else {
+            this.startScriptEvaluation();
+            try {
+                for (int queryOffset = startOffset; ; ) {
+                    SQLScriptElement query = parseQuery(document, queryOffset, startOffset + length, queryOffset, scriptMode, keepDelimiters);
+                    if (query == null) {
+                        break;
+                    }
+                    queryList.add(query);
+                    queryOffset = query.getOffset() + query.getLength();
+                }
+            }
+            finally {
+                this.endScriptEvaluation();
+            }
         }
 
         if (parseParameters && getActivePreferenceStore().getBoolean(ModelPreferences.SQL_PARAMETERS_ENABLED)) {
@@ -913,6 +967,45 @@ public abstract class SQLEditorBase extends BaseTextEditor implements IErrorVisu
         }
     }
 
+    /**
+     * Parses statements for script index (in script mode)
+     */
+    private class ScriptStatementParser implements SQLScriptIndex.StatementParser {
+        @Override
+        public void startEvaluation() {
+            startScriptEvaluation();
+        }
+
+        @Nullable
+        @Override
+        public SQLScriptElement parseStatement(@NotNull IDocument document, int startPos, int endPos) {
+            return parseQuery(document, startPos, endPos, startPos, true, false);
+        }
+
+        @Override
+        public void endEvaluation() {
+            endScriptEvaluation();
+        }
+
+        @NotNull
+        @Override
+        public SQLScriptElement copyStatement(@NotNull SQLScriptElement element, int offset) {
+            if (element instanceof SQLControlCommand) {
+                SQLControlCommand command = (SQLControlCommand) element;
+                return new SQLControlCommand(
+                    getDataSource(),
+                    syntaxManager,
+                    command.getText(),
+                    command.getCommandId(),
+                    offset,
+                    command.getLength(),
+                    command.isEmptyCommand());
+            } else {
+                return new SQLQuery(getDataSource(), element.getText(), offset, element.getLength());
+            }
+        }
+    }
+
     private static int countLineFeeds(final IDocument document, final int offset, final int length) {
         int lfCount = 0;
         try {
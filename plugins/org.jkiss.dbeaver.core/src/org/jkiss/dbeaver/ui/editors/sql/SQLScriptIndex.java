@@ -0,0 +1,336 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.sql;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLControlCommand;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of script statements (as they are parsed in script mode).
+ * Document changes drop touched statements, shift following statements and mark damaged region.
+ * On update only damaged part is parsed again - parsing starts from the end of the statement preceding the damage
+ * and stops as soon as new statement end matches an old statement boundary.
+ * Script delimiter redefinition (control commands) affects all following statements so scripts with
+ * such commands are always parsed from the beginning.
+ *
+ * Index is shared by folding, current query detection and script execution.
+ */
+public class SQLScriptIndex implements IDocumentListener {
+
+    /**
+     * Script statements parser
+     */
+    public interface StatementParser {
+
+        void startEvaluation();
+
+        /**
+         * Parses the first statement which starts at or after start position
+         */
+        @Nullable
+        SQLScriptElement parseStatement(@NotNull IDocument document, int startPos, int endPos);
+
+        void endEvaluation();
+
+        /**
+         * Makes a copy of statement moved to the new offset
+         */
+        @NotNull
+        SQLScriptElement copyStatement(@NotNull SQLScriptElement element, int offset);
+    }
+
+    private final IDocument document;
+    private final StatementParser parser;
+    private final Object parseLock = new Object();
+
+    // Statements sorted by offset. Elements keep offsets they had when were parsed, actual offsets are in offsets array.
+    // Statements touched by document changes are removed immediately so remaining statements are always consistent.
+    private SQLScriptElement[] elements = new SQLScriptElement[0];
+    private int[] offsets = new int[0];
+    private int count;
+    private boolean hasDelimiterCommands;
+    // Damaged region (in actual document coordinates)
+    private boolean valid;
+    private int damageStart;
+    private int damageEnd;
+    private long modCount;
+
+    public SQLScriptIndex(@NotNull IDocument document, @NotNull StatementParser parser) {
+        this.document = document;
+        this.parser = parser;
+        this.document.addDocumentListener(this);
+    }
+
+    @NotNull
+    public IDocument getDocument() {
+        return document;
+    }
+
+    public void dispose() {
+        document.removeDocumentListener(this);
+    }
+
+    /**
+     * Drops all statements. Must be called when parse rules change.
+     */
+    public synchronized void reset() {
+        valid = false;
+        modCount++;
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+    }
+
+    @Override
+    public synchronized void documentChanged(DocumentEvent event) {
+        modCount++;
+        if (!valid) {
+            return;
+        }
+        final int changeStart = event.getOffset();
+        final int oldEnd = changeStart + event.getLength();
+        final int textLength = event.getText() == null ? 0 : event.getText().length();
+        final int delta = textLength - event.getLength();
+
+        int newDamageStart = changeStart, newDamageEnd = changeStart + textLength;
+        if (damageStart >= 0) {
+            newDamageStart = Math.min(newDamageStart, damageStart);
+            newDamageEnd = Math.max(newDamageEnd, damageEnd <= changeStart ? damageEnd : Math.max(damageEnd + delta, changeStart + textLength));
+        }
+        damageStart = newDamageStart;
+        damageEnd = newDamageEnd;
+
+        // Remove statements touched by the change and shift following statements
+        final int first = findFirstAfter(changeStart - 1);
+        int last = first;
+        while (last < count && offsets[last] <= oldEnd) {
+            last++;
+        }
+        if (last > first) {
+            System.arraycopy(elements, last, elements, first, count - last);
+            System.arraycopy(offsets, last, offsets, first, count - last);
+            Arrays.fill(elements, count - (last - first), count, null);
+            count -= last - first;
+        }
+        if (delta != 0) {
+            for (int i = first; i < count; i++) {
+                offsets[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Parses damaged part of the script.
+     * @return false if document was changed during parse and index is still damaged
+     */
+    public boolean update() {
+        synchronized (parseLock) {
+            final long startModCount;
+            final int restartIndex;
+            final int restartOffset;
+            final int parseDamageEnd;
+            final boolean incremental;
+            synchronized (this) {
+                if (valid && damageStart < 0) {
+                    return true;
+                }
+                startModCount = modCount;
+                if (!valid || hasDelimiterCommands) {
+                    restartIndex = 0;
+                } else {
+                    // Statement preceding the damage may be affected too (e.g. if it ends without delimiter)
+                    restartIndex = Math.max(0, findFirstAfter(damageStart) - 1);
+                }
+                restartOffset = restartIndex == 0 ? 0 : getEndOffset(restartIndex - 1);
+                parseDamageEnd = !valid ? Integer.MAX_VALUE : damageEnd;
+                incremental = valid && !hasDelimiterCommands;
+            }
+
+            final List<SQLScriptElement> newElements = new ArrayList<>();
+            final int docLength = document.getLength();
+            int stableIndex = -1;
+            boolean newDelimiterCommands = false;
+            parser.startEvaluation();
+            try {
+                for (int queryOffset = restartOffset; ; ) {
+                    SQLScriptElement element = parser.parseStatement(document, queryOffset, docLength);
+                    if (element == null) {
+                        break;
+                    }
+                    newElements.add(element);
+                    if (isDelimiterCommand(element)) {
+                        newDelimiterCommands = true;
+                    }
+                    queryOffset = element.getOffset() + element.getLength();
+                    if (incremental && !newDelimiterCommands && queryOffset > parseDamageEnd) {
+                        synchronized (this) {
+                            if (modCount != startModCount) {
+                                return false;
+                            }
+                            stableIndex = findBoundary(restartIndex, queryOffset);
+                        }
+                        if (stableIndex >= 0) {
+                            break;
+                        }
+                    }
+                }
+            } finally {
+                parser.endEvaluation();
+            }
+
+            synchronized (this) {
+                if (modCount != startModCount) {
+                    // Document was changed in the middle of parse. Leave it damaged.
+                    return false;
+                }
+                final int removeTo = stableIndex < 0 ? count : stableIndex + 1;
+                final int addCount = newElements.size();
+                final int newCount = count - (removeTo - restartIndex) + addCount;
+                SQLScriptElement[] newElementArray = new SQLScriptElement[newCount];
+                int[] newOffsetArray = new int[newCount];
+                System.arraycopy(elements, 0, newElementArray, 0, restartIndex);
+                System.arraycopy(offsets, 0, newOffsetArray, 0, restartIndex);
+                for (int i = 0; i < addCount; i++) {
+                    SQLScriptElement element = newElements.get(i);
+                    newElementArray[restartIndex + i] = element;
+                    newOffsetArray[restartIndex + i] = element.getOffset();
+                }
+                System.arraycopy(elements, removeTo, newElementArray, restartIndex + addCount, count - removeTo);
+                System.arraycopy(offsets, removeTo, newOffsetArray, restartIndex + addCount, count - removeTo);
+                elements = newElementArray;
+                offsets = newOffsetArray;
+                count = newCount;
+
+                hasDelimiterCommands = false;
+                for (int i = 0; i < count; i++) {
+                    if (isDelimiterCommand(elements[i])) {
+                        hasDelimiterCommands = true;
+                        break;
+                    }
+                }
+                valid = true;
+                damageStart = -1;
+                damageEnd = -1;
+            }
+            return true;
+        }
+    }
+
+    public synchronized boolean isValid() {
+        return valid && damageStart < 0;
+    }
+
+    /**
+     * Returns statement ranges as pairs (offset, length)
+     */
+    @NotNull
+    public synchronized int[] getStatementRanges() {
+        int[] ranges = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            ranges[i * 2] = offsets[i];
+            ranges[i * 2 + 1] = elements[i].getLength();
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns end offset of the last statement which ends before or at specified position (or 0).
+     * It is the position where statement parse can be started.
+     * Returns -1 if index is damaged before this position.
+     */
+    public synchronized int getStatementStartBefore(int position) {
+        if (!valid || (damageStart >= 0 && damageStart <= position)) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = findFirstAfter(position) - 1; i >= 0; i--) {
+            int endOffset = getEndOffset(i);
+            if (endOffset <= position) {
+                result = endOffset;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns copies of script elements. Elements are copied because they are used for execution and
+     * execution modifies query state (parameters, data).
+     */
+    @Nullable
+    public synchronized List<SQLScriptElement> getScriptElements() {
+        if (!isValid()) {
+            return null;
+        }
+        List<SQLScriptElement> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(parser.copyStatement(elements[i], offsets[i]));
+        }
+        return result;
+    }
+
+    private int getEndOffset(int index) {
+        return offsets[index] + elements[index].getLength();
+    }
+
+    /**
+     * Index of the first statement which ends after specified position
+     */
+    private int findFirstAfter(int position) {
+        int low = 0, high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (getEndOffset(mid) <= position) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the old statement which ends exactly at specified offset or -1
+     */
+    private int findBoundary(int fromIndex, int endOffset) {
+        int index = findFirstAfter(endOffset - 1);
+        if (index >= fromIndex && index < count && offsets[index] >= damageEnd && getEndOffset(index) == endOffset) {
+            return index;
+        }
+        return -1;
+    }
+
+    private static boolean isDelimiterCommand(SQLScriptElement element) {
+        return element instanceof SQLControlCommand && ((SQLControlCommand) element).isEmptyCommand();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SQLScriptIndex: " + count + " statements, offsets " + Arrays.toString(Arrays.copyOf(offsets, Math.min(count, 10)));
+    }
+
+}
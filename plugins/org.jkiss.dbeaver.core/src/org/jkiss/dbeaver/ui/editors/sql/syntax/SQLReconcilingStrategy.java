@@ -27,10 +27,9 @@ import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
 import org.jkiss.dbeaver.Log;
-import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorBase;
 import org.jkiss.dbeaver.ui.editors.sql.SQLPreferenceConstants;
-import org.jkiss.utils.CommonUtils;
+import org.jkiss.dbeaver.ui.editors.sql.SQLScriptIndex;
 
 import java.util.*;
 
@@ -44,9 +43,6 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
     private SQLEditorBase editor;
     private IDocument document;
 
-    private int regionOffset;
-    private int regionLength;
-
     public SQLEditorBase getEditor()
     {
         return editor;
@@ -86,6 +82,7 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
         calculatePositions(null);
     }
 
+    // Multiline statement positions (they have folding annotations)
     private List<SQLScriptPosition> parsedPositions = new ArrayList<>();
 
     protected void calculatePositions(IRegion partition)
@@ -93,90 +90,41 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
         if (!editor.isFoldingEnabled()) {
             return;
         }
-
-        List<Annotation> removedAnnotations = null;
-        Map<Annotation, Position> addedAnnotations = null;
-
-        if (partition == null) {
-            regionOffset = 0;
-            regionLength = document.getLength();
-        } else {
-            regionOffset = partition.getOffset();
-            regionLength = partition.getLength();
-
-            for (int i = 0; i < parsedPositions.size(); i++) {
-                SQLScriptPosition sp = parsedPositions.get(i);
-                if (sp.getOffset() <= regionOffset + regionLength && sp.getOffset() + sp.getLength() >= regionOffset + regionLength) {
-                    SQLScriptPosition startPos = i > 0 ? parsedPositions.get(i - 1) : sp;
-                    SQLScriptPosition endPos = i < parsedPositions.size() - 1 ? parsedPositions.get(i + 1) : sp;
-                    regionOffset = i == 0 ? 0 : startPos.getOffset();
-                    regionLength = endPos.getOffset() + endPos.getLength() + regionLength;
-                    break;
-                }
-            }
-
-/*
-            if (partition instanceof DirtyRegion) {
-                // Modify positions
-                DirtyRegion dirtyRegion = (DirtyRegion)partition;
-                // Shift parsed positions
-                boolean insert = DirtyRegion.INSERT.equals(dirtyRegion.getType());
-                for (SQLScriptPosition sp : parsedPositions) {
-                    if (dirtyRegion.getOffset() > sp.getOffset() && dirtyRegion.getOffset() < sp.getOffset() + sp.getLength()) {
-                        // In this position
-                        if (insert) {
-                            sp.setLength(sp.getLength() + dirtyRegion.getLength());
-                        } else {
-                            sp.setLength(sp.getLength() - dirtyRegion.getLength());
-                        }
-                    } else if (sp.getOffset() >= dirtyRegion.getOffset()) {
-                        // After this position
-                        if (insert) {
-                            sp.setOffset(sp.getOffset() + dirtyRegion.getLength());
-                        } else {
-                            sp.setOffset(sp.getOffset() - dirtyRegion.getLength());
-                        }
-                    }
-                }
-            }
-*/
-        }
         ProjectionAnnotationModel annotationModel = editor.getAnnotationModel();
         if (annotationModel == null) {
             return;
         }
-        List<SQLScriptElement> queries = editor.extractScriptQueries(regionOffset, document.getLength() - regionOffset, false, true, false);
+        // Script index parses only changed statements
+        SQLScriptIndex scriptIndex = editor.getScriptIndex();
+        if (scriptIndex == null || !scriptIndex.update()) {
+            // Document was changed during parse. It will be reconciled again.
+            return;
+        }
+        int[] statementRanges = scriptIndex.getStatementRanges();
 
-        {
-            List<SQLScriptPosition> removedPositions = new ArrayList<>();
-            for (SQLScriptPosition sp : parsedPositions) {
-                if (sp.getOffset() >= regionOffset/* && sp.getOffset() <= regionOffset + regionLength*/) {
-                    removedPositions.add(sp);
-                }
-            }
-            if (!removedPositions.isEmpty()) {
-                parsedPositions.removeAll(removedPositions);
-                removedAnnotations = new ArrayList<>();
-                for (SQLScriptPosition removedPosition : removedPositions) {
-                    if (removedPosition.isMultiline()) {
-                        removedAnnotations.add(removedPosition.getFoldingAnnotation());
-                    }
-                }
+        // Folding positions are updated by document. Keep positions which still match statements.
+        Map<Integer, SQLScriptPosition> oldPositions = new HashMap<>();
+        for (SQLScriptPosition sp : parsedPositions) {
+            if (!sp.isDeleted()) {
+                oldPositions.put(sp.getOffset(), sp);
             }
         }
-
+        List<SQLScriptPosition> newPositions = new ArrayList<>();
+        Map<Annotation, Position> addedAnnotations = new HashMap<>();
         try {
-            List<SQLScriptPosition> addedPositions = new ArrayList<>();
             int documentLength = document.getLength();
-            for (SQLScriptElement se : queries) {
-                int queryOffset = se.getOffset();
-                int queryLength = se.getLength();
+            for (int i = 0; i < statementRanges.length; i += 2) {
+                int queryOffset = statementRanges[i];
+                int queryLength = statementRanges[i + 1];
 
-                boolean isMultiline = document.getLineOfOffset(queryOffset) != document.getLineOfOffset(queryOffset + queryLength);
+                if (document.getLineOfOffset(queryOffset) == document.getLineOfOffset(queryOffset + queryLength)) {
+                    // Single line statements can't be folded
+                    continue;
+                }
 
                 // Expand query to the end of line
-                for (int i = queryOffset + queryLength; i < documentLength; i++) {
-                    char ch = document.getChar(i);
+                for (int k = queryOffset + queryLength; k < documentLength; k++) {
+                    char ch = document.getChar(k);
                     if (Character.isWhitespace(ch)) {
                         queryLength++;
                     }
@@ -184,33 +132,28 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
                         break;
                     }
                 }
-                addedPositions.add(new SQLScriptPosition(queryOffset, queryLength, isMultiline, new ProjectionAnnotation()));
-            }
-            if (!addedPositions.isEmpty()) {
-                final int firstQueryPos = addedPositions.get(0).getOffset();
-                int posBeforeFirst = 0;
-                for (int i = 0; i < parsedPositions.size(); i++) {
-                    SQLScriptPosition sp = parsedPositions.get(i);
-                    if (sp.getOffset() >= firstQueryPos) {
-                        break;
-                    }
-                    posBeforeFirst = i;
-                }
-                parsedPositions.addAll(posBeforeFirst, addedPositions);
-
-                addedAnnotations = new HashMap<>();
-                for (SQLScriptPosition pos : addedPositions) {
-                    if (pos.isMultiline()) {
-                        addedAnnotations.put(pos.getFoldingAnnotation(), pos);
-                    }
+                SQLScriptPosition position = oldPositions.get(queryOffset);
+                if (position != null && position.getLength() == queryLength) {
+                    oldPositions.remove(queryOffset);
+                } else {
+                    position = new SQLScriptPosition(queryOffset, queryLength, true, new ProjectionAnnotation());
+                    addedAnnotations.put(position.getFoldingAnnotation(), position);
                 }
+                newPositions.add(position);
             }
         } catch (Exception e) {
             log.error(e);
+            return;
+        }
+        parsedPositions = newPositions;
+
+        List<Annotation> removedAnnotations = new ArrayList<>();
+        for (SQLScriptPosition sp : oldPositions.values()) {
+            removedAnnotations.add(sp.getFoldingAnnotation());
         }
-        if (removedAnnotations != null || !CommonUtils.isEmpty(addedAnnotations)) {
+        if (!removedAnnotations.isEmpty() || !addedAnnotations.isEmpty()) {
             annotationModel.modifyAnnotations(
-                removedAnnotations == null ? null : removedAnnotations.toArray(new Annotation[removedAnnotations.size()]),
+                removedAnnotations.toArray(new Annotation[removedAnnotations.size()]),
                 addedAnnotations,
                 null);
         }
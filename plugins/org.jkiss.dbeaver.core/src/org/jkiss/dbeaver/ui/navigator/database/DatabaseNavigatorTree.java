@@ -133,7 +133,8 @@ public class DatabaseNavigatorTree extends Composite implements INavigatorListen
     }
 
     private TreeViewer doCreateNavigatorTreeViewer(Composite parent, int style) {
-        return new TreeViewer(parent, style) {
+        // Virtual tree creates items only for visible nodes (matters for huge children lists)
+        return new TreeViewer(parent, style | SWT.VIRTUAL) {
             @Override
             public ISelection getSelection() {
                 ISelection selection = super.getSelection();
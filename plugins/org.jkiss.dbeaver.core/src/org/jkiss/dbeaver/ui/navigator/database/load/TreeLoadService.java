@@ -30,6 +30,7 @@ import java.lang.reflect.InvocationTargetException;
 public class TreeLoadService extends DatabaseLoadService<Object[]> {
 
     private DBNNode parentNode;
+    private DBNDatabaseNode.ChildrenLoadListener childrenListener;
 
     public TreeLoadService(String serviceName, DBNDatabaseNode parentNode)
     {
@@ -41,12 +42,22 @@ public class TreeLoadService extends DatabaseLoadService<Object[]> {
         return parentNode;
     }
 
+    public void setChildrenListener(DBNDatabaseNode.ChildrenLoadListener childrenListener) {
+        this.childrenListener = childrenListener;
+    }
+
     @Override
     public Object[] evaluate(DBRProgressMonitor monitor)
         throws InvocationTargetException, InterruptedException
     {
         try {
-            DBNNode[] children = NavigatorUtils.getNodeChildrenFiltered(monitor, parentNode, true);
+            DBNNode[] children;
+            if (childrenListener != null && parentNode instanceof DBNDatabaseNode) {
+                children = NavigatorUtils.filterNavigableChildren(
+                    ((DBNDatabaseNode) parentNode).getChildren(monitor, childrenListener), true);
+            } else {
+                children = NavigatorUtils.getNodeChildrenFiltered(monitor, parentNode, true);
+            }
             return children == null ? new Object[0] : children;
         } catch (Throwable ex) {
             throw new InvocationTargetException(ex);
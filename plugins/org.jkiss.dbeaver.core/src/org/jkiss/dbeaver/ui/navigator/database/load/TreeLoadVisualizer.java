@@ -21,21 +21,30 @@ import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
+import org.jkiss.dbeaver.core.DBeaverUI;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.ILoadVisualizer;
 import org.jkiss.dbeaver.ui.LoadingJob;
+import org.jkiss.dbeaver.ui.navigator.NavigatorUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * TreeLoadVisualizer
  */
-public class TreeLoadVisualizer implements ILoadVisualizer<Object[]> {
+public class TreeLoadVisualizer implements ILoadVisualizer<Object[]>, DBNDatabaseNode.ChildrenLoadListener {
 
     public static final Object[] EMPTY_ELEMENT_ARRAY = new Object[0];
 
     private DBNNode parent;
     private TreeLoadNode placeHolder;
     private AbstractTreeViewer viewer;
+    // Children shown before loading completion
+    private final List<Object> shownChildren = new ArrayList<>();
 
     public TreeLoadVisualizer(AbstractTreeViewer viewer, TreeLoadNode placeHolder, DBNNode parent)
     {
@@ -62,6 +71,20 @@ public class TreeLoadVisualizer implements ILoadVisualizer<Object[]> {
         viewer.refresh(placeHolder, true);
     }
 
+    @Override
+    public void childrenLoaded(DBNDatabaseNode parent, DBNDatabaseNode[] children)
+    {
+        final Object[] pageNodes = NavigatorUtils.filterNavigableChildren(children, true);
+        DBeaverUI.asyncExec(() -> {
+            if (viewer.getControl().isDisposed() || isCompleted()) {
+                return;
+            }
+            // Show first pages of huge children list while the rest is loading
+            viewer.add(this.parent, pageNodes);
+            Collections.addAll(shownChildren, pageNodes);
+        });
+    }
+
     @Override
     public void completeLoading(Object[] children)
     {
@@ -77,7 +100,14 @@ public class TreeLoadVisualizer implements ILoadVisualizer<Object[]> {
                 TreeItem item = (TreeItem) viewer.testFindItem(placeHolder);
                 if (children == null) {
                     // Some error occurred. In good case children must be at least an empty array
+                    if (!shownChildren.isEmpty()) {
+                        viewer.remove(parent, shownChildren.toArray());
+                    }
                     viewer.collapseToLevel(parent, -1);
+                } else if (!shownChildren.isEmpty()) {
+                    // Some children are already shown. Replace them with complete (and sorted) list
+                    viewer.remove(placeHolder);
+                    viewer.refresh(parent);
                 } else if (children.length != 0) {
                     viewer.add(parent, children);
                 }
@@ -102,6 +132,7 @@ public class TreeLoadVisualizer implements ILoadVisualizer<Object[]> {
         TreeLoadNode placeHolder = TreeLoadNode.createPlaceHolder(parent);
         if (placeHolder != null && TreeLoadNode.canBeginLoading(parent)) {
             TreeLoadVisualizer visualizer = new TreeLoadVisualizer(viewer, placeHolder, parent);
+            service.setChildrenListener(visualizer);
             LoadingJob.createService(service, visualizer).schedule();
             return new Object[]{placeHolder};
         }
@@ -52,6 +52,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Button refreshAfterUpdate;
 
     private Button advUseFetchSize;
+    private Button advKeysetPagination;
+    private Spinner advSpillMemoryLimit;
+    private Button advClientSideFilter;
+
+    private Spinner multiRowInsertSize;
+    private Spinner multiRowInsertMaxBytes;
+    private Button multiRowInsertAlways;
 
     public PrefPageResultSetMain()
     {
@@ -74,7 +81,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.contains(DBeaverPreferences.RS_EDIT_REFRESH_AFTER_UPDATE) ||
             store.contains(DBeaverPreferences.KEEP_STATEMENT_OPEN) ||
             store.contains(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE) ||            
-            store.contains(ModelPreferences.RESULT_SET_USE_FETCH_SIZE)
+            store.contains(ModelPreferences.RESULT_SET_USE_FETCH_SIZE) ||
+            store.contains(DBeaverPreferences.RESULT_SET_KEYSET_PAGINATION) ||
+            store.contains(DBeaverPreferences.RESULT_SET_SPILL_MEMORY_LIMIT) ||
+            store.contains(DBeaverPreferences.RESULT_SET_FILTER_CLIENT_SIDE) ||
+            store.contains(ModelPreferences.INSERT_MULTI_ROW_SIZE) ||
+            store.contains(ModelPreferences.INSERT_MULTI_ROW_MAX_BYTES) ||
+            store.contains(ModelPreferences.INSERT_MULTI_ROW_ALWAYS)
             ;
     }
 
@@ -124,9 +137,20 @@ public class PrefPageResultSetMain extends TargetPrefPage
         }
 
         {
-            Group advGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_results_group_advanced, 1, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
+            Group advGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_results_group_advanced, 2, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
+
+            advUseFetchSize = UIUtils.createCheckbox(advGroup, CoreMessages.pref_page_database_resultsets_label_fetch_size, CoreMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 2);
+            advKeysetPagination = UIUtils.createCheckbox(advGroup, CoreMessages.pref_page_database_resultsets_label_keyset_pagination, CoreMessages.pref_page_database_resultsets_label_keyset_pagination_tip, false, 2);
+            advSpillMemoryLimit = UIUtils.createLabelSpinner(advGroup, CoreMessages.pref_page_database_resultsets_label_spill_memory_limit, CoreMessages.pref_page_database_resultsets_label_spill_memory_limit_tip, 0, 0, 1024 * 1024);
+            advClientSideFilter = UIUtils.createCheckbox(advGroup, CoreMessages.pref_page_database_resultsets_label_client_side_filter, CoreMessages.pref_page_database_resultsets_label_client_side_filter_tip, false, 2);
+        }
+
+        {
+            Group insertGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_database_resultsets_group_multi_row_insert, 2, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
 
-            advUseFetchSize = UIUtils.createCheckbox(advGroup, CoreMessages.pref_page_database_resultsets_label_fetch_size, CoreMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 1);
+            multiRowInsertSize = UIUtils.createLabelSpinner(insertGroup, CoreMessages.pref_page_database_resultsets_label_multi_row_size, CoreMessages.pref_page_database_resultsets_label_multi_row_size_tip, 0, 0, 10000);
+            multiRowInsertMaxBytes = UIUtils.createLabelSpinner(insertGroup, CoreMessages.pref_page_database_resultsets_label_multi_row_max_bytes, CoreMessages.pref_page_database_resultsets_label_multi_row_max_bytes_tip, 0, 1024, Integer.MAX_VALUE);
+            multiRowInsertAlways = UIUtils.createCheckbox(insertGroup, CoreMessages.pref_page_database_resultsets_label_multi_row_always, CoreMessages.pref_page_database_resultsets_label_multi_row_always_tip, false, 2);
         }
 
         return composite;
@@ -155,6 +179,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             refreshAfterUpdate.setSelection(store.getBoolean(DBeaverPreferences.RS_EDIT_REFRESH_AFTER_UPDATE));
 
             advUseFetchSize.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+            advKeysetPagination.setSelection(store.getBoolean(DBeaverPreferences.RESULT_SET_KEYSET_PAGINATION));
+            advSpillMemoryLimit.setSelection(store.getInt(DBeaverPreferences.RESULT_SET_SPILL_MEMORY_LIMIT));
+            advClientSideFilter.setSelection(store.getBoolean(DBeaverPreferences.RESULT_SET_FILTER_CLIENT_SIDE));
+
+            multiRowInsertSize.setSelection(store.getInt(ModelPreferences.INSERT_MULTI_ROW_SIZE));
+            multiRowInsertMaxBytes.setSelection((int) Math.min(Integer.MAX_VALUE, store.getLong(ModelPreferences.INSERT_MULTI_ROW_MAX_BYTES)));
+            multiRowInsertAlways.setSelection(store.getBoolean(ModelPreferences.INSERT_MULTI_ROW_ALWAYS));
 
             updateOptionsEnablement();
         } catch (Exception e) {
@@ -181,6 +212,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(DBeaverPreferences.RS_EDIT_REFRESH_AFTER_UPDATE, refreshAfterUpdate.getSelection());
 
             store.setValue(ModelPreferences.RESULT_SET_USE_FETCH_SIZE, advUseFetchSize.getSelection());
+            store.setValue(DBeaverPreferences.RESULT_SET_KEYSET_PAGINATION, advKeysetPagination.getSelection());
+            store.setValue(DBeaverPreferences.RESULT_SET_SPILL_MEMORY_LIMIT, advSpillMemoryLimit.getSelection());
+            store.setValue(DBeaverPreferences.RESULT_SET_FILTER_CLIENT_SIDE, advClientSideFilter.getSelection());
+
+            store.setValue(ModelPreferences.INSERT_MULTI_ROW_SIZE, multiRowInsertSize.getSelection());
+            store.setValue(ModelPreferences.INSERT_MULTI_ROW_MAX_BYTES, multiRowInsertMaxBytes.getSelection());
+            store.setValue(ModelPreferences.INSERT_MULTI_ROW_ALWAYS, multiRowInsertAlways.getSelection());
         } catch (Exception e) {
             log.warn(e);
         }
@@ -205,6 +243,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(DBeaverPreferences.RS_EDIT_REFRESH_AFTER_UPDATE);
 
         store.setToDefault(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
+        store.setToDefault(DBeaverPreferences.RESULT_SET_KEYSET_PAGINATION);
+        store.setToDefault(DBeaverPreferences.RESULT_SET_SPILL_MEMORY_LIMIT);
+        store.setToDefault(DBeaverPreferences.RESULT_SET_FILTER_CLIENT_SIDE);
+
+        store.setToDefault(ModelPreferences.INSERT_MULTI_ROW_SIZE);
+        store.setToDefault(ModelPreferences.INSERT_MULTI_ROW_MAX_BYTES);
+        store.setToDefault(ModelPreferences.INSERT_MULTI_ROW_ALWAYS);
 
         updateOptionsEnablement();
     }
@@ -35,8 +35,10 @@ import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
-import org.jkiss.dbeaver.model.navigator.DBNModel;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
@@ -47,13 +49,24 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
     private static final Log log = Log.getLog(SearchDataQuery.class);
 
+    // Max number of parallel connections used for search in one data source
+    private static final int MAX_CONTEXTS_PER_DATASOURCE = 4;
+    private static final long PROGRESS_UPDATE_PERIOD = 200;
+
     private final SearchDataParams params;
     private SearchDataResult searchResult;
+    private volatile boolean searchCanceled;
+    private volatile String currentTableName;
+    private final AtomicInteger searchedTables = new AtomicInteger();
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -90,51 +103,59 @@ public class SearchDataQuery implements ISearchQuery {
             String searchString = params.getSearchString();
 
             //monitor.subTask("Collect tables");
-            Set<DBPDataSource> dataSources = new HashSet<>();
+            // Group tables by data sources. Each data source is searched by its own workers
+            Map<DBPDataSource, Queue<DBSDataContainer>> dataSources = new LinkedHashMap<>();
             for (DBSDataContainer searcher : params.sources) {
-                dataSources.add(searcher.getDataSource());
+                DBPDataSource dataSource = searcher.getDataSource();
+                if (dataSource == null) {
+                    log.warn("Object \"" + DBUtils.getObjectFullName(searcher, DBPEvaluationContext.DML) + "\" not connected");
+                    continue;
+                }
+                Queue<DBSDataContainer> dsSources = dataSources.get(dataSource);
+                if (dsSources == null) {
+                    dsSources = new ConcurrentLinkedQueue<>();
+                    dataSources.put(dataSource, dsSources);
+                }
+                dsSources.add(searcher);
             }
 
-            // Search
-            DBNModel dbnModel = DBeaverCore.getInstance().getNavigatorModel();
-
             monitor.beginTask(
                 "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
                 params.sources.size());
+            searchCanceled = false;
+            searchedTables.set(0);
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
+                List<SearchWorkerJob> workers = new ArrayList<>();
+                for (Map.Entry<DBPDataSource, Queue<DBSDataContainer>> entry : dataSources.entrySet()) {
+                    int workerCount = Math.min(MAX_CONTEXTS_PER_DATASOURCE, entry.getValue().size());
+                    for (int i = 0; i < workerCount; i++) {
+                        // Single worker uses default context, several workers use isolated contexts
+                        workers.add(new SearchWorkerJob(entry.getKey(), entry.getValue(), workerCount > 1));
+                    }
+                }
+                final CountDownLatch workersLatch = new CountDownLatch(workers.size());
+                for (SearchWorkerJob worker : workers) {
+                    worker.latch = workersLatch;
+                    worker.schedule();
+                }
+                // Report progress and propagate cancel to workers
+                int reportedTables = 0;
+                for (boolean finished = false; !finished; ) {
                     if (monitor.isCanceled()) {
-                        break;
+                        searchCanceled = true;
                     }
-                    String objectName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
-                    DBNDatabaseNode node = dbnModel.findNode(dataContainer);
-                    if (node == null) {
-                        log.warn("Can't find tree node for object \"" + objectName + "\"");
-                        continue;
+                    try {
+                        finished = workersLatch.await(PROGRESS_UPDATE_PERIOD, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        searchCanceled = true;
                     }
-                    monitor.subTask(objectName);
-                    DBPDataSource dataSource = dataContainer.getDataSource();
-                    if (dataSource == null) {
-                        log.warn("Object \"" + objectName + "\" not connected");
-                        continue;
+                    int tables = searchedTables.get();
+                    monitor.worked(tables - reportedTables);
+                    reportedTables = tables;
+                    String tableName = currentTableName;
+                    if (tableName != null) {
+                        monitor.subTask(tableName);
                     }
-                    SearchTableMonitor searchMonitor = new SearchTableMonitor();
-                    try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataSource, "Search rows in " + objectName)) {
-                        TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
-                        try {
-                            findRows(session, dataContainer, dataReceiver);
-                        } catch (DBCException e) {
-                            // Search failed in some container - just write an error in log.
-                            // We don't want to break whole search because of one single table.
-                            log.error("Fulltext search failed in '" + dataContainer.getName() + "'", e);
-                        }
-
-                        if (dataReceiver.rowCount > 0) {
-                            SearchDataObject object = new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
-                            searchResult.addObjects(Collections.singletonList(object));
-                        }
-                    }
-                    monitor.worked(1);
                 }
             } finally {
                 monitor.done();
@@ -145,7 +166,36 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
-    private DBCStatistics findRows(
+    private void searchTable(@NotNull DBCExecutionContext context, @NotNull DBSDataContainer dataContainer) {
+        String objectName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
+        DBNDatabaseNode node = DBeaverCore.getInstance().getNavigatorModel().findNode(dataContainer);
+        if (node == null) {
+            log.warn("Can't find tree node for object \"" + objectName + "\"");
+            return;
+        }
+        currentTableName = objectName;
+        SearchTableMonitor searchMonitor = new SearchTableMonitor();
+        try (DBCSession session = context.openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName)) {
+            TestDataReceiver dataReceiver = new TestDataReceiver();
+            try {
+                findRows(session, dataContainer, dataReceiver);
+            } catch (DBCException e) {
+                // Search failed in some container - just write an error in log.
+                // We don't want to break whole search because of one single table.
+                log.error("Fulltext search failed in '" + dataContainer.getName() + "'", e);
+            }
+
+            if (dataReceiver.rowCount > 0) {
+                // Show results as soon as they are found
+                SearchDataObject object = new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
+                synchronized (searchResult) {
+                    searchResult.addObjects(Collections.singletonList(object));
+                }
+            }
+        }
+    }
+
+    private void findRows(
         @NotNull DBCSession session,
         @NotNull DBSDataContainer dataContainer,
         @NotNull TestDataReceiver dataReceiver) throws DBCException
@@ -155,7 +205,7 @@ public class SearchDataQuery implements ISearchQuery {
             entity = (DBSEntity) dataContainer;
         } else {
             log.warn("Data container " + dataContainer + " isn't entity");
-            return null;
+            return;
         }
         try {
 
@@ -249,12 +299,20 @@ public class SearchDataQuery implements ISearchQuery {
                 constraints.add(constraint);
             }
             if (constraints.isEmpty()) {
-                return null;
+                return;
             }
             dataReceiver.filter = new DBDDataFilter(constraints);
             dataReceiver.filter.setAnyConstraint(true);
             DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
-            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, -1, -1, 0);
+            // Count matches instead of reading them. Count is limited to maxResults, so database stops after first matches
+            if (dataContainer instanceof JDBCTable) {
+                dataReceiver.rowCount = (int) ((JDBCTable) dataContainer).countData(searchSource, session, dataReceiver.filter, params.maxResults);
+            } else if ((dataContainer.getSupportedFeatures() & DBSDataContainer.DATA_COUNT) != 0) {
+                long rowCount = dataContainer.countData(searchSource, session, dataReceiver.filter);
+                dataReceiver.rowCount = (int) (params.maxResults > 0 ? Math.min(rowCount, params.maxResults) : rowCount);
+            } else {
+                dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, 0, params.maxResults, 0);
+            }
         } catch (DBException e) {
             throw new DBCException("Error finding rows", e);
         }
@@ -268,25 +326,83 @@ public class SearchDataQuery implements ISearchQuery {
 
     private class SearchTableMonitor extends VoidProgressMonitor {
 
-        private volatile boolean canceled;
-
         private SearchTableMonitor() {
         }
 
         @Override
         public boolean isCanceled() {
-            return canceled;
+            return searchCanceled;
+        }
+    }
+
+    /**
+     * Searches tables of one data source. Each worker uses its own connection (isolated context).
+     * Workers without own connection share default context and search one table at a time.
+     */
+    private class SearchWorkerJob extends AbstractJob {
+
+        private final DBPDataSource dataSource;
+        private final Queue<DBSDataContainer> sources;
+        private final boolean isolated;
+        private CountDownLatch latch;
+
+        SearchWorkerJob(DBPDataSource dataSource, Queue<DBSDataContainer> sources, boolean isolated) {
+            super("Search data in " + dataSource.getContainer().getName());
+            this.dataSource = dataSource;
+            this.sources = sources;
+            this.isolated = isolated;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            DBCExecutionContext context = null;
+            boolean ownContext = false;
+            try {
+                while (!searchCanceled && !monitor.isCanceled()) {
+                    DBSDataContainer dataContainer = sources.poll();
+                    if (dataContainer == null) {
+                        break;
+                    }
+                    if (context == null) {
+                        if (isolated) {
+                            try {
+                                context = dataSource.openIsolatedContext(monitor, "Search data");
+                                ownContext = true;
+                            } catch (DBException e) {
+                                log.debug("Can't open isolated context for data search, use default context", e);
+                            }
+                        }
+                        if (context == null) {
+                            context = dataSource.getDefaultContext(false);
+                        }
+                    }
+                    if (ownContext) {
+                        searchTable(context, dataContainer);
+                    } else {
+                        // Default context is shared by workers which failed to open own context: search sequentially
+                        synchronized (context) {
+                            searchTable(context, dataContainer);
+                        }
+                    }
+                    searchedTables.incrementAndGet();
+                }
+            } finally {
+                if (ownContext) {
+                    context.close();
+                }
+                latch.countDown();
+            }
+            return Status.OK_STATUS;
         }
     }
 
     private class TestDataReceiver implements DBDDataReceiver {
 
-        private SearchTableMonitor searchMonitor;
         private int rowCount = 0;
         private DBDDataFilter filter;
 
-        public TestDataReceiver(SearchTableMonitor searchMonitor) {
-            this.searchMonitor = searchMonitor;
+        public TestDataReceiver() {
         }
 
         @Override
@@ -297,9 +413,6 @@ public class SearchDataQuery implements ISearchQuery {
         @Override
         public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
             rowCount++;
-            if (rowCount >= params.maxResults) {
-                searchMonitor.canceled = true;
-            }
         }
 
         @Override
@@ -186,6 +186,12 @@ public class DB2Schema extends DB2GlobalObject implements DBSSchema, DBPRefresha
         if ((scope & STRUCT_ATTRIBUTES) != 0) {
             monitor.subTask("Cache table columns");
             tableCache.loadChildren(monitor, this, null);
+            monitor.subTask("Cache view columns");
+            viewCache.loadChildren(monitor, this, null);
+            monitor.subTask("Cache MQT columns");
+            mqtCache.loadChildren(monitor, this, null);
+            monitor.subTask("Cache nickname columns");
+            nicknameCache.loadChildren(monitor, this, null);
         }
         if ((scope & STRUCT_ASSOCIATIONS) != 0) {
             monitor.subTask("Cache table unique keys");
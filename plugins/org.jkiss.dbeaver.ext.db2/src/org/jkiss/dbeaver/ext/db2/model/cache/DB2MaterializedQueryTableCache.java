@@ -78,6 +78,12 @@ public final class DB2MaterializedQueryTableCache
         super("TABNAME");
     }
 
+    @Override
+    protected boolean isPrefetchSupported(@NotNull DB2Schema owner)
+    {
+        return true;
+    }
+
     @NotNull
     @Override
     public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull DB2Schema db2Schema,
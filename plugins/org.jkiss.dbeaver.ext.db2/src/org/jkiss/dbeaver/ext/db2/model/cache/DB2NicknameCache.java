@@ -70,6 +70,12 @@ public final class DB2NicknameCache extends JDBCStructLookupCache<DB2Schema, DB2
         setListOrderComparator(DBUtils.<DB2Nickname> nameComparator());
     }
 
+    @Override
+    protected boolean isPrefetchSupported(@NotNull DB2Schema owner)
+    {
+        return true;
+    }
+
     @NotNull
     @Override
     public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull DB2Schema db2Schema, DB2Nickname db2Nickname,
@@ -71,6 +71,12 @@ public final class DB2TableCache extends JDBCStructLookupCache<DB2Schema, DB2Tab
         super("TABNAME");
     }
 
+    @Override
+    protected boolean isPrefetchSupported(@NotNull DB2Schema owner)
+    {
+        return true;
+    }
+
     @NotNull
     @Override
     public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull DB2Schema db2Schema,
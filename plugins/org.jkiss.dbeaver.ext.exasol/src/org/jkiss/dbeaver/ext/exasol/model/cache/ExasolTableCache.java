@@ -50,6 +50,12 @@ public final class ExasolTableCache
 		super("TABLE_NAME");
 	}
 
+	@Override
+	protected boolean isPrefetchSupported(@NotNull ExasolSchema owner)
+	{
+		return true;
+	}
+
 	@Override
 	protected JDBCStatement prepareObjectsStatement(
 			@NotNull JDBCSession session, @NotNull ExasolSchema exasolSchema)
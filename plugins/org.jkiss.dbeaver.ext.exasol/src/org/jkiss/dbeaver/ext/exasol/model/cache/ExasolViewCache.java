@@ -50,6 +50,11 @@ public class ExasolViewCache extends JDBCStructCache<ExasolSchema, ExasolView, E
 
     }
 
+    @Override
+    protected boolean isPrefetchSupported(@NotNull ExasolSchema owner) {
+        return true;
+    }
+
 	@Override
     protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull ExasolSchema exasolSchema) throws SQLException {
         JDBCDatabaseMetaData meta = session.getMetaData();
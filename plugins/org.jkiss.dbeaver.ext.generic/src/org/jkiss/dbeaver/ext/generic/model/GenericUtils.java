@@ -16,12 +16,17 @@
  */
 package org.jkiss.dbeaver.ext.generic.model;
 
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.ext.generic.model.meta.GenericMetaColumn;
 import org.jkiss.dbeaver.ext.generic.model.meta.GenericMetaObject;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 
 import java.math.BigDecimal;
 import java.sql.ResultSet;
@@ -149,4 +154,25 @@ public class GenericUtils {
         return dialect instanceof GenericSQLDialect && ((GenericSQLDialect)dialect).isLegacySQLDialect();
     }
 
+    /**
+     * Returns metadata name pattern for navigator filter of specified objects type.
+     * JDBC metadata methods support only one pattern, so it is used only for filters with single include mask.
+     */
+    @Nullable
+    public static String getServerSideFilterPattern(GenericStructContainer container, Class<?> objectType) {
+        DBPDataSourceContainer dsContainer = container.getDataSource().getContainer();
+        if (!dsContainer.getPreferenceStore().getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)) {
+            return null;
+        }
+        DBSObjectFilter filter = dsContainer.getObjectFilter(
+            objectType,
+            container instanceof DBPDataSource ? null : container,
+            false);
+        if (filter == null || filter.isNotApplicable() || !filter.hasSingleMask()) {
+            return null;
+        }
+        // Metadata patterns have no ESCAPE clause: driver's search string escape is used
+        return SQLUtils.makeSQLLikeMask(filter.getSingleMask(), container.getDataSource().getSQLDialect().getSearchStringEscape());
+    }
+
 }
@@ -74,6 +74,12 @@ public class TableCache extends JDBCStructLookupCache<GenericStructContainer, Ge
         setListOrderComparator(DBUtils.<GenericTable>nameComparator());
     }
 
+    @Override
+    protected boolean isPrefetchSupported(@NotNull GenericStructContainer owner)
+    {
+        return owner.getDataSource().supportsStructCache();
+    }
+
     public GenericDataSource getDataSource()
     {
         return dataSource;
@@ -82,13 +88,27 @@ public class TableCache extends JDBCStructLookupCache<GenericStructContainer, Ge
     @NotNull
     @Override
     public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull GenericStructContainer owner, @Nullable GenericTable object, @Nullable String objectName) throws SQLException {
+        String tableNamePattern;
+        if (object == null && objectName == null) {
+            tableNamePattern = GenericUtils.getServerSideFilterPattern(owner, GenericTable.class);
+            if (tableNamePattern == null) {
+                tableNamePattern = owner.getDataSource().getAllObjectsPattern();
+            }
+        } else {
+            tableNamePattern = object != null ? object.getName() : objectName;
+        }
         return session.getMetaData().getTables(
             owner.getCatalog() == null ? null : owner.getCatalog().getName(),
             owner.getSchema() == null ? null : owner.getSchema().getName(),
-            object == null && objectName == null ? owner.getDataSource().getAllObjectsPattern() : (object != null ? object.getName() : objectName),
+            tableNamePattern,
             null).getSourceStatement();
     }
 
+    @Override
+    protected boolean isServerSideFiltered(@NotNull GenericStructContainer owner) {
+        return GenericUtils.getServerSideFilterPattern(owner, GenericTable.class) != null;
+    }
+
     @Nullable
     @Override
     protected GenericTable fetchObject(@NotNull JDBCSession session, @NotNull GenericStructContainer owner, @NotNull JDBCResultSet dbResult)
@@ -226,12 +226,13 @@ public class GenericMetaModel {
 
         GenericDataSource dataSource = container.getDataSource();
         GenericMetaObject procObject = dataSource.getMetaObject(GenericConstants.OBJECT_PROCEDURE);
+        String procNamePattern = GenericUtils.getServerSideFilterPattern(container, GenericProcedure.class);
         try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load procedures")) {
             // Read procedures
             JDBCResultSet dbResult = session.getMetaData().getProcedures(
                 container.getCatalog() == null ? null : container.getCatalog().getName(),
                 container.getSchema() == null ? null : container.getSchema().getName(),
-                dataSource.getAllObjectsPattern());
+                procNamePattern != null ? procNamePattern : dataSource.getAllObjectsPattern());
             try {
                 while (dbResult.next()) {
                     if (monitor.isCanceled()) {
@@ -298,7 +299,7 @@ public class GenericMetaModel {
                 dbResult = session.getMetaData().getFunctions(
                     container.getCatalog() == null ? null : container.getCatalog().getName(),
                     container.getSchema() == null ? null : container.getSchema().getName(),
-                    dataSource.getAllObjectsPattern());
+                    procNamePattern != null ? procNamePattern : dataSource.getAllObjectsPattern());
                 try {
                     while (dbResult.next()) {
                         if (monitor.isCanceled()) {
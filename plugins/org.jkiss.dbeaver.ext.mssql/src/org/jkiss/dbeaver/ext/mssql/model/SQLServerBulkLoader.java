@@ -0,0 +1,216 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.generic.model.GenericTable;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQL Server bulk loader.
+ * Uses SQLServerBulkCopy of Microsoft JDBC driver. Rows are passed to it as ISQLServerBulkRecord.
+ * Driver classes are accessed by reflection as driver is loaded in its own class loader.
+ */
+public class SQLServerBulkLoader implements DBSDataBulkLoader {
+
+    private static final Log log = Log.getLog(SQLServerBulkLoader.class);
+
+    private static final String CONNECTION_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerConnection";
+    private static final String BULK_COPY_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopy";
+    private static final String BULK_RECORD_CLASS = "com.microsoft.sqlserver.jdbc.ISQLServerBulkRecord";
+
+    public SQLServerBulkLoader()
+    {
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes)
+    {
+        if (!(table instanceof GenericTable) || ((GenericTable) table).isView()) {
+            return false;
+        }
+        return getServerConnection(session) != null;
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch bulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source)
+        throws DBCException
+    {
+        return new BulkCopyBatch(attributes, DBUtils.getObjectFullName(table, DBPEvaluationContext.DML));
+    }
+
+    @Nullable
+    private static Connection getServerConnection(@NotNull DBCSession session)
+    {
+        if (!(session instanceof JDBCSession)) {
+            return null;
+        }
+        try {
+            Connection original = ((JDBCSession) session).getOriginal();
+            ClassLoader classLoader = original.getClass().getClassLoader();
+            Class<?> connectionClass = Class.forName(CONNECTION_CLASS, true, classLoader);
+            if (!original.isWrapperFor(connectionClass)) {
+                return null;
+            }
+            // Make sure driver supports bulk copy
+            Class.forName(BULK_COPY_CLASS, true, classLoader);
+            Class.forName(BULK_RECORD_CLASS, true, classLoader);
+            return (Connection) original.unwrap(connectionClass);
+        } catch (Throwable e) {
+            log.debug("SQL Server bulk copy is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static class BulkCopyBatch extends BulkLoadBatchImpl {
+
+        private final String tableName;
+
+        BulkCopyBatch(@NotNull DBSAttributeBase[] attributes, @NotNull String tableName)
+        {
+            super(attributes);
+            this.tableName = tableName;
+        }
+
+        @Override
+        protected long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException
+        {
+            Connection connection = getServerConnection(session);
+            if (connection == null) {
+                throw new DBCException("SQL Server bulk copy is not available");
+            }
+            ClassLoader classLoader = connection.getClass().getClassLoader();
+            try {
+                Class<?> bulkCopyClass = Class.forName(BULK_COPY_CLASS, true, classLoader);
+                Class<?> bulkRecordClass = Class.forName(BULK_RECORD_CLASS, true, classLoader);
+                Object bulkRecord = Proxy.newProxyInstance(
+                    classLoader,
+                    new Class[]{bulkRecordClass},
+                    new BulkRecordHandler(attributes, rows));
+
+                Object bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+                try {
+                    bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(bulkCopy, tableName);
+                    Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", int.class, String.class);
+                    for (int i = 0; i < attributes.length; i++) {
+                        addColumnMapping.invoke(bulkCopy, i + 1, attributes[i].getName());
+                    }
+                    bulkCopyClass.getMethod("writeToServer", bulkRecordClass).invoke(bulkCopy, bulkRecord);
+                } finally {
+                    bulkCopyClass.getMethod("close").invoke(bulkCopy);
+                }
+                return rows.size();
+            } catch (InvocationTargetException e) {
+                throw new DBCException(e.getTargetException(), session.getDataSource());
+            } catch (Exception e) {
+                throw new DBCException("Error invoking SQL Server bulk copy", e);
+            }
+        }
+    }
+
+    /**
+     * ISQLServerBulkRecord implementation over rows list
+     */
+    private static class BulkRecordHandler implements InvocationHandler {
+
+        private final DBSAttributeBase[] attributes;
+        private final List<Object[]> rows;
+        private int rowIndex = -1;
+
+        BulkRecordHandler(DBSAttributeBase[] attributes, List<Object[]> rows)
+        {
+            this.attributes = attributes;
+            this.rows = rows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            switch (method.getName()) {
+                case "next":
+                    rowIndex++;
+                    return rowIndex < rows.size();
+                case "getRowData":
+                    return rows.get(rowIndex);
+                case "getColumnOrdinals": {
+                    Set<Integer> ordinals = new LinkedHashSet<>();
+                    for (int i = 1; i <= attributes.length; i++) {
+                        ordinals.add(i);
+                    }
+                    return ordinals;
+                }
+                case "getColumnName":
+                    return getAttribute(args).getName();
+                case "getColumnType":
+                    return getAttribute(args).getTypeID();
+                case "getPrecision": {
+                    DBSAttributeBase attribute = getAttribute(args);
+                    Integer precision = attribute.getPrecision();
+                    if (precision != null && precision > 0) {
+                        return precision;
+                    }
+                    return (int) Math.min(attribute.getMaxLength(), Integer.MAX_VALUE);
+                }
+                case "getScale": {
+                    Integer scale = getAttribute(args).getScale();
+                    return scale == null ? 0 : scale;
+                }
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Bulk record (" + rows.size() + " rows)";
+            }
+            // Other methods (isAutoIncrement, etc) - return defaults
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Boolean.TYPE) {
+                return false;
+            } else if (returnType == Integer.TYPE) {
+                return 0;
+            }
+            return null;
+        }
+
+        private DBSAttributeBase getAttribute(Object[] args)
+        {
+            return attributes[(Integer) args[0] - 1];
+        }
+    }
+
+}
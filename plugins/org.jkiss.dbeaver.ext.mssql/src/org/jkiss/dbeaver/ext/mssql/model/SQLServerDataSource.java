@@ -23,6 +23,7 @@ import org.jkiss.dbeaver.ext.mssql.SQLServerConstants;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.utils.CommonUtils;
 
 public class SQLServerDataSource extends GenericDataSource {
@@ -33,6 +34,15 @@ public class SQLServerDataSource extends GenericDataSource {
         super(monitor, container, metaModel, new SQLServerDialect());
     }
 
+    @Override
+    public <T> T getAdapter(Class<T> adapter)
+    {
+        if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new SQLServerBulkLoader());
+        }
+        return super.getAdapter(adapter);
+    }
+
     @Override
     protected String getConnectionUserName(DBPConnectionConfiguration connectionInfo) {
         if (CommonUtils.toBoolean(connectionInfo.getProviderProperty(SQLServerConstants.PROP_CONNECTION_WINDOWS_AUTH))) {
@@ -65,6 +65,12 @@ public class SQLServerDialect extends GenericSQLDialect implements SQLRuleProvid
     public void extendRules(@NotNull List<IRule> rules, @NotNull RulePosition position) {
     }
 
+    @Override
+    public boolean isCaseInsensitiveComparison() {
+        // Default server collations are case-insensitive (*_CI_*)
+        return true;
+    }
+
     @Override
     public void generateStoredProcedureCall(StringBuilder sql, DBSProcedure proc, Collection<? extends DBSProcedureParameter> parameters) {
         List<DBSProcedureParameter> inParameters = new ArrayList<>();
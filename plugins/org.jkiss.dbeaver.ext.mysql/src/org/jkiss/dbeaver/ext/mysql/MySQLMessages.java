@@ -79,6 +79,7 @@ public class MySQLMessages extends NLS {
 	public static String editors_user_editor_privileges_group_tables;
 	public static String editors_user_editor_privileges_service_load_privileges;
 	public static String editors_user_editor_privileges_service_load_tables;
+	public static String editors_user_editor_privileges_service_load_catalogs;
 	public static String tools_db_export_wizard_job_dump_log_reader;
 	public static String tools_db_export_wizard_message_export_completed;
 	public static String tools_db_export_wizard_monitor_bytes;
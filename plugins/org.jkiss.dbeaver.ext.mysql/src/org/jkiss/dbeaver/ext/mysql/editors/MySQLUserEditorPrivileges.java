@@ -104,12 +104,6 @@ public class MySQLUserEditorPrivileges extends MySQLUserEditorAbstract
                 item.setText("% (All)"); //$NON-NLS-1$
                 item.setImage(DBeaverIcons.getImage(DBIcon.TREE_DATABASE));
             }
-            for (MySQLCatalog catalog : getDatabaseObject().getDataSource().getCatalogs()) {
-                TableItem item = new TableItem(catalogsTable, SWT.NONE);
-                item.setText(catalog.getName());
-                item.setImage(DBeaverIcons.getImage(DBIcon.TREE_DATABASE));
-                item.setData(catalog);
-            }
             UIUtils.packColumns(catalogsTable);
         }
 
@@ -147,6 +141,7 @@ public class MySQLUserEditorPrivileges extends MySQLUserEditorAbstract
         otherPrivilegesTable.setLayoutData(gd);
 
         catalogsTable.setSelection(0);
+        loadCatalogs();
         showCatalogTables();
 
         pageControl.createProgressPanel();
@@ -243,6 +238,24 @@ public class MySQLUserEditorPrivileges extends MySQLUserEditorAbstract
         highlightTables();
     }
 
+    private void loadCatalogs()
+    {
+        LoadingJob.createService(
+            new DatabaseLoadService<Collection<MySQLCatalog>>(MySQLMessages.editors_user_editor_privileges_service_load_catalogs, getExecutionContext()) {
+                @Override
+                public Collection<MySQLCatalog> evaluate(DBRProgressMonitor monitor)
+                    throws InvocationTargetException, InterruptedException {
+                    try {
+                        return getDatabaseObject().getDataSource().getCatalogs(monitor);
+                    } catch (DBException e) {
+                        throw new InvocationTargetException(e);
+                    }
+                }
+            },
+            pageControl.createCatalogsLoadVisualizer())
+            .schedule();
+    }
+
     private void showCatalogTables()
     {
         LoadingJob.createService(
@@ -372,6 +385,26 @@ public class MySQLUserEditorPrivileges extends MySQLUserEditorAbstract
             super(parent);
         }
 
+        public ProgressVisualizer<Collection<MySQLCatalog>> createCatalogsLoadVisualizer() {
+            return new ProgressVisualizer<Collection<MySQLCatalog>>() {
+                @Override
+                public void completeLoading(Collection<MySQLCatalog> catalogs) {
+                    super.completeLoading(catalogs);
+                    if (catalogsTable.isDisposed() || catalogs == null) {
+                        return;
+                    }
+                    for (MySQLCatalog catalog : catalogs) {
+                        TableItem item = new TableItem(catalogsTable, SWT.NONE);
+                        item.setText(catalog.getName());
+                        item.setImage(DBeaverIcons.getImage(DBIcon.TREE_DATABASE));
+                        item.setData(catalog);
+                    }
+                    highlightCatalogs();
+                    UIUtils.packColumns(catalogsTable);
+                }
+            };
+        }
+
         public ProgressVisualizer<Collection<MySQLTableBase>> createTablesLoadVisualizer() {
             return new ProgressVisualizer<Collection<MySQLTableBase>>() {
                 @Override
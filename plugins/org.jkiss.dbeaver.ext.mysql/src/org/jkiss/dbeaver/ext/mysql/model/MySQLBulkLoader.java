@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * MySQL bulk loader.
+ * Uses LOAD DATA LOCAL INFILE with data passed from in-memory stream.
+ * Works with drivers which support local infile input stream (MySQL Connector/J, MariaDB).
+ * Note: local infile must be enabled on server (local_infile) and in driver (allowLoadLocalInfile).
+ * TIMESTAMP values are passed in UTC (session time zone is switched to UTC during load),
+ * DATETIME values are passed as client local time - the same way driver binds them in INSERTs.
+ */
+public class MySQLBulkLoader implements DBSDataBulkLoader {
+
+    private static final Log log = Log.getLog(MySQLBulkLoader.class);
+
+    private static final String SET_INPUT_STREAM_METHOD = "setLocalInfileInputStream";
+    private static final String TYPE_TIMESTAMP = "timestamp";
+
+    private final MySQLDataSource dataSource;
+
+    public MySQLBulkLoader(MySQLDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes)
+    {
+        if (!(table instanceof MySQLTable) || !(session instanceof JDBCSession)) {
+            return false;
+        }
+        if (!BulkLoadBatchImpl.isTextFormatSupported(attributes)) {
+            return false;
+        }
+        try (Statement dbStat = ((JDBCSession) session).getOriginal().createStatement()) {
+            if (getInputStreamSetter(dbStat) == null) {
+                return false;
+            }
+            // LOAD DATA LOCAL fails if local infile is disabled on server (default since MySQL 8)
+            try (ResultSet dbResult = dbStat.executeQuery("SELECT @@local_infile")) {
+                if (!dbResult.next() || !CommonUtils.toBoolean(dbResult.getString(1))) {
+                    log.debug("Local infile is disabled on server. Bulk load is not available.");
+                    return false;
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            log.debug("Can't check local infile support: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch bulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source)
+        throws DBCException
+    {
+        StringBuilder sql = new StringBuilder();
+        sql.append("LOAD DATA LOCAL INFILE 'stream' INTO TABLE ").append(DBUtils.getObjectFullName(table, DBPEvaluationContext.DML))
+            .append(" CHARACTER SET ").append(dataSource.isServerVersionAtLeast(5, 6) ? "utf8mb4" : "utf8")
+            .append(" FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (");
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) sql.append(",");
+            sql.append(DBUtils.getQuotedIdentifier(dataSource, attributes[i].getName()));
+        }
+        sql.append(")");
+        return new LoadDataBatch(attributes, sql.toString());
+    }
+
+    @Nullable
+    private static Method getInputStreamSetter(@NotNull Statement dbStat)
+    {
+        try {
+            return dbStat.getClass().getMethod(SET_INPUT_STREAM_METHOD, InputStream.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static class LoadDataBatch extends BulkLoadBatchImpl {
+
+        private final String loadSQL;
+        private final boolean hasTimestamps;
+
+        LoadDataBatch(@NotNull DBSAttributeBase[] attributes, @NotNull String loadSQL)
+        {
+            super(attributes);
+            this.loadSQL = loadSQL;
+            boolean hasTimestamps = false;
+            for (DBSAttributeBase attr : attributes) {
+                if (isTimestampType(attr)) {
+                    hasTimestamps = true;
+                    break;
+                }
+            }
+            this.hasTimestamps = hasTimestamps;
+        }
+
+        @Override
+        protected long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException
+        {
+            StringBuilder data = new StringBuilder(rows.size() * 64);
+            for (Object[] row : rows) {
+                appendTextRow(data, row);
+            }
+            try (Statement dbStat = ((JDBCSession) session).getOriginal().createStatement()) {
+                Method setInputStream = getInputStreamSetter(dbStat);
+                if (setInputStream == null) {
+                    throw new DBCException("Driver doesn't support local infile input stream");
+                }
+                setInputStream.invoke(dbStat, new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8)));
+                if (!hasTimestamps) {
+                    return dbStat.executeUpdate(loadSQL);
+                }
+                // TIMESTAMP values are converted from session time zone. Values are formatted in UTC.
+                String sessionTimeZone;
+                try (ResultSet dbResult = dbStat.executeQuery("SELECT @@session.time_zone")) {
+                    sessionTimeZone = dbResult.next() ? dbResult.getString(1) : null;
+                }
+                dbStat.execute("SET time_zone = '+00:00'");
+                try {
+                    return dbStat.executeUpdate(loadSQL);
+                } finally {
+                    if (sessionTimeZone != null) {
+                        dbStat.execute("SET time_zone = '" + sessionTimeZone.replace("'", "''") + "'");
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getDataSource());
+            } catch (InvocationTargetException e) {
+                throw new DBCException(e.getTargetException(), session.getDataSource());
+            } catch (IllegalAccessException e) {
+                throw new DBCException("Error setting local infile stream", e);
+            }
+        }
+
+        @NotNull
+        @Override
+        protected String formatTextValue(@NotNull DBSAttributeBase attribute, @NotNull Object value)
+        {
+            if (attribute.getDataKind() == DBPDataKind.BOOLEAN) {
+                return CommonUtils.toBoolean(value) ? "1" : "0";
+            }
+            if (isTimestampValue(value)) {
+                // MySQL doesn't accept zone offsets in LOAD DATA
+                return isTimestampType(attribute) ?
+                    formatTimestampUTC((Date) value) :
+                    formatTimestamp((Date) value, ZoneId.systemDefault(), false);
+            }
+            return super.formatTextValue(attribute, value);
+        }
+
+        private static boolean isTimestampType(@NotNull DBSAttributeBase attribute)
+        {
+            return TYPE_TIMESTAMP.equalsIgnoreCase(attribute.getTypeName());
+        }
+    }
+
+}
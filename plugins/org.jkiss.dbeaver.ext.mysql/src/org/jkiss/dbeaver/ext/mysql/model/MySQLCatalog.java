@@ -344,6 +344,44 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
         return name + " [" + dataSource.getContainer().getName() + "]";
     }
 
+    /**
+     * Returns navigator filter for specified objects type if it can be applied in metadata query
+     */
+    @Nullable
+    private DBSObjectFilter getServerSideFilter(Class<?> objectType)
+    {
+        if (!dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)) {
+            return null;
+        }
+        DBSObjectFilter filter = dataSource.getContainer().getObjectFilter(objectType, this, false);
+        return filter == null || filter.isNotApplicable() ? null : filter;
+    }
+
+    private static void appendFilterCondition(JDBCSession session, StringBuilder sql, String columnName, DBSObjectFilter filter)
+    {
+        sql.append("(");
+        List<String> include = filter.getInclude();
+        if (!CommonUtils.isEmpty(include)) {
+            sql.append("(");
+            for (int i = 0; i < include.size(); i++) {
+                if (i > 0) sql.append(" OR ");
+                SQLUtils.appendLikeMaskCondition(sql, session.getDataSource(), columnName, "LIKE", include.get(i));
+            }
+            sql.append(")");
+        }
+        List<String> exclude = filter.getExclude();
+        if (!CommonUtils.isEmpty(exclude)) {
+            if (!CommonUtils.isEmpty(include)) sql.append(" AND ");
+            sql.append("NOT (");
+            for (int i = 0; i < exclude.size(); i++) {
+                if (i > 0) sql.append(" OR ");
+                SQLUtils.appendLikeMaskCondition(sql, session.getDataSource(), columnName, "LIKE", exclude.get(i));
+            }
+            sql.append(")");
+        }
+        sql.append(")");
+    }
+
     public static class TableCache extends JDBCStructLookupCache<MySQLCatalog, MySQLTableBase, MySQLTableColumn> {
 
         TableCache()
@@ -351,6 +389,12 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
             super(JDBCConstants.TABLE_NAME);
         }
 
+        @Override
+        protected boolean isPrefetchSupported(@NotNull MySQLCatalog owner)
+        {
+            return true;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull MySQLCatalog owner, @Nullable MySQLTableBase object, @Nullable String objectName) throws SQLException {
@@ -367,15 +411,18 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
                 if (object != null || objectName != null) {
                     sql.append(" WHERE ").append(tableNameCol).append(" LIKE ").append(SQLUtils.quoteString(session.getDataSource(), object != null ? object.getName() : objectName));
                 } else {
-                    DBSObjectFilter tableFilters = owner.getDataSource().getContainer().getObjectFilter(MySQLTable.class, owner, false);
-                    if (tableFilters != null && !tableFilters.isEmpty()) {
-                        sql.append(" WHERE 1=1");
-                        for (String incName : CommonUtils.safeCollection(tableFilters.getInclude())) {
-                            sql.append(" AND ").append(tableNameCol).append(" LIKE ").append(SQLUtils.quoteString(session.getDataSource(), incName));
-                        }
-                        for (String incName : CommonUtils.safeCollection(tableFilters.getExclude())) {
-                            sql.append(" AND ").append(tableNameCol).append(" NOT LIKE ").append(SQLUtils.quoteString(session.getDataSource(), incName));
-                        }
+                    // Tables and views have their own filters
+                    DBSObjectFilter tableFilters = owner.getServerSideFilter(MySQLTable.class);
+                    DBSObjectFilter viewFilters = owner.getServerSideFilter(MySQLView.class);
+                    if (tableFilters != null) {
+                        sql.append(" WHERE (").append(MySQLConstants.COL_TABLE_TYPE).append(" LIKE '%VIEW' OR ");
+                        appendFilterCondition(session, sql, tableNameCol, tableFilters);
+                        sql.append(")");
+                    }
+                    if (viewFilters != null) {
+                        sql.append(tableFilters == null ? " WHERE (" : " AND (").append(MySQLConstants.COL_TABLE_TYPE).append(" NOT LIKE '%VIEW' OR ");
+                        appendFilterCondition(session, sql, tableNameCol, viewFilters);
+                        sql.append(")");
                     }
                 }
             }
@@ -383,6 +430,12 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
             return session.prepareStatement(sql.toString());
         }
 
+        @Override
+        protected boolean isServerSideFiltered(@NotNull MySQLCatalog owner)
+        {
+            return owner.getServerSideFilter(MySQLTable.class) != null || owner.getServerSideFilter(MySQLView.class) != null;
+        }
+
         @Override
         protected MySQLTableBase fetchObject(@NotNull JDBCSession session, @NotNull MySQLCatalog owner, @NotNull JDBCResultSet dbResult)
             throws SQLException, DBException
@@ -434,6 +487,13 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
             super(tableCache, MySQLTable.class, MySQLConstants.COL_TABLE_NAME, MySQLConstants.COL_INDEX_NAME);
         }
 
+        @Override
+        protected boolean isPrefetchSupported(MySQLCatalog owner)
+        {
+            // Catalog structure caching doesn't read indexes
+            return false;
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, MySQLCatalog owner, MySQLTable forTable)
@@ -663,18 +723,32 @@ public class MySQLCatalog implements DBSCatalog, DBPSaveableObject, DBPRefreshab
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull MySQLCatalog owner, @Nullable MySQLProcedure object, @Nullable String objectName) throws SQLException {
-            JDBCPreparedStatement dbStat = session.prepareStatement(
-                "SELECT * FROM " + MySQLConstants.META_TABLE_ROUTINES +
-                    "\nWHERE " + MySQLConstants.COL_ROUTINE_SCHEMA + "=?" +
-                    (object == null && objectName == null ? "" : " AND " + MySQLConstants.COL_ROUTINE_NAME + "=?") +
-                    "\nORDER BY " + MySQLConstants.COL_ROUTINE_NAME
-            );
+            StringBuilder sql = new StringBuilder();
+            sql.append("SELECT * FROM ").append(MySQLConstants.META_TABLE_ROUTINES)
+                .append("\nWHERE ").append(MySQLConstants.COL_ROUTINE_SCHEMA).append("=?");
+            if (object != null || objectName != null) {
+                sql.append(" AND ").append(MySQLConstants.COL_ROUTINE_NAME).append("=?");
+            } else {
+                DBSObjectFilter procFilters = owner.getServerSideFilter(MySQLProcedure.class);
+                if (procFilters != null) {
+                    sql.append(" AND ");
+                    appendFilterCondition(session, sql, MySQLConstants.COL_ROUTINE_NAME, procFilters);
+                }
+            }
+            sql.append("\nORDER BY ").append(MySQLConstants.COL_ROUTINE_NAME);
+            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
             dbStat.setString(1, owner.getName());
             if (object != null || objectName != null) {
                 dbStat.setString(2, object != null ? object.getName() : objectName);
             }
             return dbStat;
         }
+
+        @Override
+        protected boolean isServerSideFiltered(@NotNull MySQLCatalog owner)
+        {
+            return owner.getServerSideFilter(MySQLProcedure.class) != null;
+        }
     }
 
     static class TriggerCache extends JDBCObjectCache<MySQLCatalog, MySQLTrigger> {
@@ -38,11 +38,13 @@ import org.jkiss.dbeaver.model.exec.jdbc.*;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlanStyle;
 import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
+import org.jkiss.dbeaver.model.impl.DBSObjectPagedCache;
+import org.jkiss.dbeaver.model.impl.DBSPagedCacheProvider;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCBasicDataTypeCache;
-import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectPagedCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCDataType;
 import org.jkiss.dbeaver.model.impl.sql.QueryTransformerLimit;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
@@ -64,7 +66,7 @@ import java.util.regex.Pattern;
 /**
  * GenericDataSource
  */
-public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector, DBCQueryPlanner, IAdaptable
+public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector, DBCQueryPlanner, DBSPagedCacheProvider, IAdaptable
 {
     private static final Log log = Log.getLog(MySQLDataSource.class);
 
@@ -182,16 +184,41 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         return catalogCache;
     }
 
+    /**
+     * Returns catalogs which were already read. Doesn't read anything from database.
+     */
     public Collection<MySQLCatalog> getCatalogs()
     {
         return catalogCache.getCachedObjects();
     }
 
+    public Collection<MySQLCatalog> getCatalogs(DBRProgressMonitor monitor)
+        throws DBException
+    {
+        return catalogCache.getAllObjects(monitor, this);
+    }
+
+    /**
+     * Returns catalog if it was already read. Doesn't read anything from database.
+     */
     public MySQLCatalog getCatalog(String name)
     {
         return catalogCache.getCachedObject(name);
     }
 
+    public MySQLCatalog getCatalog(DBRProgressMonitor monitor, String name)
+        throws DBException
+    {
+        return catalogCache.getObject(monitor, this, name);
+    }
+
+    @Nullable
+    @Override
+    public DBSObjectPagedCache<?, ?> getPagedCache(@NotNull String propertyName)
+    {
+        return "catalogs".equals(propertyName) ? catalogCache : null;
+    }
+
     @Override
     public void initialize(@NotNull DBRProgressMonitor monitor)
         throws DBException
@@ -254,9 +281,11 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
                 }
             }
 
-            // Read catalogs
-            catalogCache.getAllObjects(monitor, this);
+            // Read active catalog only. Other catalogs are read by pages on demand
             activeCatalogName = MySQLUtils.determineCurrentDatabase(session);
+            if (!CommonUtils.isEmpty(activeCatalogName)) {
+                pinCatalog(getCatalog(monitor, activeCatalogName));
+            }
         }
     }
 
@@ -282,7 +311,7 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         if (CommonUtils.isEmpty(catalogName)) {
             return null;
         }
-        MySQLCatalog catalog = getCatalog(catalogName);
+        MySQLCatalog catalog = getCatalog(monitor, catalogName);
         if (catalog == null) {
             log.error("Catalog " + catalogName + " not found");
             return null;
@@ -294,14 +323,14 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
     public Collection<? extends MySQLCatalog> getChildren(@NotNull DBRProgressMonitor monitor)
         throws DBException
     {
-        return getCatalogs();
+        return getCatalogs(monitor);
     }
 
     @Override
     public MySQLCatalog getChild(@NotNull DBRProgressMonitor monitor, @NotNull String childName)
         throws DBException
     {
-        return getCatalog(childName);
+        return getCatalog(monitor, childName);
     }
 
     @Override
@@ -342,6 +371,7 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
             useDatabase(monitor, context, (MySQLCatalog) object);
         }
         activeCatalogName = object.getName();
+        pinCatalog((MySQLCatalog) object);
 
         // Send notifications
         if (oldSelectedEntity != null) {
@@ -356,7 +386,7 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
     public boolean refreshDefaultObject(@NotNull DBCSession session) throws DBException {
         final String newCatalogName = MySQLUtils.determineCurrentDatabase((JDBCSession) session);
         if (!CommonUtils.equalObjects(newCatalogName, activeCatalogName)) {
-            final MySQLCatalog newCatalog = getCatalog(newCatalogName);
+            final MySQLCatalog newCatalog = getCatalog(session.getProgressMonitor(), newCatalogName);
             if (newCatalog != null) {
                 setDefaultObject(session.getProgressMonitor(), newCatalog);
                 return true;
@@ -365,6 +395,13 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         return false;
     }
 
+    // Active catalog must be available without reading (see getDefaultObject)
+    private void pinCatalog(@Nullable MySQLCatalog catalog) {
+        if (catalog != null) {
+            catalogCache.cacheObject(catalog);
+        }
+    }
+
     private void useDatabase(DBRProgressMonitor monitor, JDBCExecutionContext context, MySQLCatalog catalog) throws DBCException {
         if (catalog == null) {
             log.debug("Null current database");
@@ -606,6 +643,8 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
             return adapter.cast(helpProvider);
         } else if (adapter == DBAServerSessionManager.class) {
             return adapter.cast(new MySQLSessionManager(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new MySQLBulkLoader(this));
         }
         return super.getAdapter(adapter);
     }
@@ -628,12 +667,16 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         return dataTypeCache.getCachedObject(typeName);
     }
 
-    static class CatalogCache extends JDBCObjectCache<MySQLDataSource, MySQLCatalog>
+    /**
+     * Multi-tenant servers may have huge number of databases, so only their names are kept in memory.
+     */
+    static class CatalogCache extends JDBCObjectPagedCache<MySQLDataSource, MySQLCatalog>
     {
+        @NotNull
         @Override
-        protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull MySQLDataSource owner) throws SQLException
+        protected JDBCStatement prepareNamesStatement(@NotNull JDBCSession session, @NotNull MySQLDataSource owner) throws SQLException
         {
-            StringBuilder catalogQuery = new StringBuilder("SELECT * FROM " + MySQLConstants.META_TABLE_SCHEMATA);
+            StringBuilder catalogQuery = new StringBuilder("SELECT " + MySQLConstants.COL_SCHEMA_NAME + " FROM " + MySQLConstants.META_TABLE_SCHEMATA);
             DBSObjectFilter catalogFilters = owner.getContainer().getObjectFilter(MySQLCatalog.class, null, false);
             if (catalogFilters != null) {
                 JDBCUtils.appendFilterClause(catalogQuery, catalogFilters, MySQLConstants.COL_SCHEMA_NAME, true);
@@ -645,6 +688,34 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
             return dbStat;
         }
 
+        @NotNull
+        @Override
+        protected JDBCStatement preparePageStatement(@NotNull JDBCSession session, @NotNull MySQLDataSource owner, @NotNull List<String> names) throws SQLException
+        {
+            StringBuilder catalogQuery = new StringBuilder("SELECT * FROM " + MySQLConstants.META_TABLE_SCHEMATA +
+                " WHERE " + MySQLConstants.COL_SCHEMA_NAME + " IN (");
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) catalogQuery.append(",");
+                catalogQuery.append("?");
+            }
+            catalogQuery.append(")");
+            JDBCPreparedStatement dbStat = session.prepareStatement(catalogQuery.toString());
+            for (int i = 0; i < names.size(); i++) {
+                dbStat.setString(i + 1, names.get(i));
+            }
+            return dbStat;
+        }
+
+        @NotNull
+        @Override
+        public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull MySQLDataSource owner, @Nullable MySQLCatalog object, @Nullable String objectName) throws SQLException
+        {
+            JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT * FROM " + MySQLConstants.META_TABLE_SCHEMATA + " WHERE " + MySQLConstants.COL_SCHEMA_NAME + "=?");
+            dbStat.setString(1, object != null ? object.getName() : objectName);
+            return dbStat;
+        }
+
         @Override
         protected MySQLCatalog fetchObject(@NotNull JDBCSession session, @NotNull MySQLDataSource owner, @NotNull JDBCResultSet resultSet) throws SQLException, DBException
         {
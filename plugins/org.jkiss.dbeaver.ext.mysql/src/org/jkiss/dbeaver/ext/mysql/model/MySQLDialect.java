@@ -120,6 +120,12 @@ class MySQLDialect extends JDBCSQLDialect implements SQLRuleProvider {
         return true;
     }
 
+    @Override
+    public boolean isCaseInsensitiveComparison() {
+        // Default collations are case-insensitive (*_ci)
+        return true;
+    }
+
     @Override
     public String[] getSingleLineComments() {
         return new String[] { "-- ", "#" };
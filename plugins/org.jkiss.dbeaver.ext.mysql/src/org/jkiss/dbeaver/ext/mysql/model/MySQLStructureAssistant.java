@@ -127,10 +127,10 @@ public class MySQLStructureAssistant extends JDBCStructureAssistant
                     }
                     final String catalogName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_SCHEMA);
                     final String tableName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_NAME);
-                    objects.add(new AbstractObjectReference(tableName, dataSource.getCatalog(catalogName), null, MySQLTableBase.class, RelationalObjectType.TYPE_TABLE) {
+                    objects.add(new AbstractObjectReference(tableName, dataSource.getCatalog(monitor, catalogName), null, MySQLTableBase.class, RelationalObjectType.TYPE_TABLE) {
                         @Override
                         public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException {
-                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(catalogName);
+                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(monitor, catalogName);
                             if (tableCatalog == null) {
                                 throw new DBException("Table catalog '" + catalogName + "' not found");
                             }
@@ -169,10 +169,10 @@ public class MySQLStructureAssistant extends JDBCStructureAssistant
                     }
                     final String catalogName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_ROUTINE_SCHEMA);
                     final String procName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_ROUTINE_NAME);
-                    objects.add(new AbstractObjectReference(procName, dataSource.getCatalog(catalogName), null, MySQLProcedure.class, RelationalObjectType.TYPE_PROCEDURE) {
+                    objects.add(new AbstractObjectReference(procName, dataSource.getCatalog(monitor, catalogName), null, MySQLProcedure.class, RelationalObjectType.TYPE_PROCEDURE) {
                         @Override
                         public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException {
-                            MySQLCatalog procCatalog = catalog != null ? catalog : dataSource.getCatalog(catalogName);
+                            MySQLCatalog procCatalog = catalog != null ? catalog : dataSource.getCatalog(monitor, catalogName);
                             if (procCatalog == null) {
                                 throw new DBException("Procedure catalog '" + catalogName + "' not found");
                             }
@@ -214,10 +214,10 @@ public class MySQLStructureAssistant extends JDBCStructureAssistant
                     final String constrName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_CONSTRAINT_NAME);
                     final String constrType = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_CONSTRAINT_TYPE);
                     final boolean isFK = MySQLConstants.CONSTRAINT_FOREIGN_KEY.equals(constrType);
-                    objects.add(new AbstractObjectReference(constrName, dataSource.getCatalog(catalogName), null, isFK ? MySQLTableForeignKey.class : MySQLTableConstraint.class, RelationalObjectType.TYPE_CONSTRAINT) {
+                    objects.add(new AbstractObjectReference(constrName, dataSource.getCatalog(monitor, catalogName), null, isFK ? MySQLTableForeignKey.class : MySQLTableConstraint.class, RelationalObjectType.TYPE_CONSTRAINT) {
                         @Override
                         public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException {
-                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(catalogName);
+                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(monitor, catalogName);
                             if (tableCatalog == null) {
                                 throw new DBException("Constraint catalog '" + catalogName + "' not found");
                             }
@@ -266,7 +266,7 @@ public class MySQLStructureAssistant extends JDBCStructureAssistant
                     final String catalogName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_SCHEMA);
                     final String tableName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_NAME);
                     final String columnName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_COLUMN_NAME);
-                    objects.add(new AbstractObjectReference(columnName, dataSource.getCatalog(catalogName), null, MySQLTableColumn.class, RelationalObjectType.TYPE_TABLE_COLUMN) {
+                    objects.add(new AbstractObjectReference(columnName, dataSource.getCatalog(monitor, catalogName), null, MySQLTableColumn.class, RelationalObjectType.TYPE_TABLE_COLUMN) {
                         @NotNull
                         @Override
                         public String getFullyQualifiedName(DBPEvaluationContext context) {
@@ -280,7 +280,7 @@ public class MySQLStructureAssistant extends JDBCStructureAssistant
 
                         @Override
                         public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException {
-                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(catalogName);
+                            MySQLCatalog tableCatalog = catalog != null ? catalog : dataSource.getCatalog(monitor, catalogName);
                             if (tableCatalog == null) {
                                 throw new DBException("Column catalog '" + catalogName + "' not found");
                             }
@@ -163,26 +163,53 @@ class MySQLExportWizardPageObjects extends MySQLWizardPageSettings<MySQLExportWi
             }
         }
         if (dataSource != null) {
-            boolean tablesLoaded = false;
-            for (MySQLCatalog catalog : dataSource.getCatalogs()) {
-                TableItem item = new TableItem(catalogTable, SWT.NONE);
-                item.setImage(DBeaverIcons.getImage(DBIcon.TREE_DATABASE));
-                item.setText(0, catalog.getName());
-                item.setData(catalog);
-                if (activeCatalogs.contains(catalog)) {
-                    item.setChecked(true);
-                    catalogTable.select(catalogTable.indexOf(item));
-                    if (!tablesLoaded) {
-                        loadTables(catalog);
-                        tablesLoaded = true;
-                    }
-                }
-            }
+            loadCatalogs(dataSource, activeCatalogs);
         }
         updateState();
         setControl(composite);
     }
 
+    private void loadCatalogs(final MySQLDataSource dataSource, final Set<MySQLCatalog> activeCatalogs) {
+        new AbstractJob("Load '" + dataSource.getContainer().getName() + "' catalogs") {
+            {
+                setUser(true);
+            }
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    final Collection<MySQLCatalog> catalogs = dataSource.getCatalogs(monitor);
+                    DBeaverUI.syncExec(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (catalogTable.isDisposed()) {
+                                return;
+                            }
+                            boolean tablesLoaded = false;
+                            for (MySQLCatalog catalog : catalogs) {
+                                TableItem item = new TableItem(catalogTable, SWT.NONE);
+                                item.setImage(DBeaverIcons.getImage(DBIcon.TREE_DATABASE));
+                                item.setText(0, catalog.getName());
+                                item.setData(catalog);
+                                if (activeCatalogs.contains(catalog)) {
+                                    item.setChecked(true);
+                                    catalogTable.select(catalogTable.indexOf(item));
+                                    if (!tablesLoaded) {
+                                        loadTables(catalog);
+                                        tablesLoaded = true;
+                                    }
+                                }
+                            }
+                            updateState();
+                        }
+                    });
+                } catch (DBException e) {
+                    DBUserInterface.getInstance().showError("Catalog list", "Can't read catalog list", e);
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
     private void updateCheckedTables() {
         Set<MySQLTableBase> checkedTables = new HashSet<>();
         TableItem[] tableItems = tablesTable.getItems();
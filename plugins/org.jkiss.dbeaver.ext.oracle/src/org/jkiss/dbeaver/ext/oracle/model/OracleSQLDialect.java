@@ -331,6 +331,12 @@ class OracleSQLDialect extends JDBCSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        // Multi-row VALUES lists are supported only since 23c
+        return false;
+    }
+
     @Override
     public boolean supportsAliasInSelect() {
         return true;
@@ -413,6 +413,12 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             setListOrderComparator(DBUtils.<OracleTableBase>nameComparator());
         }
 
+        @Override
+        protected boolean isPrefetchSupported(@NotNull OracleSchema owner)
+        {
+            return true;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner, @Nullable OracleTableBase object, @Nullable String objectName) throws SQLException {
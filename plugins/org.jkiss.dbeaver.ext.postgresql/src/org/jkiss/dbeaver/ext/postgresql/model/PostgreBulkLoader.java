@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * PostgreSQL bulk loader.
+ * Uses driver's CopyManager (COPY ... FROM STDIN) in text format.
+ */
+public class PostgreBulkLoader implements DBSDataBulkLoader {
+
+    private static final Log log = Log.getLog(PostgreBulkLoader.class);
+
+    private final PostgreDataSource dataSource;
+
+    public PostgreBulkLoader(PostgreDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes)
+    {
+        if (!(table instanceof PostgreTable) || table instanceof PostgreTableForeign) {
+            return false;
+        }
+        return BulkLoadBatchImpl.isTextFormatSupported(attributes) && getCopyManager(session) != null;
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch bulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source)
+        throws DBCException
+    {
+        StringBuilder sql = new StringBuilder();
+        sql.append("COPY ").append(DBUtils.getObjectFullName(table, DBPEvaluationContext.DML)).append(" (");
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) sql.append(",");
+            sql.append(DBUtils.getQuotedIdentifier(dataSource, attributes[i].getName()));
+        }
+        sql.append(") FROM STDIN");
+        return new CopyBatch(attributes, sql.toString());
+    }
+
+    @Nullable
+    private static Object getCopyManager(@NotNull DBCSession session)
+    {
+        if (!(session instanceof JDBCSession)) {
+            return null;
+        }
+        try {
+            Connection original = ((JDBCSession) session).getOriginal();
+            Class<?> pgConnectionClass = Class.forName(PostgreConstants.PG_CONNECTION_CLASS, true, original.getClass().getClassLoader());
+            if (!original.isWrapperFor(pgConnectionClass)) {
+                return null;
+            }
+            Object pgConnection = original.unwrap(pgConnectionClass);
+            return pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+        } catch (Throwable e) {
+            log.debug("PostgreSQL copy API is not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static class CopyBatch extends BulkLoadBatchImpl {
+
+        private final String copySQL;
+
+        CopyBatch(@NotNull DBSAttributeBase[] attributes, @NotNull String copySQL)
+        {
+            super(attributes);
+            this.copySQL = copySQL;
+        }
+
+        @Override
+        protected long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException
+        {
+            Object copyManager = getCopyManager(session);
+            if (copyManager == null) {
+                throw new DBCException("PostgreSQL copy API is not available");
+            }
+            StringBuilder data = new StringBuilder(rows.size() * 64);
+            for (Object[] row : rows) {
+                appendTextRow(data, row);
+            }
+            try {
+                Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+                Object result = copyIn.invoke(copyManager, copySQL, new StringReader(data.toString()));
+                return result instanceof Number ? ((Number) result).longValue() : rows.size();
+            } catch (InvocationTargetException e) {
+                throw new DBCException(e.getTargetException(), session.getDataSource());
+            } catch (Exception e) {
+                throw new DBCException("Error invoking PostgreSQL copy API", e);
+            }
+        }
+
+        @NotNull
+        @Override
+        protected String formatTextValue(@NotNull DBSAttributeBase attribute, @NotNull Object value)
+        {
+            if (attribute.getDataKind() == DBPDataKind.BOOLEAN && value instanceof Boolean) {
+                return (Boolean) value ? "t" : "f";
+            }
+            return super.formatTextValue(attribute, value);
+        }
+    }
+
+}
@@ -400,6 +400,8 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
     {
         if (adapter == DBSStructureAssistant.class) {
             return adapter.cast(new PostgreStructureAssistant(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new PostgreBulkLoader(this));
         }
 /*
         else if (adapter == DBAServerSessionManager.class) {
@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.model.*;
@@ -31,16 +32,20 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCSnapshotCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityConstraintType;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.Array;
 import java.sql.ResultSet;
@@ -64,6 +69,8 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
     private String description;
     private long ownerId;
     private boolean persisted;
+    // Change marker is read once per schema load and shared by all its caches
+    private volatile String changeMarker;
 
     public final CollationCache collationCache = new CollationCache();
     public final ExtensionCache extensionCache = new ExtensionCache();
@@ -293,9 +300,54 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
     public synchronized DBSObject refreshObject(@NotNull DBRProgressMonitor monitor)
         throws DBException
     {
+        if (refreshChangedObjects(monitor)) {
+            return this;
+        }
         return database.schemaCache.refreshObject(monitor, database, this);
     }
 
+    /**
+     * Incremental refresh. Reloads only tables changed since last read (and their columns, constraints and indexes).
+     * Other (non versioned) objects are cleared and will be read on demand.
+     * @return false if schema must be reloaded completely
+     */
+    private boolean refreshChangedObjects(@NotNull DBRProgressMonitor monitor)
+        throws DBException
+    {
+        if (!tableCache.isFullyCached()) {
+            return false;
+        }
+        // Refresh schema own properties
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, getDataSource(), "Refresh schema " + getName())) {
+            try (JDBCStatement dbStat = database.schemaCache.prepareLookupStatement(session, database, this, null)) {
+                dbStat.executeStatement();
+                try (JDBCResultSet dbResult = dbStat.getResultSet()) {
+                    if (dbResult == null || !dbResult.next() || JDBCUtils.safeGetLong(dbResult, "oid") != oid) {
+                        // Schema was dropped or recreated
+                        return false;
+                    }
+                    loadInfo(dbResult);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, getDataSource());
+        }
+        changeMarker = null;
+        Collection<PostgreTableBase> changedTables = tableCache.refreshChangedObjects(monitor, this);
+        if (changedTables == null) {
+            return false;
+        }
+        log.debug("Incremental refresh of schema " + getName() + ": " + changedTables.size() + " table(s) changed");
+        constraintCache.refreshParentObjects(monitor, this, changedTables);
+        indexCache.refreshParentObjects(monitor, this, changedTables);
+
+        collationCache.clearCache();
+        extensionCache.clearCache();
+        proceduresCache.clearCache();
+        dataTypeCache.clearCache();
+        return true;
+    }
+
     @Override
     public boolean isSystem()
     {
@@ -339,11 +391,83 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
         return types;
     }
 
+    /**
+     * Reads change marker of schema tables, columns, constraints, indexes and their comments.
+     * Any catalog row update changes its xmin so marker changes after each DDL in this schema.
+     * Marker is read once and then reused until schema refresh.
+     */
+    String readChangeMarker(JDBCSession session) throws SQLException {
+        String marker = changeMarker;
+        if (marker == null) {
+            marker = queryChangeMarker(session);
+            changeMarker = marker;
+        }
+        return marker;
+    }
+
+    private String queryChangeMarker(JDBCSession session) throws SQLException {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT (SELECT count(*) || ':' || coalesce(sum(c.xmin::text::bigint),0) FROM pg_catalog.pg_class c WHERE c.relnamespace=?)" +
+            "\n|| '/' || (SELECT count(*) || ':' || coalesce(sum(a.xmin::text::bigint),0) FROM pg_catalog.pg_attribute a INNER JOIN pg_catalog.pg_class c ON c.oid=a.attrelid WHERE c.relnamespace=?)" +
+            "\n|| '/' || (SELECT count(*) || ':' || coalesce(sum(ad.xmin::text::bigint),0) FROM pg_catalog.pg_attrdef ad INNER JOIN pg_catalog.pg_class c ON c.oid=ad.adrelid WHERE c.relnamespace=?)" +
+            "\n|| '/' || (SELECT count(*) || ':' || coalesce(sum(co.xmin::text::bigint),0) FROM pg_catalog.pg_constraint co WHERE co.connamespace=?)" +
+            "\n|| '/' || (SELECT count(*) || ':' || coalesce(sum(i.xmin::text::bigint),0) FROM pg_catalog.pg_index i INNER JOIN pg_catalog.pg_class c ON c.oid=i.indexrelid WHERE c.relnamespace=?)" +
+            "\n|| '/' || (SELECT count(*) || ':' || coalesce(sum(d.xmin::text::bigint),0) FROM pg_catalog.pg_description d INNER JOIN pg_catalog.pg_class c ON c.oid=d.objoid WHERE c.relnamespace=?)"))
+        {
+            for (int i = 1; i <= 6; i++) {
+                dbStat.setLong(i, getObjectId());
+            }
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                return dbResult.next() ? dbResult.getString(1) : null;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return name;
     }
 
+    /**
+     * Returns navigator filter for specified objects type if it can be applied in metadata query
+     */
+    @Nullable
+    private DBSObjectFilter getServerSideFilter(Class<?> objectType)
+    {
+        DBPDataSourceContainer container = getDataSource().getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)) {
+            return null;
+        }
+        DBSObjectFilter filter = container.getObjectFilter(objectType, this, false);
+        return filter == null || filter.isNotApplicable() ? null : filter;
+    }
+
+    // Navigator filters are case insensitive, so ILIKE is used
+    private static void appendFilterCondition(JDBCSession session, StringBuilder sql, String columnName, DBSObjectFilter filter)
+    {
+        sql.append("(");
+        List<String> include = filter.getInclude();
+        if (!CommonUtils.isEmpty(include)) {
+            sql.append("(");
+            for (int i = 0; i < include.size(); i++) {
+                if (i > 0) sql.append(" OR ");
+                SQLUtils.appendLikeMaskCondition(sql, session.getDataSource(), columnName, "ILIKE", include.get(i));
+            }
+            sql.append(")");
+        }
+        List<String> exclude = filter.getExclude();
+        if (!CommonUtils.isEmpty(exclude)) {
+            if (!CommonUtils.isEmpty(include)) sql.append(" AND ");
+            sql.append("NOT (");
+            for (int i = 0; i < exclude.size(); i++) {
+                if (i > 0) sql.append(" OR ");
+                SQLUtils.appendLikeMaskCondition(sql, session.getDataSource(), columnName, "ILIKE", exclude.get(i));
+            }
+            sql.append(")");
+        }
+        sql.append(")");
+    }
+
     class CollationCache extends JDBCObjectCache<PostgreSchema, PostgreCollation> {
 
         @Override
@@ -390,7 +514,7 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
         }
     }
 
-    public class TableCache extends JDBCStructLookupCache<PostgreSchema, PostgreTableBase, PostgreTableColumn> {
+    public class TableCache extends JDBCStructLookupCache<PostgreSchema, PostgreTableBase, PostgreTableColumn> implements JDBCSnapshotCache<PostgreSchema> {
 
         protected TableCache()
         {
@@ -398,6 +522,66 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
             setListOrderComparator(DBUtils.<PostgreTableBase>nameComparator());
         }
 
+        @Override
+        protected boolean isPrefetchSupported(@NotNull PostgreSchema owner)
+        {
+            return true;
+        }
+
+        @Nullable
+        @Override
+        public String readChangeMarker(@NotNull JDBCSession session, @NotNull PostgreSchema schema) throws SQLException {
+            return schema.readChangeMarker(session);
+        }
+
+        @Override
+        protected JDBCStatement prepareObjectVersionsStatement(@NotNull JDBCSession session, @NotNull PostgreSchema schema) throws SQLException {
+            // Table version is built from xmin of its own catalog rows and catalog rows of its columns, constraints, indexes and comments
+            final JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT c.relname,c.xmin::text" +
+                "\n|| ':' || (SELECT count(*) || '.' || coalesce(sum(a.xmin::text::bigint),0) FROM pg_catalog.pg_attribute a WHERE a.attrelid=c.oid)" +
+                "\n|| ':' || (SELECT count(*) || '.' || coalesce(sum(ad.xmin::text::bigint),0) FROM pg_catalog.pg_attrdef ad WHERE ad.adrelid=c.oid)" +
+                "\n|| ':' || (SELECT count(*) || '.' || coalesce(sum(co.xmin::text::bigint),0) FROM pg_catalog.pg_constraint co WHERE co.conrelid=c.oid)" +
+                "\n|| ':' || (SELECT count(*) || '.' || coalesce(sum(i.xmin::text::bigint + ic.xmin::text::bigint),0) FROM pg_catalog.pg_index i INNER JOIN pg_catalog.pg_class ic ON ic.oid=i.indexrelid WHERE i.indrelid=c.oid)" +
+                "\n|| ':' || (SELECT count(*) || '.' || coalesce(sum(d.xmin::text::bigint),0) FROM pg_catalog.pg_description d WHERE d.objoid=c.oid) as version" +
+                "\nFROM pg_catalog.pg_class c" +
+                "\nWHERE c.relnamespace=? AND c.relkind not in ('i','c')" +
+                getFilterClause(session, schema));
+            dbStat.setLong(1, schema.getObjectId());
+            return dbStat;
+        }
+
+        /**
+         * Builds condition for navigator filters. Each relation kind has its own filter.
+         */
+        private String getFilterClause(@NotNull JDBCSession session, @NotNull PostgreSchema schema) {
+            StringBuilder sql = new StringBuilder();
+            appendKindFilter(session, schema, sql, "'r','t','p'", PostgreTableRegular.class);
+            appendKindFilter(session, schema, sql, "'v'", PostgreView.class);
+            appendKindFilter(session, schema, sql, "'m'", PostgreMaterializedView.class);
+            appendKindFilter(session, schema, sql, "'f'", PostgreTableForeign.class);
+            appendKindFilter(session, schema, sql, "'S'", PostgreSequence.class);
+            return sql.toString();
+        }
+
+        private void appendKindFilter(JDBCSession session, PostgreSchema schema, StringBuilder sql, String relKinds, Class<?> objectType) {
+            DBSObjectFilter filter = schema.getServerSideFilter(objectType);
+            if (filter != null) {
+                sql.append("\nAND (c.relkind not in (").append(relKinds).append(") OR ");
+                appendFilterCondition(session, sql, "c.relname", filter);
+                sql.append(")");
+            }
+        }
+
+        @Override
+        protected boolean isServerSideFiltered(@NotNull PostgreSchema schema) {
+            return schema.getServerSideFilter(PostgreTableRegular.class) != null ||
+                schema.getServerSideFilter(PostgreView.class) != null ||
+                schema.getServerSideFilter(PostgreMaterializedView.class) != null ||
+                schema.getServerSideFilter(PostgreTableForeign.class) != null ||
+                schema.getServerSideFilter(PostgreSequence.class) != null;
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull PostgreSchema postgreSchema, @Nullable PostgreTableBase object, @Nullable String objectName) throws SQLException {
@@ -406,7 +590,7 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
                 "FROM pg_catalog.pg_class c\n" +
                 "LEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=c.oid AND d.objsubid=0\n" +
                 "WHERE c.relnamespace=? AND c.relkind not in ('i','c')" +
-                (object == null && objectName == null ? "" : " AND relname=?")
+                (object == null && objectName == null ? getFilterClause(session, postgreSchema) : " AND relname=?")
             );
             dbStat.setLong(1, getObjectId());
             if (object != null || objectName != null) dbStat.setString(2, object != null ? object.getName() : objectName);
@@ -496,11 +680,17 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
     /**
      * Constraint cache implementation
      */
-    class ConstraintCache extends JDBCCompositeCache<PostgreSchema, PostgreTableBase, PostgreTableConstraintBase, PostgreTableConstraintColumn> {
+    class ConstraintCache extends JDBCCompositeCache<PostgreSchema, PostgreTableBase, PostgreTableConstraintBase, PostgreTableConstraintColumn> implements JDBCSnapshotCache<PostgreSchema> {
         protected ConstraintCache() {
             super(tableCache, PostgreTableBase.class, "tabrelname", "conname");
         }
 
+        @Nullable
+        @Override
+        public String readChangeMarker(@NotNull JDBCSession session, @NotNull PostgreSchema schema) throws SQLException {
+            return schema.readChangeMarker(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreSchema schema, PostgreTableBase forParent) throws SQLException {
@@ -632,12 +822,18 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
     /**
      * Index cache implementation
      */
-    class IndexCache extends JDBCCompositeCache<PostgreSchema, PostgreTableBase, PostgreIndex, PostgreIndexColumn> {
+    class IndexCache extends JDBCCompositeCache<PostgreSchema, PostgreTableBase, PostgreIndex, PostgreIndexColumn> implements JDBCSnapshotCache<PostgreSchema> {
         protected IndexCache()
         {
             super(tableCache, PostgreTableBase.class, "tabrelname", "relname");
         }
 
+        @Nullable
+        @Override
+        public String readChangeMarker(@NotNull JDBCSession session, @NotNull PostgreSchema schema) throws SQLException {
+            return schema.readChangeMarker(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreSchema owner, PostgreTableBase forTable)
@@ -750,14 +946,22 @@ public class PostgreSchema implements DBSSchema, DBPNamedObject2, DBPSaveableObj
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull PostgreSchema owner, @Nullable PostgreProcedure object, @Nullable String objectName) throws SQLException {
-            JDBCPreparedStatement dbStat = session.prepareStatement(
+            StringBuilder sql = new StringBuilder(
                 "SELECT p.oid,p.*,d.description\n" +
-                    "FROM pg_catalog.pg_proc p\n" +
-                    "LEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=p.oid\n" +
-                    "WHERE p.pronamespace=?" +
-                    (object == null ? "" : " AND p.oid=?") +
-                    "\nORDER BY p.proname"
-            );
+                "FROM pg_catalog.pg_proc p\n" +
+                "LEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=p.oid\n" +
+                "WHERE p.pronamespace=?");
+            if (object != null) {
+                sql.append(" AND p.oid=?");
+            } else {
+                DBSObjectFilter procFilters = owner.getServerSideFilter(PostgreProcedure.class);
+                if (procFilters != null) {
+                    sql.append(" AND ");
+                    appendFilterCondition(session, sql, "p.proname", procFilters);
+                }
+            }
+            sql.append("\nORDER BY p.proname");
+            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
             dbStat.setLong(1, owner.getObjectId());
             if (object != null) {
                 dbStat.setLong(2, object.getObjectId());
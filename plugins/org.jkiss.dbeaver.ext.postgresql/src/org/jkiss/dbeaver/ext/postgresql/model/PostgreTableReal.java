@@ -29,6 +29,8 @@ import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.meta.Association;
+import org.jkiss.dbeaver.model.meta.IPropertyBatchLoader;
+import org.jkiss.dbeaver.model.meta.LazyProperty;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
@@ -36,6 +38,8 @@ import org.jkiss.dbeaver.model.struct.DBSEntity;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * PostgreTable base
@@ -104,6 +108,7 @@ public abstract class PostgreTableReal extends PostgreTableBase
     }
 
     @Property(category = CAT_STATISTICS, viewable = false, expensive = true, order = 24)
+    @LazyProperty(batchLoader = DiskSpaceLoader.class)
     public synchronized Long getDiskSpace(DBRProgressMonitor monitor)
     {
         if (diskSpace != null) {
@@ -134,6 +139,61 @@ public abstract class PostgreTableReal extends PostgreTableBase
         return diskSpace;
     }
 
+    /**
+     * Reads disk space of all tables of the same database with one query
+     */
+    public static class DiskSpaceLoader implements IPropertyBatchLoader<PostgreTableReal> {
+        @Override
+        public void loadProperty(DBRProgressMonitor monitor, Object propertyId, Collection<PostgreTableReal> objects) throws DBException {
+            PostgreDatabase database = null;
+            Map<Long, PostgreTableReal> tables = new HashMap<>();
+            for (PostgreTableReal table : objects) {
+                if (!table.isPersisted() || table instanceof PostgreView) {
+                    continue;
+                }
+                if (database == null) {
+                    database = table.getDatabase();
+                } else if (table.getDatabase() != database) {
+                    // Oids are unique only within database. Other tables will be read one by one
+                    continue;
+                }
+                synchronized (table) {
+                    if (table.diskSpace == null) {
+                        tables.put(table.getObjectId(), table);
+                    }
+                }
+            }
+            if (tables.isEmpty()) {
+                return;
+            }
+            StringBuilder sql = new StringBuilder("SELECT c.oid,pg_catalog.pg_total_relation_size(c.oid) FROM pg_catalog.pg_class c WHERE c.oid IN (");
+            boolean hasOid = false;
+            for (Long oid : tables.keySet()) {
+                if (hasOid) sql.append(",");
+                sql.append(oid);
+                hasOid = true;
+            }
+            sql.append(")");
+            final PostgreDataSource dataSource = database.getDataSource();
+            try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Calculate relations size on disk")) {
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString())) {
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            PostgreTableReal table = tables.get(dbResult.getLong(1));
+                            if (table != null) {
+                                synchronized (table) {
+                                    table.diskSpace = dbResult.getLong(2);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DBException(e, dataSource);
+            }
+        }
+    }
+
     @Override
     public Collection<PostgreTableConstraint> getConstraints(@NotNull DBRProgressMonitor monitor) throws DBException {
         return getSchema().constraintCache.getTypedObjects(monitor, getSchema(), this, PostgreTableConstraint.class);
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ext.sqlite.model;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ext.generic.model.GenericSQLDialect;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
@@ -35,4 +36,10 @@ public class SQLiteSQLDialect extends GenericSQLDialect {
     public String[][] getIdentifierQuoteStrings() {
         return BasicSQLDialect.DEFAULT_QUOTE_STRINGS;
     }
+
+    @NotNull
+    @Override
+    public MultiValueInsertMode getMultiValueInsertMode() {
+        return MultiValueInsertMode.GROUP_ROWS;
+    }
 }
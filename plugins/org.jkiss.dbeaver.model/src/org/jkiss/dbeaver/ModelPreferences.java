@@ -52,6 +52,7 @@ public final class ModelPreferences
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
+    public static final String META_CACHE_SNAPSHOTS = "database.meta.cache.snapshots"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -61,6 +62,12 @@ public final class ModelPreferences
 
     public static final String RESULT_TRANSFORM_COMPLEX_TYPES = "resultset.transform.complex.type"; //$NON-NLS-1$
 
+    // Multi-row INSERT ... VALUES (...),(...) statements in data batches
+    public static final String INSERT_MULTI_ROW_SIZE = "database.insert.multirow.size"; //$NON-NLS-1$
+    public static final String INSERT_MULTI_ROW_MAX_BYTES = "database.insert.multirow.maxBytes"; //$NON-NLS-1$
+    // Use multi-row statements even if driver supports batch updates
+    public static final String INSERT_MULTI_ROW_ALWAYS = "database.insert.multirow.always"; //$NON-NLS-1$
+
     // Network
     public static final String NET_TUNNEL_PORT_MIN = "net.tunnel.port.min"; //$NON-NLS-1$
     public static final String NET_TUNNEL_PORT_MAX = "net.tunnel.port.max"; //$NON-NLS-1$
@@ -118,6 +125,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_SEPARATE_CONNECTION, true);
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, META_CACHE_SNAPSHOTS, false);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -127,6 +135,10 @@ public final class ModelPreferences
 
         PrefUtils.setDefaultPreferenceValue(store, RESULT_TRANSFORM_COMPLEX_TYPES, true);
 
+        PrefUtils.setDefaultPreferenceValue(store, INSERT_MULTI_ROW_SIZE, 100);
+        PrefUtils.setDefaultPreferenceValue(store, INSERT_MULTI_ROW_MAX_BYTES, 1000000);
+        PrefUtils.setDefaultPreferenceValue(store, INSERT_MULTI_ROW_ALWAYS, false);
+
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_HEX_ENCODING, GeneralUtils.getDefaultFileEncoding());
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, true);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_BLOB, false);
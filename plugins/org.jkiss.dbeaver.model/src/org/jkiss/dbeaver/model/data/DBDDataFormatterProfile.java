@@ -44,6 +44,11 @@ public interface DBDDataFormatterProfile {
 
     boolean isOverridesParent();
 
+    /**
+     * Profile modification counter. Changes each time locale or formatter properties are changed.
+     */
+    int getModificationCount();
+
     void reset();
 
     void saveProfile() throws IOException;
@@ -0,0 +1,208 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination state.
+ * Data is read ordered by entity unique key and each next segment starts right after the last seen key
+ * (WHERE key > lastKey ORDER BY key) instead of skipping OFFSET rows.
+ */
+public class DBDDataKeyset {
+
+    private final DBSEntity entity;
+    private final List<DBSEntityAttribute> keyAttributes;
+    private int[] keyIndexes;
+    private Object[] lastKey;
+
+    private DBDDataKeyset(@NotNull DBSEntity entity, @NotNull List<DBSEntityAttribute> keyAttributes)
+    {
+        this.entity = entity;
+        this.keyAttributes = keyAttributes;
+    }
+
+    @NotNull
+    public DBSEntity getEntity()
+    {
+        return entity;
+    }
+
+    @NotNull
+    public List<DBSEntityAttribute> getKeyAttributes()
+    {
+        return keyAttributes;
+    }
+
+    @Nullable
+    public Object[] getLastKey()
+    {
+        return lastKey;
+    }
+
+    public void setLastKey(@Nullable Object[] lastKey)
+    {
+        this.lastKey = lastKey;
+    }
+
+    public boolean hasLastKey()
+    {
+        return lastKey != null;
+    }
+
+    /**
+     * Makes filter for the next data segment.
+     * Rows are ordered by key and (if some data was already read) start after the last seen key.
+     */
+    @NotNull
+    public DBDDataFilter makeSegmentFilter(@NotNull DBPDataSource dataSource, @Nullable DBDDataFilter dataFilter)
+    {
+        DBDDataFilter segmentFilter;
+        if (lastKey == null) {
+            segmentFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+        } else {
+            // (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+            StringBuilder condition = new StringBuilder();
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                if (i > 0) condition.append(" OR ");
+                condition.append("(");
+                for (int k = 0; k <= i; k++) {
+                    DBSEntityAttribute attr = keyAttributes.get(k);
+                    if (k > 0) condition.append(" AND ");
+                    condition.append(DBUtils.getQuotedIdentifier(attr))
+                        .append(k < i ? "=" : ">")
+                        .append(SQLUtils.convertValueToSQL(dataSource, attr, lastKey[k]));
+                }
+                condition.append(")");
+            }
+            segmentFilter = SQLUtils.makeFilterWithCondition(dataSource, dataFilter, condition.toString());
+        }
+        StringBuilder order = new StringBuilder();
+        for (DBSEntityAttribute attr : keyAttributes) {
+            if (order.length() > 0) order.append(",");
+            order.append(DBUtils.getQuotedIdentifier(attr));
+        }
+        segmentFilter.setOrder(order.toString());
+        return segmentFilter;
+    }
+
+    /**
+     * Resolves key attributes positions in result set
+     * @return false if some key attribute is missing in result set
+     */
+    public boolean bindResultSet(@NotNull List<? extends DBCAttributeMetaData> attributes)
+    {
+        int[] indexes = new int[keyAttributes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = -1;
+            String keyName = keyAttributes.get(i).getName();
+            for (int k = 0; k < attributes.size(); k++) {
+                if (keyName.equalsIgnoreCase(attributes.get(k).getName())) {
+                    indexes[i] = k;
+                    break;
+                }
+            }
+            if (indexes[i] < 0) {
+                keyIndexes = null;
+                return false;
+            }
+        }
+        keyIndexes = indexes;
+        return true;
+    }
+
+    /**
+     * Reads key of the current result set row and remembers it as the last seen key
+     */
+    public void fetchLastKey(@NotNull DBCSession session, @NotNull DBCResultSet resultSet)
+        throws DBCException
+    {
+        if (keyIndexes == null) {
+            return;
+        }
+        Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            DBSEntityAttribute attr = keyAttributes.get(i);
+            key[i] = DBUtils.findValueHandler(session, attr).fetchValueObject(session, resultSet, attr, keyIndexes[i]);
+        }
+        lastKey = key;
+    }
+
+    /**
+     * Remembers key of already fetched row (values in result set attributes order)
+     */
+    public void setLastKeyFromRow(@NotNull Object[] row)
+    {
+        if (keyIndexes == null) {
+            return;
+        }
+        Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            key[i] = keyIndexes[i] < row.length ? row[keyIndexes[i]] : null;
+        }
+        lastKey = key;
+    }
+
+    /**
+     * Creates keyset for specified data container.
+     * Keyset pagination is possible only for entities with unique key and when data isn't ordered by something else.
+     * @return null if keyset pagination isn't supported
+     */
+    @Nullable
+    public static DBDDataKeyset makeKeyset(@NotNull DBRProgressMonitor monitor, @NotNull DBSDataContainer dataContainer, @Nullable DBDDataFilter dataFilter)
+        throws DBException
+    {
+        if (!(dataContainer instanceof DBSEntity) || (dataContainer.getSupportedFeatures() & DBSDataContainer.DATA_FILTER) == 0) {
+            return null;
+        }
+        if (dataFilter != null && dataFilter.hasOrdering()) {
+            return null;
+        }
+        Collection<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, (DBSEntity) dataContainer);
+        if (identifier.isEmpty()) {
+            return null;
+        }
+        List<DBSEntityAttribute> keyAttributes = new ArrayList<>(identifier.size());
+        for (DBSEntityAttribute attr : identifier) {
+            DBPDataKind dataKind = attr.getDataKind();
+            if (dataKind != DBPDataKind.NUMERIC && dataKind != DBPDataKind.STRING && dataKind != DBPDataKind.DATETIME) {
+                return null;
+            }
+            keyAttributes.add(attr);
+        }
+        return new DBDDataKeyset((DBSEntity) dataContainer, keyAttributes);
+    }
+
+}
@@ -30,4 +30,30 @@ public class AggregateUtils {
             return 0;
         }
     }
+
+    /**
+     * 64-bit hash of value for cardinality estimation.
+     * Strings are hashed by all characters to avoid 32-bit hash code collisions.
+     */
+    public static long hashValue(Object value) {
+        long hash;
+        if (value == null) {
+            hash = 0;
+        } else if (value instanceof CharSequence) {
+            CharSequence str = (CharSequence) value;
+            hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < str.length(); i++) {
+                hash = (hash ^ str.charAt(i)) * 0x100000001b3L;
+            }
+        } else {
+            hash = value.hashCode();
+        }
+        // MurmurHash3 finalizer
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
 }
@@ -19,31 +19,13 @@ package org.jkiss.dbeaver.model.data.aggregate;
 /**
  * FunctionAvg
  */
-public class FunctionAvg extends FunctionNumeric {
-
-    protected double result = Double.NaN;
-
-    @Override
-    public boolean accumulate(Object value) {
-        Number num = getNumeric(value);
-        if (num != null) {
-            if (Double.isNaN(result)) {
-                result = 0.0;
-            }
-            result += num.doubleValue();
-            return true;
-        }/* else if (value instanceof Date) {
-            dateResult += ((Date)value).getTime();
-            return true;
-        }*/
-        return false;
-    }
+public class FunctionAvg extends FunctionSum {
 
     @Override
     public Object getResult(int valueCount) {
         if (Double.isNaN(result)) {
             return null;
         }
-        return result / valueCount;
+        return getSum() / valueCount;
     }
 }
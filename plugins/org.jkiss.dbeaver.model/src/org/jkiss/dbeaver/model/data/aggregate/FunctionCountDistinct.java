@@ -20,25 +20,59 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * FunctionCountDistinct
+ * FunctionCountDistinct.
+ * Counts exactly up to {@link #EXACT_LIMIT} distinct values, then switches to HyperLogLog estimation.
  */
-public class FunctionCountDistinct implements IAggregateFunction {
+public class FunctionCountDistinct implements IMergeableAggregateFunction {
+
+    private static final int EXACT_LIMIT = 10000;
 
-    private int count = 0;
     private Set<Object> cache = new HashSet<>();
+    private HyperLogLog estimator;
 
     @Override
     public boolean accumulate(Object value) {
-        if (!cache.contains(value)) {
-            count++;
-            cache.add(value);
+        if (estimator != null) {
+            estimator.add(AggregateUtils.hashValue(value));
+            return true;
+        }
+        if (cache.add(value)) {
+            if (cache.size() > EXACT_LIMIT) {
+                switchToEstimator();
+            }
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(IMergeableAggregateFunction partial) {
+        FunctionCountDistinct other = (FunctionCountDistinct) partial;
+        if (other.estimator != null) {
+            if (estimator == null) {
+                switchToEstimator();
+            }
+            estimator.merge(other.estimator);
+        } else {
+            for (Object value : other.cache) {
+                accumulate(value);
+            }
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
-        return count;
+        if (estimator != null) {
+            return estimator.estimate();
+        }
+        return cache.size();
+    }
+
+    private void switchToEstimator() {
+        estimator = new HyperLogLog();
+        for (Object value : cache) {
+            estimator.add(AggregateUtils.hashValue(value));
+        }
+        cache = null;
     }
 }
@@ -21,26 +21,62 @@ import org.jkiss.dbeaver.Log;
 import java.util.*;
 
 /**
- * Median
+ * Median.
+ * Exact for up to {@link #EXACT_LIMIT} values. Bigger numeric sets are estimated with t-digest,
+ * other comparable values with uniform random sample of values.
  */
-public class FunctionMedian implements IAggregateFunction {
+public class FunctionMedian implements IMergeableAggregateFunction {
 
     private static final Log log = Log.getLog(FunctionMedian.class);
 
+    private static final int EXACT_LIMIT = 10000;
+    private static final double DIGEST_COMPRESSION = 200;
+
+    // All values (or sample of non-numeric values)
     private List<Comparable> cache = new ArrayList<>();
+    // Numeric values estimation
+    private TDigest digest;
+    // Number of non-numeric values (sampled by cache)
+    private long sampledCount;
+    private boolean sampling;
+    // Both numeric and non-numeric values were found after switching to digest
+    private boolean mixed;
+    private Random random;
 
     @Override
     public boolean accumulate(Object value) {
         value = FunctionNumeric.getComparable(value);
         if (value != null) {
-            cache.add((Comparable) value);
+            addValue((Comparable) value);
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(IMergeableAggregateFunction partial) {
+        FunctionMedian other = (FunctionMedian) partial;
+        if (other.digest != null) {
+            if (digest == null) {
+                switchToDigest();
+            }
+            digest.merge(other.digest);
+            mixed |= other.mixed;
+        } else if (other.sampling) {
+            mergeSample(other);
+        } else {
+            for (Comparable value : other.cache) {
+                addValue(value);
+            }
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
+        if (digest != null) {
+            // Non-numeric values can't be compared with numbers
+            return mixed ? null : digest.quantile(0.5);
+        }
         try {
             Collections.sort(cache);
         } catch (Exception e) {
@@ -63,4 +99,80 @@ public class FunctionMedian implements IAggregateFunction {
             return val1;
         }
     }
+
+    private void addValue(Comparable value) {
+        if (digest != null) {
+            if (value instanceof Number) {
+                digest.add(((Number) value).doubleValue());
+            } else {
+                mixed = true;
+            }
+            return;
+        }
+        if (sampling) {
+            // Reservoir sampling: each value gets into sample with equal probability
+            sampledCount++;
+            long index = (long) (getRandom().nextDouble() * sampledCount);
+            if (index < EXACT_LIMIT) {
+                cache.set((int) index, value);
+            }
+            return;
+        }
+        cache.add(value);
+        if (cache.size() > EXACT_LIMIT) {
+            if (value instanceof Number && cache.get(0) instanceof Number) {
+                switchToDigest();
+            } else {
+                cache.remove(cache.size() - 1);
+                sampling = true;
+                sampledCount = EXACT_LIMIT;
+                addValue(value);
+            }
+        }
+    }
+
+    private void switchToDigest() {
+        digest = new TDigest(DIGEST_COMPRESSION);
+        for (Comparable value : cache) {
+            if (value instanceof Number) {
+                digest.add(((Number) value).doubleValue());
+            } else {
+                mixed = true;
+            }
+        }
+        cache = new ArrayList<>();
+        sampling = false;
+    }
+
+    private void mergeSample(FunctionMedian other) {
+        if (!sampling) {
+            // Add our values to the other sample
+            List<Comparable> values = cache;
+            cache = new ArrayList<>(other.cache);
+            sampledCount = other.sampledCount;
+            sampling = true;
+            for (Comparable value : values) {
+                addValue(value);
+            }
+            return;
+        }
+        // Both are samples: take values from each in proportion to values count they represent
+        long totalCount = sampledCount + other.sampledCount;
+        int fromThis = (int) Math.round((double) EXACT_LIMIT * sampledCount / totalCount);
+        List<Comparable> thisValues = new ArrayList<>(cache);
+        List<Comparable> otherValues = new ArrayList<>(other.cache);
+        Collections.shuffle(thisValues, getRandom());
+        Collections.shuffle(otherValues, getRandom());
+        cache = new ArrayList<>(EXACT_LIMIT);
+        cache.addAll(thisValues.subList(0, Math.min(fromThis, thisValues.size())));
+        cache.addAll(otherValues.subList(0, Math.min(EXACT_LIMIT - cache.size(), otherValues.size())));
+        sampledCount = totalCount;
+    }
+
+    private Random getRandom() {
+        if (random == null) {
+            random = new Random();
+        }
+        return random;
+    }
 }
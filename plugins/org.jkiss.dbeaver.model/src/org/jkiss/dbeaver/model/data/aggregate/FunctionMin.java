@@ -19,7 +19,7 @@ package org.jkiss.dbeaver.model.data.aggregate;
 /**
  * FunctionSum
  */
-public class FunctionMin implements IAggregateFunction {
+public class FunctionMin implements IMergeableAggregateFunction {
 
     Comparable result = null;
 
@@ -35,6 +35,14 @@ public class FunctionMin implements IAggregateFunction {
         return false;
     }
 
+    @Override
+    public void merge(IMergeableAggregateFunction partial) {
+        Comparable other = ((FunctionMin) partial).result;
+        if (other != null) {
+            accumulate(other);
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
         return result;
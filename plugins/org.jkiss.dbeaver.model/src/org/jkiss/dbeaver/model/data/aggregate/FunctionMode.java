@@ -16,15 +16,15 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Mode
  */
-public class FunctionMode implements IAggregateFunction {
+public class FunctionMode implements IMergeableAggregateFunction {
 
-    private List<Object> cache = new ArrayList<>();
+    private Map<Object, Integer> counts = new LinkedHashMap<>();
 
     @Override
     public boolean accumulate(Object value) {
@@ -33,27 +33,28 @@ public class FunctionMode implements IAggregateFunction {
             value = num;
         }
         if (value != null) {
-            cache.add(value);
+            addValue(value, 1);
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(IMergeableAggregateFunction partial) {
+        for (Map.Entry<Object, Integer> entry : ((FunctionMode) partial).counts.entrySet()) {
+            addValue(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
         Object maxValue = null;
         int maxCount = 0;
 
-        for (int i = 0; i < cache.size(); ++i) {
-            int count = 0;
-            for (int j = 0; j < cache.size(); ++j) {
-                if (cache.get(j).equals(cache.get(i))) {
-                    count++;
-                }
-            }
-            if (count > maxCount) {
-                maxCount = count;
-                maxValue = cache.get(i);
+        for (Map.Entry<Object, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > maxCount) {
+                maxCount = entry.getValue();
+                maxValue = entry.getKey();
             }
         }
 //        if (maxCount <= 1) {
@@ -61,4 +62,9 @@ public class FunctionMode implements IAggregateFunction {
 //        }
         return maxValue;
     }
+
+    private void addValue(Object value, int count) {
+        Integer prevCount = counts.get(value);
+        counts.put(value, prevCount == null ? count : prevCount + count);
+    }
 }
@@ -17,31 +17,57 @@
 package org.jkiss.dbeaver.model.data.aggregate;
 
 /**
- * FunctionSum
+ * FunctionSum.
+ * Uses compensated (Kahan-Babuska) summation to keep precision on large value sets.
  */
-public class FunctionSum extends FunctionNumeric {
+public class FunctionSum extends FunctionNumeric implements IMergeableAggregateFunction {
 
     protected double result = Double.NaN;
+    // Accumulated low-order bits lost in result
+    protected double compensation = 0.0;
 
     @Override
     public boolean accumulate(Object value) {
         Number num = getNumeric(value);
         if (num != null) {
-            if (Double.isNaN(result)) {
-                result = 0.0;
-            }
-            result += num.doubleValue();
+            add(num.doubleValue());
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(IMergeableAggregateFunction partial) {
+        FunctionSum other = (FunctionSum) partial;
+        if (!Double.isNaN(other.result)) {
+            add(other.result);
+            add(other.compensation);
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
         if (Double.isNaN(result)) {
             return null;
         }
-        return result;
+        return getSum();
+    }
+
+    protected double getSum() {
+        return result + compensation;
+    }
+
+    private void add(double value) {
+        if (Double.isNaN(result)) {
+            result = 0.0;
+        }
+        double sum = result + value;
+        if (Math.abs(result) >= Math.abs(value)) {
+            compensation += (result - sum) + value;
+        } else {
+            compensation += (value - sum) + result;
+        }
+        result = sum;
     }
 
 }
@@ -0,0 +1,191 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Merging t-digest (T. Dunning) for quantile estimation.
+ * Keeps a bounded number of centroids (about compression value), so memory doesn't depend on values count.
+ * Centroids near the tails are kept small, which makes extreme quantiles more accurate.
+ */
+class TDigest {
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferCount;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) * 2 + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+    }
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    void add(double value, double weight) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (bufferCount == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferCount] = value;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroidCount; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    double getTotalWeight() {
+        return totalWeight;
+    }
+
+    double quantile(double q) {
+        compress();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        double target = q * totalWeight;
+        double cumulative = 0;
+        double prevCenter = 0, prevMean = min;
+        for (int i = 0; i < centroidCount; i++) {
+            double center = cumulative + weights[i] / 2;
+            if (target < center) {
+                return interpolate(target, prevCenter, prevMean, center, means[i]);
+            }
+            cumulative += weights[i];
+            prevCenter = center;
+            prevMean = means[i];
+        }
+        return interpolate(target, prevCenter, prevMean, totalWeight, max);
+    }
+
+    private static double interpolate(double x, double x1, double y1, double x2, double y2) {
+        if (x2 <= x1) {
+            return y2;
+        }
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+        // Sort buffer together with existing centroids
+        final int count = centroidCount + bufferCount;
+        final double[] allMeans = new double[count];
+        final double[] allWeights = new double[count];
+        System.arraycopy(means, 0, allMeans, 0, centroidCount);
+        System.arraycopy(weights, 0, allWeights, 0, centroidCount);
+        System.arraycopy(bufferMeans, 0, allMeans, centroidCount, bufferCount);
+        System.arraycopy(bufferWeights, 0, allWeights, centroidCount, bufferCount);
+        bufferCount = 0;
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(allMeans[o1], allMeans[o2]);
+            }
+        });
+
+        // Merge adjacent centroids while their size fits the scale function limit
+        double[] newMeans = new double[Math.max(means.length, 16)];
+        double[] newWeights = new double[newMeans.length];
+        int newCount = 0;
+        double weightSoFar = 0;
+        double curMean = allMeans[order[0]];
+        double curWeight = allWeights[order[0]];
+        double qLimit = limitQuantile(0);
+        for (int i = 1; i < count; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            if ((weightSoFar + curWeight + weight) / totalWeight <= qLimit) {
+                curWeight += weight;
+                curMean += (mean - curMean) * weight / curWeight;
+            } else {
+                if (newCount == newMeans.length) {
+                    newMeans = Arrays.copyOf(newMeans, newCount * 2);
+                    newWeights = Arrays.copyOf(newWeights, newCount * 2);
+                }
+                newMeans[newCount] = curMean;
+                newWeights[newCount] = curWeight;
+                newCount++;
+                weightSoFar += curWeight;
+                qLimit = limitQuantile(weightSoFar / totalWeight);
+                curMean = mean;
+                curWeight = weight;
+            }
+        }
+        if (newCount == newMeans.length) {
+            newMeans = Arrays.copyOf(newMeans, newCount + 1);
+            newWeights = Arrays.copyOf(newWeights, newCount + 1);
+        }
+        newMeans[newCount] = curMean;
+        newWeights[newCount] = curWeight;
+        newCount++;
+
+        means = newMeans;
+        weights = newWeights;
+        centroidCount = newCount;
+    }
+
+    /**
+     * Upper quantile of centroid which starts at quantile q. Uses k1 scale function: k(q) = compression / 2PI * asin(2q - 1)
+     */
+    private double limitQuantile(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+}
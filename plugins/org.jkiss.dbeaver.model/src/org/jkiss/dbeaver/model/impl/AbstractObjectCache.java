@@ -33,15 +33,17 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ * Cache content is copy-on-write: readers never lock, modifications publish new object list.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject>
     implements DBSObjectCache<OWNER, OBJECT>
 {
     private static final Log log = Log.getLog(AbstractObjectCache.class);
 
-    private List<OBJECT> objectList;
-    private Map<String, OBJECT> objectMap;
+    // Guards cache modifications only
+    private final Object cacheLock = new Object();
+    private volatile CacheState<OBJECT> cacheState;
     protected volatile boolean fullCache = false;
     protected volatile boolean caseSensitive = true;
     protected Comparator<OBJECT> listOrderComparator;
@@ -68,9 +70,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
-        synchronized (this) {
-            return objectList == null ? Collections.<OBJECT>emptyList() : objectList;
-        }
+        final CacheState<OBJECT> state = cacheState;
+        return state == null ? Collections.<OBJECT>emptyList() : state.objectList;
     }
 
     public <SUB_TYPE> Collection<SUB_TYPE> getTypedObjects(DBRProgressMonitor monitor, OWNER owner, Class<SUB_TYPE> type)
@@ -89,38 +90,39 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
-        synchronized (this) {
-            return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
-        }
+        final CacheState<OBJECT> state = cacheState;
+        return state == null || name == null ? null : getObjectMap(state).get(caseSensitive ? name : name.toUpperCase());
     }
 
     @Override
     public void cacheObject(@NotNull OBJECT object)
     {
-        synchronized (this) {
-            if (this.objectList == null) {
-                this.objectList = new ArrayList<>();
-            }
+        synchronized (cacheLock) {
             detectCaseSensitivity(object);
-            this.objectList.add(object);
-            if (this.objectMap != null) {
+            final CacheState<OBJECT> state = cacheState;
+            List<OBJECT> newList = new ArrayList<>(state == null ? 1 : state.objectList.size() + 1);
+            if (state != null) {
+                newList.addAll(state.objectList);
+            }
+            newList.add(object);
+            Map<String, OBJECT> newMap = null;
+            if (state != null && state.objectMap != null) {
+                newMap = new HashMap<>(state.objectMap);
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                checkDuplicateName(newMap, name, object);
+                newMap.put(name, object);
             }
+            cacheState = new CacheState<>(newList, newMap);
         }
     }
 
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
-        synchronized (this) {
-            if (this.objectList != null) {
+        synchronized (cacheLock) {
+            if (cacheState != null) {
                 detectCaseSensitivity(object);
-                this.objectList.remove(object);
-                if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
-                }
+                removeCachedObject(object);
             }
             if (resetFullCache) {
                 fullCache = false;
@@ -128,6 +130,22 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    private void removeCachedObject(@NotNull OBJECT object)
+    {
+        final CacheState<OBJECT> state = cacheState;
+        if (state == null || !state.objectList.contains(object)) {
+            return;
+        }
+        List<OBJECT> newList = new ArrayList<>(state.objectList);
+        newList.remove(object);
+        Map<String, OBJECT> newMap = null;
+        if (state.objectMap != null) {
+            newMap = new HashMap<>(state.objectMap);
+            newMap.remove(getObjectName(object));
+        }
+        cacheState = new CacheState<>(newList, newMap);
+    }
+
     @Nullable
     public <SUB_TYPE> SUB_TYPE getObject(DBRProgressMonitor monitor, OWNER owner, String name, Class<SUB_TYPE> type)
         throws DBException
@@ -144,18 +162,19 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public void clearCache()
     {
-        synchronized (this) {
-            this.objectList = null;
-            this.objectMap = null;
+        synchronized (cacheLock) {
+            this.cacheState = null;
             this.fullCache = false;
         }
     }
 
+    /**
+     * Sets new cache content. Objects list must not be modified after this call.
+     */
     public void setCache(List<OBJECT> objects)
     {
-        synchronized (this) {
-            this.objectList = objects;
-            this.objectMap = null;
+        synchronized (cacheLock) {
+            this.cacheState = new CacheState<>(objects, null);
             this.fullCache = true;
         }
     }
@@ -167,20 +186,22 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
      */
     protected void mergeCache(List<OBJECT> objects)
     {
-        synchronized (this) {
-            if (this.objectList != null) {
+        synchronized (cacheLock) {
+            final List<OBJECT> objectList = getCachedObjects();
+            if (!objectList.isEmpty()) {
                 // Merge lists
+                Map<String, OBJECT> oldObjects = new HashMap<>(objectList.size());
+                for (OBJECT oldObject : objectList) {
+                    String oldObjectName = getObjectName(oldObject);
+                    if (!oldObjects.containsKey(oldObjectName)) {
+                        oldObjects.put(oldObjectName, oldObject);
+                    }
+                }
                 objects = new ArrayList<>(objects);
                 for (int i = 0; i < objects.size(); i++) {
-                    OBJECT newObject = objects.get(i);
-                    String newObjectName = getObjectName(newObject);
-                    for (int k = 0; k < objectList.size(); k++) {
-                        OBJECT oldObject = objectList.get(k);
-                        String oldObjectName = getObjectName(oldObject);
-                        if (newObjectName.equals(oldObjectName)) {
-                            objects.set(i, oldObject);
-                            break;
-                        }
+                    OBJECT oldObject = oldObjects.get(getObjectName(objects.get(i)));
+                    if (oldObject != null) {
+                        objects.set(i, oldObject);
                     }
                 }
             }
@@ -188,21 +209,24 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         setCache(objects);
     }
 
-    private synchronized Map<String, OBJECT> getObjectMap()
+    private Map<String, OBJECT> getObjectMap(CacheState<OBJECT> state)
     {
-        if (this.objectMap == null) {
-            this.objectMap = new HashMap<>();
-            for (OBJECT object : objectList) {
+        Map<String, OBJECT> objectMap = state.objectMap;
+        if (objectMap == null) {
+            // Concurrent readers may build the same index twice. It is cheaper than locking
+            objectMap = new HashMap<>(state.objectList.size());
+            for (OBJECT object : state.objectList) {
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                checkDuplicateName(objectMap, name, object);
+                objectMap.put(name, object);
             }
+            state.objectMap = objectMap;
         }
-        return this.objectMap;
+        return objectMap;
     }
 
-    private void checkDuplicateName(String name, OBJECT object) {
-        if (this.objectMap.containsKey(name)) {
+    private void checkDuplicateName(Map<String, OBJECT> objectMap, String name, OBJECT object) {
+        if (objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
         }
     }
@@ -224,22 +248,21 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     }
 
     public void clearChildrenOf(DBSObject parent) {
-        synchronized (this) {
-            if (objectList == null) {
+        synchronized (cacheLock) {
+            final CacheState<OBJECT> state = cacheState;
+            if (state == null) {
                 return;
             }
-            for (int i = 0; i < objectList.size(); ) {
-                OBJECT object = objectList.get(i);
-                if (object.getParentObject() == parent) {
-                    this.objectList.remove(object);
-                    if (this.objectMap != null) {
-                        this.objectMap.remove(getObjectName(object));
-                    }
-                    fullCache = false;
-                } else {
-                    i++;
+            List<OBJECT> newList = new ArrayList<>(state.objectList.size());
+            for (OBJECT object : state.objectList) {
+                if (object.getParentObject() != parent) {
+                    newList.add(object);
                 }
             }
+            if (newList.size() != state.objectList.size()) {
+                cacheState = new CacheState<>(newList, null);
+                fullCache = false;
+            }
         }
     }
 
@@ -302,8 +325,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    /**
+     * Iterates over current cache content. Removal publishes new cache content.
+     */
     protected class CacheIterator implements Iterator<OBJECT> {
-        private Iterator<OBJECT> listIterator = objectList.iterator();
+        private Iterator<OBJECT> listIterator = getCachedObjects().iterator();
         private OBJECT curObject;
         public CacheIterator()
         {
@@ -324,13 +350,23 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         @Override
         public void remove()
         {
-            listIterator.remove();
-            if (objectMap != null) {
-                objectMap.remove(getObjectName(curObject));
+            synchronized (cacheLock) {
+                removeCachedObject(curObject);
             }
         }
     }
 
+    private static class CacheState<OBJECT> {
+        final List<OBJECT> objectList;
+        // Name index. Built on demand
+        volatile Map<String, OBJECT> objectMap;
+
+        CacheState(List<OBJECT> objectList, Map<String, OBJECT> objectMap) {
+            this.objectList = objectList;
+            this.objectMap = objectMap;
+        }
+    }
+
     public static boolean isPropertyGroupField(Field field) {
         String getterName = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
         for (Method getter : field.getDeclaringClass().getMethods()) {
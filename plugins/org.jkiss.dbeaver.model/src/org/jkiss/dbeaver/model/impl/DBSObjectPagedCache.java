@@ -0,0 +1,50 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.List;
+
+/**
+ * Objects cache which reads objects by pages
+ */
+public interface DBSObjectPagedCache<OWNER extends DBSObject, OBJECT extends DBSObject>
+    extends DBSObjectCache<OWNER, OBJECT>
+{
+
+    /**
+     * Number of objects read by one database query
+     */
+    int getPageSize();
+
+    /**
+     * Number of owner objects or -1 if objects weren't read yet
+     */
+    int getObjectCount();
+
+    /**
+     * Reads objects in specified range
+     */
+    @NotNull
+    List<OBJECT> getObjects(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, int offset, int count)
+        throws DBException;
+
+}
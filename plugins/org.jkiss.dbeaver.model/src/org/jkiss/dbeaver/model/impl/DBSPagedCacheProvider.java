@@ -0,0 +1,37 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Object which reads some of its children collections with paged caches.
+ * Navigator reads such collections page by page.
+ */
+public interface DBSPagedCacheProvider {
+
+    /**
+     * Returns paged cache of children collection read by specified property.
+     * Cache owner is the provider itself.
+     * @param propertyName children property name (from navigator tree meta)
+     * @return paged cache or null if collection isn't paged
+     */
+    @Nullable
+    DBSObjectPagedCache<?, ?> getPagedCache(@NotNull String propertyName);
+
+}
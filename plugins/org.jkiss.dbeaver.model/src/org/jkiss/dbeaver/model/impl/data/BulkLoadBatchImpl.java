@@ -0,0 +1,193 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.utils.ArrayUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Bulk load batch.
+ * Collects rows and passes them to database native loader on each execution.
+ * Also provides tab-delimited text format (with \N for nulls and backslash escapes),
+ * which is understood by both PostgreSQL COPY and MySQL LOAD DATA.
+ */
+public abstract class BulkLoadBatchImpl implements DBSDataManipulator.ExecuteBatch {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+    private static final DateTimeFormatter TIMESTAMP_OFFSET_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSxxx");
+
+    protected final DBSAttributeBase[] attributes;
+    protected final List<Object[]> values = new ArrayList<>();
+
+    protected BulkLoadBatchImpl(@NotNull DBSAttributeBase[] attributes)
+    {
+        this.attributes = attributes;
+    }
+
+    @Override
+    public void add(@NotNull Object[] attributeValues) throws DBCException
+    {
+        if (!ArrayUtils.isEmpty(attributes) && ArrayUtils.isEmpty(attributeValues)) {
+            throw new DBCException("Bad attribute values: " + Arrays.toString(attributeValues));
+        }
+        values.add(attributeValues);
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics execute(@NotNull DBCSession session) throws DBCException
+    {
+        DBCStatistics statistics = new DBCStatistics();
+        if (values.isEmpty()) {
+            return statistics;
+        }
+        long startTime = System.currentTimeMillis();
+        long rowCount = loadRows(session, values);
+        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        statistics.addStatementsCount();
+        statistics.addRowsUpdated(rowCount);
+        values.clear();
+        return statistics;
+    }
+
+    @Override
+    public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions) throws DBCException
+    {
+        throw new DBCException("Bulk load can't be represented as a script");
+    }
+
+    @Override
+    public void close()
+    {
+        values.clear();
+    }
+
+    /**
+     * Loads rows into the table
+     * @return number of loaded rows
+     */
+    protected abstract long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException;
+
+    /**
+     * Checks that all attributes have simple data types which can be represented in text format
+     */
+    public static boolean isTextFormatSupported(@NotNull DBSAttributeBase[] attributes)
+    {
+        for (DBSAttributeBase attr : attributes) {
+            switch (attr.getDataKind()) {
+                case BOOLEAN:
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends row in text format. Each row ends with new line.
+     */
+    protected void appendTextRow(@NotNull StringBuilder buffer, @NotNull Object[] row)
+    {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            Object value = row[i];
+            if (DBUtils.isNullValue(value)) {
+                buffer.append("\\N");
+            } else {
+                appendTextValue(buffer, formatTextValue(attributes[i], value));
+            }
+        }
+        buffer.append('\n');
+    }
+
+    /**
+     * Converts value to its text representation.
+     */
+    @NotNull
+    protected String formatTextValue(@NotNull DBSAttributeBase attribute, @NotNull Object value)
+    {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (isTimestampValue(value)) {
+            // Local time with explicit offset: time zone aware columns get the right instant whatever the session time zone is
+            return formatTimestamp((Date) value, ZoneId.systemDefault(), true);
+        } else if (attribute.getDataKind() == DBPDataKind.BOOLEAN && value instanceof Boolean) {
+            return (Boolean) value ? "true" : "false";
+        }
+        return value.toString();
+    }
+
+    protected static boolean isTimestampValue(@NotNull Object value)
+    {
+        return value instanceof Date && !(value instanceof java.sql.Date) && !(value instanceof java.sql.Time);
+    }
+
+    /**
+     * Formats timestamp (with microseconds) in specified time zone.
+     * @param withOffset append zone offset (e.g. +03:00)
+     */
+    @NotNull
+    protected static String formatTimestamp(@NotNull Date value, @NotNull ZoneId zone, boolean withOffset)
+    {
+        return (withOffset ? TIMESTAMP_OFFSET_FORMAT : TIMESTAMP_FORMAT).format(value.toInstant().atZone(zone));
+    }
+
+    @NotNull
+    protected static String formatTimestampUTC(@NotNull Date value)
+    {
+        return formatTimestamp(value, ZoneOffset.UTC, false);
+    }
+
+    private static void appendTextValue(@NotNull StringBuilder buffer, @NotNull String value)
+    {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': buffer.append("\\\\"); break;
+                case '\t': buffer.append("\\t"); break;
+                case '\n': buffer.append("\\n"); break;
+                case '\r': buffer.append("\\r"); break;
+                default: buffer.append(c); break;
+            }
+        }
+    }
+
+}
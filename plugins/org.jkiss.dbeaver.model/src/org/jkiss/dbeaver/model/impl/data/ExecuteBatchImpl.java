@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.model.impl.data;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
@@ -26,13 +27,12 @@ import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistAction;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * Execute batch.
@@ -43,6 +43,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
     private static final Log log = Log.getLog(ExecuteBatchImpl.class);
 
+    // Max number of parameters in one multi-row statement (lowest common limit, e.g. SQLite)
+    private static final int MAX_MULTI_ROW_PARAMETERS = 999;
+
     protected final DBSAttributeBase[] attributes;
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
@@ -106,6 +109,14 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             useBatch = false;
         }
 
+        if (actions == null && keysReceiver == null && values.size() > 1 && isMultiRowSupported(session)) {
+            DBPPreferenceStore prefs = session.getDataSource().getContainer().getPreferenceStore();
+            int maxRows = prefs.getInt(ModelPreferences.INSERT_MULTI_ROW_SIZE);
+            if (maxRows > 1 && (!useBatch || prefs.getBoolean(ModelPreferences.INSERT_MULTI_ROW_ALWAYS))) {
+                return processMultiRowBatch(session, handlers, maxRows, prefs.getLong(ModelPreferences.INSERT_MULTI_ROW_MAX_BYTES));
+            }
+        }
+
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
 
@@ -207,6 +218,96 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    /**
+     * Executes batch with multi-row statements.
+     * Sequential rows with the same nulls are grouped in one statement (up to row count, bytes and parameters limits).
+     * Prepared statements are cached by nulls and row count, so usually only a couple of statements are prepared.
+     */
+    @NotNull
+    private DBCStatistics processMultiRowBatch(@NotNull DBCSession session, @NotNull DBDValueHandler[] handlers, int maxRows, long maxBytes) throws DBCException
+    {
+        maxRows = Math.max(1, Math.min(maxRows, MAX_MULTI_ROW_PARAMETERS / Math.max(1, attributes.length)));
+
+        DBCStatistics statistics = new DBCStatistics();
+        Map<String, DBCStatement> statementCache = new HashMap<>();
+        try {
+            int rowIndex = 0;
+            while (rowIndex < values.size()) {
+                Object[] firstRow = values.get(rowIndex);
+                String nullsKey = getNullsKey(firstRow);
+                int rowCount = 1;
+                long groupBytes = estimateRowSize(firstRow);
+                while (rowCount < maxRows && rowIndex + rowCount < values.size()) {
+                    Object[] nextRow = values.get(rowIndex + rowCount);
+                    long rowBytes = estimateRowSize(nextRow);
+                    if (groupBytes + rowBytes > maxBytes || !nullsKey.equals(getNullsKey(nextRow))) {
+                        break;
+                    }
+                    groupBytes += rowBytes;
+                    rowCount++;
+                }
+
+                String statementKey = nullsKey + ":" + rowCount;
+                DBCStatement statement = statementCache.get(statementKey);
+                if (statement == null) {
+                    statement = rowCount == 1 ?
+                        prepareStatement(session, firstRow) :
+                        prepareMultiRowStatement(session, firstRow, rowCount);
+                    statementCache.put(statementKey, statement);
+                    statistics.setQueryText(statement.getQueryString());
+                    statistics.addStatementsCount();
+                }
+                if (rowCount == 1) {
+                    bindStatement(handlers, statement, firstRow);
+                } else {
+                    int paramIndex = 0;
+                    for (int i = 0; i < rowCount; i++) {
+                        paramIndex = bindMultiRowValues(handlers, statement, values.get(rowIndex + i), paramIndex);
+                    }
+                }
+
+                long startTime = System.currentTimeMillis();
+                executeStatement(statement);
+                statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                long updateCount = statement.getUpdateRowCount();
+                if (updateCount > 0) {
+                    statistics.addRowsUpdated(updateCount);
+                }
+                rowIndex += rowCount;
+            }
+            values.clear();
+        } finally {
+            for (DBCStatement statement : statementCache.values()) {
+                statement.close();
+            }
+        }
+        return statistics;
+    }
+
+    private static String getNullsKey(Object[] rowValues)
+    {
+        char[] nulls = new char[rowValues.length];
+        for (int i = 0; i < rowValues.length; i++) {
+            nulls[i] = DBUtils.isNullValue(rowValues[i]) ? '0' : '1';
+        }
+        return new String(nulls);
+    }
+
+    private static long estimateRowSize(Object[] rowValues)
+    {
+        long size = 0;
+        for (Object value : rowValues) {
+            if (value instanceof CharSequence) {
+                size += ((CharSequence) value).length();
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else {
+                size += 16;
+            }
+        }
+        return size;
+    }
+
     private void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
         long startTime = System.currentTimeMillis();
         int[] updatedRows = statement.executeStatementBatch();
@@ -263,4 +364,28 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         statement.executeStatement();
     }
 
+    /**
+     * Checks whether batch may execute several rows with one statement.
+     * Implementations must also override {@link #prepareMultiRowStatement} and {@link #bindMultiRowValues}.
+     */
+    protected boolean isMultiRowSupported(@NotNull DBCSession session) {
+        return false;
+    }
+
+    /**
+     * Prepares statement for specified number of rows. All rows have the same nulls as attributeValues.
+     */
+    @NotNull
+    protected DBCStatement prepareMultiRowStatement(@NotNull DBCSession session, Object[] attributeValues, int rowCount) throws DBCException {
+        throw new DBCException("Multi-row statements are not supported");
+    }
+
+    /**
+     * Binds values of one row of multi-row statement
+     * @return next parameter index
+     */
+    protected int bindMultiRowValues(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues, int paramIndex) throws DBCException {
+        throw new DBCException("Multi-row statements are not supported");
+    }
+
 }
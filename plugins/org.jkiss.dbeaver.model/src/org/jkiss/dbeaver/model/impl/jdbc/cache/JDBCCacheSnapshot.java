@@ -0,0 +1,779 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Metadata query results saved on disk.
+ * Rows are recorded while cache reads them from the database and replayed on the next load
+ * (e.g. after reconnect or restart) if owner change marker and query text are the same.
+ */
+class JDBCCacheSnapshot {
+
+    private static final Log log = Log.getLog(JDBCCacheSnapshot.class);
+
+    private static final String SNAPSHOTS_FOLDER = "metadata-snapshots"; //$NON-NLS-1$
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_SHORT = 4;
+    private static final byte TYPE_BYTE = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_FLOAT = 7;
+    private static final byte TYPE_BOOLEAN = 8;
+    private static final byte TYPE_DECIMAL = 9;
+    private static final byte TYPE_BIGINT = 10;
+    private static final byte TYPE_TIMESTAMP = 11;
+    private static final byte TYPE_DATE = 12;
+    private static final byte TYPE_TIME = 13;
+    private static final byte TYPE_BYTES = 14;
+    private static final byte TYPE_ARRAY = 15;
+
+    /**
+     * Executes cache metadata statement.
+     * If cache supports snapshots returns either saved result set (if it is still valid) or
+     * result set which saves all read rows on close.
+     */
+    @Nullable
+    static JDBCResultSet executeStatement(
+        @NotNull JDBCSession session,
+        @NotNull Object cache,
+        @NotNull DBSObject owner,
+        @NotNull JDBCStatement dbStat,
+        @NotNull String queryId)
+        throws SQLException
+    {
+        String marker = null;
+        DBPDataSourceContainer container = session.getDataSource().getContainer();
+        if (cache instanceof JDBCSnapshotCache && container.getPreferenceStore().getBoolean(ModelPreferences.META_CACHE_SNAPSHOTS)) {
+            try {
+                marker = ((JDBCSnapshotCache) cache).readChangeMarker(session, owner);
+            } catch (SQLException e) {
+                log.debug("Can't read metadata change marker", e);
+            }
+        }
+        if (marker == null) {
+            dbStat.executeStatement();
+            return dbStat.getResultSet();
+        }
+
+        String key = cache.getClass().getName() + "/" + queryId + "/" + getOwnerPath(owner);
+        String queryText = dbStat.getQueryString();
+        File snapshotFile = getSnapshotFile(container, key);
+        JDBCResultSet savedResult = openSnapshot(session, snapshotFile, key, queryText, marker);
+        if (savedResult != null) {
+            return savedResult;
+        }
+        dbStat.executeStatement();
+        JDBCResultSet dbResult = dbStat.getResultSet();
+        if (dbResult == null) {
+            return null;
+        }
+        return (JDBCResultSet) Proxy.newProxyInstance(
+            JDBCCacheSnapshot.class.getClassLoader(),
+            new Class[]{JDBCResultSet.class},
+            new RecordHandler(dbResult, snapshotFile, key, queryText, marker));
+    }
+
+    /**
+     * Names of owner and all its parents up to the data source.
+     * Full object name is not enough: it doesn't include database name for non-qualified objects
+     * (e.g. schemas with the same name in different databases of one connection).
+     */
+    private static String getOwnerPath(DBSObject owner) {
+        StringBuilder path = new StringBuilder();
+        for (DBSObject object = owner; object != null && !(object instanceof DBPDataSource); object = object.getParentObject()) {
+            path.insert(0, "/" + object.getName());
+        }
+        return path.toString();
+    }
+
+    private static File getSnapshotFile(DBPDataSourceContainer container, String key) {
+        File folder = new File(
+            new File(GeneralUtils.getMetadataFolder(), SNAPSHOTS_FOLDER),
+            container.getId().replaceAll("[^\\w\\-.]", "_"));
+        StringBuilder fileName = new StringBuilder();
+        try {
+            for (byte b : MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8))) {
+                fileName.append(String.format("%02x", b & 0xff));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            fileName.append(Integer.toHexString(key.hashCode()));
+        }
+        return new File(folder, fileName.append(".snapshot").toString());
+    }
+
+    @Nullable
+    private static JDBCResultSet openSnapshot(JDBCSession session, File file, String key, String queryText, String marker) {
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+            if (in.readInt() != FORMAT_VERSION ||
+                !key.equals(readString(in)) ||
+                !String.valueOf(queryText).equals(readString(in)) ||
+                !marker.equals(readString(in)))
+            {
+                in.close();
+                return null;
+            }
+            String[] labels = new String[in.readInt()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = readString(in);
+            }
+            log.debug("Read metadata from snapshot " + key);
+            return (JDBCResultSet) Proxy.newProxyInstance(
+                JDBCCacheSnapshot.class.getClassLoader(),
+                new Class[]{JDBCResultSet.class},
+                new ReplayHandler(session, file, in, labels));
+        } catch (IOException e) {
+            log.debug("Can't read metadata snapshot " + file.getAbsolutePath(), e);
+            closeStream(in);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static void closeStream(Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            log.debug("Can't delete file " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Passes all calls to the real result set and writes each fetched row into temporary file.
+     * Snapshot is saved only if all rows were read.
+     */
+    private static class RecordHandler implements InvocationHandler {
+        private final JDBCResultSet target;
+        private final File file;
+        private final File tmpFile;
+        private DataOutputStream out;
+        private int columnCount;
+        private boolean completed;
+
+        RecordHandler(JDBCResultSet target, File file, String key, String queryText, String marker) {
+            this.target = target;
+            this.file = file;
+            this.tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            try {
+                if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                    throw new IOException("Can't create folder " + file.getParentFile().getAbsolutePath());
+                }
+                ResultSetMetaData metaData = target.getMetaData();
+                columnCount = metaData.getColumnCount();
+                out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile))));
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, key);
+                writeString(out, String.valueOf(queryText));
+                writeString(out, marker);
+                out.writeInt(columnCount);
+                for (int i = 1; i <= columnCount; i++) {
+                    writeString(out, metaData.getColumnLabel(i));
+                }
+            } catch (Exception e) {
+                abort(e);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            final int argCount = args == null ? 0 : args.length;
+            if (name.equals("next") && argCount == 0) {
+                boolean hasRow = target.next();
+                if (out != null) {
+                    try {
+                        out.writeBoolean(hasRow);
+                        if (hasRow) {
+                            for (int i = 1; i <= columnCount; i++) {
+                                writeValue(out, target.getObject(i));
+                            }
+                        } else {
+                            completed = true;
+                        }
+                    } catch (Exception e) {
+                        abort(e);
+                    }
+                }
+                return hasRow;
+            } else if (name.equals("close") && argCount == 0) {
+                try {
+                    target.close();
+                } finally {
+                    finishRecord();
+                }
+                return null;
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private void abort(Exception error) {
+            log.debug("Metadata snapshot recording failed", error);
+            closeStream(out);
+            out = null;
+            deleteFile(tmpFile);
+        }
+
+        private void finishRecord() {
+            if (out == null) {
+                return;
+            }
+            closeStream(out);
+            out = null;
+            if (!completed) {
+                // Read was interrupted - result is incomplete
+                deleteFile(tmpFile);
+                return;
+            }
+            try {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.debug("Can't save metadata snapshot " + file.getAbsolutePath(), e);
+                deleteFile(tmpFile);
+            }
+        }
+    }
+
+    /**
+     * Result set which reads rows from snapshot file.
+     * Supports only methods used by metadata caches (sequential read and column getters).
+     */
+    private static class ReplayHandler implements InvocationHandler {
+        private final JDBCSession session;
+        private final File file;
+        private final String[] labels;
+        private final Map<String, Integer> labelIndex = new HashMap<>();
+        private DataInputStream in;
+        private Object[] row;
+        private int rowNumber;
+        private boolean wasNull;
+
+        ReplayHandler(JDBCSession session, File file, DataInputStream in, String[] labels) {
+            this.session = session;
+            this.file = file;
+            this.in = in;
+            this.labels = labels;
+            for (int i = 0; i < labels.length; i++) {
+                String label = labels[i].toLowerCase();
+                if (!labelIndex.containsKey(label)) {
+                    labelIndex.put(label, i + 1);
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            final int argCount = args == null ? 0 : args.length;
+            switch (name) {
+                case "next":
+                    return nextRow();
+                case "close":
+                    closeInput();
+                    return null;
+                case "isClosed":
+                    return in == null;
+                case "wasNull":
+                    return wasNull;
+                case "getRow":
+                    return rowNumber;
+                case "findColumn":
+                    return findColumn((String) args[0]);
+                case "getSession":
+                    return session;
+                case "getSourceStatement":
+                case "getStatement":
+                    return null;
+                case "getOriginal":
+                    return proxy;
+                case "setMaxRows":
+                case "setFetchSize":
+                    return null;
+                case "getMetaData":
+                    return Proxy.newProxyInstance(
+                        JDBCCacheSnapshot.class.getClassLoader(),
+                        new Class[]{ResultSetMetaData.class},
+                        new MetaDataHandler(labels));
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Snapshot: " + file.getName();
+            }
+            if (name.startsWith("get") && argCount > 0 && (args[0] instanceof Integer || args[0] instanceof String)) {
+                Object value = getColumnValue(args[0]);
+                wasNull = value == null;
+                switch (name) {
+                    case "getString":
+                    case "getNString":
+                        return toStringValue(value);
+                    case "getInt":
+                        return value == null ? 0 : toNumber(value).intValue();
+                    case "getLong":
+                        return value == null ? 0L : toNumber(value).longValue();
+                    case "getShort":
+                        return value == null ? (short) 0 : toNumber(value).shortValue();
+                    case "getByte":
+                        return value == null ? (byte) 0 : toNumber(value).byteValue();
+                    case "getDouble":
+                        return value == null ? 0.0 : toNumber(value).doubleValue();
+                    case "getFloat":
+                        return value == null ? 0.0f : toNumber(value).floatValue();
+                    case "getBoolean":
+                        return value != null && toBoolean(value);
+                    case "getBigDecimal":
+                        return value == null ? null : toDecimal(value);
+                    case "getTimestamp":
+                        return value == null ? null : new Timestamp(toDate(value).getTime());
+                    case "getDate":
+                        return value == null ? null : new Date(toDate(value).getTime());
+                    case "getTime":
+                        return value == null ? null : new Time(toDate(value).getTime());
+                    case "getBytes":
+                        return value == null ? null : toBytes(value);
+                    case "getArray":
+                        return value == null ? null : toArray(value);
+                    case "getObject":
+                        if (argCount > 1 && args[1] instanceof Class) {
+                            return value == null ? null : convertValue(value, (Class<?>) args[1]);
+                        }
+                        return value instanceof Object[] ? toArray(value) : value;
+                }
+            }
+            throw new SQLFeatureNotSupportedException("Method " + name + " is not supported by metadata snapshot");
+        }
+
+        private boolean nextRow() throws SQLException {
+            if (in == null) {
+                return false;
+            }
+            try {
+                if (!in.readBoolean()) {
+                    closeInput();
+                    return false;
+                }
+                if (row == null) {
+                    row = new Object[labels.length];
+                }
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = readValue(in);
+                }
+                rowNumber++;
+                return true;
+            } catch (IOException e) {
+                closeInput();
+                deleteFile(file);
+                throw new SQLException("Error reading metadata snapshot " + file.getAbsolutePath(), e);
+            }
+        }
+
+        private void closeInput() {
+            closeStream(in);
+            in = null;
+            row = null;
+        }
+
+        private int findColumn(String label) throws SQLException {
+            Integer index = labelIndex.get(label.toLowerCase());
+            if (index == null) {
+                throw new SQLException("Column '" + label + "' not found in metadata snapshot");
+            }
+            return index;
+        }
+
+        private Object getColumnValue(Object column) throws SQLException {
+            if (row == null) {
+                throw new SQLException("No current row in metadata snapshot");
+            }
+            int index = column instanceof Integer ? (Integer) column : findColumn((String) column);
+            if (index < 1 || index > row.length) {
+                throw new SQLException("Column index " + index + " out of range");
+            }
+            return row[index - 1];
+        }
+    }
+
+    private static class MetaDataHandler implements InvocationHandler {
+        private final String[] labels;
+
+        MetaDataHandler(String[] labels) {
+            this.labels = labels;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return labels.length;
+                case "getColumnLabel":
+                case "getColumnName":
+                    return labels[(Integer) args[0] - 1];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Snapshot metadata";
+            }
+            throw new SQLFeatureNotSupportedException("Method " + method.getName() + " is not supported by metadata snapshot");
+        }
+    }
+
+    private static class ArrayHandler implements InvocationHandler {
+        private final Object[] elements;
+
+        ArrayHandler(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getArray":
+                    return elements.clone();
+                case "getBaseTypeName":
+                    return elements.getClass().getComponentType().getSimpleName();
+                case "free":
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return toStringValue(elements);
+            }
+            throw new SQLFeatureNotSupportedException("Method " + method.getName() + " is not supported by metadata snapshot");
+        }
+    }
+
+    ////////////////////////////////////////////
+    // Values conversion
+
+    private static String toStringValue(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        } else if (value instanceof Object[]) {
+            StringBuilder str = new StringBuilder("{");
+            for (Object element : (Object[]) value) {
+                if (str.length() > 1) {
+                    str.append(',');
+                }
+                str.append(element == null ? "NULL" : element.toString());
+            }
+            return str.append('}').toString();
+        }
+        return value.toString();
+    }
+
+    private static Number toNumber(Object value) throws SQLException {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        } else if (value instanceof String) {
+            try {
+                return new BigDecimal(((String) value).trim());
+            } catch (NumberFormatException e) {
+                throw new SQLException("Bad numeric value: " + value);
+            }
+        }
+        throw new SQLException("Can't convert " + value.getClass().getName() + " to number");
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        String str = value.toString().trim();
+        return str.equalsIgnoreCase("true") || str.equalsIgnoreCase("t") || str.equalsIgnoreCase("y") ||
+            str.equalsIgnoreCase("yes") || str.equals("1");
+    }
+
+    private static BigDecimal toDecimal(Object value) throws SQLException {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        Number number = toNumber(value);
+        return number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+    }
+
+    private static java.util.Date toDate(Object value) throws SQLException {
+        if (value instanceof java.util.Date) {
+            return (java.util.Date) value;
+        } else if (value instanceof Number) {
+            return new java.util.Date(((Number) value).longValue());
+        }
+        try {
+            return Timestamp.valueOf(value.toString());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Bad date value: " + value);
+        }
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        return toStringValue(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Array toArray(Object value) throws SQLException {
+        if (!(value instanceof Object[])) {
+            throw new SQLException("Value is not an array");
+        }
+        return (Array) Proxy.newProxyInstance(
+            JDBCCacheSnapshot.class.getClassLoader(),
+            new Class[]{Array.class},
+            new ArrayHandler((Object[]) value));
+    }
+
+    private static Object convertValue(Object value, Class<?> type) throws SQLException {
+        if (type == String.class) {
+            return toStringValue(value);
+        } else if (type == Integer.class) {
+            return toNumber(value).intValue();
+        } else if (type == Long.class) {
+            return toNumber(value).longValue();
+        } else if (type == Short.class) {
+            return toNumber(value).shortValue();
+        } else if (type == Double.class) {
+            return toNumber(value).doubleValue();
+        } else if (type == Boolean.class) {
+            return toBoolean(value);
+        } else if (type == BigDecimal.class) {
+            return toDecimal(value);
+        } else if (type == Array.class) {
+            return toArray(value);
+        } else if (type.isInstance(value)) {
+            return value;
+        }
+        throw new SQLException("Can't convert " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    ////////////////////////////////////////////
+    // Serialization
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException, SQLException {
+        if (value instanceof Array) {
+            Object elements = ((Array) value).getArray();
+            if (!(elements instanceof Object[])) {
+                throw new IOException("Unsupported array type: " + (elements == null ? null : elements.getClass().getName()));
+            }
+            value = elements;
+        }
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(TYPE_BIGINT);
+            writeString(out, value.toString());
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Time) {
+            out.writeByte(TYPE_TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value instanceof byte[]) {
+            out.writeByte(TYPE_BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof Object[]) {
+            Object[] elements = (Object[]) value;
+            Class<?> componentType = elements.getClass().getComponentType();
+            if (componentType.getClassLoader() != null || componentType.isArray()) {
+                // Driver specific elements are saved as strings
+                componentType = String.class;
+            }
+            out.writeByte(TYPE_ARRAY);
+            writeString(out, componentType.getName());
+            out.writeInt(elements.length);
+            for (Object element : elements) {
+                writeValue(out, element);
+            }
+        } else {
+            // Driver specific object (e.g. PGobject). Keep its string representation
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_SHORT:
+                return in.readShort();
+            case TYPE_BYTE:
+                return in.readByte();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_FLOAT:
+                return in.readFloat();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString(in));
+            case TYPE_BIGINT:
+                return new BigInteger(readString(in));
+            case TYPE_TIMESTAMP: {
+                Timestamp ts = new Timestamp(in.readLong());
+                ts.setNanos(in.readInt());
+                return ts;
+            }
+            case TYPE_DATE:
+                return new Date(in.readLong());
+            case TYPE_TIME:
+                return new Time(in.readLong());
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case TYPE_ARRAY: {
+                String componentType = readString(in);
+                Class<?> componentClass;
+                try {
+                    componentClass = Class.forName(componentType);
+                } catch (ClassNotFoundException e) {
+                    componentClass = Object.class;
+                }
+                int length = in.readInt();
+                Object[] elements = (Object[]) java.lang.reflect.Array.newInstance(componentClass, length);
+                for (int i = 0; i < length; i++) {
+                    Object element = readValue(in);
+                    if (element != null && !componentClass.isInstance(element)) {
+                        throw new IOException("Bad array element type: " + element.getClass().getName());
+                    }
+                    elements[i] = element;
+                }
+                return elements;
+            }
+            default:
+                throw new IOException("Bad value type: " + type);
+        }
+    }
+
+}
@@ -30,6 +30,7 @@ import org.jkiss.dbeaver.model.impl.AbstractObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
@@ -60,6 +61,8 @@ public abstract class JDBCCompositeCache<
     private final Object objectColumnName;
 
     private final Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    private int singleReadCount;
+    private volatile boolean prefetchFailed;
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -196,6 +199,49 @@ public abstract class JDBCCompositeCache<
     {
     }
 
+    /**
+     * Incremental refresh. Reloads objects of specified parents only (e.g. changed tables),
+     * objects of other parents remain cached.
+     * Parents which are not in parent cache anymore (removed) are just removed from cache.
+     */
+    public synchronized void refreshParentObjects(DBRProgressMonitor monitor, OWNER owner, Collection<? extends DBSObject> parents)
+        throws DBException
+    {
+        final boolean globalCached = isFullyCached();
+        List<OBJECT> globalCache = new ArrayList<>(getCachedObjects());
+        List<PARENT> reloadParents = new ArrayList<>();
+        synchronized (objectCache) {
+            for (DBSObject object : parents) {
+                if (!parentType.isInstance(object)) {
+                    continue;
+                }
+                PARENT parent = parentType.cast(object);
+                List<OBJECT> oldObjects = objectCache.remove(parent);
+                if (oldObjects != null) {
+                    globalCache.removeAll(oldObjects);
+                }
+                if (parent.isPersisted() && parentCache.getCachedObjects().contains(parent)) {
+                    reloadParents.add(parent);
+                }
+            }
+        }
+        if (!globalCached) {
+            // Objects will be read on demand
+            return;
+        }
+        for (PARENT parent : reloadParents) {
+            loadObjects(monitor, owner, parent);
+            synchronized (objectCache) {
+                List<OBJECT> objects = objectCache.get(parent);
+                if (objects != null) {
+                    globalCache.addAll(objects);
+                }
+            }
+        }
+        // Do not rebuild per-parent cache - it keeps empty object lists of other parents
+        super.setCache(globalCache);
+    }
+
     @Override
     public void clearCache()
     {
@@ -203,6 +249,56 @@ public abstract class JDBCCompositeCache<
             this.objectCache.clear();
             super.clearCache();
         }
+        this.singleReadCount = 0;
+        this.prefetchFailed = false;
+    }
+
+    /**
+     * Caches structure (associations) of the whole owner container if objects of several parents
+     * were already read one by one.
+     * Called without cache lock, because container structure caching locks the container itself.
+     * @return true if objects of the specified parent were read
+     */
+    private boolean prefetchObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
+    {
+        synchronized (this) {
+            if (prefetchFailed || ++singleReadCount <= JDBCStructCache.PREFETCH_THRESHOLD) {
+                return false;
+            }
+        }
+        if (!(owner instanceof DBSObjectContainer) || !parentCache.isFullyCached() ||
+            parentCache.getCachedObjects().size() > JDBCStructCache.PREFETCH_MAX_OBJECTS || !isPrefetchSupported(owner))
+        {
+            return false;
+        }
+        try {
+            monitor.subTask("Prefetch " + owner.getName() + " structure");
+            ((DBSObjectContainer) owner).cacheStructure(monitor, DBSObjectContainer.STRUCT_ASSOCIATIONS);
+        } catch (DBException e) {
+            log.debug("Error prefetching structure of " + owner.getName(), e);
+        }
+        if (monitor.isCanceled()) {
+            // Cancelled by user. Prefetch may be tried again later
+            return false;
+        }
+        synchronized (objectCache) {
+            if (objectCache.containsKey(forParent)) {
+                return true;
+            }
+        }
+        // Container doesn't read objects of this cache at once
+        prefetchFailed = true;
+        return false;
+    }
+
+    /**
+     * Checks whether objects of all owner parents may be read at once with owner structure caching
+     * (see {@link DBSObjectContainer#cacheStructure}).
+     * By default the same as for parent objects cache.
+     */
+    protected boolean isPrefetchSupported(OWNER owner)
+    {
+        return parentCache.isPrefetchSupported(owner);
     }
 
     @Override
@@ -234,7 +330,23 @@ public abstract class JDBCCompositeCache<
         }
     }
 
-    protected synchronized void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
+    protected void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
+        throws DBException
+    {
+        if (forParent != null && forParent.isPersisted() && !monitor.isCanceled()) {
+            synchronized (objectCache) {
+                if (objectCache.containsKey(forParent)) {
+                    return;
+                }
+            }
+            if (prefetchObjects(monitor, owner, forParent)) {
+                return;
+            }
+        }
+        readObjects(monitor, owner, forParent);
+    }
+
+    private synchronized void readObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
         throws DBException
     {
         synchronized (objectCache) {
@@ -261,8 +373,13 @@ public abstract class JDBCCompositeCache<
             JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
             dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
             try {
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (forParent == null) {
+                    dbResult = JDBCCacheSnapshot.executeStatement(session, this, owner, dbStat, "objects");
+                } else {
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                }
                 if (dbResult != null) try {
                     while (dbResult.next()) {
                         if (monitor.isCanceled()) {
@@ -288,7 +405,9 @@ public abstract class JDBCCompositeCache<
 
                         PARENT parent = forParent;
                         if (parent == null) {
-                            parent = parentCache.getObject(monitor, owner, parentName, parentType);
+                            // Parents are already loaded. Do not look up parents which are absent because of navigator filters
+                            Object cachedParent = parentCache.getCachedObject(parentName);
+                            parent = parentType.isInstance(cachedParent) ? parentType.cast(cachedParent) : null;
                             if (parent == null) {
                                 log.debug("Object '" + objectName + "' owner '" + parentName + "' not found");
                                 continue;
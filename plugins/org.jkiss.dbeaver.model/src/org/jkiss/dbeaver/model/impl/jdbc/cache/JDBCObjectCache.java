@@ -29,9 +29,15 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractObjectCache;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.runtime.ui.DBUserInterface;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Various objects cache.
@@ -40,11 +46,23 @@ import java.util.*;
 public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject> extends AbstractObjectCache<OWNER, OBJECT>
 {
     public static final int DEFAULT_MAX_CACHE_SIZE = 1000000;
+    // Maximum number of changed objects which may be reloaded one by one during incremental refresh
+    public static final int MAX_INCREMENTAL_REFRESH_SIZE = 100;
 
     private static final Log log = Log.getLog(JDBCObjectCache.class);
 
     // Maximum number of objects in cache
     private int maximumCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    // Last load stopped at maximum cache size
+    private volatile boolean truncated;
+    // Versions of cached objects (by name). Used by incremental refresh
+    private Map<String, String> objectVersions;
+    // Versions are read with objects only after first incremental refresh request
+    private volatile boolean readObjectVersions;
+    // Objects load in progress. Concurrent loaders wait for it instead of running the same query
+    private final Object loadLock = new Object();
+    private CompletableFuture<Void> loadFuture;
+    private Thread loadThread;
 
     protected JDBCObjectCache() {
     }
@@ -53,6 +71,14 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         this.maximumCacheSize = maximumCacheSize;
     }
 
+    /**
+     * True if the last load read only first {@link #setMaximumCacheSize maximum cache size} objects.
+     * Lookup caches then read objects which are absent in cache one by one.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
     abstract protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull OWNER owner)
         throws SQLException;
 
@@ -60,6 +86,30 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
     abstract protected OBJECT fetchObject(@NotNull JDBCSession session, @NotNull OWNER owner, @NotNull JDBCResultSet resultSet)
         throws SQLException, DBException;
 
+    /**
+     * Prepares statement which reads versions of all owner objects.
+     * Result set must contain object name in the first column and object version
+     * (modification time, catalog row version, etc) in the second one.
+     * Lookup caches which return statement here support incremental refresh.
+     * Versions are read only after the first {@link #refreshChangedObjects} call,
+     * so loads of caches which are never refreshed don't pay for them.
+     */
+    @Nullable
+    protected JDBCStatement prepareObjectVersionsStatement(@NotNull JDBCSession session, @NotNull OWNER owner)
+        throws SQLException
+    {
+        return null;
+    }
+
+    /**
+     * Returns true if objects statement contains navigator filters (i.e. cache contains only objects matching filters).
+     * Lookup caches then read objects which are absent in cache one by one.
+     */
+    protected boolean isServerSideFiltered(@NotNull OWNER owner)
+    {
+        return false;
+    }
+
     @NotNull
     @Override
     public Collection<OBJECT> getAllObjects(@NotNull DBRProgressMonitor monitor, @Nullable OWNER owner)
@@ -81,14 +131,77 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         return getCachedObject(name);
     }
 
-    protected synchronized void loadObjects(DBRProgressMonitor monitor, OWNER owner)
+    /**
+     * Reads all owner objects.
+     * Doesn't block cache readers. If objects are already being read by another thread then waits for it.
+     */
+    protected void loadObjects(DBRProgressMonitor monitor, OWNER owner)
         throws DBException
     {
         if (isFullyCached() || monitor.isCanceled()) {
             return;
         }
+        final CompletableFuture<Void> activeLoad;
+        final CompletableFuture<Void> ownLoad;
+        synchronized (loadLock) {
+            if (loadFuture != null && loadThread == Thread.currentThread()) {
+                // Recursive call from loader itself
+                return;
+            }
+            activeLoad = loadFuture;
+            if (activeLoad == null) {
+                ownLoad = loadFuture = new CompletableFuture<>();
+                loadThread = Thread.currentThread();
+            } else {
+                ownLoad = null;
+            }
+        }
+        if (activeLoad != null) {
+            waitForLoad(monitor, activeLoad);
+            return;
+        }
+        try {
+            if (!isFullyCached()) {
+                readObjects(monitor, owner);
+            }
+            ownLoad.complete(null);
+        } catch (Throwable e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (loadLock) {
+                loadFuture = null;
+                loadThread = null;
+            }
+        }
+    }
+
+    private static void waitForLoad(DBRProgressMonitor monitor, CompletableFuture<Void> future)
+        throws DBException
+    {
+        while (!monitor.isCanceled()) {
+            try {
+                future.get(100, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // Check for cancel and wait again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DBException) {
+                    throw (DBException) e.getCause();
+                }
+                throw new DBException("Error reading objects", e.getCause());
+            }
+        }
+    }
 
+    private void readObjects(DBRProgressMonitor monitor, OWNER owner)
+        throws DBException
+    {
         List<OBJECT> tmpObjectList = new ArrayList<>();
+        Map<String, String> versions = null;
 
         DBPDataSource dataSource = owner.getDataSource();
         if (dataSource == null) {
@@ -96,11 +209,14 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         }
         try {
             try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load objects from " + owner.getName())) {
+                if (readObjectVersions) {
+                    // Read versions before objects. Objects changed in between will be refreshed next time
+                    versions = readObjectVersions(session, owner);
+                }
                 try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
                     monitor.subTask("Load " + getClass().getSimpleName());
                     dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                    dbStat.executeStatement();
-                    JDBCResultSet dbResult = dbStat.getResultSet();
+                    JDBCResultSet dbResult = JDBCCacheSnapshot.executeStatement(session, this, owner, dbStat, "objects");
                     if (dbResult != null) {
                         try {
                             while (dbResult.next()) {
@@ -117,7 +233,6 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
                                 // Do not log every object load. This overheats UI in case of long lists
                                 //monitor.subTask(object.getName());
                                 if (tmpObjectList.size() == maximumCacheSize) {
-                                    log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
                                     break;
                                 }
                             }
@@ -140,11 +255,148 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
             Collections.sort(tmpObjectList, comparator);
         }
 
+        truncated = !monitor.isCanceled() && tmpObjectList.size() == maximumCacheSize;
+        if (truncated) {
+            log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
+            DBUserInterface.getInstance().showError(
+                "Too many objects",
+                "Only the first " + maximumCacheSize + " objects of '" + owner.getName() + "' were read.\n" +
+                "Use navigator filters to limit the list.");
+        }
+
         detectCaseSensitivity(owner);
         mergeCache(tmpObjectList);
+        this.objectVersions = monitor.isCanceled() || truncated ? null : versions;
         this.invalidateObjects(monitor, owner, new CacheIterator());
     }
 
+    /**
+     * Incremental refresh. Reads objects versions and reloads only added and changed objects.
+     * Removed objects are removed from cache, other objects stay untouched.
+     * Works only for lookup caches which provide objects versions.
+     * First call only enables versions reading, so the next full load makes incremental refresh possible.
+     *
+     * @return changed, added and removed objects or null if incremental refresh isn't possible
+     *      (cache must be reloaded completely then)
+     */
+    @Nullable
+    public synchronized Collection<OBJECT> refreshChangedObjects(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner)
+        throws DBException
+    {
+        if (!(this instanceof JDBCObjectLookup)) {
+            return null;
+        }
+        readObjectVersions = true;
+        if (!isFullyCached() || objectVersions == null) {
+            return null;
+        }
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            throw new DBException("Not connected to database");
+        }
+        List<OBJECT> objectList = new ArrayList<>(getCachedObjects());
+        List<OBJECT> changedObjects = new ArrayList<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Refresh changed objects of " + owner.getName())) {
+            Map<String, String> versions = readObjectVersions(session, owner);
+            if (versions == null) {
+                return null;
+            }
+            List<String> changedNames = new ArrayList<>();
+            for (Map.Entry<String, String> version : versions.entrySet()) {
+                if (!CommonUtils.equalObjects(version.getValue(), objectVersions.get(version.getKey()))) {
+                    changedNames.add(version.getKey());
+                }
+            }
+            if (changedNames.size() > MAX_INCREMENTAL_REFRESH_SIZE) {
+                return null;
+            }
+            for (Iterator<OBJECT> iter = objectList.iterator(); iter.hasNext(); ) {
+                OBJECT object = iter.next();
+                if (!versions.containsKey(object.getName()) && object.isPersisted()) {
+                    // Removed
+                    iter.remove();
+                    changedObjects.add(object);
+                    invalidateChangedObject(object);
+                }
+            }
+            @SuppressWarnings("unchecked")
+            JDBCObjectLookup<OWNER, OBJECT> lookup = (JDBCObjectLookup<OWNER, OBJECT>) this;
+            for (String objectName : changedNames) {
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+                OBJECT oldObject = getCachedObject(objectName);
+                OBJECT newObject = null;
+                try (JDBCStatement dbStat = lookup.prepareLookupStatement(session, owner, oldObject, oldObject == null ? objectName : null)) {
+                    dbStat.setFetchSize(1);
+                    dbStat.executeStatement();
+                    try (JDBCResultSet dbResult = dbStat.getResultSet()) {
+                        if (dbResult != null && dbResult.next()) {
+                            newObject = fetchObject(session, owner, dbResult);
+                        }
+                    }
+                }
+                if (oldObject != null) {
+                    invalidateChangedObject(oldObject);
+                    changedObjects.add(oldObject);
+                    if (newObject != null) {
+                        // Keep old instance because it may be referenced by other objects
+                        deepCopyCachedObject(newObject, oldObject);
+                    } else {
+                        objectList.remove(oldObject);
+                    }
+                } else if (newObject != null) {
+                    objectList.add(newObject);
+                    changedObjects.add(newObject);
+                }
+            }
+            this.objectVersions = versions;
+        } catch (SQLException ex) {
+            throw new DBException(ex, dataSource);
+        }
+
+        Comparator<OBJECT> comparator = getListOrderComparator();
+        if (comparator != null) {
+            Collections.sort(objectList, comparator);
+        }
+        mergeCache(objectList);
+        return changedObjects;
+    }
+
+    /**
+     * Called for each changed or removed object during incremental refresh.
+     */
+    protected void invalidateChangedObject(@NotNull OBJECT object) {
+
+    }
+
+    @Nullable
+    private Map<String, String> readObjectVersions(@NotNull JDBCSession session, @NotNull OWNER owner) {
+        try (JDBCStatement dbStat = prepareObjectVersionsStatement(session, owner)) {
+            if (dbStat == null) {
+                return null;
+            }
+            dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+            dbStat.executeStatement();
+            Map<String, String> versions = new HashMap<>();
+            try (JDBCResultSet dbResult = dbStat.getResultSet()) {
+                while (dbResult != null && dbResult.next()) {
+                    versions.put(dbResult.getString(1), dbResult.getString(2));
+                }
+            }
+            return versions;
+        } catch (SQLException e) {
+            log.debug("Error reading objects versions in " + this, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        this.objectVersions = null;
+    }
+
     // Can be implemented to provide custom cache error handler
     protected boolean handleCacheReadError(DBException error) {
         return false;
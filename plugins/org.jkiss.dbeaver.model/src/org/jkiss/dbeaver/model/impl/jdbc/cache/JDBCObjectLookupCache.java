@@ -51,7 +51,7 @@ public abstract class JDBCObjectLookupCache<OWNER extends DBSObject, OBJECT exte
         if (cachedObject != null) {
             return cachedObject;
         }
-        if (isFullyCached() || missingNames.contains(name)) {
+        if ((isFullyCached() && !isServerSideFiltered(owner) && !isTruncated()) || missingNames.contains(name)) {
             return null;
         }
         // Now cache just one object
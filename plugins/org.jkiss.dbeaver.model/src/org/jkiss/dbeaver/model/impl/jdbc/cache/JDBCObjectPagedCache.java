@@ -0,0 +1,657 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPIdentifierCase;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.DBSObjectPagedCache;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Paged objects cache.
+ * Keeps only names of all owner objects (in compact sorted index). Objects itself are read by pages
+ * on demand, the least recently used pages are evicted.
+ * Used for containers with huge number of objects (which do not fit in {@link JDBCObjectCache}).
+ * Objects which are still referenced somewhere (e.g. by navigator nodes) keep their identity after page eviction.
+ * Only methods with progress monitor read objects from database. Cached objects accessors return objects
+ * which were already read and never do any I/O, so they may be used in UI thread.
+ */
+public abstract class JDBCObjectPagedCache<OWNER extends DBSObject, OBJECT extends DBSObject>
+    implements DBSObjectPagedCache<OWNER, OBJECT>, JDBCObjectLookup<OWNER, OBJECT>
+{
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 50;
+
+    private static final Log log = Log.getLog(JDBCObjectPagedCache.class);
+
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final Object cacheLock = new Object();
+
+    private volatile OWNER owner;
+    private volatile NameIndex nameIndex;
+    // Materialized pages, in access order
+    private final LinkedHashMap<Integer, List<OBJECT>> pages;
+    // Materialized objects by name. Keeps object identity between page reads
+    private final Map<String, WeakReference<OBJECT>> liveObjects = new HashMap<>();
+    // Objects added explicitly (e.g. created by user). They may be absent in database yet
+    private final Map<String, OBJECT> pinnedObjects = new HashMap<>();
+    private volatile boolean caseSensitive = true;
+
+    protected JDBCObjectPagedCache() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    protected JDBCObjectPagedCache(int pageSize, final int maxCachedPages) {
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = new LinkedHashMap<Integer, List<OBJECT>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<OBJECT>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Prepares statement which reads names of all owner objects.
+     * Object name must be in the first column.
+     */
+    @NotNull
+    abstract protected JDBCStatement prepareNamesStatement(@NotNull JDBCSession session, @NotNull OWNER owner)
+        throws SQLException;
+
+    /**
+     * Prepares statement which reads objects with specified names
+     */
+    @NotNull
+    abstract protected JDBCStatement preparePageStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @NotNull List<String> names)
+        throws SQLException;
+
+    @Nullable
+    abstract protected OBJECT fetchObject(@NotNull JDBCSession session, @NotNull OWNER owner, @NotNull JDBCResultSet resultSet)
+        throws SQLException, DBException;
+
+    @Override
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Reads all objects page by page.
+     * Objects deleted after objects names were read are skipped.
+     */
+    @NotNull
+    @Override
+    public List<OBJECT> getAllObjects(@NotNull DBRProgressMonitor monitor, @Nullable OWNER owner)
+        throws DBException
+    {
+        if (owner == null) {
+            return getCachedObjects();
+        }
+        return getObjects(monitor, owner, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns objects which were already read (in names order).
+     * Doesn't read anything from database.
+     */
+    @NotNull
+    @Override
+    public List<OBJECT> getCachedObjects()
+    {
+        Map<String, OBJECT> objects = new HashMap<>();
+        synchronized (cacheLock) {
+            for (WeakReference<OBJECT> ref : liveObjects.values()) {
+                OBJECT object = ref.get();
+                if (object != null) {
+                    objects.put(object.getName(), object);
+                }
+            }
+            objects.putAll(pinnedObjects);
+        }
+        List<OBJECT> result = new ArrayList<>(objects.values());
+        Collections.sort(result, new Comparator<OBJECT>() {
+            @Override
+            public int compare(OBJECT o1, OBJECT o2) {
+                int cmp = o1.getName().compareToIgnoreCase(o2.getName());
+                return cmp != 0 ? cmp : o1.getName().compareTo(o2.getName());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Number of owner objects or -1 if objects names weren't read yet
+     */
+    @Override
+    public int getObjectCount() {
+        NameIndex index = nameIndex;
+        return index == null ? -1 : index.size();
+    }
+
+    /**
+     * Reads objects in specified range
+     */
+    @NotNull
+    @Override
+    public List<OBJECT> getObjects(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, int offset, int count)
+        throws DBException
+    {
+        if (nameIndex == null) {
+            loadNames(monitor, owner);
+        }
+        NameIndex index = nameIndex;
+        if (index == null) {
+            // Canceled
+            return Collections.emptyList();
+        }
+        int toIndex = (int) Math.min((long) offset + count, index.size());
+        List<OBJECT> result = new ArrayList<>(Math.max(toIndex - offset, 0));
+        for (int i = offset; i < toIndex; ) {
+            int pageNum = i / pageSize;
+            List<OBJECT> page = getPage(monitor, index, pageNum);
+            int pageStart = pageNum * pageSize;
+            if (monitor.isCanceled()) {
+                break;
+            }
+            for (; i < toIndex && i - pageStart < page.size(); i++) {
+                OBJECT object = page.get(i - pageStart);
+                if (object != null) {
+                    result.add(object);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    @Override
+    public OBJECT getObject(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner, @NotNull String name)
+        throws DBException
+    {
+        if (nameIndex == null) {
+            loadNames(monitor, owner);
+        }
+        OBJECT object = getMaterializedObject(name);
+        if (object != null) {
+            return object;
+        }
+        NameIndex index = nameIndex;
+        int position = index == null ? -1 : index.indexOf(name, caseSensitive);
+        if (position >= 0) {
+            return getPage(monitor, index, position / pageSize).get(position % pageSize);
+        }
+        // Object may be created after names were read
+        object = readObject(monitor, owner, name);
+        if (object != null) {
+            cacheObject(object);
+        }
+        return object;
+    }
+
+    /**
+     * Returns object with specified name if it was already read.
+     * Doesn't read anything from database.
+     */
+    @Nullable
+    @Override
+    public OBJECT getCachedObject(@NotNull String name)
+    {
+        return getMaterializedObject(name);
+    }
+
+    @Nullable
+    private OBJECT getMaterializedObject(@NotNull String name)
+    {
+        synchronized (cacheLock) {
+            OBJECT object = pinnedObjects.get(name);
+            if (object == null) {
+                WeakReference<OBJECT> ref = liveObjects.get(name);
+                object = ref == null ? null : ref.get();
+            }
+            if (object != null && object.getName().equals(name)) {
+                return object;
+            }
+            // Object may be renamed or name case differs
+            for (WeakReference<OBJECT> ref : liveObjects.values()) {
+                OBJECT liveObject = ref.get();
+                if (liveObject != null && (caseSensitive ? liveObject.getName().equals(name) : liveObject.getName().equalsIgnoreCase(name))) {
+                    return liveObject;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * True if all objects are materialized
+     */
+    @Override
+    public boolean isFullyCached()
+    {
+        NameIndex index = nameIndex;
+        if (index == null) {
+            return false;
+        }
+        synchronized (cacheLock) {
+            return pages.size() * pageSize >= index.size();
+        }
+    }
+
+    @Override
+    public void cacheObject(@NotNull OBJECT object)
+    {
+        synchronized (cacheLock) {
+            pinnedObjects.put(object.getName(), object);
+            liveObjects.put(object.getName(), new WeakReference<>(object));
+            NameIndex index = nameIndex;
+            if (index != null && index.indexOf(object.getName(), true) < 0) {
+                List<String> names = index.getNames(0, index.size());
+                names.add(object.getName());
+                setNameIndex(NameIndex.build(names));
+            }
+        }
+    }
+
+    @Override
+    public void setCache(List<OBJECT> objects)
+    {
+        synchronized (cacheLock) {
+            clearCache();
+            List<String> names = new ArrayList<>(objects.size());
+            for (OBJECT object : objects) {
+                names.add(object.getName());
+                liveObjects.put(object.getName(), new WeakReference<>(object));
+            }
+            setNameIndex(NameIndex.build(names));
+        }
+    }
+
+    @Override
+    public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
+    {
+        synchronized (cacheLock) {
+            pinnedObjects.remove(object.getName());
+            liveObjects.remove(object.getName());
+            NameIndex index = nameIndex;
+            if (index != null) {
+                int position = index.indexOf(object.getName(), true);
+                if (position >= 0) {
+                    List<String> names = index.getNames(0, index.size());
+                    names.remove(position);
+                    setNameIndex(NameIndex.build(names));
+                }
+            }
+            if (resetFullCache) {
+                nameIndex = null;
+            }
+        }
+    }
+
+    @Override
+    public void clearCache()
+    {
+        synchronized (cacheLock) {
+            nameIndex = null;
+            pages.clear();
+            liveObjects.clear();
+            pinnedObjects.clear();
+        }
+    }
+
+    private void setNameIndex(NameIndex index) {
+        // Pages are bound to objects positions
+        pages.clear();
+        nameIndex = index;
+    }
+
+    private void loadNames(DBRProgressMonitor monitor, OWNER owner)
+        throws DBException
+    {
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            throw new DBException("Not connected to database");
+        }
+        NameIndex.Builder builder = new NameIndex.Builder();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load object names from " + owner.getName())) {
+            try (JDBCStatement dbStat = prepareNamesStatement(session, owner)) {
+                monitor.subTask("Load " + getClass().getSimpleName() + " names");
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult != null) {
+                    try {
+                        while (dbResult.next()) {
+                            if (monitor.isCanceled()) {
+                                return;
+                            }
+                            String name = dbResult.getString(1);
+                            if (name != null) {
+                                builder.add(name);
+                            }
+                        }
+                    } finally {
+                        dbResult.close();
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DBException(ex, dataSource);
+        }
+        if (dataSource instanceof SQLDataSource &&
+            ((SQLDataSource) dataSource).getSQLDialect().storesUnquotedCase() == DBPIdentifierCase.MIXED)
+        {
+            caseSensitive = false;
+        }
+        synchronized (cacheLock) {
+            this.owner = owner;
+            setNameIndex(builder.build());
+        }
+    }
+
+    @NotNull
+    private List<OBJECT> getPage(DBRProgressMonitor monitor, NameIndex index, int pageNum)
+        throws DBException
+    {
+        List<String> names;
+        List<OBJECT> page = new ArrayList<>();
+        List<String> missingNames = new ArrayList<>();
+        synchronized (cacheLock) {
+            if (index == nameIndex) {
+                List<OBJECT> cachedPage = pages.get(pageNum);
+                if (cachedPage != null) {
+                    return cachedPage;
+                }
+            }
+            names = index.getNames(pageNum * pageSize, Math.min((pageNum + 1) * pageSize, index.size()));
+            for (String name : names) {
+                OBJECT object = pinnedObjects.get(name);
+                if (object == null) {
+                    WeakReference<OBJECT> ref = liveObjects.get(name);
+                    object = ref == null ? null : ref.get();
+                }
+                if (object == null) {
+                    missingNames.add(name);
+                }
+                page.add(object);
+            }
+        }
+        if (!missingNames.isEmpty()) {
+            Map<String, OBJECT> loaded = readObjects(monitor, missingNames);
+            for (int i = 0; i < names.size(); i++) {
+                if (page.get(i) == null) {
+                    page.set(i, loaded.get(names.get(i)));
+                }
+            }
+        }
+        page = Collections.unmodifiableList(page);
+        synchronized (cacheLock) {
+            if (index == nameIndex) {
+                for (OBJECT object : page) {
+                    if (object != null && !liveObjects.containsKey(object.getName())) {
+                        liveObjects.put(object.getName(), new WeakReference<>(object));
+                    }
+                }
+                pages.put(pageNum, page);
+                purgeLiveObjects();
+            }
+        }
+        return page;
+    }
+
+    private Map<String, OBJECT> readObjects(DBRProgressMonitor monitor, List<String> names)
+        throws DBException
+    {
+        OWNER owner = this.owner;
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            throw new DBException("Not connected to database");
+        }
+        Map<String, OBJECT> result = new HashMap<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load objects from " + owner.getName())) {
+            try (JDBCStatement dbStat = preparePageStatement(session, owner, names)) {
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult != null) {
+                    try {
+                        while (dbResult.next()) {
+                            OBJECT object = fetchObject(session, owner, dbResult);
+                            if (object != null) {
+                                result.put(object.getName(), object);
+                            }
+                        }
+                    } finally {
+                        dbResult.close();
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DBException(ex, dataSource);
+        }
+        if (result.size() < names.size()) {
+            log.debug((names.size() - result.size()) + " object(s) not found in " + getClass().getSimpleName() + " (deleted?)");
+        }
+        return result;
+    }
+
+    @Nullable
+    private OBJECT readObject(DBRProgressMonitor monitor, OWNER owner, String name)
+        throws DBException
+    {
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            throw new DBException("Not connected to database");
+        }
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load object '" + name + "' from " + owner.getName())) {
+            try (JDBCStatement dbStat = prepareLookupStatement(session, owner, null, name)) {
+                dbStat.setFetchSize(1);
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult != null) {
+                    try {
+                        if (dbResult.next()) {
+                            return fetchObject(session, owner, dbResult);
+                        }
+                    } finally {
+                        dbResult.close();
+                    }
+                }
+                return null;
+            }
+        } catch (SQLException ex) {
+            throw new DBException(ex, dataSource);
+        }
+    }
+
+    // Removes references to garbage collected objects
+    private void purgeLiveObjects() {
+        if (liveObjects.size() > pageSize * maxCachedPages * 2) {
+            for (Iterator<WeakReference<OBJECT>> iter = liveObjects.values().iterator(); iter.hasNext(); ) {
+                if (iter.next().get() == null) {
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted names index.
+     * All names are stored in one char array, so index of million names takes few megabytes.
+     * Names are ordered case-insensitively (then case-sensitively).
+     */
+    static class NameIndex {
+        private final char[] chars;
+        private final int[] offsets;
+
+        private NameIndex(char[] chars, int[] offsets) {
+            this.chars = chars;
+            this.offsets = offsets;
+        }
+
+        int size() {
+            return offsets.length - 1;
+        }
+
+        String getName(int i) {
+            return new String(chars, offsets[i], offsets[i + 1] - offsets[i]);
+        }
+
+        List<String> getNames(int fromIndex, int toIndex) {
+            List<String> names = new ArrayList<>(Math.max(toIndex - fromIndex, 0) + 1);
+            for (int i = fromIndex; i < toIndex; i++) {
+                names.add(getName(i));
+            }
+            return names;
+        }
+
+        int indexOf(String name, boolean caseSensitive) {
+            int low = 0, high = size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareIgnoreCase(mid, name);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    // Find the first name of the same case-insensitive group
+                    while (mid > 0 && compareIgnoreCase(mid - 1, name) == 0) {
+                        mid--;
+                    }
+                    int firstMatch = mid;
+                    for (; mid < size() && compareIgnoreCase(mid, name) == 0; mid++) {
+                        if (getName(mid).equals(name)) {
+                            return mid;
+                        }
+                    }
+                    return caseSensitive ? -1 : firstMatch;
+                }
+            }
+            return -1;
+        }
+
+        private int compareIgnoreCase(int i, String name) {
+            int start = offsets[i], length = offsets[i + 1] - start;
+            for (int k = 0; k < length && k < name.length(); k++) {
+                int diff = Character.toLowerCase(Character.toUpperCase(chars[start + k])) -
+                    Character.toLowerCase(Character.toUpperCase(name.charAt(k)));
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length - name.length();
+        }
+
+        static NameIndex build(Collection<String> names) {
+            Builder builder = new Builder();
+            for (String name : names) {
+                builder.add(name);
+            }
+            return builder.build();
+        }
+
+        static class Builder {
+            private char[] chars = new char[1024];
+            private int[] offsets = new int[64];
+            private int count;
+
+            void add(String name) {
+                int start = offsets[count];
+                if (start + name.length() > chars.length) {
+                    chars = Arrays.copyOf(chars, Math.max(chars.length * 2, start + name.length()));
+                }
+                name.getChars(0, name.length(), chars, start);
+                if (count + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[++count] = start + name.length();
+            }
+
+            NameIndex build() {
+                int[] order = new int[count];
+                for (int i = 0; i < count; i++) {
+                    order[i] = i;
+                }
+                mergeSort(order, new int[count], 0, count);
+                char[] sortedChars = new char[offsets[count]];
+                int[] sortedOffsets = new int[count + 1];
+                for (int i = 0; i < count; i++) {
+                    int start = offsets[order[i]], length = offsets[order[i] + 1] - start;
+                    System.arraycopy(chars, start, sortedChars, sortedOffsets[i], length);
+                    sortedOffsets[i + 1] = sortedOffsets[i] + length;
+                }
+                return new NameIndex(sortedChars, sortedOffsets);
+            }
+
+            private void mergeSort(int[] order, int[] buffer, int from, int to) {
+                if (to - from < 2) {
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                mergeSort(order, buffer, from, middle);
+                mergeSort(order, buffer, middle, to);
+                if (compare(order[middle - 1], order[middle]) <= 0) {
+                    return;
+                }
+                System.arraycopy(order, from, buffer, from, to - from);
+                for (int i = from, left = from, right = middle; i < to; i++) {
+                    if (right >= to || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+                        order[i] = buffer[left++];
+                    } else {
+                        order[i] = buffer[right++];
+                    }
+                }
+            }
+
+            private int compare(int name1, int name2) {
+                int start1 = offsets[name1], length1 = offsets[name1 + 1] - start1;
+                int start2 = offsets[name2], length2 = offsets[name2 + 1] - start2;
+                int caseDiff = 0;
+                for (int k = 0; k < length1 && k < length2; k++) {
+                    char c1 = chars[start1 + k], c2 = chars[start2 + k];
+                    if (c1 != c2) {
+                        int diff = Character.toLowerCase(Character.toUpperCase(c1)) - Character.toLowerCase(Character.toUpperCase(c2));
+                        if (diff != 0) {
+                            return diff;
+                        }
+                        if (caseDiff == 0) {
+                            caseDiff = c1 - c2;
+                        }
+                    }
+                }
+                return length1 != length2 ? length1 - length2 : caseDiff;
+            }
+        }
+    }
+
+}
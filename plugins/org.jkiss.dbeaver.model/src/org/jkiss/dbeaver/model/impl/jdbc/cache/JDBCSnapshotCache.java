@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.sql.SQLException;
+
+/**
+ * Cache which may keep its metadata query results on disk between sessions.
+ * Saved results are reused while change marker of the owner stays the same.
+ */
+public interface JDBCSnapshotCache<OWNER extends DBSObject> {
+
+    /**
+     * Reads marker which changes each time when metadata of cache owner is changed
+     * (e.g. sum of catalog rows transaction ids or last DDL time).
+     * Should be much cheaper than metadata queries itself.
+     * @return marker or null if snapshot can't be used for this owner
+     */
+    @Nullable
+    String readChangeMarker(@NotNull JDBCSession session, @NotNull OWNER owner) throws SQLException;
+
+}
@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.impl.SimpleObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
@@ -47,8 +48,15 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
 {
     private static final Log log = Log.getLog(JDBCStructCache.class);
 
+    // Number of single object children reads after which children of all objects are read at once
+    public static final int PREFETCH_THRESHOLD = 5;
+    // Maximum number of objects for which children may be prefetched
+    public static final int PREFETCH_MAX_OBJECTS = 10000;
+
     private final Object objectNameColumn;
     private volatile boolean childrenCached = false;
+    private int singleReadCount;
+    private volatile boolean prefetchFailed;
     private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new IdentityHashMap<>();
 
     abstract protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @Nullable OBJECT forObject)
@@ -72,7 +80,17 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
      * @throws org.jkiss.dbeaver.DBException
      *             on error
      */
-    public synchronized void loadChildren(DBRProgressMonitor monitor, OWNER owner, @Nullable final OBJECT forObject) throws DBException
+    public void loadChildren(DBRProgressMonitor monitor, OWNER owner, @Nullable final OBJECT forObject) throws DBException
+    {
+        if (forObject != null && forObject.isPersisted() && !isChildrenCached(forObject) && !monitor.isCanceled() &&
+            prefetchChildren(monitor, owner, forObject))
+        {
+            return;
+        }
+        readChildren(monitor, owner, forObject);
+    }
+
+    private synchronized void readChildren(DBRProgressMonitor monitor, OWNER owner, @Nullable final OBJECT forObject) throws DBException
     {
         if ((forObject == null && this.childrenCached)
             || (forObject != null && (!forObject.isPersisted() || isChildrenCached(forObject))) || monitor.isCanceled()) {
@@ -95,8 +113,13 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             // Load columns
             try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
                 dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (forObject == null) {
+                    dbResult = JDBCCacheSnapshot.executeStatement(session, this, owner, dbStat, "children");
+                } else {
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                }
                 if (dbResult != null) {
                     try {
                         while (dbResult.next()) {
@@ -177,6 +200,51 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
+    /**
+     * Caches structure (attributes) of the whole owner container if children of several objects
+     * were already read one by one (navigator, ERD and other consumers often touch objects sequentially).
+     * Called without cache lock, because container structure caching locks the container itself.
+     * @return true if children of the specified object were read
+     */
+    private boolean prefetchChildren(DBRProgressMonitor monitor, OWNER owner, OBJECT forObject)
+    {
+        synchronized (this) {
+            if (prefetchFailed || ++singleReadCount <= PREFETCH_THRESHOLD) {
+                return false;
+            }
+        }
+        if (!(owner instanceof DBSObjectContainer) || !isFullyCached() ||
+            getCachedObjects().size() > PREFETCH_MAX_OBJECTS || !isPrefetchSupported(owner))
+        {
+            return false;
+        }
+        try {
+            monitor.subTask("Prefetch " + owner.getName() + " structure");
+            ((DBSObjectContainer) owner).cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES);
+        } catch (DBException e) {
+            log.debug("Error prefetching structure of " + owner.getName(), e);
+        }
+        if (monitor.isCanceled()) {
+            // Cancelled by user. Prefetch may be tried again later
+            return false;
+        }
+        if (!childrenCached) {
+            // Container doesn't read children of this cache at once
+            prefetchFailed = true;
+        }
+        return isChildrenCached(forObject);
+    }
+
+    /**
+     * Checks whether children of all owner objects may be read at once with owner structure caching
+     * (see {@link DBSObjectContainer#cacheStructure}).
+     * Disabled by default, because mass children queries are slow or not supported by some drivers.
+     */
+    protected boolean isPrefetchSupported(@NotNull OWNER owner)
+    {
+        return false;
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
@@ -189,6 +257,17 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
     {
         this.clearChildrenCache(null);
         super.clearCache();
+        this.singleReadCount = 0;
+        this.prefetchFailed = false;
+    }
+
+    @Override
+    protected void invalidateChangedObject(@NotNull OBJECT object)
+    {
+        // Children of changed object will be read on demand. Children of other objects remain cached
+        synchronized (childrenCache) {
+            this.childrenCache.remove(object);
+        }
     }
 
     /**
@@ -38,6 +38,7 @@ import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.utils.ArrayUtils;
@@ -249,9 +250,48 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         query.append(getFullyQualifiedName(DBPEvaluationContext.DML));
         appendQueryConditions(query, null, dataFilter);
         monitor.subTask(ModelMessages.model_jdbc_fetch_table_row_count);
+        return readRowCount(source, session, query.toString());
+    }
+
+    /**
+     * Counts data rows, but not more than maxRows.
+     * Rows limit is applied to a subquery, so the database stops after first maxRows matches.
+     * If data source can't limit subquery then all rows are counted.
+     */
+    public long countData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @Nullable DBDDataFilter dataFilter, long maxRows) throws DBCException
+    {
+        DBCQueryTransformer limitTransformer = null;
+        if (maxRows > 0 && getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL)) {
+            DBCQueryTransformProvider transformProvider = DBUtils.getAdapter(DBCQueryTransformProvider.class, session.getDataSource());
+            if (transformProvider != null) {
+                limitTransformer = transformProvider.createQueryTransformer(DBCQueryTransformType.RESULT_SET_LIMIT);
+            }
+        }
+        String limitedQuery = null;
+        if (limitTransformer != null) {
+            StringBuilder query = new StringBuilder("SELECT 1 FROM "); //$NON-NLS-1$
+            query.append(getFullyQualifiedName(DBPEvaluationContext.DML));
+            appendQueryConditions(query, null, dataFilter);
+            limitTransformer.setParameters(0, maxRows);
+            limitedQuery = limitTransformer.transformQueryString(new SQLQuery(session.getDataSource(), query.toString()));
+            if (limitedQuery.equals(query.toString())) {
+                // Limit wasn't added to query text
+                limitedQuery = null;
+            }
+        }
+        if (limitedQuery == null) {
+            long rowCount = countData(source, session, dataFilter);
+            return maxRows > 0 ? Math.min(rowCount, maxRows) : rowCount;
+        }
+        session.getProgressMonitor().subTask(ModelMessages.model_jdbc_fetch_table_row_count);
+        return readRowCount(source, session, "SELECT COUNT(*) FROM (" + limitedQuery + ") " + DEFAULT_TABLE_ALIAS); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private long readRowCount(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull String query) throws DBCException
+    {
         try (DBCStatement dbStat = session.prepareStatement(
             DBCStatementType.QUERY,
-            query.toString(),
+            query,
             false, false, false))
         {
             dbStat.setStatementSource(source);
@@ -295,24 +335,51 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         return new ExecuteBatchImpl(attributes, keysReceiver, true) {
 
-            private boolean allNulls;
-
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, Object[] attributeValues) throws DBCException {
+                return prepareInsertStatement(session, attributeValues, 1);
+            }
+
+            @Override
+            protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
+                bindMultiRowValues(handlers, statement, attributeValues, 0);
+            }
+
+            @Override
+            protected boolean isMultiRowSupported(@NotNull DBCSession session) {
+                return !useUpsert(session) &&
+                    SQLUtils.getDialectFromDataSource(session.getDataSource()).supportsMultiRowInsert();
+            }
+
+            @NotNull
+            @Override
+            protected DBCStatement prepareMultiRowStatement(@NotNull DBCSession session, Object[] attributeValues, int rowCount) throws DBCException {
+                return prepareInsertStatement(session, attributeValues, rowCount);
+            }
+
+            @Override
+            protected int bindMultiRowValues(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues, int paramIndex) throws DBCException {
+                boolean allNulls = isAllNulls(attributeValues);
+                for (int k = 0; k < handlers.length; k++) {
+                    DBSAttributeBase attribute = attributes[k];
+                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[k]))) {
+                        continue;
+                    }
+                    handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
+                }
+                return paramIndex;
+            }
+
+            @NotNull
+            private DBCStatement prepareInsertStatement(@NotNull DBCSession session, Object[] attributeValues, int rowCount) throws DBCException {
                 // Make query
                 StringBuilder query = new StringBuilder(200);
                 query
                     .append(useUpsert(session) ? "UPSERT" : "INSERT")
                     .append(" INTO ").append(getFullyQualifiedName(DBPEvaluationContext.DML)).append(" ("); //$NON-NLS-1$ //$NON-NLS-2$
 
-                allNulls = true;
-                for (int i = 0; i < attributes.length; i++) {
-                    if (!DBUtils.isNullValue(attributeValues[i])) {
-                        allNulls = false;
-                        break;
-                    }
-                }
+                boolean allNulls = isAllNulls(attributeValues);
                 boolean hasKey = false;
                 for (int i = 0; i < attributes.length; i++) {
                     DBSAttributeBase attribute = attributes[i];
@@ -323,18 +390,22 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                     hasKey = true;
                     query.append(getAttributeName(attribute));
                 }
-                query.append(")\nVALUES ("); //$NON-NLS-1$
-                hasKey = false;
-                for (int i = 0; i < attributes.length; i++) {
-                    DBSAttributeBase attribute = attributes[i];
-                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[i]))) {
-                        continue;
+                query.append(")\nVALUES "); //$NON-NLS-1$
+                for (int row = 0; row < rowCount; row++) {
+                    if (row > 0) query.append(","); //$NON-NLS-1$
+                    query.append("("); //$NON-NLS-1$
+                    hasKey = false;
+                    for (int i = 0; i < attributes.length; i++) {
+                        DBSAttributeBase attribute = attributes[i];
+                        if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[i]))) {
+                            continue;
+                        }
+                        if (hasKey) query.append(","); //$NON-NLS-1$
+                        hasKey = true;
+                        query.append("?"); //$NON-NLS-1$
                     }
-                    if (hasKey) query.append(","); //$NON-NLS-1$
-                    hasKey = true;
-                    query.append("?"); //$NON-NLS-1$
+                    query.append(")"); //$NON-NLS-1$
                 }
-                query.append(")"); //$NON-NLS-1$
 
                 // Execute
                 DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, keysReceiver != null);
@@ -342,16 +413,13 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 return dbStat;
             }
 
-            @Override
-            protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
-                int paramIndex = 0;
-                for (int k = 0; k < handlers.length; k++) {
-                    DBSAttributeBase attribute = attributes[k];
-                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[k]))) {
-                        continue;
+            private boolean isAllNulls(Object[] attributeValues) {
+                for (int i = 0; i < attributes.length; i++) {
+                    if (!DBUtils.isNullValue(attributeValues[i])) {
+                        return false;
                     }
-                    handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
                 }
+                return true;
             }
         };
     }
@@ -343,6 +343,11 @@ public class BasicSQLDialect implements SQLDialect {
         return MultiValueInsertMode.NOT_SUPPORTED;
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return getMultiValueInsertMode() == MultiValueInsertMode.GROUP_ROWS;
+    }
+
     @Override
     public String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter) {
         return SQLSemanticProcessor.addFiltersToQuery(dataSource, query, filter);
@@ -379,6 +384,11 @@ public class BasicSQLDialect implements SQLDialect {
         return true;
     }
 
+    @Override
+    public boolean isCaseInsensitiveComparison() {
+        return false;
+    }
+
     @Override
     public Pair<String, String> getMultiLineComments()
     {
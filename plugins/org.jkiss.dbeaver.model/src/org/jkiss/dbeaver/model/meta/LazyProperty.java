@@ -28,6 +28,11 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface LazyProperty {
 
-    Class<? extends IPropertyCacheValidator> cacheValidator();
+    Class<? extends IPropertyCacheValidator> cacheValidator() default IPropertyCacheValidator.class;
+
+    /**
+     * Loader which reads property of many objects at once. Used by object lists.
+     */
+    Class<? extends IPropertyBatchLoader> batchLoader() default IPropertyBatchLoader.class;
 
 }
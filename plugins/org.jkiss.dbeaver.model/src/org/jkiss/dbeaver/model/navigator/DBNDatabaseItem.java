@@ -29,11 +29,21 @@ public class DBNDatabaseItem extends DBNDatabaseNode
     private DBSObject object;
 
     DBNDatabaseItem(DBNNode parent, DBXTreeItem meta, DBSObject object, boolean reflect)
+    {
+        this(parent, meta, object, reflect, true);
+    }
+
+    /**
+     * @param register register node in model. Otherwise node must be registered by caller (see {@link DBNModel#addNodesLazy})
+     */
+    DBNDatabaseItem(DBNNode parent, DBXTreeItem meta, DBSObject object, boolean reflect, boolean register)
     {
         super(parent);
         this.meta = meta;
         this.object = object;
-        registerNode();
+        if (register) {
+            registerNode();
+        }
     }
 
     @Override
@@ -24,6 +24,8 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.DBSObjectPagedCache;
+import org.jkiss.dbeaver.model.impl.DBSPagedCacheProvider;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeFolder;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeItem;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
@@ -48,6 +50,18 @@ import java.util.*;
 public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBPContextProvider, IDataSourceContainerProvider {
 
     private static final DBNDatabaseNode[] EMPTY_NODES = new DBNDatabaseNode[0];
+    // Size of the first page of children passed to children listener. Each next page is twice bigger
+    public static final int CHILDREN_PAGE_SIZE = 200;
+    // Children lists bigger than this are registered in navigator model lazily
+    public static final int LAZY_REGISTRATION_THRESHOLD = 1000;
+
+    /**
+     * Receives child nodes while they are being loaded.
+     * May be called in loading thread.
+     */
+    public interface ChildrenLoadListener {
+        void childrenLoaded(DBNDatabaseNode parent, DBNDatabaseNode[] children);
+    }
 
     private volatile boolean locked;
     protected volatile DBNDatabaseNode[] childNodes;
@@ -192,11 +206,22 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
     @Override
     public synchronized DBNDatabaseNode[] getChildren(DBRProgressMonitor monitor)
         throws DBException
+    {
+        return getChildren(monitor, null);
+    }
+
+    /**
+     * Reads children nodes.
+     * If children are read from database then listener receives new child nodes page by page,
+     * so huge children lists may be shown before all of them are loaded.
+     */
+    public synchronized DBNDatabaseNode[] getChildren(DBRProgressMonitor monitor, @Nullable ChildrenLoadListener listener)
+        throws DBException
     {
         if (childNodes == null && hasChildren(false)) {
             if (this.initializeNode(monitor, null)) {
                 final List<DBNDatabaseNode> tmpList = new ArrayList<>();
-                loadChildren(monitor, getMeta(), null, tmpList, true);
+                loadChildren(monitor, getMeta(), null, tmpList, listener == null ? null : new ChildrenPager(listener), true);
                 if (!monitor.isCanceled()) {
                     if (tmpList.isEmpty()) {
                         this.childNodes = EMPTY_NODES;
@@ -384,6 +409,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         final DBXTreeNode meta,
         final DBNDatabaseNode[] oldList,
         final List<DBNDatabaseNode> toList,
+        @Nullable ChildrenPager pager,
         boolean reflect)
         throws DBException
     {
@@ -405,11 +431,11 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
             monitor.subTask(ModelMessages.model_navigator_load_ + " " + child.getChildrenType(getObject().getDataSource()));
             if (child instanceof DBXTreeItem) {
                 final DBXTreeItem item = (DBXTreeItem) child;
-                boolean isLoaded = loadTreeItems(monitor, item, oldList, toList, reflect);
+                boolean isLoaded = loadTreeItems(monitor, item, oldList, toList, pager, reflect);
                 if (!isLoaded && item.isOptional() && item.getRecursiveLink() == null) {
                     // This may occur only if no child nodes was read
                     // Then we try to go on next DBX level
-                    loadChildren(monitor, item, oldList, toList, reflect);
+                    loadChildren(monitor, item, oldList, toList, pager, reflect);
                 }
             } else if (child instanceof DBXTreeFolder) {
                 if (oldList == null) {
@@ -453,11 +479,13 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
 
 
     /**
-     * Extract items using reflect api
+     * Extract items using reflect api.
+     * Items of paged caches (see {@link DBSPagedCacheProvider}) are read and passed to pager page by page.
      * @param monitor progress monitor
      * @param meta items meta info
      * @param oldList previous child items
      * @param toList list ot add new items   @return true on success
+     * @param pager children pages listener
      * @param reflect
      * @return true on success
      * @throws DBException on any DB error
@@ -467,6 +495,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         DBXTreeItem meta,
         final DBNDatabaseNode[] oldList,
         final List<DBNDatabaseNode> toList,
+        @Nullable ChildrenPager pager,
         boolean reflect)
         throws DBException
     {
@@ -481,19 +510,26 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
             return false;
         }
         String propertyName = meta.getPropertyName();
-        Object propertyValue = extractPropertyValue(monitor, valueObject, propertyName);
-        if (propertyValue == null) {
-            return false;
-        }
-        if (!(propertyValue instanceof Collection<?>)) {
-            log.warn("Bad property '" + propertyName + "' value: " + propertyValue.getClass().getName()); //$NON-NLS-1$ //$NON-NLS-2$
-            return false;
+        final DBSObjectPagedCache<DBSObject, ?> pagedCache = getPagedCache(valueObject, propertyName);
+        Collection<?> itemList;
+        if (pagedCache != null) {
+            // Read the first page only. Other pages are read after the first one is shown
+            itemList = pagedCache.getObjects(monitor, (DBSObject) valueObject, 0, pagedCache.getPageSize());
+        } else {
+            Object propertyValue = extractPropertyValue(monitor, valueObject, propertyName);
+            if (propertyValue == null) {
+                return false;
+            }
+            if (!(propertyValue instanceof Collection<?>)) {
+                log.warn("Bad property '" + propertyName + "' value: " + propertyValue.getClass().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+                return false;
+            }
+            itemList = (Collection<?>) propertyValue;
         }
 
         DBSObjectFilter filter = getNodeFilter(meta, false);
         this.filtered = filter != null && !filter.isNotApplicable();
 
-        Collection<?> itemList = (Collection<?>) propertyValue;
         if (itemList.isEmpty()) {
             return false;
         }
@@ -505,6 +541,79 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
 
         DBPDataSourceContainer dataSourceContainer = getDataSourceContainer();
         boolean showSystem = dataSourceContainer == null || dataSourceContainer.isShowSystemObjects();
+        final int itemCount = pagedCache == null ? itemList.size() : Math.max(pagedCache.getObjectCount(), itemList.size());
+        // Do not register thousands of new nodes at once. They will be registered on first model lookup
+        final List<DBNDatabaseNode> lazyNodes = oldList == null && itemCount > LAZY_REGISTRATION_THRESHOLD ?
+            new ArrayList<DBNDatabaseNode>(itemCount) : null;
+        boolean complete = true;
+        if (pagedCache == null) {
+            addTreeItems(monitor, meta, oldList, toList, itemList, filter, showSystem, lazyNodes, pager, reflect);
+        } else {
+            // Each page is passed to the listener before the next page is read
+            final List<Object> allItems = oldList == null ? null : new ArrayList<Object>(itemList);
+            final int pageSize = pagedCache.getPageSize();
+            for (int offset = 0; ; ) {
+                addTreeItems(monitor, meta, oldList, toList, itemList, filter, showSystem, lazyNodes, null, reflect);
+                if (pager != null) {
+                    pager.flushPage(toList);
+                }
+                offset += pageSize;
+                if (offset >= pagedCache.getObjectCount()) {
+                    break;
+                }
+                if (monitor.isCanceled() || this.isDisposed()) {
+                    complete = false;
+                    break;
+                }
+                itemList = pagedCache.getObjects(monitor, (DBSObject) valueObject, offset, pageSize);
+                if (allItems != null) {
+                    allItems.addAll(itemList);
+                }
+            }
+            if (allItems != null) {
+                itemList = allItems;
+            }
+        }
+        if (lazyNodes != null) {
+            getModel().addNodesLazy(lazyNodes);
+        }
+
+        if (oldList != null && complete) {
+            // Now remove all non-existing items
+            for (DBNDatabaseNode oldChild : oldList) {
+                if (oldChild.getMeta() != meta) {
+                    // Wrong type
+                    continue;
+                }
+                boolean found = false;
+                for (Object childItem : itemList) {
+                    if (childItem instanceof DBSObject && equalObjects(oldChild.getObject(), (DBSObject) childItem)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    // Remove old child object
+                    oldChild.dispose(true);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addTreeItems(
+        DBRProgressMonitor monitor,
+        DBXTreeItem meta,
+        @Nullable DBNDatabaseNode[] oldList,
+        List<DBNDatabaseNode> toList,
+        Collection<?> itemList,
+        @Nullable DBSObjectFilter filter,
+        boolean showSystem,
+        @Nullable List<DBNDatabaseNode> lazyNodes,
+        @Nullable ChildrenPager pager,
+        boolean reflect)
+        throws DBException
+    {
         for (Object childItem : itemList) {
             if (childItem == null) {
                 continue;
@@ -549,32 +658,26 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
             }
             if (!added) {
                 // Simply add new item
-                DBNDatabaseItem treeItem = new DBNDatabaseItem(this, meta, object, oldList != null);
+                DBNDatabaseItem treeItem = new DBNDatabaseItem(this, meta, object, oldList != null, lazyNodes == null);
                 toList.add(treeItem);
-            }
-        }
-
-        if (oldList != null) {
-            // Now remove all non-existing items
-            for (DBNDatabaseNode oldChild : oldList) {
-                if (oldChild.getMeta() != meta) {
-                    // Wrong type
-                    continue;
+                if (lazyNodes != null) {
+                    lazyNodes.add(treeItem);
                 }
-                boolean found = false;
-                for (Object childItem : itemList) {
-                    if (childItem instanceof DBSObject && equalObjects(oldChild.getObject(), (DBSObject) childItem)) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    // Remove old child object
-                    oldChild.dispose(true);
+                if (pager != null) {
+                    pager.checkPage(toList);
                 }
             }
         }
-        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static DBSObjectPagedCache<DBSObject, ?> getPagedCache(Object valueObject, String propertyName)
+    {
+        if (valueObject instanceof DBSPagedCacheProvider && valueObject instanceof DBSObject) {
+            return (DBSObjectPagedCache<DBSObject, ?>) ((DBSPagedCacheProvider) valueObject).getPagedCache(propertyName);
+        }
+        return null;
     }
 
     @Nullable
@@ -690,7 +793,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
             oldChildren = Arrays.copyOf(childNodes, childNodes.length);
         }
         List<DBNDatabaseNode> newChildren = new ArrayList<>();
-        loadChildren(monitor, getMeta(), oldChildren, newChildren, reflect);
+        loadChildren(monitor, getMeta(), oldChildren, newChildren, null, reflect);
         synchronized (this) {
             childNodes = newChildren.toArray(new DBNDatabaseNode[newChildren.size()]);
         }
@@ -841,4 +944,29 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         return clazz == Object.class ? null : findPropertyGetter(clazz.getSuperclass(), getName, isName);
     }
 
+    private class ChildrenPager {
+        private final ChildrenLoadListener listener;
+        private int reportedCount = 0;
+        private int pageSize = CHILDREN_PAGE_SIZE;
+
+        ChildrenPager(ChildrenLoadListener listener) {
+            this.listener = listener;
+        }
+
+        void checkPage(List<DBNDatabaseNode> loadedNodes) {
+            if (loadedNodes.size() - reportedCount >= pageSize) {
+                flushPage(loadedNodes);
+                pageSize *= 2;
+            }
+        }
+
+        void flushPage(List<DBNDatabaseNode> loadedNodes) {
+            if (loadedNodes.size() > reportedCount) {
+                List<DBNDatabaseNode> page = loadedNodes.subList(reportedCount, loadedNodes.size());
+                listener.childrenLoaded(DBNDatabaseNode.this, page.toArray(new DBNDatabaseNode[page.size()]));
+                reportedCount = loadedNodes.size();
+            }
+        }
+    }
+
 }
@@ -75,6 +75,8 @@ public class DBNModel implements IResourceChangeListener {
     private transient INavigatorListener[] listenersCopy = null;
     private final transient List<DBNEvent> eventCache = new ArrayList<>();
     private final Map<DBSObject, Object> nodeMap = new HashMap<>();
+    // Nodes which are not in node map yet. They are registered on first node map access
+    private final List<List<DBNDatabaseNode>> pendingNodes = new ArrayList<>();
 
     public DBNModel(DBPPlatform platform) {
         this.platform = platform;
@@ -107,6 +109,7 @@ public class DBNModel implements IResourceChangeListener {
         this.root.dispose(false);
         synchronized (nodeMap) {
             this.nodeMap.clear();
+            this.pendingNodes.clear();
         }
         synchronized (this.listeners) {
             if (!listeners.isEmpty()) {
@@ -144,6 +147,10 @@ public class DBNModel implements IResourceChangeListener {
         Object obj;
         synchronized (nodeMap) {
             obj = nodeMap.get(object);
+            if (obj == null && !pendingNodes.isEmpty()) {
+                registerPendingNodes();
+                obj = nodeMap.get(object);
+            }
         }
         if (obj == null) {
             return null;
@@ -428,32 +435,65 @@ public class DBNModel implements IResourceChangeListener {
     void addNode(DBNDatabaseNode node, boolean reflect)
     {
         synchronized (nodeMap) {
-            Object obj = nodeMap.get(node.getObject());
-            if (obj == null) {
-                // New node
-                nodeMap.put(node.getObject(), node);
-            } else if (obj instanceof DBNNode) {
-                // Second node - make a list
-                List<DBNNode> nodeList = new ArrayList<>(2);
-                nodeList.add((DBNNode)obj);
-                nodeList.add(node);
-                nodeMap.put(node.getObject(), nodeList);
-            } else if (obj instanceof List) {
-                // Multiple nodes
-                @SuppressWarnings("unchecked")
-                List<DBNNode> nodeList = (List<DBNNode>) obj;
-                nodeList.add(node);
-            }
+            putNode(node);
         }
         if (reflect) {
             this.fireNodeEvent(new DBNEvent(this, DBNEvent.Action.ADD, DBNEvent.NodeChange.LOAD, node));
         }
     }
 
+    /**
+     * Adds nodes which will be registered on the first node lookup.
+     * Used for huge children lists - there is no need to register all of them until somebody looks for them.
+     */
+    void addNodesLazy(List<DBNDatabaseNode> nodes)
+    {
+        if (!nodes.isEmpty()) {
+            synchronized (nodeMap) {
+                pendingNodes.add(nodes);
+            }
+        }
+    }
+
+    private void registerPendingNodes()
+    {
+        for (List<DBNDatabaseNode> nodes : pendingNodes) {
+            for (DBNDatabaseNode node : nodes) {
+                if (!node.isDisposed()) {
+                    putNode(node);
+                }
+            }
+        }
+        pendingNodes.clear();
+    }
+
+    private void putNode(DBNDatabaseNode node)
+    {
+        Object obj = nodeMap.get(node.getObject());
+        if (obj == null) {
+            // New node
+            nodeMap.put(node.getObject(), node);
+        } else if (obj instanceof DBNNode) {
+            // Second node - make a list
+            List<DBNNode> nodeList = new ArrayList<>(2);
+            nodeList.add((DBNNode)obj);
+            nodeList.add(node);
+            nodeMap.put(node.getObject(), nodeList);
+        } else if (obj instanceof List) {
+            // Multiple nodes
+            @SuppressWarnings("unchecked")
+            List<DBNNode> nodeList = (List<DBNNode>) obj;
+            nodeList.add(node);
+        }
+    }
+
     void removeNode(DBNDatabaseNode node, boolean reflect)
     {
         boolean badNode = false;
         synchronized (nodeMap) {
+            if (!pendingNodes.isEmpty()) {
+                registerPendingNodes();
+            }
             Object obj = nodeMap.get(node.getObject());
             if (obj == null) {
                 // No found
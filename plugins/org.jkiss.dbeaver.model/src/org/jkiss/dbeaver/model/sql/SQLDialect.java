@@ -222,6 +222,12 @@ public interface SQLDialect {
 
     boolean supportsNullability();
 
+    /**
+     * True if string comparisons (=, LIKE) are case-insensitive by default (i.e. default collation is case-insensitive).
+     * Column collation may override it (see DBSAttributeCollated).
+     */
+    boolean isCaseInsensitiveComparison();
+
     @NotNull
     DBPIdentifierCase storesUnquotedCase();
 
@@ -252,6 +258,12 @@ public interface SQLDialect {
     @NotNull
     MultiValueInsertMode getMultiValueInsertMode();
 
+    /**
+     * True if data changes may be saved with INSERT INTO table VALUES (...),(...) statements.
+     * It is a separate capability because some dialects export grouped rows but don't support this syntax in all server versions.
+     */
+    boolean supportsMultiRowInsert();
+
     String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter);
 
     /**
@@ -18,21 +18,7 @@
 package org.jkiss.dbeaver.model.sql;
 
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
-import net.sf.jsqlparser.schema.Database;
-import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
-import net.sf.jsqlparser.statement.alter.Alter;
-import net.sf.jsqlparser.statement.create.index.CreateIndex;
-import net.sf.jsqlparser.statement.create.table.CreateTable;
-import net.sf.jsqlparser.statement.create.view.CreateView;
-import net.sf.jsqlparser.statement.delete.Delete;
-import net.sf.jsqlparser.statement.drop.Drop;
-import net.sf.jsqlparser.statement.insert.Insert;
-import net.sf.jsqlparser.statement.select.PlainSelect;
-import net.sf.jsqlparser.statement.select.Select;
-import net.sf.jsqlparser.statement.select.SelectBody;
-import net.sf.jsqlparser.statement.select.SelectItem;
-import net.sf.jsqlparser.statement.update.Update;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPDataSource;
@@ -41,12 +27,15 @@ import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
 import org.jkiss.dbeaver.model.exec.DBCEntityMetaData;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * SQLQuery
+ * SQLQuery.
+ * Semantic analysis (query type, single source, select items) is made lazily - most of queries (e.g. DML statements
+ * in big scripts) never need it. Query type is detected by the first keyword when it is possible.
  */
 public class SQLQuery implements SQLScriptElement {
 
@@ -60,17 +49,23 @@ public class SQLQuery implements SQLScriptElement {
     private String text;
     private final int offset;
     private final int length;
+    // Text used for query analysis
+    @NotNull
+    private final String sourceText;
     private Object data;
     private int resultsOffset = -1;
     private int resultsMaxRows = -1;
-    @NotNull
+    @Nullable
     private SQLQueryType type;
     @Nullable
+    private SQLQueryAnalysis analysis;
+    @Nullable
     private Statement statement;
+    private boolean statementParsed;
     private List<SQLQueryParameter> parameters;
     private SingleTableMeta singleTableMeta;
-    private List<SQLSelectItem> selectItems;
     private String queryTitle;
+    private boolean titleParsed;
 
     public SQLQuery(@Nullable DBPDataSource dataSource, @NotNull String text)
     {
@@ -100,81 +95,20 @@ public class SQLQuery implements SQLScriptElement {
         this.originalText = this.text = text;
         this.offset = offset;
         this.length = length;
+        this.sourceText = text;
+    }
 
-        try {
-            statement = CCJSqlParserUtil.parse(text);
-            if (statement instanceof Select) {
-                type = SQLQueryType.SELECT;
-                // Detect single source table
-                SelectBody selectBody = ((Select) statement).getSelectBody();
-                if (selectBody instanceof PlainSelect) {
-                    PlainSelect plainSelect = (PlainSelect) selectBody;
-                    if (plainSelect.getFromItem() instanceof Table &&
-                        CommonUtils.isEmpty(plainSelect.getJoins()) &&
-                        CommonUtils.isEmpty(plainSelect.getGroupByColumnReferences()) &&
-                        CommonUtils.isEmpty(plainSelect.getIntoTables()))
-                    {
-                        fillSingleSource((Table) plainSelect.getFromItem());
-                    }
-                    // Extract select items info
-                    final List<SelectItem> items = plainSelect.getSelectItems();
-                    if (items != null && !items.isEmpty()) {
-                        selectItems = new ArrayList<>();
-                        for (SelectItem item : items) {
-                            selectItems.add(new SQLSelectItem(item));
-                        }
-                    }
-                }
-            } else if (statement instanceof Insert) {
-                type = SQLQueryType.INSERT;
-                fillSingleSource(((Insert) statement).getTable());
-            } else if (statement instanceof Update) {
-                type = SQLQueryType.UPDATE;
-                List<Table> tables = ((Update) statement).getTables();
-                if (tables != null && tables.size() == 1) {
-                    fillSingleSource(tables.get(0));
-                }
-            } else if (statement instanceof Delete) {
-                type = SQLQueryType.DELETE;
-                if (((Delete) statement).getTable() != null) {
-                    fillSingleSource(((Delete) statement).getTable());
-                } else {
-                    List<Table> tables = ((Delete) statement).getTables();
-                    if (tables != null && tables.size() == 1) {
-                        fillSingleSource(tables.get(0));
-                    }
-                }
-            } else if (statement instanceof Alter ||
-                statement instanceof CreateTable ||
-                statement instanceof CreateView ||
-                statement instanceof Drop ||
-                statement instanceof CreateIndex)
-            {
-                type = SQLQueryType.DDL;
-            } else {
-                type = SQLQueryType.UNKNOWN;
-            }
-        } catch (Throwable e) {
-            this.type = SQLQueryType.UNKNOWN;
-            //log.debug("Error parsing SQL query [" + query + "]:" + CommonUtils.getRootCause(e).getMessage());
-        }
-        // Extract query title
-        queryTitle = null;
-        final Matcher matcher = QUERY_TITLE_PATTERN.matcher(text);
-        if (matcher.find()) {
-            queryTitle = matcher.group(1);
+    @NotNull
+    private SQLQueryAnalysis getAnalysis() {
+        if (analysis == null) {
+            analysis = SQLQueryAnalysis.getAnalysis(sourceText);
         }
+        return analysis;
     }
 
-    private void fillSingleSource(Table fromItem) {
-        Database database = fromItem.getDatabase();
-        String catalogName = database == null ? null : database.getDatabaseName();
-        String schemaName = fromItem.getSchemaName();
-        String tableName = fromItem.getName();
-        singleTableMeta = new SingleTableMeta(
-            unquoteIdentifier(catalogName),
-            unquoteIdentifier(schemaName),
-            unquoteIdentifier(tableName));
+    @Nullable
+    private List<SQLSelectItem> getSelectItems() {
+        return getType() == SQLQueryType.SELECT ? getAnalysis().getSelectItems() : null;
     }
 
     private String unquoteIdentifier(String name) {
@@ -189,18 +123,11 @@ public class SQLQuery implements SQLScriptElement {
      * @return true is this query is a plain select
      */
     public boolean isPlainSelect() {
-        if (statement instanceof Select && ((Select) statement).getSelectBody() instanceof PlainSelect) {
-            PlainSelect selectBody = (PlainSelect) ((Select) statement).getSelectBody();
-            return selectBody.getFromItem() != null &&
-                CommonUtils.isEmpty(selectBody.getIntoTables()) &&
-                selectBody.getLimit() == null &&
-                selectBody.getTop() == null &&
-                !selectBody.isForUpdate();
-        }
-        return false;
+        return getType() == SQLQueryType.SELECT && getAnalysis().isPlainSelect();
     }
 
     public SQLSelectItem getSelectItem(String name) {
+        final List<SQLSelectItem> selectItems = getSelectItems();
         if (selectItems == null) {
             return null;
         }
@@ -213,6 +140,7 @@ public class SQLQuery implements SQLScriptElement {
     }
 
     public SQLSelectItem getSelectItem(int index) {
+        final List<SQLSelectItem> selectItems = getSelectItems();
         return selectItems == null || selectItems.size() <= index ? null : selectItems.get(index);
     }
 
@@ -232,11 +160,30 @@ public class SQLQuery implements SQLScriptElement {
     }
 
     public String getQueryTitle() {
+        if (!titleParsed) {
+            final Matcher matcher = QUERY_TITLE_PATTERN.matcher(sourceText);
+            if (matcher.find()) {
+                queryTitle = matcher.group(1);
+            }
+            titleParsed = true;
+        }
         return queryTitle;
     }
 
+    /**
+     * Parsed statement. It is parsed for each query separately (and not cached) because query transformers modify it.
+     */
     @Nullable
     public Statement getStatement() {
+        if (!statementParsed) {
+            try {
+                statement = CCJSqlParserUtil.parse(sourceText);
+            } catch (Throwable e) {
+                // Not parsed
+                statement = null;
+            }
+            statementParsed = true;
+        }
         return statement;
     }
 
@@ -269,10 +216,23 @@ public class SQLQuery implements SQLScriptElement {
     @NotNull
     public SQLQueryType getType()
     {
+        if (type == null) {
+            SQLQueryType queryType = SQLQueryAnalysis.classifyQuery(sourceText);
+            type = queryType != null ? queryType : getAnalysis().getType();
+        }
         return type;
     }
 
     public DBCEntityMetaData getSingleSource() {
+        if (singleTableMeta == null && getType() != SQLQueryType.UNKNOWN) {
+            final SQLQueryAnalysis queryAnalysis = getAnalysis();
+            if (queryAnalysis.hasSingleSource()) {
+                singleTableMeta = new SingleTableMeta(
+                    unquoteIdentifier(queryAnalysis.getCatalogName()),
+                    unquoteIdentifier(queryAnalysis.getSchemaName()),
+                    unquoteIdentifier(queryAnalysis.getTableName()));
+            }
+        }
         return singleTableMeta;
     }
 
@@ -311,19 +271,8 @@ public class SQLQuery implements SQLScriptElement {
     }
 
     public boolean isDeleteUpdateDangerous() {
-        if (statement == null) {
-            return false;
-        }
-        if (statement instanceof Delete) {
-            if (((Delete) statement).getWhere() == null) {
-                return true;
-            }
-        } else if (statement instanceof Update) {
-            if (((Update) statement).getWhere() == null) {
-                return true;
-            }
-        }
-        return false;
+        final SQLQueryType queryType = getType();
+        return (queryType == SQLQueryType.DELETE || queryType == SQLQueryType.UPDATE) && getAnalysis().isDeleteUpdateDangerous();
     }
 
     private static class SingleTableMeta implements DBCEntityMetaData {
@@ -0,0 +1,257 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql;
+
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Database;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.update.Update;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Results of semantic query analysis (made by JSQLParser).
+ * Analysis is immutable and doesn't depend on data source so it is shared by all queries with the same text.
+ * Recently used analysis results are kept in LRU cache - the same queries are executed over and over
+ * (e.g. result set refresh, re-run of the same script).
+ */
+final class SQLQueryAnalysis {
+
+    private static final int MAX_CACHED_QUERIES = 500;
+    // Do not keep really big queries (with their ASTs) in cache
+    private static final int MAX_CACHED_QUERY_LENGTH = 10000;
+
+    private static final Map<String, SQLQueryAnalysis> cache = new LinkedHashMap<String, SQLQueryAnalysis>(MAX_CACHED_QUERIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SQLQueryAnalysis> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+
+    @NotNull
+    private SQLQueryType type = SQLQueryType.UNKNOWN;
+    private boolean plainSelect;
+    private boolean deleteUpdateDangerous;
+    // Single source table (identifiers are not unquoted)
+    private boolean hasSingleSource;
+    private String catalogName;
+    private String schemaName;
+    private String tableName;
+    @Nullable
+    private List<SQLSelectItem> selectItems;
+
+    private SQLQueryAnalysis() {
+    }
+
+    @NotNull
+    static SQLQueryAnalysis getAnalysis(@NotNull String text) {
+        final String key = text.trim();
+        if (key.length() > MAX_CACHED_QUERY_LENGTH) {
+            return analyze(key);
+        }
+        SQLQueryAnalysis analysis;
+        synchronized (cache) {
+            analysis = cache.get(key);
+        }
+        if (analysis == null) {
+            analysis = analyze(key);
+            synchronized (cache) {
+                cache.put(key, analysis);
+            }
+        }
+        return analysis;
+    }
+
+    /**
+     * Detects query type by the first keyword, without parsing.
+     * @return query type or null if query must be parsed to detect its type
+     */
+    @Nullable
+    static SQLQueryType classifyQuery(@NotNull String text) {
+        final int length = text.length();
+        int pos = 0;
+        // Skip whitespaces, comments and opening brackets
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (Character.isWhitespace(c) || c == '(') {
+                pos++;
+            } else if (c == '-' && pos < length - 1 && text.charAt(pos + 1) == '-') {
+                while (pos < length && text.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else if (c == '/' && pos < length - 1 && text.charAt(pos + 1) == '*') {
+                int commentEnd = text.indexOf("*/", pos + 2);
+                pos = commentEnd == -1 ? length : commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        int wordEnd = pos;
+        while (wordEnd < length && Character.isLetter(text.charAt(wordEnd))) {
+            wordEnd++;
+        }
+        if (wordEnd == pos) {
+            return null;
+        }
+        switch (text.substring(pos, wordEnd).toUpperCase(Locale.ENGLISH)) {
+            case "SELECT":
+            case "WITH":
+            case "CREATE":
+            case "VALUES":
+                return null;
+            case "INSERT":
+                return SQLQueryType.INSERT;
+            case "UPDATE":
+                return SQLQueryType.UPDATE;
+            case "DELETE":
+                return SQLQueryType.DELETE;
+            case "ALTER":
+            case "DROP":
+                return SQLQueryType.DDL;
+            default:
+                // Procedure calls, blocks, session commands, etc
+                return SQLQueryType.UNKNOWN;
+        }
+    }
+
+    @NotNull
+    private static SQLQueryAnalysis analyze(@NotNull String text) {
+        SQLQueryAnalysis analysis = new SQLQueryAnalysis();
+        try {
+            Statement statement = CCJSqlParserUtil.parse(text);
+            if (statement instanceof Select) {
+                analysis.type = SQLQueryType.SELECT;
+                // Detect single source table
+                SelectBody selectBody = ((Select) statement).getSelectBody();
+                if (selectBody instanceof PlainSelect) {
+                    PlainSelect plainSelect = (PlainSelect) selectBody;
+                    analysis.plainSelect = plainSelect.getFromItem() != null &&
+                        CommonUtils.isEmpty(plainSelect.getIntoTables()) &&
+                        plainSelect.getLimit() == null &&
+                        plainSelect.getTop() == null &&
+                        !plainSelect.isForUpdate();
+                    if (plainSelect.getFromItem() instanceof Table &&
+                        CommonUtils.isEmpty(plainSelect.getJoins()) &&
+                        CommonUtils.isEmpty(plainSelect.getGroupByColumnReferences()) &&
+                        CommonUtils.isEmpty(plainSelect.getIntoTables()))
+                    {
+                        analysis.fillSingleSource((Table) plainSelect.getFromItem());
+                    }
+                    // Extract select items info
+                    final List<SelectItem> items = plainSelect.getSelectItems();
+                    if (items != null && !items.isEmpty()) {
+                        List<SQLSelectItem> selectItems = new ArrayList<>();
+                        for (SelectItem item : items) {
+                            selectItems.add(new SQLSelectItem(item));
+                        }
+                        analysis.selectItems = Collections.unmodifiableList(selectItems);
+                    }
+                }
+            } else if (statement instanceof Insert) {
+                analysis.type = SQLQueryType.INSERT;
+                analysis.fillSingleSource(((Insert) statement).getTable());
+            } else if (statement instanceof Update) {
+                analysis.type = SQLQueryType.UPDATE;
+                List<Table> tables = ((Update) statement).getTables();
+                if (tables != null && tables.size() == 1) {
+                    analysis.fillSingleSource(tables.get(0));
+                }
+                analysis.deleteUpdateDangerous = ((Update) statement).getWhere() == null;
+            } else if (statement instanceof Delete) {
+                analysis.type = SQLQueryType.DELETE;
+                if (((Delete) statement).getTable() != null) {
+                    analysis.fillSingleSource(((Delete) statement).getTable());
+                } else {
+                    List<Table> tables = ((Delete) statement).getTables();
+                    if (tables != null && tables.size() == 1) {
+                        analysis.fillSingleSource(tables.get(0));
+                    }
+                }
+                analysis.deleteUpdateDangerous = ((Delete) statement).getWhere() == null;
+            } else if (statement instanceof Alter ||
+                statement instanceof CreateTable ||
+                statement instanceof CreateView ||
+                statement instanceof Drop ||
+                statement instanceof CreateIndex)
+            {
+                analysis.type = SQLQueryType.DDL;
+            }
+        } catch (Throwable e) {
+            analysis.type = SQLQueryType.UNKNOWN;
+            //log.debug("Error parsing SQL query [" + query + "]:" + CommonUtils.getRootCause(e).getMessage());
+        }
+        return analysis;
+    }
+
+    private void fillSingleSource(Table fromItem) {
+        Database database = fromItem.getDatabase();
+        hasSingleSource = true;
+        catalogName = database == null ? null : database.getDatabaseName();
+        schemaName = fromItem.getSchemaName();
+        tableName = fromItem.getName();
+    }
+
+    @NotNull
+    SQLQueryType getType() {
+        return type;
+    }
+
+    boolean isPlainSelect() {
+        return plainSelect;
+    }
+
+    boolean isDeleteUpdateDangerous() {
+        return deleteUpdateDangerous;
+    }
+
+    boolean hasSingleSource() {
+        return hasSingleSource;
+    }
+
+    String getCatalogName() {
+        return catalogName;
+    }
+
+    String getSchemaName() {
+        return schemaName;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    @Nullable
+    List<SQLSelectItem> getSelectItems() {
+        return selectItems;
+    }
+
+}
@@ -58,6 +58,12 @@ public final class SQLUtils {
 
     private static final Log log = Log.getLog(SQLUtils.class);
 
+    /**
+     * Escape character of LIKE conditions made from object filter masks.
+     * Not a backslash, so it doesn't depend on string literal escaping rules of the database.
+     */
+    public static final String LIKE_MASK_ESCAPE = "!";
+
     private static final Pattern PATTERN_OUT_PARAM = Pattern.compile("((\\?)|(:[a-z0-9]+))\\s*:=");
     private static final Pattern CREATE_PREFIX_PATTERN = Pattern.compile("(CREATE (:OR REPLACE)?).+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
 
@@ -183,6 +189,48 @@ public final class SQLUtils {
         return like.replace("*", "%");
     }
 
+    /**
+     * Converts object filter mask into SQL LIKE pattern which matches the same names as {@link #makeLikePattern(String)}:
+     * '*' and '%' match any string, '?' matches any single character, other characters match themselves.
+     * '_' and escape string are prefixed with escape string.
+     * @param escape LIKE escape string. If it is null or empty then '_' is not escaped and matches any character
+     *               (so pattern matches more names than mask does).
+     */
+    public static String makeSQLLikeMask(@NotNull String mask, @Nullable String escape)
+    {
+        if (escape != null && (escape.isEmpty() || escape.equals("%") || escape.equals("_"))) {
+            escape = null;
+        }
+        StringBuilder result = new StringBuilder(mask.length() + 4);
+        for (int i = 0; i < mask.length(); i++) {
+            char c = mask.charAt(i);
+            if (escape != null && mask.startsWith(escape, i)) {
+                result.append(escape).append(escape);
+                i += escape.length() - 1;
+            } else if (c == '*' || c == '%') {
+                result.append('%');
+            } else if (c == '?') {
+                result.append('_');
+            } else if (c == '_' && escape != null) {
+                result.append(escape).append('_');
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Appends condition which matches column value with object filter mask (see {@link #makeSQLLikeMask(String, String)}).
+     * @param likeOperator LIKE or its case insensitive variant (e.g. ILIKE)
+     */
+    public static void appendLikeMaskCondition(@NotNull StringBuilder sql, @NotNull DBPDataSource dataSource, @NotNull String columnName, @NotNull String likeOperator, @NotNull String mask)
+    {
+        sql.append(columnName).append(' ').append(likeOperator).append(' ')
+            .append(quoteString(dataSource, makeSQLLikeMask(mask, LIKE_MASK_ESCAPE)))
+            .append(" ESCAPE ").append(quoteString(dataSource, LIKE_MASK_ESCAPE));
+    }
+
     public static boolean matchesLike(String string, String like)
     {
         Pattern pattern = Pattern.compile(makeLikePattern(like), Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
@@ -417,6 +465,28 @@ public final class SQLUtils {
         }
     }
 
+    /**
+     * Makes a copy of data filter with additional condition.
+     * Original criteria are inlined in WHERE clause (they may be joined with OR) and then combined with the condition.
+     */
+    @NotNull
+    public static DBDDataFilter makeFilterWithCondition(@NotNull DBPDataSource dataSource, @Nullable DBDDataFilter filter, @NotNull String condition)
+    {
+        DBDDataFilter newFilter = filter == null ? new DBDDataFilter() : new DBDDataFilter(filter);
+        if (filter != null && filter.hasConditions()) {
+            StringBuilder baseCondition = new StringBuilder();
+            appendConditionString(filter, dataSource, null, baseCondition, true);
+            condition = "(" + baseCondition + ") AND (" + condition + ")";
+            for (DBDAttributeConstraint constraint : newFilter.getConstraints()) {
+                if (constraint.hasCondition()) {
+                    constraint.setCriteria(null);
+                }
+            }
+        }
+        newFilter.setWhere(condition);
+        return newFilter;
+    }
+
     public static void appendOrderString(@NotNull DBDDataFilter filter, @NotNull DBPDataSource dataSource, @Nullable String conditionTable, @NotNull StringBuilder query)
     {
         // Construct ORDER BY
@@ -0,0 +1,54 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2017 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Data bulk loader.
+ * Loads data into tables using database native loader (COPY, LOAD DATA, bulk copy, etc)
+ * which is much faster than INSERT statements.
+ * Data source provides bulk loader as an adapter.
+ */
+public interface DBSDataBulkLoader {
+
+    /**
+     * Checks whether bulk load can be used for specified table and attributes in specified session
+     * (e.g. driver supports it and all attributes have supported data types).
+     */
+    boolean supportsBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataManipulator table,
+        @NotNull DBSAttributeBase[] attributes);
+
+    /**
+     * Creates bulk load batch. Rows added to batch are loaded into the table on each batch execution.
+     * Batch doesn't support generated keys and persist actions generation.
+     */
+    @NotNull
+    DBSDataManipulator.ExecuteBatch bulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataManipulator table,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source)
+        throws DBCException;
+
+}
@@ -0,0 +1,109 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCountDistinct;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionMedian;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionSum;
+import org.jkiss.dbeaver.model.data.aggregate.IMergeableAggregateFunction;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks accuracy of estimating aggregate functions (count distinct, median, sum) against exact results.
+ * Values are log-normal, accumulated in several chunks which are merged afterwards.
+ * Args: [value count] [random seed]
+ */
+public class AggregateSketchAccuracyCheck {
+
+    private static final int[] CHUNK_COUNTS = {1, 7, 64};
+
+    public static void main(String[] args) {
+        final int valueCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+        Random random = new Random(seed);
+        double[] values = new double[valueCount];
+        for (int i = 0; i < valueCount; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2.0);
+        }
+        // Rounded values give distinct count smaller than value count
+        Object[] distinctValues = new Object[valueCount];
+        for (int i = 0; i < valueCount; i++) {
+            distinctValues[i] = Math.round(values[i] * 1000) / 1000.0;
+        }
+
+        long exactDistinct = Arrays.stream(distinctValues).distinct().count();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double exactMedian = valueCount % 2 == 1 ?
+            sorted[valueCount / 2] :
+            (sorted[valueCount / 2 - 1] + sorted[valueCount / 2]) / 2.0;
+        BigDecimal exactSum = BigDecimal.ZERO;
+        double naiveSum = 0;
+        for (double value : values) {
+            exactSum = exactSum.add(new BigDecimal(value));
+            naiveSum += value;
+        }
+
+        System.out.println("Values: " + valueCount + ", seed: " + seed);
+        System.out.println("Exact: distinct=" + exactDistinct + ", median=" + exactMedian +
+            ", sum=" + exactSum.round(MathContext.DECIMAL64));
+        System.out.println("Plain double sum relative error: " + relativeError(naiveSum, exactSum));
+
+        for (int chunkCount : CHUNK_COUNTS) {
+            Number distinct = (Number) accumulate(new FunctionCountDistinct(), distinctValues, chunkCount, valueCount);
+            Number median = (Number) accumulate(new FunctionMedian(), box(values), chunkCount, valueCount);
+            Number sum = (Number) accumulate(new FunctionSum(), box(values), chunkCount, valueCount);
+
+            System.out.println("Chunks: " + chunkCount);
+            System.out.println("  count distinct: " + distinct +
+                ", error " + percent((distinct.doubleValue() - exactDistinct) / exactDistinct));
+            // Median error is measured in rank, as t-digest guarantees quantile (not value) accuracy
+            int rank = Arrays.binarySearch(sorted, median.doubleValue());
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            System.out.println("  median: " + median +
+                ", error " + percent((median.doubleValue() - exactMedian) / exactMedian) +
+                ", quantile " + ((double) rank / valueCount));
+            System.out.println("  sum: " + sum + ", relative error " + relativeError(sum.doubleValue(), exactSum));
+        }
+    }
+
+    private static Object accumulate(IMergeableAggregateFunction result, Object[] values, int chunkCount, int valueCount) {
+        int chunkSize = (valueCount + chunkCount - 1) / chunkCount;
+        for (int start = 0; start < valueCount; start += chunkSize) {
+            IMergeableAggregateFunction chunk;
+            try {
+                chunk = result.getClass().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+            int end = Math.min(start + chunkSize, valueCount);
+            for (int i = start; i < end; i++) {
+                chunk.accumulate(values[i]);
+            }
+            result.merge(chunk);
+        }
+        return result.getResult(valueCount);
+    }
+
+    private static Object[] box(double[] values) {
+        Object[] result = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    private static String relativeError(double value, BigDecimal exact) {
+        return new BigDecimal(value).subtract(exact).divide(exact, MathContext.DECIMAL64).abs().doubleValue() + "";
+    }
+
+    private static String percent(double error) {
+        return String.format("%.3f%%", error * 100);
+    }
+
+}
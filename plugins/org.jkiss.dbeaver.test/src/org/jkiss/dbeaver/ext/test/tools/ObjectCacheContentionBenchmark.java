@@ -0,0 +1,134 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.model.impl.SimpleObjectCache;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures object cache readers throughput and latency while another thread reloads the cache.
+ * "Locked" mode emulates old behavior (loader holds cache lock during the whole metadata query),
+ * "copy-on-write" mode uses current cache implementation (readers never wait for loader).
+ * Args: [objects count] [reader threads] [simulated query time, ms] [duration, s]
+ */
+public class ObjectCacheContentionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int objectCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        final int readerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        final long queryTime = args.length > 2 ? Long.parseLong(args[2]) : 200;
+        final long duration = (args.length > 3 ? Long.parseLong(args[3]) : 5) * 1000;
+
+        System.out.println("Objects: " + objectCount + ", readers: " + readerCount + ", query time: " + queryTime + "ms");
+        runBenchmark("Locked", true, objectCount, readerCount, queryTime, duration);
+        runBenchmark("Copy-on-write", false, objectCount, readerCount, queryTime, duration);
+    }
+
+    private static void runBenchmark(String name, final boolean locked, final int objectCount, int readerCount, final long queryTime, final long duration)
+        throws InterruptedException
+    {
+        final SimpleObjectCache<DBSObject, DBSObject> cache = new SimpleObjectCache<>();
+        cache.setCache(makeObjects(objectCount));
+        final Object legacyLock = new Object();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong maxLatency = new AtomicLong();
+        final CountDownLatch finished = new CountDownLatch(readerCount + 1);
+
+        Thread loader = new Thread(() -> {
+            try {
+                while (!stop.get()) {
+                    if (locked) {
+                        synchronized (legacyLock) {
+                            Thread.sleep(queryTime);
+                            cache.setCache(makeObjects(objectCount));
+                        }
+                    } else {
+                        Thread.sleep(queryTime);
+                        cache.setCache(makeObjects(objectCount));
+                    }
+                    Thread.sleep(queryTime / 4);
+                }
+            } catch (InterruptedException e) {
+                // Stop
+            } finally {
+                finished.countDown();
+            }
+        });
+        loader.start();
+
+        for (int i = 0; i < readerCount; i++) {
+            final Random random = new Random(i);
+            new Thread(() -> {
+                long count = 0;
+                while (!stop.get()) {
+                    String objectName = "OBJECT_" + random.nextInt(objectCount);
+                    long startTime = System.nanoTime();
+                    DBSObject object;
+                    if (locked) {
+                        synchronized (legacyLock) {
+                            object = cache.getCachedObject(objectName);
+                        }
+                    } else {
+                        object = cache.getCachedObject(objectName);
+                    }
+                    long latency = System.nanoTime() - startTime;
+                    if (object == null) {
+                        throw new IllegalStateException("Object " + objectName + " not found");
+                    }
+                    count++;
+                    long prevMax;
+                    while (latency > (prevMax = maxLatency.get()) && !maxLatency.compareAndSet(prevMax, latency)) {
+                        // Retry
+                    }
+                }
+                reads.addAndGet(count);
+                finished.countDown();
+            }).start();
+        }
+
+        Thread.sleep(duration);
+        stop.set(true);
+        loader.interrupt();
+        finished.await();
+
+        System.out.println(name + ": " + (reads.get() * 1000 / duration) + " reads/s, max read latency " +
+            (maxLatency.get() / 1000000) + "ms");
+    }
+
+    private static List<DBSObject> makeObjects(int count) {
+        List<DBSObject> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(makeObject("OBJECT_" + i));
+        }
+        return objects;
+    }
+
+    private static DBSObject makeObject(final String name) {
+        return (DBSObject) Proxy.newProxyInstance(
+            ObjectCacheContentionBenchmark.class.getClassLoader(),
+            new Class[]{DBSObject.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                    case "toString":
+                        return name;
+                    case "isPersisted":
+                        return true;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+
+}
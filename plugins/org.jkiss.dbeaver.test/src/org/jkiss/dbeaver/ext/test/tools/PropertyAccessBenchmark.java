@@ -0,0 +1,156 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.properties.ObjectPropertyRegistry;
+import org.jkiss.utils.BeanUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares property methods lookup through annotations scan of Class.getMethods() (old path) and ObjectPropertyRegistry,
+ * then property values read through Method.invoke (old path) and ObjectPropertyRegistry accessors.
+ * Emulates object list with many rows (e.g. table columns): all properties are read for each row object.
+ * Args: [objects count] [rounds]
+ */
+public class PropertyAccessBenchmark {
+
+    public static void main(String[] args) {
+        final int objectCount = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        System.out.println("Objects: " + objectCount + ", rounds: " + rounds);
+
+        final TestObject[] objects = new TestObject[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            objects[i] = new TestObject(i);
+        }
+        final List<Method> getters = new ArrayList<>();
+        for (Method method : ObjectPropertyRegistry.getPropertyMethods(TestObject.class)) {
+            if (method.getParameterCount() == 0) {
+                getters.add(method);
+            }
+        }
+
+        // Warm up both paths first, so JIT compiles them before measurements
+        for (int i = 0; i < 3; i++) {
+            runScan(true, objectCount);
+            runScan(false, objectCount);
+            runRead(true, objects, getters);
+            runRead(false, objects, getters);
+        }
+
+        long reflectScanTime = 0, registryScanTime = 0, reflectReadTime = 0, registryReadTime = 0;
+        long checksum = 0;
+        for (int i = 0; i < rounds; i++) {
+            long startTime = System.nanoTime();
+            checksum += runScan(true, objectCount);
+            reflectScanTime += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            checksum += runScan(false, objectCount);
+            registryScanTime += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            checksum += runRead(true, objects, getters);
+            reflectReadTime += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            checksum += runRead(false, objects, getters);
+            registryReadTime += System.nanoTime() - startTime;
+        }
+        System.out.println("Annotations scan, reflection: " + (reflectScanTime / ((long) objectCount * rounds)) + "ns/object");
+        System.out.println("Annotations scan, registry:   " + (registryScanTime / ((long) objectCount * rounds)) + "ns/object");
+        System.out.println("Properties read (" + getters.size() + "), Method.invoke: " + (reflectReadTime / ((long) objectCount * rounds)) + "ns/object");
+        System.out.println("Properties read (" + getters.size() + "), accessors:     " + (registryReadTime / ((long) objectCount * rounds)) + "ns/object");
+        System.out.println("Checksum: " + checksum);
+    }
+
+    private static long runScan(boolean reflection, int count) {
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            result += getPropertyMethods(reflection).size();
+        }
+        return result;
+    }
+
+    private static long runRead(boolean reflection, TestObject[] objects, List<Method> getters) {
+        final int getterCount = getters.size();
+        final ObjectPropertyRegistry.PropertyAccessor[] accessors = new ObjectPropertyRegistry.PropertyAccessor[getterCount];
+        for (int i = 0; i < getterCount; i++) {
+            accessors[i] = ObjectPropertyRegistry.getAccessor(getters.get(i));
+        }
+        long result = 0;
+        try {
+            for (TestObject object : objects) {
+                for (int i = 0; i < getterCount; i++) {
+                    Object value = reflection ? getters.get(i).invoke(object) : accessors[i].readValue(object, null);
+                    if (value != null) {
+                        result++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    private static List<Method> getPropertyMethods(boolean reflection) {
+        if (!reflection) {
+            return ObjectPropertyRegistry.getPropertyMethods(TestObject.class);
+        }
+        // Old ObjectAttributeDescriptor.extractAnnotations scan
+        List<Method> result = new ArrayList<>();
+        for (Method method : TestObject.class.getMethods()) {
+            Property propInfo = method.getAnnotation(Property.class);
+            if (propInfo != null && BeanUtils.isGetterName(method.getName()) && method.getReturnType() != null) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    public static class TestObject {
+        private final int id;
+        private final String name;
+
+        TestObject(int id) {
+            this.id = id;
+            this.name = "COLUMN_" + id;
+        }
+
+        @Property(name = "Name", order = 1)
+        public String getName() { return name; }
+        @Property(name = "Position", order = 2)
+        public int getOrdinalPosition() { return id % 100; }
+        @Property(name = "Type", order = 3)
+        public String getTypeName() { return (id & 1) == 0 ? "VARCHAR" : "INTEGER"; }
+        @Property(name = "Length", order = 4)
+        public long getMaxLength() { return id * 10L; }
+        @Property(name = "Scale", order = 5)
+        public Integer getScale() { return (id & 3) == 0 ? null : id & 7; }
+        @Property(name = "Precision", order = 6)
+        public Integer getPrecision() { return id & 15; }
+        @Property(name = "Not Null", order = 7)
+        public boolean isRequired() { return (id & 1) == 0; }
+        @Property(name = "Auto Increment", order = 8)
+        public boolean isAutoGenerated() { return id == 0; }
+        @Property(name = "Default", order = 9)
+        public String getDefaultValue() { return null; }
+        @Property(name = "Comment", order = 10)
+        public String getDescription() { return name; }
+        @Property(name = "Collation", order = 11)
+        public String getCollation() { return "utf8_general_ci"; }
+        @Property(name = "Charset", order = 12)
+        public String getCharset() { return "utf8"; }
+        @Property(name = "Extra", order = 13)
+        public String getExtraInfo() { return ""; }
+        @Property(name = "Key", order = 14)
+        public String getKeyType() { return id == 0 ? "PRI" : null; }
+        @Property(name = "Statistics", order = 15)
+        public Long getStatistics(DBRProgressMonitor monitor) { return (long) id; }
+    }
+
+}
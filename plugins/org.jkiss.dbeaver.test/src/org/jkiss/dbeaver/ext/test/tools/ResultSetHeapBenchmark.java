@@ -0,0 +1,117 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetValueStore;
+
+import java.io.File;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares heap usage of result set rows kept as Object[] (old layout) and in columnar value store.
+ * Run with big heap, e.g. -Xmx8g. Args: [row count] [column groups] [spill memory limit, Mb]
+ */
+public class ResultSetHeapBenchmark {
+
+    // Column group: int, long, double, boolean, timestamp, low-cardinality string, high-cardinality string, nullable int
+    private static final int GROUP_SIZE = 8;
+
+    public static void main(String[] args) {
+        final int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final int groups = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        final long spillLimit = args.length > 2 ? Long.parseLong(args[2]) * 1024 * 1024 : 0;
+        final int columnCount = groups * GROUP_SIZE;
+
+        System.out.println("Rows: " + rowCount + ", columns: " + columnCount);
+
+        long baseHeap = usedHeap();
+        long startTime = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(makeRow(random, i, groups));
+        }
+        long rowsTime = System.currentTimeMillis() - startTime;
+        long rowsHeap = usedHeap() - baseHeap;
+        System.out.println("Object[] rows: " + (rowsHeap / 1024 / 1024) + "Mb, " + rowsTime + "ms");
+        checksum(rows, rowCount, columnCount);
+        rows = null;
+
+        baseHeap = usedHeap();
+        startTime = System.currentTimeMillis();
+        ResultSetValueStore store = spillLimit > 0 ?
+            new ResultSetValueStore(spillLimit, new File(System.getProperty("java.io.tmpdir"))) :
+            new ResultSetValueStore();
+        random = new Random(0);
+        for (int i = 0; i < rowCount; i++) {
+            store.appendRow(makeRow(random, i, groups));
+        }
+        long storeTime = System.currentTimeMillis() - startTime;
+        long storeHeap = usedHeap() - baseHeap;
+        System.out.println("Value store: " + (storeHeap / 1024 / 1024) + "Mb, " + storeTime + "ms");
+        if (spillLimit > 0) {
+            System.out.println("Spilled segments: " + store.getSpilledSegmentCount());
+        }
+
+        startTime = System.currentTimeMillis();
+        long hash = 0;
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = 0; k < columnCount; k++) {
+                Object value = store.getValue(i, k);
+                if (value != null) {
+                    hash += value.hashCode();
+                }
+            }
+        }
+        System.out.println("Value store full scan: " + (System.currentTimeMillis() - startTime) + "ms (" + hash + ")");
+        if (rowsHeap > 0) {
+            System.out.println("Heap ratio: " + (storeHeap * 100 / rowsHeap) + "%");
+        }
+        store.close();
+    }
+
+    private static Object[] makeRow(Random random, int rowNum, int groups) {
+        Object[] row = new Object[groups * GROUP_SIZE];
+        for (int g = 0; g < groups; g++) {
+            int offset = g * GROUP_SIZE;
+            row[offset] = rowNum;
+            row[offset + 1] = random.nextLong();
+            row[offset + 2] = random.nextDouble() * 1000;
+            row[offset + 3] = random.nextBoolean();
+            row[offset + 4] = new Timestamp(1500000000000L + random.nextInt(1000000000));
+            row[offset + 5] = "Status " + random.nextInt(20);
+            row[offset + 6] = "Row " + rowNum + " " + random.nextInt();
+            row[offset + 7] = random.nextInt(10) == 0 ? null : random.nextInt(1000000);
+        }
+        return row;
+    }
+
+    private static void checksum(List<Object[]> rows, int rowCount, int columnCount) {
+        long startTime = System.currentTimeMillis();
+        long hash = 0;
+        for (int i = 0; i < rowCount; i++) {
+            Object[] row = rows.get(i);
+            for (int k = 0; k < columnCount; k++) {
+                if (row[k] != null) {
+                    hash += row[k].hashCode();
+                }
+            }
+        }
+        System.out.println("Object[] rows full scan: " + (System.currentTimeMillis() - startTime) + "ms (" + hash + ")");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
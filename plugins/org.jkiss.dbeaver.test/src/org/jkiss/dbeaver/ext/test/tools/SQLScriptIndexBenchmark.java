@@ -0,0 +1,210 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.ui.editors.sql.SQLScriptIndex;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares full script re-parse with incremental script index update after small edits.
+ * Uses simple statement parser (semicolon delimited, quote aware) instead of SQLEditorBase parser, which needs
+ * editor and SQL rules. Parse times are lower than in editor, but numbers of re-parsed statements
+ * per edit don't depend on parser and show how much parsing the index saves.
+ * Args: [script size, Mb] [edit count]
+ */
+public class SQLScriptIndexBenchmark {
+
+    public static void main(String[] args) throws BadLocationException {
+        final int scriptSize = (args.length > 0 ? Integer.parseInt(args[0]) : 5) * 1024 * 1024;
+        final int editCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        Random random = new Random(0);
+        Document document = new Document(generateScript(random, scriptSize));
+        StatementCounter parser = new StatementCounter();
+        System.out.println("Script: " + (document.getLength() / 1024) + "Kb");
+
+        SQLScriptIndex index = new SQLScriptIndex(document, parser);
+        long startTime = System.currentTimeMillis();
+        index.update();
+        System.out.println("Initial parse: " + (System.currentTimeMillis() - startTime) + "ms, " + (index.getStatementRanges().length / 2) + " statements");
+
+        // Full re-parse after each edit (old behavior)
+        startTime = System.currentTimeMillis();
+        long parsed = 0;
+        for (int i = 0; i < editCount / 10; i++) {
+            makeEdit(random, document);
+            parsed += parseAll(parser, document);
+        }
+        long fullTime = System.currentTimeMillis() - startTime;
+        System.out.println("Full re-parse: " + ((double) fullTime * 10 / Math.max(1, editCount)) + "ms per edit, " + (parsed * 10 / Math.max(1, editCount)) + " statements per edit");
+
+        // Incremental update after each edit
+        parser.parsedCount = 0;
+        index.update();
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < editCount; i++) {
+            makeEdit(random, document);
+            index.update();
+        }
+        long incTime = System.currentTimeMillis() - startTime;
+        System.out.println("Incremental update: " + ((double) incTime / Math.max(1, editCount)) + "ms per edit, " + (parser.parsedCount / Math.max(1, editCount)) + " statements per edit");
+
+        // Check that index matches full parse
+        int[] ranges = index.getStatementRanges();
+        SQLScriptIndex checkIndex = new SQLScriptIndex(new Document(document.get()), parser);
+        checkIndex.update();
+        int[] checkRanges = checkIndex.getStatementRanges();
+        System.out.println("Index is " + (Arrays.equals(ranges, checkRanges) ? "correct" : "BROKEN"));
+        index.dispose();
+        checkIndex.dispose();
+    }
+
+    private static String generateScript(Random random, int size) {
+        StringBuilder script = new StringBuilder(size + 1000);
+        for (int i = 0; script.length() < size; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    script.append("INSERT INTO test_table (id, name, value) VALUES (").append(i).append(", 'name ").append(i).append("', ").append(random.nextDouble()).append(");\n");
+                    break;
+                case 1:
+                    script.append("UPDATE test_table\nSET name = 'updated; ").append(i).append("'\nWHERE id = ").append(random.nextInt(i + 1)).append(";\n\n");
+                    break;
+                case 2:
+                    script.append("-- comment ").append(i).append("\nSELECT *\nFROM test_table t\nWHERE t.id > ").append(i).append("\nORDER BY t.name;\n");
+                    break;
+                default:
+                    script.append("DELETE FROM test_table WHERE id = ").append(i).append(";\n");
+                    break;
+            }
+        }
+        return script.toString();
+    }
+
+    private static void makeEdit(Random random, IDocument document) throws BadLocationException {
+        int offset = random.nextInt(document.getLength());
+        switch (random.nextInt(3)) {
+            case 0:
+                document.replace(offset, 0, "x");
+                break;
+            case 1:
+                document.replace(offset, 1, "");
+                break;
+            default:
+                // Typing delimiter splits statement
+                document.replace(offset, 0, ";");
+                break;
+        }
+    }
+
+    private static long parseAll(StatementCounter parser, IDocument document) {
+        long count = 0;
+        for (int offset = 0; ; count++) {
+            SQLScriptElement element = parser.parseStatement(document, offset, document.getLength());
+            if (element == null) {
+                return count;
+            }
+            offset = element.getOffset() + element.getLength();
+        }
+    }
+
+    private static class StatementCounter implements SQLScriptIndex.StatementParser {
+        long parsedCount;
+
+        @Override
+        public void startEvaluation() {
+        }
+
+        @Nullable
+        @Override
+        public SQLScriptElement parseStatement(@NotNull IDocument document, int startPos, int endPos) {
+            try {
+                int start = startPos;
+                while (start < endPos && Character.isWhitespace(document.getChar(start))) {
+                    start++;
+                }
+                if (start >= endPos) {
+                    return null;
+                }
+                boolean inQuote = false;
+                int pos = start;
+                for (; pos < endPos; pos++) {
+                    char c = document.getChar(pos);
+                    if (c == '\'') {
+                        inQuote = !inQuote;
+                    } else if (c == ';' && !inQuote) {
+                        pos++;
+                        break;
+                    }
+                }
+                parsedCount++;
+                return new Statement(document.get(start, pos - start), start);
+            } catch (BadLocationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void endEvaluation() {
+        }
+
+        @NotNull
+        @Override
+        public SQLScriptElement copyStatement(@NotNull SQLScriptElement element, int offset) {
+            return new Statement(element.getText(), offset);
+        }
+    }
+
+    private static class Statement implements SQLScriptElement {
+        private final String text;
+        private final int offset;
+        private Object data;
+
+        Statement(String text, int offset) {
+            this.text = text;
+            this.offset = offset;
+        }
+
+        @NotNull
+        @Override
+        public String getOriginalText() {
+            return text;
+        }
+
+        @NotNull
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public int getOffset() {
+            return offset;
+        }
+
+        @Override
+        public int getLength() {
+            return text.length();
+        }
+
+        @Override
+        public Object getData() {
+            return data;
+        }
+
+        @Override
+        public void setData(Object data) {
+            this.data = data;
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+}